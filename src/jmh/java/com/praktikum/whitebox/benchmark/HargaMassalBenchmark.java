@@ -0,0 +1,71 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.TipePelanggan;
+import com.praktikum.whitebox.service.KalkulatorDiskon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Pesanan B2B 2.000 baris dan regenerasi daftar harga 1 juta SKU: per baris vs hitungMassal
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HargaMassalBenchmark {
+    @Param({"2000", "1000000"})
+    public int jumlahBaris;
+
+    private final KalkulatorDiskon kalkulator = new KalkulatorDiskon();
+    private double[] harga;
+    private int[] kuantitas;
+    private double[] diskon;
+    private double[] hargaBersih;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        harga = new double[jumlahBaris];
+        kuantitas = new int[jumlahBaris];
+        diskon = new double[jumlahBaris];
+        hargaBersih = new double[jumlahBaris];
+        for (int i = 0; i < jumlahBaris; i++) {
+            harga[i] = 1000 + random.nextInt(1_000_000);
+            kuantitas[i] = 1 + random.nextInt(150);
+        }
+    }
+
+    @Benchmark
+    public double[] perBaris() {
+        for (int i = 0; i < jumlahBaris; i++) {
+            diskon[i] = kalkulator.hitungDiskon(harga[i], kuantitas[i], TipePelanggan.REGULER);
+            hargaBersih[i] = kalkulator.hitungHargaSetelahDiskon(harga[i], kuantitas[i], TipePelanggan.REGULER);
+        }
+        return hargaBersih;
+    }
+
+    @Benchmark
+    public double[] massalVektor() {
+        kalkulator.hitungMassal(harga, kuantitas, TipePelanggan.REGULER, diskon, hargaBersih);
+        return hargaBersih;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dwhitebox.diskon.vektor=false")
+    public double[] massalSkalar() {
+        kalkulator.hitungMassal(harga, kuantitas, TipePelanggan.REGULER, diskon, hargaBersih);
+        return hargaBersih;
+    }
+}
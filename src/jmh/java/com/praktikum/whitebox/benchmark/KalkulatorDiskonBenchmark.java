@@ -0,0 +1,85 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.TipePelanggan;
+import com.praktikum.whitebox.service.KalkulatorDiskon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Harga setelah diskon untuk baris pesanan dengan campuran kuantitas dan tipe pelanggan
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KalkulatorDiskonBenchmark {
+    static final int JUMLAH_BARIS = 2048;
+    private static final String[] TIPE = {"PREMIUM", "REGULER", "BARU", "UMUM"};
+
+    // CAMPURAN memakai tipe pelanggan acak per baris
+    @Param({"PREMIUM", "CAMPURAN"})
+    public String tipePelanggan;
+
+    private final KalkulatorDiskon kalkulator = new KalkulatorDiskon();
+    private double[] harga;
+    private int[] kuantitas;
+    private String[] tipe;
+    private TipePelanggan[] tipeTerresolve;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        harga = new double[JUMLAH_BARIS];
+        kuantitas = new int[JUMLAH_BARIS];
+        tipe = new String[JUMLAH_BARIS];
+        tipeTerresolve = new TipePelanggan[JUMLAH_BARIS];
+        for (int i = 0; i < JUMLAH_BARIS; i++) {
+            harga[i] = 1000 + random.nextInt(1_000_000);
+            kuantitas[i] = 1 + random.nextInt(150);
+            tipe[i] = "CAMPURAN".equals(tipePelanggan) ? TIPE[random.nextInt(TIPE.length)] : tipePelanggan;
+            tipeTerresolve[i] = TipePelanggan.dari(tipe[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JUMLAH_BARIS)
+    public double hitungHargaSetelahDiskon() {
+        double total = 0;
+        for (int i = 0; i < JUMLAH_BARIS; i++) {
+            total += kalkulator.hitungHargaSetelahDiskon(harga[i], kuantitas[i], tipe[i]);
+        }
+        return total;
+    }
+
+    // Tipe pelanggan sudah di-resolve sekali per permintaan, bukan per baris
+    @Benchmark
+    @OperationsPerInvocation(JUMLAH_BARIS)
+    public double hitungHargaSetelahDiskonTipeTerresolve() {
+        double total = 0;
+        for (int i = 0; i < JUMLAH_BARIS; i++) {
+            total += kalkulator.hitungHargaSetelahDiskon(harga[i], kuantitas[i], tipeTerresolve[i]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    @Threads(8)
+    @OperationsPerInvocation(JUMLAH_BARIS)
+    public double hitungHargaSetelahDiskon8Thread() {
+        return hitungHargaSetelahDiskon();
+    }
+}
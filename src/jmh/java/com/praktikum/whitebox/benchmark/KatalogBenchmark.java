@@ -0,0 +1,36 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+
+// Pembuat data katalog bersama untuk benchmark
+final class KatalogBenchmark {
+    static final String[] KATEGORI = {"Elektronik", "ATK", "Makanan", "Minuman", "Pakaian",
+            "Olahraga", "Otomotif", "Kesehatan"};
+
+    private KatalogBenchmark() {}
+
+    static String kode(int indeks) {
+        return String.format("P%07d", indeks);
+    }
+
+    static String[] daftarKode(int ukuran) {
+        String[] kode = new String[ukuran];
+        for (int i = 0; i < ukuran; i++) {
+            kode[i] = kode(i);
+        }
+        return kode;
+    }
+
+    // Stok awal besar agar keluarStok berulang tidak menghabiskan stok selama pengukuran
+    static void isi(RepositoryProduk repository, int ukuran, int stokAwal) {
+        for (int i = 0; i < ukuran; i++) {
+            Produk produk = new Produk(kode(i), "Produk Benchmark " + i, KATEGORI[i % KATEGORI.length],
+                    1000 + (i % 997) * 250, stokAwal, 10);
+            if (i % 20 == 0) {
+                produk.setAktif(false);
+            }
+            repository.simpan(produk);
+        }
+    }
+}
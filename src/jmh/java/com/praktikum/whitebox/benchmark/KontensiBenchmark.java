@@ -0,0 +1,102 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.repository.RepositoryProdukInMemory;
+import com.praktikum.whitebox.service.ModeKonkurensi;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Keluar/masuk stok lewat service per ModeKonkurensi, SKU terdistribusi Zipf. TANPA_KUNCI sebagai
+// dasar biaya kunci (RepositoryProdukInMemory sendiri sudah atomik per kode).
+// Jumlah thread diatur lewat -t; anotasi @Threads hanya nilai bawaan.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Threads(8)
+public class KontensiBenchmark {
+    private static final int UKURAN_KATALOG = 100_000;
+    // Urutan kode hasil sampel Zipf, dipakai bergiliran agar pengacakan tidak ikut terukur
+    private static final int JUMLAH_SAMPEL = 1 << 20;
+
+    @State(Scope.Benchmark)
+    public static class Katalog {
+        @Param({"TANPA_KUNCI", "KUNCI_GLOBAL", "KUNCI_PER_KODE"})
+        public ModeKonkurensi mode;
+
+        // 0 = seragam, 0.99 = kemiringan khas YCSB, 1.2 = sangat miring
+        @Param({"0", "0.99", "1.2"})
+        public double kemiringan;
+
+        ServiceInventaris service;
+        String[] sampel;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            RepositoryProdukInMemory repository = new RepositoryProdukInMemory();
+            KatalogBenchmark.isi(repository, UKURAN_KATALOG, 1_000_000_000);
+            service = new ServiceInventaris(repository, mode);
+
+            // CDF Zipf atas peringkat 1..n, lalu sampel lewat pencarian biner
+            double[] cdf = new double[UKURAN_KATALOG];
+            double total = 0;
+            for (int i = 0; i < UKURAN_KATALOG; i++) {
+                total += 1 / Math.pow(i + 1, kemiringan);
+                cdf[i] = total;
+            }
+            String[] kode = KatalogBenchmark.daftarKode(UKURAN_KATALOG);
+            SplittableRandom random = new SplittableRandom(7);
+            sampel = new String[JUMLAH_SAMPEL];
+            for (int i = 0; i < JUMLAH_SAMPEL; i++) {
+                double u = random.nextDouble() * total;
+                int lo = 0;
+                int hi = UKURAN_KATALOG - 1;
+                while (lo < hi) {
+                    int tengah = (lo + hi) >>> 1;
+                    if (cdf[tengah] < u) {
+                        lo = tengah + 1;
+                    } else {
+                        hi = tengah;
+                    }
+                }
+                sampel[i] = kode[lo];
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Giliran {
+        int posisi;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            posisi = new SplittableRandom(Thread.currentThread().getId()).nextInt(JUMLAH_SAMPEL);
+        }
+
+        String kodeBerikutnya(Katalog katalog) {
+            posisi = (posisi + 1) & (JUMLAH_SAMPEL - 1);
+            return katalog.sampel[posisi];
+        }
+    }
+
+    @Benchmark
+    public boolean keluarLaluMasuk(Katalog katalog, Giliran giliran) {
+        String kode = giliran.kodeBerikutnya(katalog);
+        return katalog.service.keluarStok(kode, 1) & katalog.service.masukStok(kode, 1);
+    }
+}
@@ -0,0 +1,115 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.HasilOperasi;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.NodeShard;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.repository.RepositoryProdukInMemory;
+import com.praktikum.whitebox.repository.RepositoryProdukPartisi;
+import com.praktikum.whitebox.repository.TransportShard;
+import com.praktikum.whitebox.repository.TransportShardLokal;
+import com.praktikum.whitebox.repository.TransportShardSoket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Biaya per operasi RepositoryProdukPartisi dengan 4 shard dibanding satu repository:
+// rute satu kode, agregat scatter-gather, dan satu halaman kursor gabungan.
+// SOKET memakai NodeShard lewat loopback di JVM yang sama.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class PartisiBenchmark {
+    private static final int UKURAN_KATALOG = 100_000;
+    private static final int JUMLAH_SHARD = 4;
+
+    @Param({"TUNGGAL", "LOKAL", "SOKET"})
+    public String transport;
+
+    private RepositoryProduk repository;
+    private final List<NodeShard> daftarNode = new ArrayList<>();
+    private String[] kode;
+    private int indeks;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if (transport.equals("TUNGGAL")) {
+            repository = new RepositoryProdukInMemory();
+        } else {
+            List<TransportShard> daftarShard = new ArrayList<>();
+            for (int i = 0; i < JUMLAH_SHARD; i++) {
+                RepositoryProdukInMemory node = new RepositoryProdukInMemory();
+                if (transport.equals("LOKAL")) {
+                    daftarShard.add(new TransportShardLokal(node));
+                } else {
+                    NodeShard nodeShard = new NodeShard(node, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+                    nodeShard.mulai();
+                    daftarNode.add(nodeShard);
+                    daftarShard.add(new TransportShardSoket(nodeShard.getAlamat()));
+                }
+            }
+            repository = new RepositoryProdukPartisi(daftarShard);
+        }
+        // Stok 10^9 seperti benchmark lain membuat total nilai dalam sen melewati Long.MAX_VALUE
+        KatalogBenchmark.isi(repository, UKURAN_KATALOG, 1_000_000);
+        kode = KatalogBenchmark.daftarKode(UKURAN_KATALOG);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (repository instanceof RepositoryProdukPartisi partisi) {
+            partisi.close();
+        }
+        for (NodeShard node : daftarNode) {
+            node.close();
+        }
+    }
+
+    private String kodeBerikutnya() {
+        indeks = indeks + 1 == kode.length ? 0 : indeks + 1;
+        return kode[indeks];
+    }
+
+    @Benchmark
+    public Optional<Produk> cariByKode() {
+        return repository.cariByKode(kodeBerikutnya());
+    }
+
+    @Benchmark
+    public HasilOperasi keluarLaluMasuk() {
+        String k = kodeBerikutnya();
+        repository.kurangiStokJikaCukup(k, 1);
+        return repository.tambahStok(k, 1);
+    }
+
+    @Benchmark
+    public long totalNilaiSen() {
+        return repository.hitungTotalNilaiAktifSen();
+    }
+
+    @Benchmark
+    public List<Produk> halamanKursor() {
+        return repository.cariSemua(kodeBerikutnya(), 50);
+    }
+}
@@ -0,0 +1,98 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProdukInMemory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Pencarian saat mengetik pada 600k nama: setiap ketukan satu query, top 20. SampleTime untuk p99.
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+@State(Scope.Benchmark)
+public class PencarianNamaBenchmark {
+    private static final int UKURAN_KATALOG = 600_000;
+    private static final int BATAS = 20;
+    private static final String[] MEREK = {"Asus", "Lenovo", "Samsung", "Xiaomi", "Logitech", "Sandisk",
+            "Philips", "Miyako", "Cosmos", "Indomie", "Aqua", "Sari Roti", "Faber-Castell", "Joyko"};
+    private static final String[] BARANG = {"Laptop", "Mouse", "Keyboard", "Flashdisk", "Kabel USB-C",
+            "Charger", "Rice Cooker", "Blender", "Mi Goreng", "Air Mineral", "Roti Tawar", "Pensil 2B",
+            "Penghapus", "Setrika", "Kipas Angin", "Headset", "Monitor", "Printer"};
+    private static final String[] VARIAN = {"Pro", "Mini", "Ultra", "Lite", "Gaming", "Wireless", "Jumbo",
+            "Hitam", "Putih", "Biru", "600ml", "1.5L", "Pack 12", "Edisi Terbatas"};
+    // Yang diketik kasir, satu ketukan per query
+    private static final String[] KETIKAN = {"lenovo thinkpad", "mouse wireless", "kabel usb", "mi goreng",
+            "roti tawar", "pensil 2b", "kipas", "xyz"};
+
+    private RepositoryProdukInMemory repository;
+    private String[] namaKecil;
+    private String[] query;
+    private int indeksQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        repository = new RepositoryProdukInMemory();
+        namaKecil = new String[UKURAN_KATALOG];
+        for (int i = 0; i < UKURAN_KATALOG; i++) {
+            String nama = MEREK[random.nextInt(MEREK.length)] + " " + BARANG[random.nextInt(BARANG.length)]
+                    + " " + VARIAN[random.nextInt(VARIAN.length)] + " " + random.nextInt(1000);
+            repository.simpan(new Produk(KatalogBenchmark.kode(i), nama, "Umum", 1000, 10, 1));
+            namaKecil[i] = nama.toLowerCase(Locale.ROOT);
+        }
+
+        List<String> semuaQuery = new ArrayList<>();
+        for (String ketikan : KETIKAN) {
+            for (int panjang = 1; panjang <= ketikan.length(); panjang++) {
+                semuaQuery.add(ketikan.substring(0, panjang));
+            }
+        }
+        query = semuaQuery.toArray(new String[0]);
+    }
+
+    private String queryBerikutnya() {
+        String hasil = query[indeksQuery];
+        indeksQuery = indeksQuery + 1 == query.length ? 0 : indeksQuery + 1;
+        return hasil;
+    }
+
+    @Benchmark
+    public List<Produk> substringTrigram() {
+        return repository.cariByNama(queryBerikutnya(), 0, BATAS);
+    }
+
+    @Benchmark
+    public List<Produk> awalanKata() {
+        return repository.cariByAwalanNama(queryBerikutnya(), 0, BATAS);
+    }
+
+    // Batas bawah pindai penuh: contains atas nama yang sudah huruf kecil, tanpa salinan Produk
+    @Benchmark
+    public int pindaiPenuh() {
+        String kunci = queryBerikutnya();
+        int jumlah = 0;
+        for (String nama : namaKecil) {
+            if (nama.contains(kunci)) {
+                jumlah++;
+            }
+        }
+        return jumlah;
+    }
+}
@@ -0,0 +1,86 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProdukInMemory;
+import com.praktikum.whitebox.repository.RepositoryProdukKolumnar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Scan analitik: kolom primitif dibandingkan pindai objek Produk di RepositoryProdukInMemory
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class RepositoryProdukKolumnarBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    public int ukuranKatalog;
+
+    private RepositoryProdukKolumnar kolumnar;
+    private RepositoryProdukInMemory inMemory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        kolumnar = new RepositoryProdukKolumnar(ukuranKatalog);
+        inMemory = new RepositoryProdukInMemory();
+        // Stok bervariasi agar sebagian produk menipis
+        KatalogBenchmark.isi(kolumnar, ukuranKatalog, 0);
+        KatalogBenchmark.isi(inMemory, ukuranKatalog, 0);
+        for (int i = 0; i < ukuranKatalog; i++) {
+            kolumnar.updateStok(KatalogBenchmark.kode(i), i % 100);
+            inMemory.updateStok(KatalogBenchmark.kode(i), i % 100);
+        }
+    }
+
+    @Benchmark
+    public double totalNilaiKolumnar() {
+        return kolumnar.hitungTotalNilaiAktif();
+    }
+
+    // Pindai penuh lewat implementasi bawaan interface, bukan total berjalan
+    @Benchmark
+    public double totalNilaiPindaiObjek() {
+        double total = 0;
+        for (Produk produk : inMemory.cariSemua()) {
+            if (produk.isAktif()) {
+                total += produk.getHarga() * produk.getStok();
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long totalStokKolumnar() {
+        return kolumnar.hitungTotalStokAktif();
+    }
+
+    @Benchmark
+    public List<Produk> stokMenipisKolumnar() {
+        return kolumnar.cariProdukStokMenipis();
+    }
+
+    @Benchmark
+    public List<Produk> stokMenipisInMemory() {
+        return inMemory.cariProdukStokMenipis();
+    }
+
+    @Benchmark
+    public Map<String, Double> nilaiPerKategoriKolumnar() {
+        return kolumnar.hitungNilaiPerKategori();
+    }
+}
@@ -0,0 +1,92 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.repository.RepositoryProdukMappedFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Waktu startup (bangun ulang indeks kode -> slot) dan updateStok di tempat
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class RepositoryProdukMappedFileBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class FileKatalog {
+        @Param({"100000", "1000000"})
+        public int ukuranKatalog;
+
+        Path file;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            file = Files.createTempFile("produk-benchmark", ".dat");
+            Files.delete(file);
+            try (RepositoryProdukMappedFile repository = new RepositoryProdukMappedFile(file)) {
+                KatalogBenchmark.isi(repository, ukuranKatalog, 1_000_000);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class RepositoryTerbuka {
+        RepositoryProdukMappedFile repository;
+        String[] kode;
+
+        @Setup(Level.Trial)
+        public void setUp(FileKatalog katalog) throws IOException {
+            repository = new RepositoryProdukMappedFile(katalog.file);
+            kode = KatalogBenchmark.daftarKode(katalog.ukuranKatalog);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            repository.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Acak {
+        final SplittableRandom random = new SplittableRandom(7);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public int startup(FileKatalog katalog) throws IOException {
+        try (RepositoryProdukMappedFile repository = new RepositoryProdukMappedFile(katalog.file)) {
+            return repository.jumlahProduk();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public boolean updateStok(RepositoryTerbuka terbuka, Acak acak) {
+        return terbuka.repository.updateStok(terbuka.kode[acak.random.nextInt(terbuka.kode.length)],
+                acak.random.nextInt(1000));
+    }
+}
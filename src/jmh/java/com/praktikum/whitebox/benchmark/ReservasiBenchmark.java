@@ -0,0 +1,72 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.HasilOperasi;
+import com.praktikum.whitebox.repository.RepositoryProdukInMemory;
+import com.praktikum.whitebox.service.HasilReservasi;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Reservasi lalu lepas, dan keluarStok, dengan sejumlah reservasi lain yang masih aktif.
+// Reservasi latar memakai TTL acak 10-60 detik sehingga roda terus mengedarkan kedaluwarsa
+// selama pengukuran; biaya per operasi seharusnya tidak bergantung pada jumlah tahanan.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+@State(Scope.Benchmark)
+public class ReservasiBenchmark {
+    private static final int UKURAN_KATALOG = 100_000;
+    private static final Duration TTL = Duration.ofMinutes(15);
+
+    @Param({"0", "1000000"})
+    public int reservasiAktif;
+
+    private ServiceInventaris service;
+    private String[] kode;
+    private int indeks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RepositoryProdukInMemory repository = new RepositoryProdukInMemory();
+        KatalogBenchmark.isi(repository, UKURAN_KATALOG, 1_000_000_000);
+        service = new ServiceInventaris(repository);
+        kode = KatalogBenchmark.daftarKode(UKURAN_KATALOG);
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < reservasiAktif; i++) {
+            service.reservasiStok(kode[i % UKURAN_KATALOG], 1, Duration.ofSeconds(10 + random.nextInt(50)));
+        }
+    }
+
+    private String kodeBerikutnya() {
+        indeks = indeks + 1 == kode.length ? 0 : indeks + 1;
+        return kode[indeks];
+    }
+
+    @Benchmark
+    public HasilOperasi reservasiLaluLepas() {
+        // Produk nonaktif di katalog benchmark ditolak, tidak ada yang perlu dilepas
+        HasilReservasi hasil = service.reservasiStok(kodeBerikutnya(), 1, TTL);
+        return hasil.isBerhasil() ? service.lepasReservasi(hasil.reservasi()) : hasil.hasil();
+    }
+
+    @Benchmark
+    public boolean keluarStok() {
+        return service.keluarStok(kodeBerikutnya(), 1);
+    }
+}
@@ -0,0 +1,131 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.repository.RepositoryProdukInMemory;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Jalur panas ServiceInventaris di atas RepositoryProdukInMemory untuk katalog 1k sampai 1M
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ServiceInventarisBenchmark {
+    // Jumlah SKU "panas" yang diperebutkan pada skenario kontensi
+    private static final int JUMLAH_SKU_PANAS = 16;
+
+    @State(Scope.Benchmark)
+    public static class Katalog {
+        @Param({"1000", "10000", "100000", "1000000"})
+        public int ukuranKatalog;
+
+        ServiceInventaris service;
+        String[] kode;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            RepositoryProdukInMemory repository = new RepositoryProdukInMemory();
+            KatalogBenchmark.isi(repository, ukuranKatalog, 1_000_000_000);
+            service = new ServiceInventaris(repository);
+            kode = KatalogBenchmark.daftarKode(ukuranKatalog);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Acak {
+        SplittableRandom random;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            random = new SplittableRandom(Thread.currentThread().getId());
+        }
+
+        String kodeAcak(Katalog katalog) {
+            return katalog.kode[random.nextInt(katalog.kode.length)];
+        }
+
+        String kodePanas(Katalog katalog) {
+            return katalog.kode[random.nextInt(Math.min(JUMLAH_SKU_PANAS, katalog.kode.length))];
+        }
+    }
+
+    // ================ Satu thread =========================
+
+    @Benchmark
+    public boolean keluarStok(Katalog katalog, Acak acak) {
+        return katalog.service.keluarStok(acak.kodeAcak(katalog), 1);
+    }
+
+    @Benchmark
+    public boolean masukStok(Katalog katalog, Acak acak) {
+        return katalog.service.masukStok(acak.kodeAcak(katalog), 1);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public double hitungTotalNilaiInventaris(Katalog katalog) {
+        return katalog.service.hitungTotalNilaiInventaris();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long hitungTotalStok(Katalog katalog) {
+        return katalog.service.hitungTotalStokAktif();
+    }
+
+    // ================ Banyak thread =======================
+
+    // SKU tersebar merata di seluruh katalog, kontensi rendah
+    @Benchmark
+    @Threads(8)
+    public boolean keluarStokTersebar8Thread(Katalog katalog, Acak acak) {
+        return katalog.service.keluarStok(acak.kodeAcak(katalog), 1);
+    }
+
+    // Semua thread memperebutkan beberapa SKU panas
+    @Benchmark
+    @Group("skuPanas")
+    @GroupThreads(4)
+    public boolean keluarStokSkuPanas(Katalog katalog, Acak acak) {
+        return katalog.service.keluarStok(acak.kodePanas(katalog), 1);
+    }
+
+    @Benchmark
+    @Group("skuPanas")
+    @GroupThreads(4)
+    public boolean masukStokSkuPanas(Katalog katalog, Acak acak) {
+        return katalog.service.masukStok(acak.kodePanas(katalog), 1);
+    }
+
+    // Penulis pada SKU panas bersaing dengan pembaca agregat
+    @Benchmark
+    @Group("tulisDanAgregat")
+    @GroupThreads(6)
+    public boolean keluarStokSaatAgregat(Katalog katalog, Acak acak) {
+        return katalog.service.keluarStok(acak.kodePanas(katalog), 1);
+    }
+
+    @Benchmark
+    @Group("tulisDanAgregat")
+    @GroupThreads(2)
+    public long agregatSaatTulis(Katalog katalog) {
+        return katalog.service.hitungTotalStokAktif();
+    }
+}
@@ -0,0 +1,68 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukSnapshot;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.repository.RepositoryProdukCache;
+import com.praktikum.whitebox.repository.RepositoryProdukInMemory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Baca per kode, hasilnya dipegang pemanggil: salinan Produk (cariByKode) vs snapshot immutable (lihatByKode). Jalankan dengan -prof gc.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class SnapshotBenchmark {
+    // Semua kode muat di cache sehingga setiap baca pada varian cache adalah hit
+    private static final int UKURAN_KATALOG = 10_000;
+
+    @Param({"inmemory", "cache"})
+    public String repository;
+
+    private RepositoryProduk repo;
+    private String[] kode;
+    private int indeks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RepositoryProdukInMemory inMemory = new RepositoryProdukInMemory();
+        KatalogBenchmark.isi(inMemory, UKURAN_KATALOG, 1_000);
+        repo = repository.equals("cache") ? new RepositoryProdukCache(inMemory, UKURAN_KATALOG * 2) : inMemory;
+        kode = KatalogBenchmark.daftarKode(UKURAN_KATALOG);
+        for (String k : kode) {
+            repo.lihatByKode(k);
+            repo.lihatByKode(k);
+        }
+    }
+
+    private String kodeBerikutnya() {
+        String hasil = kode[indeks];
+        indeks = indeks + 1 == kode.length ? 0 : indeks + 1;
+        return hasil;
+    }
+
+    @Benchmark
+    public Produk salinanProduk() {
+        return repo.cariByKode(kodeBerikutnya()).get();
+    }
+
+    @Benchmark
+    public ProdukSnapshot snapshot() {
+        return repo.lihatByKode(kodeBerikutnya()).get();
+    }
+}
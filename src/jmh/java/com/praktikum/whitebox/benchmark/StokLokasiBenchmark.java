@@ -0,0 +1,77 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProdukInMemory;
+import com.praktikum.whitebox.service.ModeKonkurensi;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Satu produk laris diubah bersamaan dari beberapa gudang. stokProduk memakai keluar/masuk
+// biasa; stokLokasi memakai lokasi per thread. Keduanya menulis entri produk yang sama di
+// bawah kunci kode, karena Produk.stok adalah jumlah semua lokasi, jadi selisihnya adalah
+// biaya menjaga sel lokasi tetap sama dengan Produk.stok.
+// Jumlah thread diatur lewat -t; anotasi @Threads hanya nilai bawaan.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Threads(4)
+public class StokLokasiBenchmark {
+    private static final String KODE = "P0000001";
+    private static final List<String> LOKASI = List.of("G00", "G01", "G02", "G03", "G04", "G05", "G06", "G07",
+            "G08", "G09", "G10", "G11", "G12", "G13", "G14", "G15");
+
+    @State(Scope.Benchmark)
+    public static class Gudang {
+        ServiceInventaris service;
+        final AtomicInteger lokasiBerikutnya = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            RepositoryProdukInMemory repository = new RepositoryProdukInMemory();
+            repository.simpan(new Produk(KODE, "Produk laris", "Umum", 1000, 0, 10));
+            service = new ServiceInventaris(repository, ModeKonkurensi.KUNCI_PER_KODE, LOKASI);
+            // 16 lokasi x 10^8 masih di bawah Integer.MAX_VALUE untuk Produk.stok
+            for (String lokasi : LOKASI) {
+                service.masukStokLokasi(KODE, lokasi, 100_000_000);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class LokasiThread {
+        String lokasi;
+
+        @Setup(Level.Trial)
+        public void setUp(Gudang gudang) {
+            lokasi = LOKASI.get(gudang.lokasiBerikutnya.getAndIncrement() % LOKASI.size());
+        }
+    }
+
+    @Benchmark
+    public boolean stokProduk(Gudang gudang) {
+        return gudang.service.keluarStok(KODE, 1) & gudang.service.masukStok(KODE, 1);
+    }
+
+    @Benchmark
+    public boolean stokLokasi(Gudang gudang, LokasiThread lokasi) {
+        return gudang.service.keluarStokLokasi(KODE, lokasi.lokasi, 1).isBerhasil()
+                & gudang.service.masukStokLokasi(KODE, lokasi.lokasi, 1).isBerhasil();
+    }
+}
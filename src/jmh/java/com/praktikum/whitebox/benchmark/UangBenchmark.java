@@ -0,0 +1,81 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.TipePelanggan;
+import com.praktikum.whitebox.repository.RepositoryProdukKolumnar;
+import com.praktikum.whitebox.service.KalkulatorDiskon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Biaya mode uang titik tetap (long sen) dibanding double: diskon per baris dan valuasi katalog
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UangBenchmark {
+    private static final int JUMLAH_BARIS = 10_000;
+    private static final int UKURAN_KATALOG = 1_000_000;
+
+    private final KalkulatorDiskon kalkulator = new KalkulatorDiskon();
+    private double[] harga;
+    private long[] hargaSen;
+    private int[] kuantitas;
+    private RepositoryProdukKolumnar kolumnar;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        harga = new double[JUMLAH_BARIS];
+        hargaSen = new long[JUMLAH_BARIS];
+        kuantitas = new int[JUMLAH_BARIS];
+        for (int i = 0; i < JUMLAH_BARIS; i++) {
+            hargaSen[i] = 100_000 + random.nextInt(100_000_000);
+            harga[i] = hargaSen[i] / 100.0;
+            kuantitas[i] = 1 + random.nextInt(150);
+        }
+        kolumnar = new RepositoryProdukKolumnar(UKURAN_KATALOG);
+        KatalogBenchmark.isi(kolumnar, UKURAN_KATALOG, 1_000);
+    }
+
+    @Benchmark
+    public double diskonDouble() {
+        double total = 0;
+        for (int i = 0; i < JUMLAH_BARIS; i++) {
+            total += kalkulator.hitungHargaSetelahDiskon(harga[i], kuantitas[i], TipePelanggan.REGULER);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long diskonSen() {
+        long total = 0;
+        for (int i = 0; i < JUMLAH_BARIS; i++) {
+            total += kalkulator.hitungHargaSetelahDiskonSen(hargaSen[i], kuantitas[i], TipePelanggan.REGULER,
+                    RoundingMode.HALF_EVEN);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double valuasiDouble() {
+        return kolumnar.hitungTotalNilaiAktif();
+    }
+
+    @Benchmark
+    public long valuasiSen() {
+        return kolumnar.hitungTotalNilaiAktifSen();
+    }
+}
@@ -0,0 +1,162 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukSnapshot;
+import com.praktikum.whitebox.repository.RepositoryProdukInMemory;
+import com.praktikum.whitebox.server.ServerInventaris;
+import com.praktikum.whitebox.service.ServiceInventaris;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Uji beban ServerInventaris: sejumlah koneksi dibuka serentak, lalu semuanya mengirim
+ * GET /produk/{kode} bersamaan ke repository yang tiap bacanya tidur selama latensi
+ * tiruan (meniru disk atau database jarak jauh). Bukan benchmark JMH; jalankan main:
+ *
+ *   mvn -Pjmh test-compile
+ *   java -cp target/classes:target/test-classes com.praktikum.whitebox.benchmark.UjiBebanServer \
+ *       [koneksi=50000] [latensiMs=50] [virtual|ukuranPoolPlatform]
+ *
+ * Setiap koneksi memakai dua file descriptor (klien dan server) dalam satu proses, jadi
+ * ulimit -n harus di atas 2x jumlah koneksi. Untuk 50k koneksi juga perlu rentang port
+ * ephemeral yang cukup (net.ipv4.ip_local_port_range).
+ */
+public final class UjiBebanServer {
+    private static final int UKURAN_KATALOG = 10_000;
+
+    // Repository dengan latensi baca tiruan; mencatat jumlah baca yang berjalan bersamaan
+    static final class RepositoryLambat extends RepositoryProdukInMemory {
+        private final long latensiMs;
+        private final AtomicInteger sedangBaca = new AtomicInteger();
+        private final AtomicInteger puncakBaca = new AtomicInteger();
+
+        RepositoryLambat(long latensiMs) {
+            this.latensiMs = latensiMs;
+        }
+
+        @Override
+        public Optional<ProdukSnapshot> lihatByKode(String kode) {
+            puncakBaca.accumulateAndGet(sedangBaca.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(latensiMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                sedangBaca.decrementAndGet();
+            }
+            return super.lihatByKode(kode);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int jumlahKoneksi = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        long latensiMs = args.length > 1 ? Long.parseLong(args[1]) : 50;
+        String mode = args.length > 2 ? args[2] : "virtual";
+
+        RepositoryLambat repository = new RepositoryLambat(latensiMs);
+        for (int i = 0; i < UKURAN_KATALOG; i++) {
+            repository.simpan(new Produk(KatalogBenchmark.kode(i), "Produk " + i, "Umum", 1000, 100, 10));
+        }
+        ExecutorService executor = mode.equals("virtual")
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(Integer.parseInt(mode));
+
+        try (ServerInventaris server = new ServerInventaris(new ServiceInventaris(repository),
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), executor)) {
+            server.mulai();
+            Hasil hasil = jalankan(server.getPort(), jumlahKoneksi);
+            System.out.printf("mode=%s koneksi=%d latensi=%dms terhubung=%d berhasil=%d gagal=%d%n",
+                    mode, jumlahKoneksi, latensiMs, hasil.terhubung.get(), hasil.berhasil.get(), hasil.gagal.get());
+            System.out.printf("waktu total=%d ms, p50=%d ms, p99=%d ms, maks=%d ms, baca bersamaan puncak=%d%n",
+                    hasil.totalMs, hasil.persentil(0.50), hasil.persentil(0.99), hasil.persentil(1.0),
+                    repository.puncakBaca.get());
+        }
+    }
+
+    private static final class Hasil {
+        private final long[] latensiMs;
+        private final AtomicInteger terhubung = new AtomicInteger();
+        private final AtomicInteger berhasil = new AtomicInteger();
+        private final AtomicInteger gagal = new AtomicInteger();
+        private long totalMs;
+
+        Hasil(int jumlah) {
+            latensiMs = new long[jumlah];
+            Arrays.fill(latensiMs, -1);
+        }
+
+        long persentil(double p) {
+            long[] terurut = Arrays.stream(latensiMs).filter(l -> l >= 0).sorted().toArray();
+            return terurut.length == 0 ? -1 : terurut[(int) Math.min(terurut.length - 1, Math.floor(p * terurut.length))];
+        }
+    }
+
+    // Klien di virtual thread: semua koneksi dibuka dulu, baru dilepas bersamaan
+    private static Hasil jalankan(int port, int jumlahKoneksi) throws InterruptedException {
+        Hasil hasil = new Hasil(jumlahKoneksi);
+        CountDownLatch siap = new CountDownLatch(jumlahKoneksi);
+        CountDownLatch mulai = new CountDownLatch(1);
+        CountDownLatch selesai = new CountDownLatch(jumlahKoneksi);
+
+        try (ExecutorService klien = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < jumlahKoneksi; i++) {
+                int indeks = i;
+                klien.submit(() -> {
+                    try (Socket socket = new Socket()) {
+                        try {
+                            socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 30_000);
+                            hasil.terhubung.incrementAndGet();
+                        } finally {
+                            siap.countDown();
+                        }
+                        mulai.await();
+                        long awal = System.nanoTime();
+                        if (kirimDanBaca(socket, KatalogBenchmark.kode(indeks % UKURAN_KATALOG))) {
+                            hasil.latensiMs[indeks] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - awal);
+                            hasil.berhasil.incrementAndGet();
+                        } else {
+                            hasil.gagal.incrementAndGet();
+                        }
+                    } catch (IOException | InterruptedException e) {
+                        hasil.gagal.incrementAndGet();
+                    } finally {
+                        selesai.countDown();
+                    }
+                    return null;
+                });
+            }
+            siap.await();
+            long awal = System.nanoTime();
+            mulai.countDown();
+            selesai.await();
+            hasil.totalMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - awal);
+        }
+        return hasil;
+    }
+
+    // Connection: close membuat server menutup koneksi sesudah respons, jadi cukup baca sampai EOF
+    private static boolean kirimDanBaca(Socket socket, String kode) throws IOException {
+        OutputStream keluaran = socket.getOutputStream();
+        keluaran.write(("GET /produk/" + kode + " HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII));
+        keluaran.flush();
+
+        InputStream masukan = socket.getInputStream();
+        byte[] respons = masukan.readAllBytes();
+        return new String(respons, 0, Math.min(respons.length, 12), StandardCharsets.US_ASCII)
+                .equals("HTTP/1.1 200");
+    }
+}
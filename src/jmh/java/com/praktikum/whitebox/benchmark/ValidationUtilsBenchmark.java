@@ -0,0 +1,50 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.util.ValidationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Jalankan dengan -prof gc: gc.alloc.rate.norm untuk isValidKodeProduk harus ~0 B/op,
+// sedangkan versi regex lama mengalokasikan Pattern, Matcher, dan String hasil trim
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidationUtilsBenchmark {
+    @Param({"PROD001", "  abc123  ", "AB-12", "ABCDEFGHIJK"})
+    public String kode;
+
+    private final Produk produk = new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5);
+
+    @Benchmark
+    public boolean isValidKodeProduk() {
+        return ValidationUtils.isValidKodeProduk(kode);
+    }
+
+    @Benchmark
+    public boolean regexLama() {
+        if (kode == null || kode.trim().isEmpty()) {
+            return false;
+        }
+        return kode.trim().matches("^[A-Za-z0-9]{3,10}$");
+    }
+
+    // Dipanggil di setiap tambahProduk; parameter kode tidak berpengaruh di sini
+    @Benchmark
+    public boolean isValidProduk() {
+        return ValidationUtils.isValidProduk(produk);
+    }
+}
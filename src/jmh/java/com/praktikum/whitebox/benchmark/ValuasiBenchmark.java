@@ -0,0 +1,75 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.repository.RepositoryProdukInMemory;
+import com.praktikum.whitebox.repository.RepositoryProdukKolumnar;
+import com.praktikum.whitebox.service.LaporanValuasi;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Laporan valuasi fork-join untuk berbagai paralelisme vs pindai berurutan lama (groupingBy atas cariSemua)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+@State(Scope.Benchmark)
+public class ValuasiBenchmark {
+    @Param({"1000000"})
+    public int ukuranKatalog;
+
+    @Param({"inmemory", "kolumnar"})
+    public String repository;
+
+    @Param({"1", "4", "32"})
+    public int paralelisme;
+
+    private RepositoryProduk repo;
+    private ForkJoinPool pool;
+    private ServiceInventaris service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repo = repository.equals("kolumnar")
+                ? new RepositoryProdukKolumnar(ukuranKatalog) : new RepositoryProdukInMemory();
+        KatalogBenchmark.isi(repo, ukuranKatalog, 1_000);
+        pool = new ForkJoinPool(paralelisme);
+        service = new ServiceInventaris(repo, pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public LaporanValuasi laporanForkJoin() {
+        return service.hitungLaporanValuasi();
+    }
+
+    @Benchmark
+    public Map<String, Double> berurutanCariSemua() {
+        return repo.cariSemua().stream()
+                .filter(Produk::isAktif)
+                .collect(Collectors.groupingBy(Produk::getKategori,
+                        Collectors.summingDouble(p -> p.getHarga() * p.getStok())));
+    }
+}
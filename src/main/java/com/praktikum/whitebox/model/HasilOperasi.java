@@ -0,0 +1,32 @@
+package com.praktikum.whitebox.model;
+
+// Hasil operasi perubahan stok, sekaligus alasan penolakannya
+public enum HasilOperasi {
+    BERHASIL,
+    TIDAK_DITEMUKAN,
+    TIDAK_AKTIF,
+    STOK_TIDAK_CUKUP,
+    KODE_TIDAK_VALID,
+    JUMLAH_TIDAK_VALID,
+    // Nama, harga, stok, atau stok minimum produk baru tidak valid
+    DATA_TIDAK_VALID,
+    // Produk dengan kode yang sama sudah ada
+    DUPLIKAT,
+    // Produk tidak bisa dihapus selama stoknya belum nol
+    MASIH_ADA_STOK,
+    // Reservasi sudah dikomit, dilepas, atau kedaluwarsa
+    RESERVASI_BERAKHIR,
+    // Lokasi tidak terdaftar, atau lokasi asal dan tujuan transfer sama
+    LOKASI_TIDAK_VALID;
+
+    public boolean isBerhasil() {
+        return this == BERHASIL;
+    }
+
+    // Penolakan karena keadaan stok yang bisa berubah sendiri (barang masuk atau keluar),
+    // sehingga permintaan yang sama layak dicoba lagi nanti. Penolakan lain tetap sama
+    // berapa kali pun diulang sampai permintaan atau data produknya diubah.
+    public boolean isBolehDiulang() {
+        return this == STOK_TIDAK_CUKUP || this == MASIH_ADA_STOK;
+    }
+}
@@ -0,0 +1,6 @@
+package com.praktikum.whitebox.model;
+
+// Perpindahan status stok satu produk, misalnya AMAN -> MENIPIS atau MENIPIS -> HABIS
+public record PerubahanStatusStok(String kode, StatusStok statusLama, StatusStok statusBaru,
+                                  int stok, int stokMinimum) {
+}
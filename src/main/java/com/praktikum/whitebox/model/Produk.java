@@ -1,4 +1,5 @@
 package com.praktikum.whitebox.model;
+import java.math.RoundingMode;
 import java.util.Objects;
 
 
@@ -6,7 +7,8 @@ public class Produk {
     private String kode;
     private String nama;
     private String kategori;
-    private double harga;
+    // Harga disimpan dalam sen; getHarga() hanya tampilan double untuk kompatibilitas
+    private long hargaSen;
     private int stok;
     private int stokMinimum;
     private boolean aktif;
@@ -18,12 +20,23 @@ public class Produk {
         this.kode = kode;
         this.nama = nama;
         this.kategori = kategori;
-        this.harga = harga;
+        this.hargaSen = keSen(harga);
         this.stok = stok;
         this.stokMinimum = stokMinimum;
         this.aktif = true;
     }
 
+    // Salinan lengkap, dipakai repository untuk menyimpan dan mengembalikan data
+    public Produk(Produk lain) {
+        this.kode = lain.kode;
+        this.nama = lain.nama;
+        this.kategori = lain.kategori;
+        this.hargaSen = lain.hargaSen;
+        this.stok = lain.stok;
+        this.stokMinimum = lain.stokMinimum;
+        this.aktif = lain.aktif;
+    }
+
     // Getters and Setters
     public String getKode() { return kode; }
     public void setKode(String kode) { this.kode = kode; }
@@ -35,8 +48,20 @@ public class Produk {
     public void setKategori(String kategori) { this.kategori = kategori;
     }
 
-    public double getHarga() { return harga; }
-    public void setHarga(double harga) { this.harga = harga; }
+    public double getHarga() { return Uang.keDouble(hargaSen); }
+    public void setHarga(double harga) { this.hargaSen = keSen(harga); }
+
+    public long getHargaSen() { return hargaSen; }
+    public void setHargaSen(long hargaSen) { this.hargaSen = hargaSen; }
+
+    // Pecahan di bawah sen dibulatkan HALF_EVEN. Harga NaN, tak hingga, atau di luar
+    // jangkauan long sen ditolak di sini, bukan saat dibaca.
+    private static long keSen(double harga) {
+        if (!Uang.isDapatDikonversi(harga)) {
+            throw new IllegalArgumentException("Harga tidak valid: " + harga);
+        }
+        return Uang.dariDouble(harga, RoundingMode.HALF_EVEN);
+    }
 
     public int getStok() { return stok; }
     public void setStok(int stok) { this.stok = stok; }
@@ -83,7 +108,14 @@ public class Produk {
         if (jumlah <= 0) {
             throw new IllegalArgumentException("Jumlah harus positif");
         }
-        return harga * jumlah;
+        return Uang.keDouble(hitungTotalHargaSen(jumlah));
+    }
+
+    public long hitungTotalHargaSen(int jumlah) {
+        if (jumlah <= 0) {
+            throw new IllegalArgumentException("Jumlah harus positif");
+        }
+        return Uang.kali(hargaSen, jumlah);
     }
 
     @Override
@@ -105,7 +137,7 @@ public class Produk {
                 "kode='" + kode + '\'' +
                 ", nama='" + nama + '\'' +
                 ", kategori='" + kategori + '\'' +
-                ", harga=" + harga +
+                ", harga=" + getHarga() +
                 ", stok=" + stok +
                 ", stokMinimum=" + stokMinimum +
                 ", aktif=" + aktif +
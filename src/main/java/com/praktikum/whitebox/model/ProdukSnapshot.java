@@ -0,0 +1,52 @@
+package com.praktikum.whitebox.model;
+
+/**
+ * Tampilan produk yang tidak bisa diubah, untuk jalur baca. Aman dibagi antar
+ * thread dan boleh disajikan dari cache tanpa disalin. Untuk mengubah data,
+ * ambil salinan Produk lewat keProduk() lalu simpan lewat repository.
+ */
+public record ProdukSnapshot(String kode, String nama, String kategori, long hargaSen,
+                             int stok, int stokMinimum, boolean aktif) {
+
+    public static ProdukSnapshot dari(Produk produk) {
+        return new ProdukSnapshot(produk.getKode(), produk.getNama(), produk.getKategori(),
+                produk.getHargaSen(), produk.getStok(), produk.getStokMinimum(), produk.isAktif());
+    }
+
+    // Salinan mutable untuk jalur tulis
+    public Produk keProduk() {
+        Produk produk = new Produk(kode, nama, kategori, 0, stok, stokMinimum);
+        produk.setHargaSen(hargaSen);
+        produk.setAktif(aktif);
+        return produk;
+    }
+
+    public ProdukSnapshot denganStok(int stokBaru) {
+        return new ProdukSnapshot(kode, nama, kategori, hargaSen, stokBaru, stokMinimum, aktif);
+    }
+
+    public ProdukSnapshot denganAktif(boolean aktifBaru) {
+        return new ProdukSnapshot(kode, nama, kategori, hargaSen, stok, stokMinimum, aktifBaru);
+    }
+
+    // Tampilan double dari hargaSen, sama seperti Produk.getHarga()
+    public double harga() {
+        return Uang.keDouble(hargaSen);
+    }
+
+    public StatusStok status() {
+        return StatusStok.dari(stok, stokMinimum);
+    }
+
+    public boolean isStokHabis() {
+        return stok == 0;
+    }
+
+    public boolean isStokMenipis() {
+        return stok > 0 && stok <= stokMinimum;
+    }
+
+    public boolean isStokAman() {
+        return stok > stokMinimum;
+    }
+}
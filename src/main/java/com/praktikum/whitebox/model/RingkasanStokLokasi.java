@@ -0,0 +1,34 @@
+package com.praktikum.whitebox.model;
+
+import java.util.Map;
+
+/**
+ * Stok satu produk di semua lokasi beserta total globalnya. Status stok dihitung
+ * dari total terhadap stokMinimum produk, dengan aturan yang sama seperti Produk.
+ * stokPerLokasi urut sesuai daftar lokasi service dan memuat lokasi berstok nol.
+ */
+public record RingkasanStokLokasi(String kode, Map<String, Integer> stokPerLokasi, long total, int stokMinimum) {
+
+    public int stok(String lokasi) {
+        return stokPerLokasi.getOrDefault(lokasi, 0);
+    }
+
+    public StatusStok status() {
+        if (total == 0) {
+            return StatusStok.HABIS;
+        }
+        return total <= stokMinimum ? StatusStok.MENIPIS : StatusStok.AMAN;
+    }
+
+    public boolean isStokHabis() {
+        return total == 0;
+    }
+
+    public boolean isStokMenipis() {
+        return total > 0 && total <= stokMinimum;
+    }
+
+    public boolean isStokAman() {
+        return total > stokMinimum;
+    }
+}
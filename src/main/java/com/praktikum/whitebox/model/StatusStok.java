@@ -0,0 +1,24 @@
+package com.praktikum.whitebox.model;
+
+// Status stok produk, mengikuti aturan isStokHabis/isStokMenipis/isStokAman di Produk
+public enum StatusStok {
+    HABIS,
+    MENIPIS,
+    AMAN;
+
+    // Mengembalikan null untuk stok negatif (tidak masuk kategori mana pun)
+    public static StatusStok dari(int stok, int stokMinimum) {
+        if (stok == 0) {
+            return HABIS;
+        } else if (stok > 0 && stok <= stokMinimum) {
+            return MENIPIS;
+        } else if (stok > stokMinimum) {
+            return AMAN;
+        }
+        return null;
+    }
+
+    public static StatusStok dari(Produk produk) {
+        return dari(produk.getStok(), produk.getStokMinimum());
+    }
+}
@@ -0,0 +1,34 @@
+package com.praktikum.whitebox.model;
+
+// Tipe pelanggan yang mendapat diskon tambahan; tipe lain tidak punya konstanta
+public enum TipePelanggan {
+    PREMIUM,
+    REGULER,
+    BARU;
+
+    private static final TipePelanggan[] NILAI = values();
+
+    // Tidak peka huruf besar/kecil seperti equalsIgnoreCase; null untuk tipe yang tidak dikenal
+    public static TipePelanggan dari(String nama) {
+        if (nama == null) {
+            return null;
+        }
+        // Jalur cepat untuk penulisan huruf besar yang paling umum
+        switch (nama) {
+            case "PREMIUM":
+                return PREMIUM;
+            case "REGULER":
+                return REGULER;
+            case "BARU":
+                return BARU;
+            default:
+                break;
+        }
+        for (TipePelanggan tipe : NILAI) {
+            if (tipe.name().equalsIgnoreCase(nama)) {
+                return tipe;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,108 @@
+package com.praktikum.whitebox.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Aritmetika uang titik tetap dalam satuan sen (1/100) yang disimpan di long.
+ * Penjumlahan dan perkalian dengan kuantitas selalu eksak; pembulatan hanya
+ * terjadi di pembagian (diskon basis poin, konversi dari double) dan selalu
+ * memakai RoundingMode yang diberikan pemanggil. Overflow dilaporkan sebagai
+ * ArithmeticException, bukan dibiarkan berputar.
+ */
+public final class Uang {
+    public static final int SKALA = 100;
+    // 1 basis poin = 0,01%
+    public static final int BPS_PENUH = 10_000;
+
+    // Di atas 2^53 double tidak lagi mewakili setiap bilangan bulat
+    private static final double BATAS_DOUBLE_EKSAK = 0x1p53;
+
+    private Uang() {}
+
+    // Konversi harga double ke sen. Harga yang sudah tepat di sen (kasus umum) dikonversi
+    // tanpa alokasi; harga dengan pecahan di bawah sen dibulatkan lewat BigDecimal.
+    public static long dariDouble(double nilai, RoundingMode pembulatan) {
+        if (!Double.isFinite(nilai)) {
+            throw new IllegalArgumentException("Nilai uang harus berhingga: " + nilai);
+        }
+        double sen = nilai * SKALA;
+        if (Math.abs(sen) < BATAS_DOUBLE_EKSAK) {
+            double bulat = Math.rint(sen);
+            if (Math.abs(sen - bulat) <= 2 * Math.ulp(sen)) {
+                return (long) bulat;
+            }
+        }
+        return BigDecimal.valueOf(nilai).movePointRight(2).setScale(0, pembulatan).longValueExact();
+    }
+
+    // Apakah nilai double bisa dikonversi ke sen tanpa overflow
+    public static boolean isDapatDikonversi(double nilai) {
+        return Double.isFinite(nilai) && Math.abs(nilai * SKALA) < 0x1p62;
+    }
+
+    public static double keDouble(long sen) {
+        return (double) sen / SKALA;
+    }
+
+    public static BigDecimal keBigDecimal(long sen) {
+        return BigDecimal.valueOf(sen, 2);
+    }
+
+    public static long dariBigDecimal(BigDecimal nilai, RoundingMode pembulatan) {
+        return nilai.setScale(2, pembulatan).unscaledValue().longValueExact();
+    }
+
+    public static String format(long sen) {
+        return keBigDecimal(sen).toPlainString();
+    }
+
+    public static long kali(long sen, int kuantitas) {
+        return Math.multiplyExact(sen, kuantitas);
+    }
+
+    // sen x bps / 10.000, dibulatkan sesuai mode. Penyebut konstan agar JIT mengganti
+    // pembagian long dengan perkalian.
+    public static long kaliBps(long sen, int bps, RoundingMode pembulatan) {
+        long pembilang = Math.multiplyExact(sen, bps);
+        long hasil = pembilang / BPS_PENUH;
+        long sisa = pembilang - hasil * BPS_PENUH;
+        if (pembulatan == RoundingMode.HALF_EVEN && pembilang >= 0) {
+            // Kasus diskon yang paling sering: naik bila sisa + (hasil ganjil) melebihi setengah
+            return hasil + ((BPS_PENUH / 2 - sisa - (hasil & 1)) >>> 63);
+        }
+        return sisa == 0 ? hasil : bulatkan(hasil, sisa, BPS_PENUH, pembulatan);
+    }
+
+    // Pembagian bilangan bulat dengan semantik RoundingMode, tanpa BigDecimal
+    public static long bagi(long pembilang, long penyebut, RoundingMode pembulatan) {
+        if (penyebut <= 0) {
+            throw new IllegalArgumentException("Penyebut harus positif");
+        }
+        long hasil = pembilang / penyebut;
+        long sisa = pembilang - hasil * penyebut;
+        return sisa == 0 ? hasil : bulatkan(hasil, sisa, penyebut, pembulatan);
+    }
+
+    // Geser hasil bagi yang terpotong satu langkah menjauhi nol bila mode meminta; sisa != 0.
+    // Arah pembulatan data harga nyaris acak, jadi keputusan diambil dari bit tanda (x >>> 63
+    // bernilai 1 bila x negatif) alih-alih cabang yang sering salah tebak.
+    private static long bulatkan(long hasil, long sisa, long penyebut, RoundingMode pembulatan) {
+        long tanda = (sisa >> 63) | 1;
+        long sisaMutlak = sisa * tanda;
+        // > 0: lebih dari setengah, 0: tepat setengah, < 0: kurang dari setengah
+        long bandingSetengah = sisaMutlak - (penyebut - sisaMutlak);
+        long menjauhiNol = switch (pembulatan) {
+            case UP -> 1;
+            case DOWN -> 0;
+            case CEILING -> ~sisa >>> 63;
+            case FLOOR -> sisa >>> 63;
+            case HALF_UP -> ~bandingSetengah >>> 63;
+            case HALF_DOWN -> -bandingSetengah >>> 63;
+            // bandingSetengah bulat, jadi tepat setengah dibulatkan menjauhi nol hanya bila hasil ganjil
+            case HALF_EVEN -> -(bandingSetengah + (hasil & 1)) >>> 63;
+            case UNNECESSARY -> throw new ArithmeticException("Pembulatan diperlukan");
+        };
+        return hasil + tanda * menjauhiNol;
+    }
+}
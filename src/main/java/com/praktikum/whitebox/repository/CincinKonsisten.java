@@ -0,0 +1,61 @@
+package com.praktikum.whitebox.repository;
+
+import java.util.Arrays;
+
+/**
+ * Consistent hashing kode produk ke nomor shard. Setiap shard punya sejumlah titik
+ * virtual di cincin hash 64-bit; kode dimiliki shard pada titik pertama searah jarum
+ * jam dari hash-nya. Titik shard ke-i hanya bergantung pada i, sehingga menambah satu
+ * shard hanya memindahkan kode ke shard baru, rata-rata 1/(N+1) dari katalog.
+ */
+final class CincinKonsisten {
+    // Cukup banyak agar beban antar shard tidak timpang lebih dari beberapa persen
+    static final int TITIK_PER_SHARD = 160;
+
+    private final long[] titik;
+    private final int[] pemilik;
+
+    CincinKonsisten(int jumlahShard) {
+        if (jumlahShard <= 0) {
+            throw new IllegalArgumentException("Jumlah shard harus positif");
+        }
+        int jumlahTitik = jumlahShard * TITIK_PER_SHARD;
+        long[][] pasangan = new long[jumlahTitik][];
+        for (int shard = 0; shard < jumlahShard; shard++) {
+            for (int i = 0; i < TITIK_PER_SHARD; i++) {
+                pasangan[shard * TITIK_PER_SHARD + i] = new long[] {hash("shard-" + shard + "#" + i), shard};
+            }
+        }
+        Arrays.sort(pasangan, (a, b) -> Long.compare(a[0], b[0]));
+
+        titik = new long[jumlahTitik];
+        pemilik = new int[jumlahTitik];
+        for (int i = 0; i < jumlahTitik; i++) {
+            titik[i] = pasangan[i][0];
+            pemilik[i] = (int) pasangan[i][1];
+        }
+    }
+
+    int shard(String kode) {
+        int i = Arrays.binarySearch(titik, hash(kode));
+        if (i < 0) {
+            i = -i - 1;
+        }
+        return pemilik[i == titik.length ? 0 : i];
+    }
+
+    // FNV-1a 64-bit atas karakter, lalu finalizer MurmurHash3 agar kode berurutan
+    // (P0000001, P0000002, ...) tersebar merata
+    static long hash(String teks) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < teks.length(); i++) {
+            h = (h ^ teks.charAt(i)) * 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,317 @@
+package com.praktikum.whitebox.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Indeks nama produk untuk pencarian saat mengetik. Berisi:
+ * - daftar kata terurut (skip list "kata\0kode") untuk pencarian awalan kata,
+ * - posting trigram (trigram -> kode terurut) untuk pencarian substring,
+ * - jumlah nama per unigram/bigram agar query 1-2 huruf yang jarang cocok tidak
+ *   memindai seluruh katalog,
+ * - nama huruf kecil dan kata-katanya per kode untuk verifikasi kandidat.
+ *
+ * Semua struktur konkuren; pemanggil memperbarui satu kode secara berurutan
+ * (di dalam compute repository) sehingga entri satu kode tidak saling tumpuk.
+ * Hasil dikembalikan sebagai kode; pemanggil tetap memverifikasi terhadap data
+ * utama karena indeks bisa sedikit tertinggal saat ada penulisan bersamaan.
+ */
+final class IndeksNama {
+    private static final char PEMISAH = '\0';
+    // Query pendek dianggap padat bila minimal 1/64 nama cocok; cukup dipindai berurutan
+    private static final int PEMBAGI_PADAT = 64;
+
+    private final Map<String, EntriNama> entriByKode = new ConcurrentHashMap<>();
+    // Terurut kode, untuk query pendek yang cocok dengan banyak nama
+    private final NavigableSet<String> semuaKode = new ConcurrentSkipListSet<>();
+    // Nama di bawah tiga huruf tidak punya trigram
+    private final Set<String> kodeNamaPendek = ConcurrentHashMap.newKeySet();
+    private final NavigableSet<String> kataKode = new ConcurrentSkipListSet<>();
+    private final ConcurrentHashMap<Long, Posting> postingTrigram = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Integer> jumlahGramPendek = new ConcurrentHashMap<>();
+    private final AtomicInteger jumlahNama = new AtomicInteger();
+
+    private record EntriNama(String namaKecil, List<String> kata) {
+    }
+
+    // Kode terurut beserta jumlahnya; size() skip list sendiri O(n)
+    private static final class Posting {
+        private final ConcurrentSkipListSet<String> kode = new ConcurrentSkipListSet<>();
+        private final AtomicInteger jumlah = new AtomicInteger();
+    }
+
+    // namaLama atau namaBaru null berarti produk baru ditambah atau dihapus
+    void perbarui(String kode, String namaLama, String namaBaru) {
+        EntriNama lama = namaLama == null ? null : entriByKode.get(kode);
+        String kecilBaru = namaBaru == null ? null : kecil(namaBaru);
+        if (lama != null && lama.namaKecil().equals(kecilBaru)) {
+            return;
+        }
+        if (lama != null) {
+            hapus(kode, lama);
+        }
+        if (kecilBaru != null) {
+            tambah(kode, new EntriNama(kecilBaru, kata(kecilBaru)));
+        }
+    }
+
+    private void tambah(String kode, EntriNama entri) {
+        for (String kata : entri.kata()) {
+            kataKode.add(kata + PEMISAH + kode);
+        }
+        for (long trigram : trigram(entri.namaKecil())) {
+            postingTrigram.compute(trigram, (t, posting) -> {
+                Posting hasil = posting != null ? posting : new Posting();
+                if (hasil.kode.add(kode)) {
+                    hasil.jumlah.incrementAndGet();
+                }
+                return hasil;
+            });
+        }
+        for (long gram : gramPendek(entri.namaKecil())) {
+            jumlahGramPendek.merge(gram, 1, Integer::sum);
+        }
+        if (entri.namaKecil().length() < 3) {
+            kodeNamaPendek.add(kode);
+        }
+        entriByKode.put(kode, entri);
+        semuaKode.add(kode);
+        jumlahNama.incrementAndGet();
+    }
+
+    private void hapus(String kode, EntriNama entri) {
+        jumlahNama.decrementAndGet();
+        semuaKode.remove(kode);
+        entriByKode.remove(kode);
+        kodeNamaPendek.remove(kode);
+        for (String kata : entri.kata()) {
+            kataKode.remove(kata + PEMISAH + kode);
+        }
+        for (long trigram : trigram(entri.namaKecil())) {
+            postingTrigram.computeIfPresent(trigram, (t, posting) -> {
+                if (posting.kode.remove(kode)) {
+                    posting.jumlah.decrementAndGet();
+                }
+                return posting.kode.isEmpty() ? null : posting;
+            });
+        }
+        for (long gram : gramPendek(entri.namaKecil())) {
+            jumlahGramPendek.computeIfPresent(gram, (g, jumlah) -> jumlah == 1 ? null : jumlah - 1);
+        }
+    }
+
+    // Kode produk yang namanya mengandung teks, urut kode, sesudah setelahKode bila tidak null
+    List<String> cariSubstring(String teks, String setelahKode, int lewati, int batas) {
+        String kunci = kecil(teks);
+        List<String> hasil = new ArrayList<>(Math.min(batas, 64));
+        NavigableSet<String> kandidat = kandidatSubstring(kunci);
+        if (batas == 0 || kandidat.isEmpty()) {
+            return hasil;
+        }
+        if (setelahKode != null) {
+            kandidat = kandidat.tailSet(setelahKode, false);
+        }
+
+        int dilewati = 0;
+        for (String kode : kandidat) {
+            if (cocokSubstring(kode, kunci)) {
+                if (dilewati < lewati) {
+                    dilewati++;
+                } else {
+                    hasil.add(kode);
+                    if (hasil.size() == batas) {
+                        break;
+                    }
+                }
+            }
+        }
+        return hasil;
+    }
+
+    // Versi lazy dari cariSubstring untuk seluruh hasil
+    Stream<String> aliranSubstring(String teks) {
+        String kunci = kecil(teks);
+        return kandidatSubstring(kunci).stream().filter(kode -> cocokSubstring(kode, kunci));
+    }
+
+    private boolean cocokSubstring(String kode, String kunci) {
+        EntriNama entri = entriByKode.get(kode);
+        return entri != null && entri.namaKecil().contains(kunci);
+    }
+
+    // Posting trigram terkecil, gabungan posting untuk kunci pendek yang jarang, atau semua
+    // kode untuk kunci pendek yang padat. Kosong bila pasti tidak ada yang cocok.
+    private NavigableSet<String> kandidatSubstring(String kunci) {
+        if (kunci.length() == 1 || kunci.length() == 2) {
+            Integer jumlah = jumlahGramPendek.get(gram(kunci, 0, kunci.length()));
+            if (jumlah == null) {
+                return Collections.emptyNavigableSet();
+            }
+            return (long) jumlah * PEMBAGI_PADAT < jumlahNama.get() ? kandidatPendekJarang(kunci) : semuaKode;
+        } else if (kunci.length() >= 3) {
+            Posting terkecil = null;
+            for (long trigram : trigram(kunci)) {
+                Posting posting = postingTrigram.get(trigram);
+                if (posting == null) {
+                    return Collections.emptyNavigableSet();
+                }
+                if (terkecil == null || posting.jumlah.get() < terkecil.jumlah.get()) {
+                    terkecil = posting;
+                }
+            }
+            return terkecil.kode;
+        }
+        return semuaKode;
+    }
+
+    // Kode produk yang setiap kata query menjadi awalan salah satu kata di namanya.
+    // Urut berdasarkan kata yang cocok dengan kata query terpanjang, lalu kode.
+    List<String> cariAwalan(String awalan, int lewati, int batas) {
+        List<String> kataQuery = kata(kecil(awalan));
+        List<String> hasil = new ArrayList<>(Math.min(batas, 64));
+        if (kataQuery.isEmpty() || batas == 0) {
+            return hasil;
+        }
+
+        String penggerak = kataQuery.get(0);
+        for (String kata : kataQuery) {
+            if (kata.length() > penggerak.length()) {
+                penggerak = kata;
+            }
+        }
+
+        // Kata lain yang tidak muncul di nama mana pun membuat hasil pasti kosong
+        for (String kata : kataQuery) {
+            if (kata != penggerak && !mungkinAda(kata)) {
+                return hasil;
+            }
+        }
+
+        Set<String> sudah = new HashSet<>();
+        int dilewati = 0;
+        for (String kataDanKode : kataKode.tailSet(penggerak)) {
+            if (!kataDanKode.startsWith(penggerak)) {
+                break;
+            }
+            String kode = kataDanKode.substring(kataDanKode.indexOf(PEMISAH) + 1);
+            if (!sudah.add(kode)) {
+                continue;
+            }
+            EntriNama entri = entriByKode.get(kode);
+            if (entri == null || (kataQuery.size() > 1 && !semuaKataAwalan(kataQuery, entri.kata()))) {
+                continue;
+            }
+            if (dilewati < lewati) {
+                dilewati++;
+            } else {
+                hasil.add(kode);
+                if (hasil.size() == batas) {
+                    break;
+                }
+            }
+        }
+        return hasil;
+    }
+
+    // Gabungan posting semua trigram yang memuat kunci 1-2 huruf, ditambah nama pendek.
+    // Hanya dipakai bila kunci jarang muncul sehingga gabungannya kecil.
+    private NavigableSet<String> kandidatPendekJarang(String kunci) {
+        NavigableSet<String> hasil = new TreeSet<>(kodeNamaPendek);
+        for (Map.Entry<Long, Posting> entry : postingTrigram.entrySet()) {
+            long t = entry.getKey();
+            String trigram = String.valueOf(new char[]{(char) (t >>> 32), (char) (t >>> 16), (char) t});
+            if (trigram.contains(kunci)) {
+                hasil.addAll(entry.getValue().kode);
+            }
+        }
+        return hasil;
+    }
+
+    private boolean mungkinAda(String kata) {
+        if (kata.length() < 3) {
+            return jumlahGramPendek.containsKey(gram(kata, 0, kata.length()));
+        }
+        for (long trigram : trigram(kata)) {
+            if (!postingTrigram.containsKey(trigram)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static String kecil(String teks) {
+        return teks.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean semuaKataAwalan(List<String> kataQuery, List<String> kataNama) {
+        for (String awalan : kataQuery) {
+            boolean ada = false;
+            for (String kata : kataNama) {
+                if (kata.startsWith(awalan)) {
+                    ada = true;
+                    break;
+                }
+            }
+            if (!ada) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Kata = deretan huruf atau angka; tanda baca dan spasi menjadi pemisah
+    private static List<String> kata(String teks) {
+        List<String> hasil = new ArrayList<>(4);
+        int awal = -1;
+        for (int i = 0; i <= teks.length(); i++) {
+            boolean bagianKata = i < teks.length() && Character.isLetterOrDigit(teks.charAt(i));
+            if (bagianKata && awal < 0) {
+                awal = i;
+            } else if (!bagianKata && awal >= 0) {
+                hasil.add(teks.substring(awal, i));
+                awal = -1;
+            }
+        }
+        return hasil;
+    }
+
+    // Unigram dan bigram unik; panjang gram disimpan di bit 32 agar keduanya tidak bertabrakan
+    private static Set<Long> gramPendek(String teks) {
+        Set<Long> hasil = new HashSet<>(Math.max(4, teks.length() * 4));
+        for (int i = 0; i < teks.length(); i++) {
+            hasil.add(gram(teks, i, 1));
+            if (i + 2 <= teks.length()) {
+                hasil.add(gram(teks, i, 2));
+            }
+        }
+        return hasil;
+    }
+
+    private static long gram(String teks, int awal, int panjang) {
+        long hasil = (long) panjang << 32;
+        for (int i = 0; i < panjang; i++) {
+            hasil |= (long) teks.charAt(awal + i) << (16 * (panjang - 1 - i));
+        }
+        return hasil;
+    }
+
+    // Trigram unik, tiga char dikemas ke satu long
+    private static Set<Long> trigram(String teks) {
+        Set<Long> hasil = new HashSet<>(Math.max(4, teks.length() * 2));
+        for (int i = 0; i + 3 <= teks.length(); i++) {
+            hasil.add(((long) teks.charAt(i) << 32) | ((long) teks.charAt(i + 1) << 16) | teks.charAt(i + 2));
+        }
+        return hasil;
+    }
+}
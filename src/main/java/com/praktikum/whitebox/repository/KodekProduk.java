@@ -0,0 +1,42 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+// Format biner Produk yang dipakai bersama oleh log, snapshot, dan transport
+final class KodekProduk {
+    private KodekProduk() {}
+
+    static void tulis(DataOutput out, Produk produk) throws IOException {
+        tulisTeks(out, produk.getKode());
+        tulisTeks(out, produk.getNama());
+        tulisTeks(out, produk.getKategori());
+        out.writeLong(produk.getHargaSen());
+        out.writeInt(produk.getStok());
+        out.writeInt(produk.getStokMinimum());
+        out.writeBoolean(produk.isAktif());
+    }
+
+    static Produk baca(DataInput in) throws IOException {
+        Produk produk = new Produk(bacaTeks(in), bacaTeks(in), bacaTeks(in), 0, 0, 0);
+        produk.setHargaSen(in.readLong());
+        produk.setStok(in.readInt());
+        produk.setStokMinimum(in.readInt());
+        produk.setAktif(in.readBoolean());
+        return produk;
+    }
+
+    static void tulisTeks(DataOutput out, String teks) throws IOException {
+        out.writeBoolean(teks != null);
+        if (teks != null) {
+            out.writeUTF(teks);
+        }
+    }
+
+    static String bacaTeks(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
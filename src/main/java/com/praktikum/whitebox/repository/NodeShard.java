@@ -0,0 +1,111 @@
+package com.praktikum.whitebox.repository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Node shard yang melayani PermintaanShard dari TransportShardSoket di atas satu
+ * RepositoryProduk lokal. Setiap koneksi dilayani virtual thread sendiri dan boleh
+ * mengirim banyak permintaan berurutan (satu permintaan, satu jawaban).
+ *
+ * Jawaban diawali satu byte status: STATUS_OK lalu isi jawaban, atau status galat
+ * lalu pesannya. IllegalArgumentException dari repository dikirim sebagai
+ * STATUS_GALAT_ARGUMEN supaya pemanggil menerima jenis exception yang sama.
+ */
+public final class NodeShard implements AutoCloseable {
+    static final byte STATUS_OK = 0;
+    static final byte STATUS_GALAT_ARGUMEN = 1;
+    static final byte STATUS_GALAT = 2;
+    private static final int ANTRIAN_KONEKSI = 1024;
+
+    private final RepositoryProduk repository;
+    private final ServerSocket server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Socket> daftarKoneksi = ConcurrentHashMap.newKeySet();
+
+    public NodeShard(RepositoryProduk repository, InetSocketAddress alamat) throws IOException {
+        this.repository = repository;
+        this.server = new ServerSocket();
+        server.bind(alamat, ANTRIAN_KONEKSI);
+    }
+
+    public void mulai() {
+        executor.execute(this::terimaKoneksi);
+    }
+
+    public InetSocketAddress getAlamat() {
+        return new InetSocketAddress(server.getInetAddress(), server.getLocalPort());
+    }
+
+    // Koneksi yang sedang terbuka diputus; repository tidak ikut ditutup
+    @Override
+    public void close() throws IOException {
+        server.close();
+        for (Socket soket : daftarKoneksi) {
+            soket.close();
+        }
+        executor.shutdownNow();
+    }
+
+    private void terimaKoneksi() {
+        while (!server.isClosed()) {
+            try {
+                Socket soket = server.accept();
+                soket.setTcpNoDelay(true);
+                daftarKoneksi.add(soket);
+                executor.execute(() -> layani(soket));
+            } catch (IOException e) {
+                // accept() gagal karena server ditutup, atau koneksi putus sebelum diterima
+            }
+        }
+    }
+
+    private void layani(Socket soket) {
+        try (soket;
+             DataInputStream masuk = new DataInputStream(new BufferedInputStream(soket.getInputStream()));
+             DataOutputStream keluar = new DataOutputStream(new BufferedOutputStream(soket.getOutputStream()))) {
+            while (true) {
+                PermintaanShard<?> permintaan;
+                try {
+                    permintaan = PermintaanShard.baca(masuk);
+                } catch (EOFException e) {
+                    return;
+                }
+                jawab(permintaan, keluar);
+                keluar.flush();
+            }
+        } catch (IOException e) {
+            // Klien memutus koneksi atau node ditutup; klien melihatnya sebagai UncheckedIOException
+        } finally {
+            daftarKoneksi.remove(soket);
+        }
+    }
+
+    private <T> void jawab(PermintaanShard<T> permintaan, DataOutputStream keluar) throws IOException {
+        T hasil;
+        try {
+            hasil = permintaan.jalankan(repository);
+        } catch (IllegalArgumentException e) {
+            keluar.writeByte(STATUS_GALAT_ARGUMEN);
+            KodekProduk.tulisTeks(keluar, e.getMessage());
+            return;
+        } catch (RuntimeException e) {
+            keluar.writeByte(STATUS_GALAT);
+            KodekProduk.tulisTeks(keluar, e.toString());
+            return;
+        }
+        keluar.writeByte(STATUS_OK);
+        permintaan.tulisJawaban(keluar, hasil);
+    }
+}
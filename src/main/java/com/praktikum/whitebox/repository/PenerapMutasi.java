@@ -0,0 +1,26 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.HasilOperasi;
+
+// Logika bersama untuk menerapkan deretan delta stok pada satu produk
+final class PenerapMutasi {
+    private PenerapMutasi() {}
+
+    // Delta diterapkan berurutan; delta yang membuat stok negatif atau melewati
+    // batas int ditolak tanpa menghentikan delta berikutnya. Mengembalikan stok akhir.
+    static int terapkan(int stokAwal, int[] delta, HasilOperasi[] hasil) {
+        long stok = stokAwal;
+        for (int i = 0; i < delta.length; i++) {
+            long stokBaru = stok + delta[i];
+            if (stokBaru < 0) {
+                hasil[i] = HasilOperasi.STOK_TIDAK_CUKUP;
+            } else if (stokBaru > Integer.MAX_VALUE) {
+                hasil[i] = HasilOperasi.JUMLAH_TIDAK_VALID;
+            } else {
+                hasil[i] = HasilOperasi.BERHASIL;
+                stok = stokBaru;
+            }
+        }
+        return (int) stok;
+    }
+}
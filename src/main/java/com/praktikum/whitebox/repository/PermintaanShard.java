@@ -0,0 +1,351 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.HasilOperasi;
+import com.praktikum.whitebox.model.Produk;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * Satu permintaan RepositoryProdukPartisi ke sebuah node shard, beserta format
+ * kawatnya. TransportShard di JVM yang sama cukup memanggil jalankan(); transport
+ * jaringan mengirimnya dengan tulis(), node membacanya dengan baca() dan menjawab
+ * dengan tulisJawaban(), lalu pengirim membaca jawabannya dengan bacaJawaban().
+ *
+ * Semua jenis permintaan memakai susunan field yang sama: jenis, teks (kode, nama,
+ * atau kategori), kode kursor, angka (jumlah, stok, atau batas), flag aktif, produk,
+ * dan mutasi. Field yang tidak dipakai jenisnya dikirim kosong.
+ */
+public final class PermintaanShard<T> {
+    private static final Jenis[] SEMUA_JENIS = Jenis.values();
+    private static final HasilOperasi[] SEMUA_HASIL = HasilOperasi.values();
+
+    private final Jenis jenis;
+    private final String teks;
+    private final String setelahKode;
+    private final int angka;
+    private final boolean aktif;
+    private final Produk produk;
+    private final Map<String, int[]> mutasi;
+
+    private enum Jenis {
+        SIMPAN(Jawaban.BOOLEAN, (repo, p) -> repo.simpan(p.produk)),
+        CARI_KODE(Jawaban.PRODUK, (repo, p) -> repo.cariByKode(p.teks)),
+        CARI_NAMA(Jawaban.DAFTAR, (repo, p) -> repo.cariByNama(p.teks)),
+        CARI_KATEGORI(Jawaban.DAFTAR, (repo, p) -> repo.cariByKategori(p.teks)),
+        STOK_MENIPIS(Jawaban.DAFTAR, (repo, p) -> repo.cariProdukStokMenipis()),
+        STOK_HABIS(Jawaban.DAFTAR, (repo, p) -> repo.cariProdukStokHabis()),
+        HAPUS(Jawaban.BOOLEAN, (repo, p) -> repo.hapus(p.teks)),
+        UPDATE_STOK(Jawaban.BOOLEAN, (repo, p) -> repo.updateStok(p.teks, p.angka)),
+        SEMUA(Jawaban.DAFTAR, (repo, p) -> repo.cariSemua()),
+        HALAMAN_SEMUA(Jawaban.DAFTAR, (repo, p) -> repo.cariSemua(p.setelahKode, p.angka)),
+        HALAMAN_KATEGORI(Jawaban.DAFTAR, (repo, p) -> repo.cariByKategori(p.teks, p.setelahKode, p.angka)),
+        HALAMAN_NAMA(Jawaban.DAFTAR, (repo, p) -> repo.cariByNama(p.teks, p.setelahKode, p.angka)),
+        HALAMAN_MENIPIS(Jawaban.DAFTAR, (repo, p) -> repo.cariProdukStokMenipis(p.setelahKode, p.angka)),
+        HALAMAN_HABIS(Jawaban.DAFTAR, (repo, p) -> repo.cariProdukStokHabis(p.setelahKode, p.angka)),
+        KURANGI_STOK(Jawaban.HASIL, (repo, p) -> repo.kurangiStokJikaCukup(p.teks, p.angka)),
+        TAMBAH_STOK(Jawaban.HASIL, (repo, p) -> repo.tambahStok(p.teks, p.angka)),
+        UBAH_AKTIF(Jawaban.BOOLEAN, (repo, p) -> repo.ubahStatusAktif(p.teks, p.aktif)),
+        TERAPKAN_MUTASI(Jawaban.MUTASI, (repo, p) -> repo.terapkanMutasi(p.mutasi)),
+        NILAI_AKTIF(Jawaban.DOUBLE, (repo, p) -> repo.hitungTotalNilaiAktif()),
+        NILAI_AKTIF_SEN(Jawaban.LONG, (repo, p) -> repo.hitungTotalNilaiAktifSen()),
+        STOK_AKTIF(Jawaban.LONG, (repo, p) -> repo.hitungTotalStokAktif());
+
+        private final Jawaban<?> jawaban;
+        private final BiFunction<RepositoryProduk, PermintaanShard<?>, Object> aksi;
+
+        Jenis(Jawaban<?> jawaban, BiFunction<RepositoryProduk, PermintaanShard<?>, Object> aksi) {
+            this.jawaban = jawaban;
+            this.aksi = aksi;
+        }
+    }
+
+    private PermintaanShard(Jenis jenis, String teks, String setelahKode, int angka, boolean aktif,
+                            Produk produk, Map<String, int[]> mutasi) {
+        this.jenis = jenis;
+        this.teks = teks;
+        this.setelahKode = setelahKode;
+        this.angka = angka;
+        this.aktif = aktif;
+        this.produk = produk;
+        this.mutasi = mutasi;
+    }
+
+    private static <T> PermintaanShard<T> buat(Jenis jenis, String teks, String setelahKode, int angka) {
+        return new PermintaanShard<>(jenis, teks, setelahKode, angka, false, null, null);
+    }
+
+    // ======================================================
+    // ================ Pembuat Permintaan ==================
+    // ======================================================
+
+    static PermintaanShard<Boolean> simpan(Produk produk) {
+        return new PermintaanShard<>(Jenis.SIMPAN, null, null, 0, false, produk, null);
+    }
+
+    static PermintaanShard<Optional<Produk>> cariByKode(String kode) {
+        return buat(Jenis.CARI_KODE, kode, null, 0);
+    }
+
+    static PermintaanShard<List<Produk>> cariByNama(String nama) {
+        return buat(Jenis.CARI_NAMA, nama, null, 0);
+    }
+
+    static PermintaanShard<List<Produk>> cariByKategori(String kategori) {
+        return buat(Jenis.CARI_KATEGORI, kategori, null, 0);
+    }
+
+    static PermintaanShard<List<Produk>> cariProdukStokMenipis() {
+        return buat(Jenis.STOK_MENIPIS, null, null, 0);
+    }
+
+    static PermintaanShard<List<Produk>> cariProdukStokHabis() {
+        return buat(Jenis.STOK_HABIS, null, null, 0);
+    }
+
+    static PermintaanShard<Boolean> hapus(String kode) {
+        return buat(Jenis.HAPUS, kode, null, 0);
+    }
+
+    static PermintaanShard<Boolean> updateStok(String kode, int stokBaru) {
+        return buat(Jenis.UPDATE_STOK, kode, null, stokBaru);
+    }
+
+    static PermintaanShard<List<Produk>> cariSemua() {
+        return buat(Jenis.SEMUA, null, null, 0);
+    }
+
+    static PermintaanShard<List<Produk>> cariSemua(String setelahKode, int batas) {
+        return buat(Jenis.HALAMAN_SEMUA, null, setelahKode, batas);
+    }
+
+    static PermintaanShard<List<Produk>> cariByKategori(String kategori, String setelahKode, int batas) {
+        return buat(Jenis.HALAMAN_KATEGORI, kategori, setelahKode, batas);
+    }
+
+    static PermintaanShard<List<Produk>> cariByNama(String nama, String setelahKode, int batas) {
+        return buat(Jenis.HALAMAN_NAMA, nama, setelahKode, batas);
+    }
+
+    static PermintaanShard<List<Produk>> cariProdukStokMenipis(String setelahKode, int batas) {
+        return buat(Jenis.HALAMAN_MENIPIS, null, setelahKode, batas);
+    }
+
+    static PermintaanShard<List<Produk>> cariProdukStokHabis(String setelahKode, int batas) {
+        return buat(Jenis.HALAMAN_HABIS, null, setelahKode, batas);
+    }
+
+    static PermintaanShard<HasilOperasi> kurangiStokJikaCukup(String kode, int jumlah) {
+        return buat(Jenis.KURANGI_STOK, kode, null, jumlah);
+    }
+
+    static PermintaanShard<HasilOperasi> tambahStok(String kode, int jumlah) {
+        return buat(Jenis.TAMBAH_STOK, kode, null, jumlah);
+    }
+
+    static PermintaanShard<Boolean> ubahStatusAktif(String kode, boolean aktif) {
+        return new PermintaanShard<>(Jenis.UBAH_AKTIF, kode, null, 0, aktif, null, null);
+    }
+
+    static PermintaanShard<Map<String, HasilOperasi[]>> terapkanMutasi(Map<String, int[]> deltaPerKode) {
+        return new PermintaanShard<>(Jenis.TERAPKAN_MUTASI, null, null, 0, false, null, deltaPerKode);
+    }
+
+    static PermintaanShard<Double> hitungTotalNilaiAktif() {
+        return buat(Jenis.NILAI_AKTIF, null, null, 0);
+    }
+
+    static PermintaanShard<Long> hitungTotalNilaiAktifSen() {
+        return buat(Jenis.NILAI_AKTIF_SEN, null, null, 0);
+    }
+
+    static PermintaanShard<Long> hitungTotalStokAktif() {
+        return buat(Jenis.STOK_AKTIF, null, null, 0);
+    }
+
+    // ======================================================
+    // ================ Eksekusi dan Format Kawat ===========
+    // ======================================================
+
+    // Jalankan permintaan terhadap repository milik node
+    @SuppressWarnings("unchecked")
+    public T jalankan(RepositoryProduk node) {
+        return (T) jenis.aksi.apply(node, this);
+    }
+
+    public void tulis(DataOutput out) throws IOException {
+        out.writeByte(jenis.ordinal());
+        KodekProduk.tulisTeks(out, teks);
+        KodekProduk.tulisTeks(out, setelahKode);
+        out.writeInt(angka);
+        out.writeBoolean(aktif);
+        out.writeBoolean(produk != null);
+        if (produk != null) {
+            KodekProduk.tulis(out, produk);
+        }
+        out.writeInt(mutasi == null ? -1 : mutasi.size());
+        if (mutasi != null) {
+            for (Map.Entry<String, int[]> entry : mutasi.entrySet()) {
+                KodekProduk.tulisTeks(out, entry.getKey());
+                out.writeInt(entry.getValue().length);
+                for (int delta : entry.getValue()) {
+                    out.writeInt(delta);
+                }
+            }
+        }
+    }
+
+    public static PermintaanShard<?> baca(DataInput in) throws IOException {
+        int indeksJenis = in.readUnsignedByte();
+        if (indeksJenis >= SEMUA_JENIS.length) {
+            throw new IOException("Jenis permintaan shard tidak dikenali: " + indeksJenis);
+        }
+        String teks = KodekProduk.bacaTeks(in);
+        String setelahKode = KodekProduk.bacaTeks(in);
+        int angka = in.readInt();
+        boolean aktif = in.readBoolean();
+        Produk produk = in.readBoolean() ? KodekProduk.baca(in) : null;
+
+        int jumlahMutasi = in.readInt();
+        Map<String, int[]> mutasi = null;
+        if (jumlahMutasi >= 0) {
+            mutasi = new HashMap<>(jumlahMutasi * 2);
+            for (int i = 0; i < jumlahMutasi; i++) {
+                String kode = KodekProduk.bacaTeks(in);
+                int[] delta = new int[in.readInt()];
+                for (int j = 0; j < delta.length; j++) {
+                    delta[j] = in.readInt();
+                }
+                mutasi.put(kode, delta);
+            }
+        }
+        return new PermintaanShard<>(SEMUA_JENIS[indeksJenis], teks, setelahKode, angka, aktif, produk, mutasi);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void tulisJawaban(DataOutput out, T jawaban) throws IOException {
+        ((Jawaban<T>) jenis.jawaban).tulis(out, jawaban);
+    }
+
+    @SuppressWarnings("unchecked")
+    public T bacaJawaban(DataInput in) throws IOException {
+        return ((Jawaban<T>) jenis.jawaban).baca(in);
+    }
+
+    @Override
+    public String toString() {
+        return teks == null ? jenis.name() : jenis.name() + "(" + teks + ")";
+    }
+
+    // Format kawat jawaban per tipe hasil
+    private interface Jawaban<T> {
+        void tulis(DataOutput out, T jawaban) throws IOException;
+
+        T baca(DataInput in) throws IOException;
+
+        Jawaban<Boolean> BOOLEAN = new Jawaban<>() {
+            public void tulis(DataOutput out, Boolean jawaban) throws IOException {
+                out.writeBoolean(jawaban);
+            }
+
+            public Boolean baca(DataInput in) throws IOException {
+                return in.readBoolean();
+            }
+        };
+
+        Jawaban<Long> LONG = new Jawaban<>() {
+            public void tulis(DataOutput out, Long jawaban) throws IOException {
+                out.writeLong(jawaban);
+            }
+
+            public Long baca(DataInput in) throws IOException {
+                return in.readLong();
+            }
+        };
+
+        Jawaban<Double> DOUBLE = new Jawaban<>() {
+            public void tulis(DataOutput out, Double jawaban) throws IOException {
+                out.writeDouble(jawaban);
+            }
+
+            public Double baca(DataInput in) throws IOException {
+                return in.readDouble();
+            }
+        };
+
+        Jawaban<HasilOperasi> HASIL = new Jawaban<>() {
+            public void tulis(DataOutput out, HasilOperasi jawaban) throws IOException {
+                out.writeByte(jawaban.ordinal());
+            }
+
+            public HasilOperasi baca(DataInput in) throws IOException {
+                return SEMUA_HASIL[in.readUnsignedByte()];
+            }
+        };
+
+        Jawaban<Optional<Produk>> PRODUK = new Jawaban<>() {
+            public void tulis(DataOutput out, Optional<Produk> jawaban) throws IOException {
+                out.writeBoolean(jawaban.isPresent());
+                if (jawaban.isPresent()) {
+                    KodekProduk.tulis(out, jawaban.get());
+                }
+            }
+
+            public Optional<Produk> baca(DataInput in) throws IOException {
+                return in.readBoolean() ? Optional.of(KodekProduk.baca(in)) : Optional.empty();
+            }
+        };
+
+        Jawaban<List<Produk>> DAFTAR = new Jawaban<>() {
+            public void tulis(DataOutput out, List<Produk> jawaban) throws IOException {
+                out.writeInt(jawaban.size());
+                for (Produk produk : jawaban) {
+                    KodekProduk.tulis(out, produk);
+                }
+            }
+
+            public List<Produk> baca(DataInput in) throws IOException {
+                int jumlah = in.readInt();
+                List<Produk> hasil = new ArrayList<>(jumlah);
+                for (int i = 0; i < jumlah; i++) {
+                    hasil.add(KodekProduk.baca(in));
+                }
+                return hasil;
+            }
+        };
+
+        Jawaban<Map<String, HasilOperasi[]>> MUTASI = new Jawaban<>() {
+            public void tulis(DataOutput out, Map<String, HasilOperasi[]> jawaban) throws IOException {
+                out.writeInt(jawaban.size());
+                for (Map.Entry<String, HasilOperasi[]> entry : jawaban.entrySet()) {
+                    KodekProduk.tulisTeks(out, entry.getKey());
+                    out.writeInt(entry.getValue().length);
+                    for (HasilOperasi hasil : entry.getValue()) {
+                        out.writeByte(hasil.ordinal());
+                    }
+                }
+            }
+
+            public Map<String, HasilOperasi[]> baca(DataInput in) throws IOException {
+                int jumlah = in.readInt();
+                Map<String, HasilOperasi[]> hasil = new HashMap<>(jumlah * 2);
+                for (int i = 0; i < jumlah; i++) {
+                    String kode = KodekProduk.bacaTeks(in);
+                    HasilOperasi[] hasilKode = new HasilOperasi[in.readInt()];
+                    for (int j = 0; j < hasilKode.length; j++) {
+                        hasilKode[j] = SEMUA_HASIL[in.readUnsignedByte()];
+                    }
+                    hasil.put(kode, hasilKode);
+                }
+                return hasil;
+            }
+        };
+    }
+}
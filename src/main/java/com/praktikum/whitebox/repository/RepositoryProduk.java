@@ -1,9 +1,24 @@
 package com.praktikum.whitebox.repository;
 
+import com.praktikum.whitebox.model.HasilOperasi;
+import com.praktikum.whitebox.model.PerubahanStatusStok;
 import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukSnapshot;
+import com.praktikum.whitebox.model.Uang;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public interface RepositoryProduk {
     boolean simpan(Produk produk);
@@ -15,4 +30,274 @@ public interface RepositoryProduk {
     boolean hapus(String kode);
     boolean updateStok(String kode, int stokBaru);
     List<Produk> cariSemua();
-}
\ No newline at end of file
+
+    // Produk sebagai snapshot immutable untuk jalur baca. Implementasi yang menyimpan data
+    // immutable bisa mengembalikan objek yang sama tanpa menyalin; bawaan mengonversi cariByKode().
+    default Optional<ProdukSnapshot> lihatByKode(String kode) {
+        return cariByKode(kode).map(ProdukSnapshot::dari);
+    }
+
+    // Produk yang namanya mengandung teks (tidak peka huruf besar/kecil), urut kode.
+    // lewati dan batas untuk paging dan top-N. Implementasi bawaan memindai cariByNama().
+    default List<Produk> cariByNama(String nama, int lewati, int batas) {
+        periksaHalaman(lewati, batas);
+        List<Produk> hasil = new ArrayList<>(cariByNama(nama));
+        hasil.sort(Comparator.comparing(Produk::getKode));
+        return potongHalaman(hasil, lewati, batas);
+    }
+
+    // Produk yang setiap kata di awalan menjadi awalan salah satu kata di namanya, untuk
+    // pencarian saat mengetik. Implementasi bawaan memindai cariSemua().
+    default List<Produk> cariByAwalanNama(String awalan, int lewati, int batas) {
+        periksaHalaman(lewati, batas);
+        if (awalan == null) {
+            return new ArrayList<>();
+        }
+        String[] kataQuery = awalan.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+");
+        List<Produk> hasil = new ArrayList<>();
+        for (Produk produk : cariSemua()) {
+            if (produk.getNama() != null && cocokAwalan(kataQuery, produk.getNama())) {
+                hasil.add(produk);
+            }
+        }
+        hasil.sort(Comparator.comparing(Produk::getKode));
+        return potongHalaman(hasil, lewati, batas);
+    }
+
+    // Paging kursor: paling banyak batas produk urut kode yang kodenya sesudah setelahKode
+    // (null = dari awal). Halaman berikutnya memakai kode produk terakhir sebagai setelahKode;
+    // hasil kosong berarti sudah habis. Implementasi bawaan memindai aliranSemua() dengan
+    // heap berukuran batas, jadi memorinya O(batas) tetapi waktunya O(n) per halaman.
+    default List<Produk> cariSemua(String setelahKode, int batas) {
+        return halamanSetelah(aliranSemua(), setelahKode, batas);
+    }
+
+    default List<Produk> cariByKategori(String kategori, String setelahKode, int batas) {
+        return halamanSetelah(aliranByKategori(kategori), setelahKode, batas);
+    }
+
+    default List<Produk> cariByNama(String nama, String setelahKode, int batas) {
+        return halamanSetelah(aliranByNama(nama), setelahKode, batas);
+    }
+
+    default List<Produk> cariProdukStokMenipis(String setelahKode, int batas) {
+        return halamanSetelah(aliranProdukStokMenipis(), setelahKode, batas);
+    }
+
+    default List<Produk> cariProdukStokHabis(String setelahKode, int batas) {
+        return halamanSetelah(aliranProdukStokHabis(), setelahKode, batas);
+    }
+
+    // Produk dihasilkan satu per satu tanpa membangun daftar penuh, untuk ekspor dan agregasi
+    // dengan memori tetap. Urutan tidak dijamin kecuali disebut oleh implementasinya.
+    // Implementasi bawaan membungkus pindaiSemua().
+    default Stream<Produk> aliranSemua() {
+        return StreamSupport.stream(pindaiSemua(), false);
+    }
+
+    default Stream<Produk> aliranByKategori(String kategori) {
+        if (kategori == null) {
+            return Stream.empty();
+        }
+        return aliranSemua().filter(p -> kategori.equals(p.getKategori()));
+    }
+
+    default Stream<Produk> aliranByNama(String nama) {
+        if (nama == null) {
+            return Stream.empty();
+        }
+        String kunci = nama.toLowerCase(Locale.ROOT);
+        return aliranSemua().filter(p -> p.getNama() != null
+                && p.getNama().toLowerCase(Locale.ROOT).contains(kunci));
+    }
+
+    default Stream<Produk> aliranProdukStokMenipis() {
+        return aliranSemua().filter(Produk::isStokMenipis);
+    }
+
+    default Stream<Produk> aliranProdukStokHabis() {
+        return aliranSemua().filter(Produk::isStokHabis);
+    }
+
+    // Semua produk sebagai Spliterator yang bisa dipecah untuk pemindaian paralel.
+    // Implementasi bawaan memecah hasil cariSemua(); implementasi yang bisa
+    // dipindai tanpa materialisasi daftar penuh sebaiknya meng-override.
+    default Spliterator<Produk> pindaiSemua() {
+        return cariSemua().spliterator();
+    }
+
+    // Daftarkan pendengar perpindahan status stok (aman/menipis/habis) produk yang sudah ada.
+    // Pendengar dipanggil di dalam operasi tulis, berurutan per kode, sehingga harus cepat
+    // dan tidak boleh memblokir. Mengembalikan false bila implementasi tidak mendukungnya.
+    default boolean tambahPendengarStatus(Consumer<PerubahanStatusStok> pendengar) {
+        return false;
+    }
+
+    default void hapusPendengarStatus(Consumer<PerubahanStatusStok> pendengar) {
+    }
+
+    // Kurangi stok produk aktif hanya jika stoknya mencukupi.
+    // Implementasi bawaan masih read-modify-write; implementasi yang dipakai
+    // banyak thread harus meng-override agar cek dan tulis terjadi atomik.
+    default HasilOperasi kurangiStokJikaCukup(String kode, int jumlah) {
+        if (jumlah <= 0) {
+            throw new IllegalArgumentException("Jumlah harus positif");
+        }
+
+        Optional<Produk> produk = cariByKode(kode);
+        if (produk.isEmpty()) {
+            return HasilOperasi.TIDAK_DITEMUKAN;
+        }
+        if (!produk.get().isAktif()) {
+            return HasilOperasi.TIDAK_AKTIF;
+        }
+        if (produk.get().getStok() < jumlah) {
+            return HasilOperasi.STOK_TIDAK_CUKUP;
+        }
+        return updateStok(kode, produk.get().getStok() - jumlah)
+                ? HasilOperasi.BERHASIL : HasilOperasi.TIDAK_DITEMUKAN;
+    }
+
+    // Tambah stok produk aktif, dengan catatan atomisitas yang sama seperti di atas.
+    // Stok yang akan melewati Integer.MAX_VALUE ditolak dengan JUMLAH_TIDAK_VALID.
+    default HasilOperasi tambahStok(String kode, int jumlah) {
+        if (jumlah <= 0) {
+            throw new IllegalArgumentException("Jumlah harus positif");
+        }
+
+        Optional<Produk> produk = cariByKode(kode);
+        if (produk.isEmpty()) {
+            return HasilOperasi.TIDAK_DITEMUKAN;
+        }
+        if (!produk.get().isAktif()) {
+            return HasilOperasi.TIDAK_AKTIF;
+        }
+        long stokBaru = produk.get().getStok() + (long) jumlah;
+        if (stokBaru > Integer.MAX_VALUE) {
+            return HasilOperasi.JUMLAH_TIDAK_VALID;
+        }
+        return updateStok(kode, (int) stokBaru) ? HasilOperasi.BERHASIL : HasilOperasi.TIDAK_DITEMUKAN;
+    }
+
+    // Terapkan banyak delta stok sekaligus, dikelompokkan per kode. Delta untuk satu
+    // kode diterapkan berurutan dan hasilnya dikembalikan per delta dengan urutan yang sama;
+    // stok akhir setiap produk ditulis sekali. Implementasi bawaan tidak atomik per kode.
+    default Map<String, HasilOperasi[]> terapkanMutasi(Map<String, int[]> deltaPerKode) {
+        Map<String, HasilOperasi[]> hasil = new HashMap<>(deltaPerKode.size() * 2);
+        for (Map.Entry<String, int[]> entry : deltaPerKode.entrySet()) {
+            String kode = entry.getKey();
+            int[] delta = entry.getValue();
+            HasilOperasi[] hasilKode = new HasilOperasi[delta.length];
+            hasil.put(kode, hasilKode);
+
+            Optional<Produk> produk = cariByKode(kode);
+            if (produk.isEmpty() || !produk.get().isAktif()) {
+                Arrays.fill(hasilKode, produk.isEmpty()
+                        ? HasilOperasi.TIDAK_DITEMUKAN : HasilOperasi.TIDAK_AKTIF);
+                continue;
+            }
+
+            int stokAwal = produk.get().getStok();
+            int stokAkhir = PenerapMutasi.terapkan(stokAwal, delta, hasilKode);
+            if (stokAkhir != stokAwal && !updateStok(kode, stokAkhir)) {
+                Arrays.fill(hasilKode, HasilOperasi.TIDAK_DITEMUKAN);
+            }
+        }
+        return hasil;
+    }
+
+    // Ubah status aktif produk. Implementasi bawaan menyimpan ulang salinan produk.
+    default boolean ubahStatusAktif(String kode, boolean aktif) {
+        Optional<Produk> produk = cariByKode(kode);
+        if (produk.isEmpty()) {
+            return false;
+        }
+        produk.get().setAktif(aktif);
+        return simpan(produk.get());
+    }
+
+    // Total nilai (harga x stok) produk aktif. Implementasi bawaan memindai cariSemua();
+    // implementasi yang menjaga total berjalan bisa menjawab dalam O(1).
+    default double hitungTotalNilaiAktif() {
+        return cariSemua().stream()
+                .filter(Produk::isAktif)
+                .mapToDouble(p -> p.getHarga() * p.getStok())
+                .sum();
+    }
+
+    // Total nilai produk aktif dalam sen, eksak tanpa galat pembulatan double
+    default long hitungTotalNilaiAktifSen() {
+        long total = 0;
+        for (Produk produk : cariSemua()) {
+            if (produk.isAktif()) {
+                total = Math.addExact(total, Uang.kali(produk.getHargaSen(), produk.getStok()));
+            }
+        }
+        return total;
+    }
+
+    // Total unit stok produk aktif, dengan catatan yang sama seperti di atas
+    default long hitungTotalStokAktif() {
+        return cariSemua().stream()
+                .filter(Produk::isAktif)
+                .mapToLong(Produk::getStok)
+                .sum();
+    }
+
+    private static void periksaHalaman(int lewati, int batas) {
+        if (lewati < 0 || batas < 0) {
+            throw new IllegalArgumentException("lewati dan batas tidak boleh negatif");
+        }
+    }
+
+    // Max-heap berisi batas kode terkecil sesudah setelahKode
+    private static List<Produk> halamanSetelah(Stream<Produk> sumber, String setelahKode, int batas) {
+        periksaHalaman(0, batas);
+        Comparator<Produk> urutKode = Comparator.comparing(Produk::getKode);
+        PriorityQueue<Produk> terkecil = new PriorityQueue<>(urutKode.reversed());
+        try (sumber) {
+            sumber.forEach(produk -> {
+                if (batas == 0 || (setelahKode != null && produk.getKode().compareTo(setelahKode) <= 0)) {
+                    return;
+                }
+                if (terkecil.size() < batas) {
+                    terkecil.add(produk);
+                } else if (urutKode.compare(produk, terkecil.peek()) < 0) {
+                    terkecil.poll();
+                    terkecil.add(produk);
+                }
+            });
+        }
+        List<Produk> hasil = new ArrayList<>(terkecil);
+        hasil.sort(urutKode);
+        return hasil;
+    }
+
+    private static List<Produk> potongHalaman(List<Produk> hasil, int lewati, int batas) {
+        int awal = Math.min(lewati, hasil.size());
+        int akhir = (int) Math.min((long) awal + batas, hasil.size());
+        return new ArrayList<>(hasil.subList(awal, akhir));
+    }
+
+    private static boolean cocokAwalan(String[] kataQuery, String nama) {
+        String[] kataNama = nama.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+");
+        boolean adaKata = false;
+        for (String awalan : kataQuery) {
+            if (awalan.isEmpty()) {
+                continue;
+            }
+            adaKata = true;
+            boolean ada = false;
+            for (String kata : kataNama) {
+                if (kata.startsWith(awalan)) {
+                    ada = true;
+                    break;
+                }
+            }
+            if (!ada) {
+                return false;
+            }
+        }
+        return adaKata;
+    }
+}
@@ -0,0 +1,413 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.HasilOperasi;
+import com.praktikum.whitebox.model.PerubahanStatusStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukSnapshot;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Dekorator read-through yang meng-cache hasil cariByKode dari repository lain
+ * dengan ukuran terbatas. Kebijakan eviksinya W-TinyLFU: produk baru masuk ke
+ * window LRU kecil, lalu hanya boleh masuk ke area utama (SLRU probation dan
+ * protected) bila perkiraan frekuensinya lebih tinggi daripada korban yang
+ * akan digusur. Setiap penulisan diteruskan ke delegate lalu entri cache untuk
+ * kode tersebut dibuang.
+ *
+ * Cache hit dilayani tanpa kunci; pencatatan aksesnya dilewati bila kunci
+ * kebijakan sedang dipegang thread lain, sehingga urutan LRU sedikit longgar
+ * di bawah kontensi tetapi pembaca tidak pernah menunggu. Entri disimpan sebagai
+ * ProdukSnapshot: lihatByKode melayani hit tanpa menyalin, cariByKode tetap
+ * mengembalikan salinan Produk yang boleh diubah pemanggil.
+ */
+public class RepositoryProdukCache implements RepositoryProduk {
+    private static final int JUMLAH_STRIPE = 64;
+
+    private final RepositoryProduk delegate;
+    private final int kapasitas;
+    private final int kapasitasWindow;
+    private final int kapasitasProtected;
+
+    private final ConcurrentHashMap<String, ProdukSnapshot> data = new ConcurrentHashMap<>();
+    // Naik setiap kali kode di stripe tersebut ditulis; mencegah hasil baca lama masuk cache
+    private final AtomicLongArray generasi = new AtomicLongArray(JUMLAH_STRIPE);
+
+    // Struktur kebijakan, hanya diakses saat memegang kunciKebijakan
+    private final ReentrantLock kunciKebijakan = new ReentrantLock();
+    private final LinkedHashMap<String, Boolean> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Boolean> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Boolean> lindungi = new LinkedHashMap<>(16, 0.75f, true);
+    private final SketsaFrekuensi sketsa;
+
+    private final LongAdder jumlahHit = new LongAdder();
+    private final LongAdder jumlahMiss = new LongAdder();
+    private final LongAdder jumlahEviksi = new LongAdder();
+
+    public record StatistikCache(long hit, long miss, long eviksi, int ukuran) {
+        public double rasioHit() {
+            long total = hit + miss;
+            return total == 0 ? 0 : (double) hit / total;
+        }
+    }
+
+    public RepositoryProdukCache(RepositoryProduk delegate, int kapasitas) {
+        if (kapasitas <= 0) {
+            throw new IllegalArgumentException("Kapasitas cache harus positif");
+        }
+        this.delegate = delegate;
+        this.kapasitas = kapasitas;
+        // Pembagian W-TinyLFU: window 1%, sisanya area utama dengan 80% protected
+        this.kapasitasWindow = Math.max(1, kapasitas / 100);
+        this.kapasitasProtected = (kapasitas - kapasitasWindow) * 8 / 10;
+        this.sketsa = new SketsaFrekuensi(kapasitas);
+    }
+
+    // ======================================================
+    // ================ Baca ================================
+    // ======================================================
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        if (kode == null) {
+            return Optional.empty();
+        }
+
+        ProdukSnapshot cache = ambilDariCache(kode);
+        if (cache != null) {
+            return Optional.of(cache.keProduk());
+        }
+
+        long generasiAwal = generasi.get(stripe(kode));
+        Optional<Produk> produk = delegate.cariByKode(kode);
+        if (produk.isPresent()) {
+            masukkan(kode, ProdukSnapshot.dari(produk.get()), generasiAwal);
+        }
+        return produk;
+    }
+
+    // Cache hit dikembalikan apa adanya tanpa salinan
+    @Override
+    public Optional<ProdukSnapshot> lihatByKode(String kode) {
+        if (kode == null) {
+            return Optional.empty();
+        }
+
+        ProdukSnapshot cache = ambilDariCache(kode);
+        if (cache != null) {
+            return Optional.of(cache);
+        }
+
+        long generasiAwal = generasi.get(stripe(kode));
+        Optional<ProdukSnapshot> produk = delegate.lihatByKode(kode);
+        if (produk.isPresent()) {
+            masukkan(kode, produk.get(), generasiAwal);
+        }
+        return produk;
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        return delegate.cariByNama(nama);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        return delegate.cariByKategori(kategori);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return delegate.cariProdukStokMenipis();
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return delegate.cariProdukStokHabis();
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        return delegate.cariSemua();
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama, int lewati, int batas) {
+        return delegate.cariByNama(nama, lewati, batas);
+    }
+
+    @Override
+    public List<Produk> cariByAwalanNama(String awalan, int lewati, int batas) {
+        return delegate.cariByAwalanNama(awalan, lewati, batas);
+    }
+
+    @Override
+    public List<Produk> cariSemua(String setelahKode, int batas) {
+        return delegate.cariSemua(setelahKode, batas);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori, String setelahKode, int batas) {
+        return delegate.cariByKategori(kategori, setelahKode, batas);
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama, String setelahKode, int batas) {
+        return delegate.cariByNama(nama, setelahKode, batas);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis(String setelahKode, int batas) {
+        return delegate.cariProdukStokMenipis(setelahKode, batas);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis(String setelahKode, int batas) {
+        return delegate.cariProdukStokHabis(setelahKode, batas);
+    }
+
+    @Override
+    public Stream<Produk> aliranSemua() {
+        return delegate.aliranSemua();
+    }
+
+    @Override
+    public Stream<Produk> aliranByKategori(String kategori) {
+        return delegate.aliranByKategori(kategori);
+    }
+
+    @Override
+    public Stream<Produk> aliranByNama(String nama) {
+        return delegate.aliranByNama(nama);
+    }
+
+    @Override
+    public Stream<Produk> aliranProdukStokMenipis() {
+        return delegate.aliranProdukStokMenipis();
+    }
+
+    @Override
+    public Stream<Produk> aliranProdukStokHabis() {
+        return delegate.aliranProdukStokHabis();
+    }
+
+    @Override
+    public Spliterator<Produk> pindaiSemua() {
+        return delegate.pindaiSemua();
+    }
+
+    @Override
+    public boolean tambahPendengarStatus(Consumer<PerubahanStatusStok> pendengar) {
+        return delegate.tambahPendengarStatus(pendengar);
+    }
+
+    @Override
+    public void hapusPendengarStatus(Consumer<PerubahanStatusStok> pendengar) {
+        delegate.hapusPendengarStatus(pendengar);
+    }
+
+    @Override
+    public double hitungTotalNilaiAktif() {
+        return delegate.hitungTotalNilaiAktif();
+    }
+
+    @Override
+    public long hitungTotalNilaiAktifSen() {
+        return delegate.hitungTotalNilaiAktifSen();
+    }
+
+    @Override
+    public long hitungTotalStokAktif() {
+        return delegate.hitungTotalStokAktif();
+    }
+
+    // ======================================================
+    // ================ Tulis (write-through) ===============
+    // ======================================================
+
+    @Override
+    public boolean simpan(Produk produk) {
+        boolean hasil = delegate.simpan(produk);
+        if (produk != null && produk.getKode() != null) {
+            buang(produk.getKode());
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        boolean hasil = delegate.hapus(kode);
+        buang(kode);
+        return hasil;
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        boolean hasil = delegate.updateStok(kode, stokBaru);
+        buang(kode);
+        return hasil;
+    }
+
+    @Override
+    public HasilOperasi kurangiStokJikaCukup(String kode, int jumlah) {
+        HasilOperasi hasil = delegate.kurangiStokJikaCukup(kode, jumlah);
+        buang(kode);
+        return hasil;
+    }
+
+    @Override
+    public HasilOperasi tambahStok(String kode, int jumlah) {
+        HasilOperasi hasil = delegate.tambahStok(kode, jumlah);
+        buang(kode);
+        return hasil;
+    }
+
+    @Override
+    public Map<String, HasilOperasi[]> terapkanMutasi(Map<String, int[]> deltaPerKode) {
+        Map<String, HasilOperasi[]> hasil = delegate.terapkanMutasi(deltaPerKode);
+        for (String kode : deltaPerKode.keySet()) {
+            buang(kode);
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean ubahStatusAktif(String kode, boolean aktif) {
+        boolean hasil = delegate.ubahStatusAktif(kode, aktif);
+        buang(kode);
+        return hasil;
+    }
+
+    // ======================================================
+    // ================ Statistik ===========================
+    // ======================================================
+
+    public StatistikCache statistik() {
+        return new StatistikCache(jumlahHit.sum(), jumlahMiss.sum(), jumlahEviksi.sum(), data.size());
+    }
+
+    public int getKapasitas() {
+        return kapasitas;
+    }
+
+    // ======================================================
+    // ================ Kebijakan W-TinyLFU =================
+    // ======================================================
+
+    // Mencatat hit atau miss; null bila kode belum ada di cache
+    private ProdukSnapshot ambilDariCache(String kode) {
+        ProdukSnapshot cache = data.get(kode);
+        if (cache == null) {
+            jumlahMiss.increment();
+            return null;
+        }
+
+        jumlahHit.increment();
+        if (kunciKebijakan.tryLock()) {
+            try {
+                catatAkses(kode);
+            } finally {
+                kunciKebijakan.unlock();
+            }
+        }
+        return cache;
+    }
+
+    // Masukkan hasil baca ke window, kecuali kode sempat ditulis selama delegate dibaca
+    private void masukkan(String kode, ProdukSnapshot produk, long generasiAwal) {
+        kunciKebijakan.lock();
+        try {
+            sketsa.tambah(kode);
+            if (generasi.get(stripe(kode)) != generasiAwal || data.containsKey(kode)) {
+                return;
+            }
+            data.put(kode, produk);
+            window.put(kode, Boolean.TRUE);
+            if (window.size() > kapasitasWindow) {
+                String kandidat = ambilTertua(window);
+                terimaKeAreaUtama(kandidat);
+            }
+        } finally {
+            kunciKebijakan.unlock();
+        }
+    }
+
+    private void catatAkses(String kode) {
+        sketsa.tambah(kode);
+        if (window.get(kode) != null || lindungi.get(kode) != null) {
+            return;
+        }
+        if (probation.remove(kode) != null) {
+            // Diakses lagi saat di probation: naik ke protected
+            lindungi.put(kode, Boolean.TRUE);
+            if (lindungi.size() > kapasitasProtected) {
+                probation.put(ambilTertua(lindungi), Boolean.TRUE);
+            }
+        }
+    }
+
+    // Kandidat dari window bersaing dengan korban tertua di area utama berdasarkan frekuensi
+    private void terimaKeAreaUtama(String kandidat) {
+        if (probation.size() + lindungi.size() < kapasitas - kapasitasWindow) {
+            probation.put(kandidat, Boolean.TRUE);
+            return;
+        }
+        if (probation.isEmpty() && lindungi.isEmpty()) {
+            // Kapasitas sangat kecil sehingga area utama tidak punya tempat
+            data.remove(kandidat);
+            jumlahEviksi.increment();
+            return;
+        }
+
+        LinkedHashMap<String, Boolean> asalKorban = probation.isEmpty() ? lindungi : probation;
+        String korban = asalKorban.keySet().iterator().next();
+        if (sketsa.frekuensi(kandidat) > sketsa.frekuensi(korban)) {
+            asalKorban.remove(korban);
+            data.remove(korban);
+            probation.put(kandidat, Boolean.TRUE);
+        } else {
+            data.remove(kandidat);
+        }
+        jumlahEviksi.increment();
+    }
+
+    private void buang(String kode) {
+        if (kode == null) {
+            return;
+        }
+        kunciKebijakan.lock();
+        try {
+            generasi.incrementAndGet(stripe(kode));
+            if (data.remove(kode) != null) {
+                window.remove(kode);
+                probation.remove(kode);
+                lindungi.remove(kode);
+            }
+        } finally {
+            kunciKebijakan.unlock();
+        }
+    }
+
+    private static String ambilTertua(LinkedHashMap<String, Boolean> segmen) {
+        Iterator<String> iterator = segmen.keySet().iterator();
+        String tertua = iterator.next();
+        iterator.remove();
+        return tertua;
+    }
+
+    private static int stripe(String kode) {
+        int h = kode.hashCode();
+        return (h ^ (h >>> 16)) & (JUMLAH_STRIPE - 1);
+    }
+}
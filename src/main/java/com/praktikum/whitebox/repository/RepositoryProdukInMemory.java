@@ -0,0 +1,631 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.HasilOperasi;
+import com.praktikum.whitebox.model.PerubahanStatusStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukSnapshot;
+import com.praktikum.whitebox.model.StatusStok;
+import com.praktikum.whitebox.model.Uang;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Implementasi RepositoryProduk di memori yang aman dipakai banyak thread.
+ * Selain map utama berdasarkan kode, repository ini menjaga indeks sekunder
+ * berdasarkan kategori dan status stok (habis, menipis, aman) sehingga query
+ * tersebut sebanding dengan jumlah hasil, bukan jumlah seluruh katalog.
+ * Total nilai dan total stok produk aktif dijaga sebagai total berjalan.
+ * Semua indeks kode terurut sehingga paging kursor dan aliran berjalan urut kode
+ * tanpa mengurutkan ulang.
+ */
+public class RepositoryProdukInMemory implements RepositoryProduk {
+    // Snapshot immutable; setiap perubahan mengganti entri (copy-on-write)
+    private final ConcurrentHashMap<String, ProdukSnapshot> produkByKode = new ConcurrentHashMap<>();
+    private final NavigableSet<String> kodeTerurut = new ConcurrentSkipListSet<>();
+    private final ConcurrentHashMap<String, NavigableSet<String>> indeksKategori = new ConcurrentHashMap<>();
+    private final Map<StatusStok, NavigableSet<String>> indeksStatus = new EnumMap<>(StatusStok.class);
+    private final IndeksNama indeksNama = new IndeksNama();
+    // Total berjalan produk aktif, diperbarui di setiap perubahan di dalam compute
+    private final DoubleAdder totalNilaiAktif = new DoubleAdder();
+    // Versi sen bersifat eksak; tetap ikut dihitung ulang oleh hitungUlangAgregat
+    private final LongAdder totalNilaiAktifSen = new LongAdder();
+    private final LongAdder totalStokAktif = new LongAdder();
+    private final List<Consumer<PerubahanStatusStok>> pendengarStatus = new CopyOnWriteArrayList<>();
+
+    // Selisih total berjalan terhadap hasil hitung ulang dari awal
+    public record DriftAgregat(double selisihNilai, long selisihNilaiSen, long selisihStok) {
+        public boolean adaDrift(double toleransiNilai) {
+            return selisihStok != 0 || selisihNilaiSen != 0 || Math.abs(selisihNilai) > toleransiNilai;
+        }
+    }
+
+    public RepositoryProdukInMemory() {
+        for (StatusStok status : StatusStok.values()) {
+            indeksStatus.put(status, new ConcurrentSkipListSet<>());
+        }
+    }
+
+    @Override
+    public boolean simpan(Produk produk) {
+        if (produk == null || produk.getKode() == null || produk.getStok() < 0) {
+            return false;
+        }
+
+        ProdukSnapshot salinan = ProdukSnapshot.dari(produk);
+        if (!isNilaiTerhitung(salinan)) {
+            return false;
+        }
+        // Semua perubahan indeks untuk satu kode terjadi di dalam compute agar berurutan
+        produkByKode.compute(salinan.kode(), (kode, lama) -> {
+            if (lama != null) {
+                hapusDariIndeks(lama);
+                umumkanStatus(lama, salinan);
+            } else {
+                kodeTerurut.add(kode);
+            }
+            tambahKeIndeks(salinan);
+            indeksNama.perbarui(kode, lama == null ? null : lama.nama(), salinan.nama());
+            perbaruiAgregat(lama, salinan);
+            return salinan;
+        });
+        return true;
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        if (kode == null) {
+            return Optional.empty();
+        }
+        ProdukSnapshot produk = produkByKode.get(kode);
+        return produk == null ? Optional.empty() : Optional.of(produk.keProduk());
+    }
+
+    // Tanpa salinan: objek yang tersimpan memang tidak bisa diubah
+    @Override
+    public Optional<ProdukSnapshot> lihatByKode(String kode) {
+        return kode == null ? Optional.empty() : Optional.ofNullable(produkByKode.get(kode));
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        return cariByNama(nama, 0, Integer.MAX_VALUE);
+    }
+
+    // Lewat posting trigram, atau daftar kode terurut untuk teks di bawah tiga huruf
+    @Override
+    public List<Produk> cariByNama(String nama, int lewati, int batas) {
+        periksaHalaman(lewati, batas);
+        if (nama == null) {
+            return new ArrayList<>();
+        }
+        String kunci = IndeksNama.kecil(nama);
+        return bacaKode(indeksNama.cariSubstring(nama, null, lewati, batas),
+                produk -> IndeksNama.kecil(produk.nama()).contains(kunci));
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama, String setelahKode, int batas) {
+        periksaHalaman(0, batas);
+        if (nama == null) {
+            return new ArrayList<>();
+        }
+        String kunci = IndeksNama.kecil(nama);
+        return bacaKode(indeksNama.cariSubstring(nama, setelahKode, 0, batas),
+                produk -> IndeksNama.kecil(produk.nama()).contains(kunci));
+    }
+
+    @Override
+    public Stream<Produk> aliranByNama(String nama) {
+        if (nama == null) {
+            return Stream.empty();
+        }
+        String kunci = IndeksNama.kecil(nama);
+        return alirkan(indeksNama.aliranSubstring(nama), produk -> produk.nama() != null
+                && IndeksNama.kecil(produk.nama()).contains(kunci));
+    }
+
+    @Override
+    public List<Produk> cariByAwalanNama(String awalan, int lewati, int batas) {
+        periksaHalaman(lewati, batas);
+        if (awalan == null) {
+            return new ArrayList<>();
+        }
+        return bacaKode(indeksNama.cariAwalan(awalan, lewati, batas), produk -> true);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        if (kategori == null) {
+            return new ArrayList<>();
+        }
+        NavigableSet<String> kodeProduk = indeksKategori.get(kategori);
+        if (kodeProduk == null) {
+            return new ArrayList<>();
+        }
+
+        List<Produk> hasil = new ArrayList<>();
+        for (String kode : kodeProduk) {
+            ProdukSnapshot produk = produkByKode.get(kode);
+            // Cek ulang karena indeks bisa sedikit tertinggal dari map utama
+            if (produk != null && kategori.equals(produk.kategori())) {
+                hasil.add(produk.keProduk());
+            }
+        }
+        return hasil;
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori, String setelahKode, int batas) {
+        periksaHalaman(0, batas);
+        NavigableSet<String> kodeProduk = kategori == null ? null : indeksKategori.get(kategori);
+        if (kodeProduk == null) {
+            return new ArrayList<>();
+        }
+        return bacaSetelah(kodeProduk, setelahKode, batas, produk -> kategori.equals(produk.kategori()));
+    }
+
+    @Override
+    public Stream<Produk> aliranByKategori(String kategori) {
+        NavigableSet<String> kodeProduk = kategori == null ? null : indeksKategori.get(kategori);
+        if (kodeProduk == null) {
+            return Stream.empty();
+        }
+        return alirkan(kodeProduk.stream(), produk -> kategori.equals(produk.kategori()));
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return cariByStatus(StatusStok.MENIPIS);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis(String setelahKode, int batas) {
+        periksaHalaman(0, batas);
+        return bacaSetelah(indeksStatus.get(StatusStok.MENIPIS), setelahKode, batas,
+                produk -> produk.status() == StatusStok.MENIPIS);
+    }
+
+    @Override
+    public Stream<Produk> aliranProdukStokMenipis() {
+        return alirkan(indeksStatus.get(StatusStok.MENIPIS).stream(),
+                produk -> produk.status() == StatusStok.MENIPIS);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return cariByStatus(StatusStok.HABIS);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis(String setelahKode, int batas) {
+        periksaHalaman(0, batas);
+        return bacaSetelah(indeksStatus.get(StatusStok.HABIS), setelahKode, batas,
+                produk -> produk.status() == StatusStok.HABIS);
+    }
+
+    @Override
+    public Stream<Produk> aliranProdukStokHabis() {
+        return alirkan(indeksStatus.get(StatusStok.HABIS).stream(),
+                produk -> produk.status() == StatusStok.HABIS);
+    }
+
+    public List<Produk> cariProdukStokAman() {
+        return cariByStatus(StatusStok.AMAN);
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        if (kode == null) {
+            return false;
+        }
+
+        boolean[] terhapus = new boolean[1];
+        produkByKode.computeIfPresent(kode, (k, lama) -> {
+            hapusDariIndeks(lama);
+            kodeTerurut.remove(k);
+            indeksNama.perbarui(k, lama.nama(), null);
+            perbaruiAgregat(lama, null);
+            terhapus[0] = true;
+            return null;
+        });
+        return terhapus[0];
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        if (kode == null || stokBaru < 0) {
+            return false;
+        }
+
+        boolean[] berhasil = new boolean[1];
+        produkByKode.computeIfPresent(kode, (k, lama) -> {
+            ProdukSnapshot baru = lama.denganStok(stokBaru);
+            if (!isNilaiTerhitung(baru)) {
+                return lama;
+            }
+            perbaruiIndeksStatus(lama, baru);
+            perbaruiAgregat(lama, baru);
+            berhasil[0] = true;
+            return baru;
+        });
+        return berhasil[0];
+    }
+
+    @Override
+    public HasilOperasi kurangiStokJikaCukup(String kode, int jumlah) {
+        if (jumlah <= 0) {
+            throw new IllegalArgumentException("Jumlah harus positif");
+        }
+        return ubahStokAtomik(kode, -jumlah);
+    }
+
+    @Override
+    public HasilOperasi tambahStok(String kode, int jumlah) {
+        if (jumlah <= 0) {
+            throw new IllegalArgumentException("Jumlah harus positif");
+        }
+        return ubahStokAtomik(kode, jumlah);
+    }
+
+    @Override
+    public Map<String, HasilOperasi[]> terapkanMutasi(Map<String, int[]> deltaPerKode) {
+        Map<String, HasilOperasi[]> hasil = new HashMap<>(deltaPerKode.size() * 2);
+        for (Map.Entry<String, int[]> entry : deltaPerKode.entrySet()) {
+            int[] delta = entry.getValue();
+            HasilOperasi[] hasilKode = new HasilOperasi[delta.length];
+            Arrays.fill(hasilKode, HasilOperasi.TIDAK_DITEMUKAN);
+            hasil.put(entry.getKey(), hasilKode);
+            if (entry.getKey() == null) {
+                continue;
+            }
+
+            // Satu compute per kode: semua delta diterapkan lalu stok akhir ditulis sekali
+            produkByKode.computeIfPresent(entry.getKey(), (kode, lama) -> {
+                if (!lama.aktif()) {
+                    Arrays.fill(hasilKode, HasilOperasi.TIDAK_AKTIF);
+                    return lama;
+                }
+                int stokAkhir = PenerapMutasi.terapkan(lama.stok(), delta, hasilKode);
+                if (stokAkhir == lama.stok()) {
+                    return lama;
+                }
+
+                ProdukSnapshot baru = lama.denganStok(stokAkhir);
+                if (!isNilaiTerhitung(baru)) {
+                    // Stok akhir yang nilainya tidak muat di long ditolak untuk semua delta kode ini
+                    for (int i = 0; i < hasilKode.length; i++) {
+                        if (hasilKode[i].isBerhasil()) {
+                            hasilKode[i] = HasilOperasi.JUMLAH_TIDAK_VALID;
+                        }
+                    }
+                    return lama;
+                }
+                perbaruiIndeksStatus(lama, baru);
+                perbaruiAgregat(lama, baru);
+                return baru;
+            });
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean ubahStatusAktif(String kode, boolean aktif) {
+        if (kode == null) {
+            return false;
+        }
+
+        return produkByKode.computeIfPresent(kode, (k, lama) -> {
+            if (lama.aktif() == aktif) {
+                return lama;
+            }
+            ProdukSnapshot baru = lama.denganAktif(aktif);
+            perbaruiAgregat(lama, baru);
+            return baru;
+        }) != null;
+    }
+
+    // O(1): dibaca dari total berjalan
+    @Override
+    public double hitungTotalNilaiAktif() {
+        return totalNilaiAktif.sum();
+    }
+
+    @Override
+    public long hitungTotalNilaiAktifSen() {
+        return totalNilaiAktifSen.sum();
+    }
+
+    @Override
+    public long hitungTotalStokAktif() {
+        return totalStokAktif.sum();
+    }
+
+    // Bandingkan total berjalan dengan hasil pindai ulang tanpa mengoreksi.
+    // Hasil hanya pasti tepat bila tidak ada penulisan yang berjalan bersamaan.
+    public DriftAgregat periksaDrift() {
+        double nilai = 0;
+        long nilaiSen = 0;
+        long stok = 0;
+        for (ProdukSnapshot produk : produkByKode.values()) {
+            if (produk.aktif()) {
+                nilai += produk.harga() * produk.stok();
+                nilaiSen += Uang.kali(produk.hargaSen(), produk.stok());
+                stok += produk.stok();
+            }
+        }
+        return new DriftAgregat(totalNilaiAktif.sum() - nilai, totalNilaiAktifSen.sum() - nilaiSen,
+                totalStokAktif.sum() - stok);
+    }
+
+    // Hitung ulang dari awal dan koreksi total berjalan sebesar drift yang ditemukan
+    public DriftAgregat hitungUlangAgregat() {
+        DriftAgregat drift = periksaDrift();
+        totalNilaiAktif.add(-drift.selisihNilai());
+        totalNilaiAktifSen.add(-drift.selisihNilaiSen());
+        totalStokAktif.add(-drift.selisihStok());
+        return drift;
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        return salin(produkByKode.values());
+    }
+
+    @Override
+    public List<Produk> cariSemua(String setelahKode, int batas) {
+        periksaHalaman(0, batas);
+        return bacaSetelah(kodeTerurut, setelahKode, batas, produk -> true);
+    }
+
+    // Urut kode; setiap produk disalin saat dikonsumsi
+    @Override
+    public Stream<Produk> aliranSemua() {
+        return alirkan(kodeTerurut.stream(), produk -> true);
+    }
+
+    // Dipecah langsung dari map utama; salinan dibuat oleh thread yang memindai
+    @Override
+    public Spliterator<Produk> pindaiSemua() {
+        return new SpliteratorSalinan(produkByKode.values().spliterator());
+    }
+
+    @Override
+    public boolean tambahPendengarStatus(Consumer<PerubahanStatusStok> pendengar) {
+        return pendengarStatus.add(pendengar);
+    }
+
+    @Override
+    public void hapusPendengarStatus(Consumer<PerubahanStatusStok> pendengar) {
+        pendengarStatus.remove(pendengar);
+    }
+
+    public int jumlahProduk() {
+        return produkByKode.size();
+    }
+
+    // Cek aktif, cek stok, dan tulis terjadi di dalam satu compute per kode
+    private HasilOperasi ubahStokAtomik(String kode, int delta) {
+        if (kode == null) {
+            return HasilOperasi.TIDAK_DITEMUKAN;
+        }
+
+        HasilOperasi[] hasil = {HasilOperasi.TIDAK_DITEMUKAN};
+        produkByKode.computeIfPresent(kode, (k, lama) -> {
+            if (!lama.aktif()) {
+                hasil[0] = HasilOperasi.TIDAK_AKTIF;
+                return lama;
+            }
+            long stokBaru = lama.stok() + (long) delta;
+            if (stokBaru < 0) {
+                hasil[0] = HasilOperasi.STOK_TIDAK_CUKUP;
+                return lama;
+            }
+            // Sama seperti PenerapMutasi: stok yang melewati batas int ditolak, tidak dilempar
+            if (stokBaru > Integer.MAX_VALUE) {
+                hasil[0] = HasilOperasi.JUMLAH_TIDAK_VALID;
+                return lama;
+            }
+
+            ProdukSnapshot baru = lama.denganStok((int) stokBaru);
+            if (!isNilaiTerhitung(baru)) {
+                hasil[0] = HasilOperasi.JUMLAH_TIDAK_VALID;
+                return lama;
+            }
+            perbaruiIndeksStatus(lama, baru);
+            perbaruiAgregat(lama, baru);
+            hasil[0] = HasilOperasi.BERHASIL;
+            return baru;
+        });
+        return hasil[0];
+    }
+
+    // Setiap snapshot yang disimpan harus punya nilai sen (harga x stok) yang muat di long,
+    // aktif maupun tidak, agar perbaruiAgregat tidak pernah gagal di tengah compute setelah
+    // indeks diubah. Diperiksa sebelum mengubah apa pun.
+    private static boolean isNilaiTerhitung(ProdukSnapshot produk) {
+        try {
+            Uang.kali(produk.hargaSen(), produk.stok());
+            return true;
+        } catch (ArithmeticException e) {
+            return false;
+        }
+    }
+
+    // lama atau baru boleh null untuk produk yang baru ditambah atau dihapus
+    private void perbaruiAgregat(ProdukSnapshot lama, ProdukSnapshot baru) {
+        if (lama != null && lama.aktif()) {
+            totalNilaiAktif.add(-(lama.harga() * lama.stok()));
+            totalNilaiAktifSen.add(-Uang.kali(lama.hargaSen(), lama.stok()));
+            totalStokAktif.add(-lama.stok());
+        }
+        if (baru != null && baru.aktif()) {
+            totalNilaiAktif.add(baru.harga() * baru.stok());
+            totalNilaiAktifSen.add(Uang.kali(baru.hargaSen(), baru.stok()));
+            totalStokAktif.add(baru.stok());
+        }
+    }
+
+    private List<Produk> cariByStatus(StatusStok status) {
+        NavigableSet<String> kodeProduk = indeksStatus.get(status);
+        List<Produk> hasil = new ArrayList<>();
+        for (String kode : kodeProduk) {
+            ProdukSnapshot produk = produkByKode.get(kode);
+            if (produk != null && produk.status() == status) {
+                hasil.add(produk.keProduk());
+            }
+        }
+        return hasil;
+    }
+
+    private void tambahKeIndeks(ProdukSnapshot produk) {
+        if (produk.kategori() != null) {
+            indeksKategori.compute(produk.kategori(), (kategori, kodeProduk) -> {
+                NavigableSet<String> set = kodeProduk != null ? kodeProduk : new ConcurrentSkipListSet<>();
+                set.add(produk.kode());
+                return set;
+            });
+        }
+        indeksStatus.get(produk.status()).add(produk.kode());
+    }
+
+    private void hapusDariIndeks(ProdukSnapshot produk) {
+        if (produk.kategori() != null) {
+            indeksKategori.computeIfPresent(produk.kategori(), (kategori, kodeProduk) -> {
+                kodeProduk.remove(produk.kode());
+                return kodeProduk.isEmpty() ? null : kodeProduk;
+            });
+        }
+        indeksStatus.get(produk.status()).remove(produk.kode());
+    }
+
+    private void perbaruiIndeksStatus(ProdukSnapshot lama, ProdukSnapshot baru) {
+        StatusStok statusLama = lama.status();
+        StatusStok statusBaru = baru.status();
+        if (statusLama != statusBaru) {
+            indeksStatus.get(statusLama).remove(baru.kode());
+            indeksStatus.get(statusBaru).add(baru.kode());
+            umumkanStatus(lama, baru);
+        }
+    }
+
+    // Dipanggil di dalam compute, jadi pendengar menerima perubahan satu kode sesuai urutan
+    private void umumkanStatus(ProdukSnapshot lama, ProdukSnapshot baru) {
+        if (pendengarStatus.isEmpty()) {
+            return;
+        }
+        StatusStok statusLama = lama.status();
+        StatusStok statusBaru = baru.status();
+        if (statusLama != statusBaru) {
+            PerubahanStatusStok perubahan = new PerubahanStatusStok(baru.kode(), statusLama, statusBaru,
+                    baru.stok(), baru.stokMinimum());
+            for (Consumer<PerubahanStatusStok> pendengar : pendengarStatus) {
+                pendengar.accept(perubahan);
+            }
+        }
+    }
+
+    // Salin produk untuk kode hasil indeks; cek ulang karena indeks bisa sedikit tertinggal
+    private List<Produk> bacaKode(List<String> daftarKode, Predicate<ProdukSnapshot> masihCocok) {
+        List<Produk> hasil = new ArrayList<>(daftarKode.size());
+        for (String kode : daftarKode) {
+            ProdukSnapshot produk = produkByKode.get(kode);
+            if (produk != null && produk.nama() != null && masihCocok.test(produk)) {
+                hasil.add(produk.keProduk());
+            }
+        }
+        return hasil;
+    }
+
+    // Halaman kursor dari indeks kode terurut; berhenti begitu batas terpenuhi
+    private List<Produk> bacaSetelah(NavigableSet<String> kodeProduk, String setelahKode, int batas,
+                                     Predicate<ProdukSnapshot> masihCocok) {
+        List<Produk> hasil = new ArrayList<>(Math.min(batas, 1024));
+        if (batas == 0) {
+            return hasil;
+        }
+        for (String kode : setelahKode == null ? kodeProduk : kodeProduk.tailSet(setelahKode, false)) {
+            ProdukSnapshot produk = produkByKode.get(kode);
+            if (produk != null && masihCocok.test(produk)) {
+                hasil.add(produk.keProduk());
+                if (hasil.size() == batas) {
+                    break;
+                }
+            }
+        }
+        return hasil;
+    }
+
+    private Stream<Produk> alirkan(Stream<String> kodeProduk, Predicate<ProdukSnapshot> masihCocok) {
+        return kodeProduk.map(produkByKode::get)
+                .filter(produk -> produk != null && masihCocok.test(produk))
+                .map(ProdukSnapshot::keProduk);
+    }
+
+    private static void periksaHalaman(int lewati, int batas) {
+        if (lewati < 0 || batas < 0) {
+            throw new IllegalArgumentException("lewati dan batas tidak boleh negatif");
+        }
+    }
+
+    private static List<Produk> salin(Collection<ProdukSnapshot> sumber) {
+        List<Produk> hasil = new ArrayList<>(sumber.size());
+        for (ProdukSnapshot produk : sumber) {
+            hasil.add(produk.keProduk());
+        }
+        return hasil;
+    }
+
+    // Spliterator map utama yang menyalin setiap snapshot menjadi Produk. trySplit diteruskan
+    // ke spliterator CHM; spliterator dari stream().map() tidak bisa dipecah sama sekali.
+    private static final class SpliteratorSalinan implements Spliterator<Produk> {
+        private final Spliterator<ProdukSnapshot> sumber;
+
+        private SpliteratorSalinan(Spliterator<ProdukSnapshot> sumber) {
+            this.sumber = sumber;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Produk> action) {
+            return sumber.tryAdvance(produk -> action.accept(produk.keProduk()));
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Produk> action) {
+            sumber.forEachRemaining(produk -> action.accept(produk.keProduk()));
+        }
+
+        @Override
+        public Spliterator<Produk> trySplit() {
+            Spliterator<ProdukSnapshot> bagian = sumber.trySplit();
+            return bagian == null ? null : new SpliteratorSalinan(bagian);
+        }
+
+        @Override
+        public long estimateSize() {
+            return sumber.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return NONNULL | CONCURRENT;
+        }
+    }
+}
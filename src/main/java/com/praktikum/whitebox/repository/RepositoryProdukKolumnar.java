@@ -0,0 +1,716 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.HasilOperasi;
+import com.praktikum.whitebox.model.PerubahanStatusStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukSnapshot;
+import com.praktikum.whitebox.model.StatusStok;
+import com.praktikum.whitebox.model.Uang;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Implementasi RepositoryProduk berbentuk kolom (struct-of-arrays) untuk query
+ * analitik. Setiap produk menempati satu slot; harga, stok, dan stok minimum
+ * disimpan di array primitif, status aktif di bitset, dan kategori sebagai id
+ * kamus. Query stok dan agregat menjadi loop rapat di atas array tersebut
+ * tanpa membaca objek Produk, sehingga JIT bisa membuka dan memvektorkannya.
+ *
+ * Semua penulisan memakai satu write lock; cocok untuk beban baca/scan berat,
+ * bukan untuk penulisan per SKU dengan kontensi tinggi.
+ */
+public class RepositoryProdukKolumnar implements RepositoryProduk {
+    private static final int KAPASITAS_AWAL = 1024;
+    // Slot kosong diberi stok -1 agar tidak pernah lolos cek habis atau menipis
+    private static final int STOK_SLOT_KOSONG = -1;
+    private static final int TANPA_KATEGORI = -1;
+    // Jumlah slot yang dibaca per pengambilan read lock saat pemindaian paralel
+    private static final int BLOK_PINDAI = 1024;
+
+    private final ReentrantReadWriteLock kunci = new ReentrantReadWriteLock();
+    private final Map<String, Integer> slotByKode = new HashMap<>();
+
+    // Kolom, diindeks dengan nomor slot
+    private String[] kode;
+    private String[] nama;
+    private double[] harga;
+    private long[] hargaSen;
+    private int[] stok;
+    private int[] stokMinimum;
+    private int[] kategoriId;
+    private long[] aktif;
+
+    // Kamus kategori: id tidak pernah dipakai ulang walau kategorinya sudah kosong
+    private final Map<String, Integer> idKategori = new HashMap<>();
+    private final List<String> namaKategori = new ArrayList<>();
+
+    private final List<Consumer<PerubahanStatusStok>> pendengarStatus = new CopyOnWriteArrayList<>();
+
+    private int batasSlot;
+    private int[] slotBebas = new int[16];
+    private int jumlahSlotBebas;
+
+    public RepositoryProdukKolumnar() {
+        this(KAPASITAS_AWAL);
+    }
+
+    public RepositoryProdukKolumnar(int kapasitasAwal) {
+        int kapasitas = Math.max(64, kapasitasAwal);
+        kode = new String[kapasitas];
+        nama = new String[kapasitas];
+        harga = new double[kapasitas];
+        hargaSen = new long[kapasitas];
+        stok = new int[kapasitas];
+        Arrays.fill(stok, STOK_SLOT_KOSONG);
+        stokMinimum = new int[kapasitas];
+        kategoriId = new int[kapasitas];
+        Arrays.fill(kategoriId, TANPA_KATEGORI);
+        aktif = new long[(kapasitas + 63) >>> 6];
+    }
+
+    // ======================================================
+    // ================ Operasi Tulis =======================
+    // ======================================================
+
+    @Override
+    public boolean simpan(Produk produk) {
+        if (produk == null || produk.getKode() == null || produk.getStok() < 0
+                || !isNilaiTerhitung(produk.getHargaSen(), produk.getStok())) {
+            return false;
+        }
+
+        kunci.writeLock().lock();
+        try {
+            Integer slot = slotByKode.get(produk.getKode());
+            int i = slot != null ? slot : alokasiSlot(produk.getKode());
+            int stokLama = stok[i];
+            int minimumLama = stokMinimum[i];
+            kode[i] = produk.getKode();
+            nama[i] = produk.getNama();
+            harga[i] = produk.getHarga();
+            hargaSen[i] = produk.getHargaSen();
+            stok[i] = produk.getStok();
+            stokMinimum[i] = produk.getStokMinimum();
+            kategoriId[i] = idKategori(produk.getKategori());
+            aturAktif(i, produk.isAktif());
+            if (slot != null) {
+                umumkanStatus(i, stokLama, minimumLama);
+            }
+            return true;
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        if (kode == null) {
+            return false;
+        }
+
+        kunci.writeLock().lock();
+        try {
+            Integer slot = slotByKode.remove(kode);
+            if (slot == null) {
+                return false;
+            }
+            bebaskanSlot(slot);
+            return true;
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        if (kode == null || stokBaru < 0) {
+            return false;
+        }
+
+        kunci.writeLock().lock();
+        try {
+            Integer slot = slotByKode.get(kode);
+            if (slot == null || !isNilaiTerhitung(hargaSen[slot], stokBaru)) {
+                return false;
+            }
+            int stokLama = stok[slot];
+            stok[slot] = stokBaru;
+            umumkanStatus(slot, stokLama, stokMinimum[slot]);
+            return true;
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public HasilOperasi kurangiStokJikaCukup(String kode, int jumlah) {
+        if (jumlah <= 0) {
+            throw new IllegalArgumentException("Jumlah harus positif");
+        }
+        return ubahStok(kode, -jumlah);
+    }
+
+    @Override
+    public HasilOperasi tambahStok(String kode, int jumlah) {
+        if (jumlah <= 0) {
+            throw new IllegalArgumentException("Jumlah harus positif");
+        }
+        return ubahStok(kode, jumlah);
+    }
+
+    @Override
+    public Map<String, HasilOperasi[]> terapkanMutasi(Map<String, int[]> deltaPerKode) {
+        Map<String, HasilOperasi[]> hasil = new HashMap<>(deltaPerKode.size() * 2);
+        kunci.writeLock().lock();
+        try {
+            for (Map.Entry<String, int[]> entry : deltaPerKode.entrySet()) {
+                HasilOperasi[] hasilKode = new HasilOperasi[entry.getValue().length];
+                hasil.put(entry.getKey(), hasilKode);
+
+                Integer slot = entry.getKey() == null ? null : slotByKode.get(entry.getKey());
+                if (slot == null || !isAktif(slot)) {
+                    Arrays.fill(hasilKode, slot == null
+                            ? HasilOperasi.TIDAK_DITEMUKAN : HasilOperasi.TIDAK_AKTIF);
+                    continue;
+                }
+                int stokLama = stok[slot];
+                int stokAkhir = PenerapMutasi.terapkan(stokLama, entry.getValue(), hasilKode);
+                if (!isNilaiTerhitung(hargaSen[slot], stokAkhir)) {
+                    // Sama dengan RepositoryProdukInMemory: semua delta kode ini ditolak
+                    for (int i = 0; i < hasilKode.length; i++) {
+                        if (hasilKode[i].isBerhasil()) {
+                            hasilKode[i] = HasilOperasi.JUMLAH_TIDAK_VALID;
+                        }
+                    }
+                    continue;
+                }
+                stok[slot] = stokAkhir;
+                umumkanStatus(slot, stokLama, stokMinimum[slot]);
+            }
+        } finally {
+            kunci.writeLock().unlock();
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean ubahStatusAktif(String kode, boolean aktif) {
+        if (kode == null) {
+            return false;
+        }
+
+        kunci.writeLock().lock();
+        try {
+            Integer slot = slotByKode.get(kode);
+            if (slot == null) {
+                return false;
+            }
+            aturAktif(slot, aktif);
+            return true;
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    // ======================================================
+    // ================ Query ===============================
+    // ======================================================
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        if (kode == null) {
+            return Optional.empty();
+        }
+
+        kunci.readLock().lock();
+        try {
+            Integer slot = slotByKode.get(kode);
+            return slot == null ? Optional.empty() : Optional.of(bacaProduk(slot));
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    // Dibaca langsung dari kolom tanpa Produk perantara
+    @Override
+    public Optional<ProdukSnapshot> lihatByKode(String kode) {
+        if (kode == null) {
+            return Optional.empty();
+        }
+
+        kunci.readLock().lock();
+        try {
+            Integer slot = slotByKode.get(kode);
+            return slot == null ? Optional.empty() : Optional.of(bacaSnapshot(slot));
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        List<Produk> hasil = new ArrayList<>();
+        if (nama == null) {
+            return hasil;
+        }
+
+        String kunciNama = nama.toLowerCase(Locale.ROOT);
+        kunci.readLock().lock();
+        try {
+            String[] kolomNama = this.nama;
+            for (int i = 0; i < batasSlot; i++) {
+                if (kode[i] != null && kolomNama[i] != null
+                        && kolomNama[i].toLowerCase(Locale.ROOT).contains(kunciNama)) {
+                    hasil.add(bacaProduk(i));
+                }
+            }
+            return hasil;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        List<Produk> hasil = new ArrayList<>();
+        if (kategori == null) {
+            return hasil;
+        }
+
+        kunci.readLock().lock();
+        try {
+            Integer id = idKategori.get(kategori);
+            if (id == null) {
+                return hasil;
+            }
+            // Slot kosong diberi TANPA_KATEGORI sehingga cukup membandingkan id
+            int[] kolom = kategoriId;
+            int target = id;
+            for (int i = 0; i < batasSlot; i++) {
+                if (kolom[i] == target) {
+                    hasil.add(bacaProduk(i));
+                }
+            }
+            return hasil;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return cariByStatus(StatusStok.MENIPIS);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return cariByStatus(StatusStok.HABIS);
+    }
+
+    public List<Produk> cariProdukStokAman() {
+        return cariByStatus(StatusStok.AMAN);
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        kunci.readLock().lock();
+        try {
+            List<Produk> hasil = new ArrayList<>(slotByKode.size());
+            for (int i = 0; i < batasSlot; i++) {
+                if (stok[i] != STOK_SLOT_KOSONG) {
+                    hasil.add(bacaProduk(i));
+                }
+            }
+            return hasil;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    // Setiap potongan membaca blok slot di bawah read lock lalu memproses salinannya di luar
+    // lock. Konsistensinya per blok, bukan satu snapshot untuk seluruh katalog.
+    @Override
+    public Spliterator<Produk> pindaiSemua() {
+        kunci.readLock().lock();
+        try {
+            return new SpliteratorSlot(0, batasSlot);
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean tambahPendengarStatus(Consumer<PerubahanStatusStok> pendengar) {
+        return pendengarStatus.add(pendengar);
+    }
+
+    @Override
+    public void hapusPendengarStatus(Consumer<PerubahanStatusStok> pendengar) {
+        pendengarStatus.remove(pendengar);
+    }
+
+    public int jumlahProduk() {
+        kunci.readLock().lock();
+        try {
+            return slotByKode.size();
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    // ======================================================
+    // ================ Agregat =============================
+    // ======================================================
+
+    @Override
+    public double hitungTotalNilaiAktif() {
+        kunci.readLock().lock();
+        try {
+            double[] kolomHarga = harga;
+            int[] kolomStok = stok;
+            double total = 0;
+            for (int w = 0, akhir = jumlahKata(); w < akhir; w++) {
+                long kata = aktif[w];
+                int basis = w << 6;
+                if (kata == -1L) {
+                    // Blok 64 slot yang semuanya aktif: loop lurus tanpa cabang
+                    for (int i = basis; i < basis + 64; i++) {
+                        total += kolomHarga[i] * kolomStok[i];
+                    }
+                } else {
+                    while (kata != 0) {
+                        int i = basis + Long.numberOfTrailingZeros(kata);
+                        total += kolomHarga[i] * kolomStok[i];
+                        kata &= kata - 1;
+                    }
+                }
+            }
+            return total;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    // Eksak: perkalian dicek overflow, jadi tidak dimasukkan ke jalur blok penuh
+    @Override
+    public long hitungTotalNilaiAktifSen() {
+        kunci.readLock().lock();
+        try {
+            long total = 0;
+            for (int w = 0, akhir = jumlahKata(); w < akhir; w++) {
+                long kata = aktif[w];
+                int basis = w << 6;
+                while (kata != 0) {
+                    int i = basis + Long.numberOfTrailingZeros(kata);
+                    total = Math.addExact(total, Math.multiplyExact(hargaSen[i], stok[i]));
+                    kata &= kata - 1;
+                }
+            }
+            return total;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long hitungTotalStokAktif() {
+        kunci.readLock().lock();
+        try {
+            int[] kolomStok = stok;
+            long total = 0;
+            for (int w = 0, akhir = jumlahKata(); w < akhir; w++) {
+                long kata = aktif[w];
+                int basis = w << 6;
+                if (kata == -1L) {
+                    for (int i = basis; i < basis + 64; i++) {
+                        total += kolomStok[i];
+                    }
+                } else {
+                    while (kata != 0) {
+                        total += kolomStok[basis + Long.numberOfTrailingZeros(kata)];
+                        kata &= kata - 1;
+                    }
+                }
+            }
+            return total;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    // Total nilai produk aktif per kategori dalam satu pass; produk tanpa kategori dilewati
+    public Map<String, Double> hitungNilaiPerKategori() {
+        kunci.readLock().lock();
+        try {
+            double[] nilai = new double[namaKategori.size()];
+            int[] kolomKategori = kategoriId;
+            for (int w = 0, akhir = jumlahKata(); w < akhir; w++) {
+                long kata = aktif[w];
+                int basis = w << 6;
+                while (kata != 0) {
+                    int i = basis + Long.numberOfTrailingZeros(kata);
+                    if (kolomKategori[i] != TANPA_KATEGORI) {
+                        nilai[kolomKategori[i]] += harga[i] * stok[i];
+                    }
+                    kata &= kata - 1;
+                }
+            }
+
+            Map<String, Double> hasil = new LinkedHashMap<>();
+            for (int id = 0; id < nilai.length; id++) {
+                if (nilai[id] != 0) {
+                    hasil.put(namaKategori.get(id), nilai[id]);
+                }
+            }
+            return hasil;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    // ======================================================
+    // ================ Internal ============================
+    // ======================================================
+
+    private HasilOperasi ubahStok(String kode, int delta) {
+        if (kode == null) {
+            return HasilOperasi.TIDAK_DITEMUKAN;
+        }
+
+        kunci.writeLock().lock();
+        try {
+            Integer slot = slotByKode.get(kode);
+            if (slot == null) {
+                return HasilOperasi.TIDAK_DITEMUKAN;
+            }
+            if (!isAktif(slot)) {
+                return HasilOperasi.TIDAK_AKTIF;
+            }
+            long stokBaru = stok[slot] + (long) delta;
+            if (stokBaru < 0) {
+                return HasilOperasi.STOK_TIDAK_CUKUP;
+            }
+            if (stokBaru > Integer.MAX_VALUE || !isNilaiTerhitung(hargaSen[slot], (int) stokBaru)) {
+                return HasilOperasi.JUMLAH_TIDAK_VALID;
+            }
+            int stokLama = stok[slot];
+            stok[slot] = (int) stokBaru;
+            umumkanStatus(slot, stokLama, stokMinimum[slot]);
+            return HasilOperasi.BERHASIL;
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    // Aturan yang sama dengan RepositoryProdukInMemory: harga x stok setiap produk harus
+    // muat di long, agar hitungTotalNilaiAktifSen tidak gagal karena satu produk
+    private static boolean isNilaiTerhitung(long hargaSen, int stok) {
+        try {
+            Uang.kali(hargaSen, stok);
+            return true;
+        } catch (ArithmeticException e) {
+            return false;
+        }
+    }
+
+    // Pindai kolom stok dan stok minimum; slot kosong (stok -1) tidak cocok status apa pun
+    private List<Produk> cariByStatus(StatusStok status) {
+        kunci.readLock().lock();
+        try {
+            int[] kolomStok = stok;
+            int[] kolomMinimum = stokMinimum;
+            List<Produk> hasil = new ArrayList<>();
+            for (int i = 0; i < batasSlot; i++) {
+                int s = kolomStok[i];
+                boolean cocok = switch (status) {
+                    case HABIS -> s == 0;
+                    case MENIPIS -> s > 0 && s <= kolomMinimum[i];
+                    case AMAN -> s > 0 && s > kolomMinimum[i];
+                };
+                if (cocok) {
+                    hasil.add(bacaProduk(i));
+                }
+            }
+            return hasil;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    private Produk bacaProduk(int slot) {
+        Produk produk = new Produk(kode[slot], nama[slot],
+                kategoriId[slot] == TANPA_KATEGORI ? null : namaKategori.get(kategoriId[slot]),
+                0, stok[slot], stokMinimum[slot]);
+        produk.setHargaSen(hargaSen[slot]);
+        produk.setAktif(isAktif(slot));
+        return produk;
+    }
+
+    private ProdukSnapshot bacaSnapshot(int slot) {
+        return new ProdukSnapshot(kode[slot], nama[slot],
+                kategoriId[slot] == TANPA_KATEGORI ? null : namaKategori.get(kategoriId[slot]),
+                hargaSen[slot], stok[slot], stokMinimum[slot], isAktif(slot));
+    }
+
+    private int idKategori(String kategori) {
+        if (kategori == null) {
+            return TANPA_KATEGORI;
+        }
+        return idKategori.computeIfAbsent(kategori, k -> {
+            namaKategori.add(k);
+            return namaKategori.size() - 1;
+        });
+    }
+
+    private int alokasiSlot(String kodeProduk) {
+        int slot;
+        if (jumlahSlotBebas > 0) {
+            slot = slotBebas[--jumlahSlotBebas];
+        } else {
+            if (batasSlot == kode.length) {
+                perbesar(kode.length * 2);
+            }
+            slot = batasSlot++;
+        }
+        slotByKode.put(kodeProduk, slot);
+        return slot;
+    }
+
+    private void bebaskanSlot(int slot) {
+        kode[slot] = null;
+        nama[slot] = null;
+        harga[slot] = 0;
+        hargaSen[slot] = 0;
+        stok[slot] = STOK_SLOT_KOSONG;
+        stokMinimum[slot] = 0;
+        kategoriId[slot] = TANPA_KATEGORI;
+        aturAktif(slot, false);
+        if (jumlahSlotBebas == slotBebas.length) {
+            slotBebas = Arrays.copyOf(slotBebas, slotBebas.length * 2);
+        }
+        slotBebas[jumlahSlotBebas++] = slot;
+    }
+
+    private void perbesar(int kapasitas) {
+        int lama = kode.length;
+        kode = Arrays.copyOf(kode, kapasitas);
+        nama = Arrays.copyOf(nama, kapasitas);
+        harga = Arrays.copyOf(harga, kapasitas);
+        hargaSen = Arrays.copyOf(hargaSen, kapasitas);
+        stok = Arrays.copyOf(stok, kapasitas);
+        Arrays.fill(stok, lama, kapasitas, STOK_SLOT_KOSONG);
+        stokMinimum = Arrays.copyOf(stokMinimum, kapasitas);
+        kategoriId = Arrays.copyOf(kategoriId, kapasitas);
+        Arrays.fill(kategoriId, lama, kapasitas, TANPA_KATEGORI);
+        aktif = Arrays.copyOf(aktif, (kapasitas + 63) >>> 6);
+    }
+
+    // Dipanggil saat memegang write lock setelah kolom slot diperbarui
+    private void umumkanStatus(int slot, int stokLama, int minimumLama) {
+        if (pendengarStatus.isEmpty()) {
+            return;
+        }
+        StatusStok statusLama = StatusStok.dari(stokLama, minimumLama);
+        StatusStok statusBaru = StatusStok.dari(stok[slot], stokMinimum[slot]);
+        if (statusLama != statusBaru) {
+            PerubahanStatusStok perubahan = new PerubahanStatusStok(kode[slot], statusLama, statusBaru,
+                    stok[slot], stokMinimum[slot]);
+            for (Consumer<PerubahanStatusStok> pendengar : pendengarStatus) {
+                pendengar.accept(perubahan);
+            }
+        }
+    }
+
+    // Salin produk di slot [awal, akhir) yang masih terisi
+    private List<Produk> bacaBlok(int awal, int akhir) {
+        kunci.readLock().lock();
+        try {
+            int batas = Math.min(akhir, batasSlot);
+            List<Produk> hasil = new ArrayList<>(Math.max(0, batas - awal));
+            for (int i = awal; i < batas; i++) {
+                if (stok[i] != STOK_SLOT_KOSONG) {
+                    hasil.add(bacaProduk(i));
+                }
+            }
+            return hasil;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    private final class SpliteratorSlot implements Spliterator<Produk> {
+        private int posisi;
+        private final int akhir;
+        private List<Produk> blok = List.of();
+        private int indeksBlok;
+
+        private SpliteratorSlot(int posisi, int akhir) {
+            this.posisi = posisi;
+            this.akhir = akhir;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Produk> action) {
+            while (indeksBlok == blok.size()) {
+                if (posisi >= akhir) {
+                    return false;
+                }
+                int batasBlok = Math.min(akhir, posisi + BLOK_PINDAI);
+                blok = bacaBlok(posisi, batasBlok);
+                indeksBlok = 0;
+                posisi = batasBlok;
+            }
+            action.accept(blok.get(indeksBlok++));
+            return true;
+        }
+
+        @Override
+        public Spliterator<Produk> trySplit() {
+            // Hanya dipecah di batas blok, dan tidak setelah pembacaan dimulai
+            if (indeksBlok < blok.size() || akhir - posisi < 2 * BLOK_PINDAI) {
+                return null;
+            }
+            int tengah = posisi + (akhir - posisi) / 2 / BLOK_PINDAI * BLOK_PINDAI;
+            SpliteratorSlot kiri = new SpliteratorSlot(posisi, tengah);
+            posisi = tengah;
+            return kiri;
+        }
+
+        @Override
+        public long estimateSize() {
+            return akhir - posisi + (blok.size() - indeksBlok);
+        }
+
+        @Override
+        public int characteristics() {
+            return NONNULL | CONCURRENT;
+        }
+    }
+
+    private int jumlahKata() {
+        return (batasSlot + 63) >>> 6;
+    }
+
+    private boolean isAktif(int slot) {
+        return (aktif[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    private void aturAktif(int slot, boolean nilai) {
+        if (nilai) {
+            aktif[slot >>> 6] |= 1L << slot;
+        } else {
+            aktif[slot >>> 6] &= ~(1L << slot);
+        }
+    }
+}
@@ -0,0 +1,413 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.HasilOperasi;
+import com.praktikum.whitebox.model.Produk;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * RepositoryProduk yang menyimpan Produk sebagai record lebar tetap di file
+ * memory-mapped. Field numerik berada di offset tetap sehingga updateStok
+ * cukup menulis 4 byte di tempat. Indeks kode ke slot ada di heap dan dibangun
+ * ulang saat file dibuka; slot bekas hapus dipakai ulang oleh simpan berikutnya.
+ */
+public class RepositoryProdukMappedFile implements RepositoryProduk, AutoCloseable {
+    private static final int MAGIC = 0x57425052; // "WBPR"
+    // Versi 2: harga disimpan sebagai long sen, bukan double
+    private static final int VERSI = 2;
+    private static final int UKURAN_HEADER = 64;
+
+    // Tata letak satu record (byte)
+    static final int UKURAN_RECORD = 512;
+    private static final int OFS_TERPAKAI = 0;
+    private static final int OFS_AKTIF = 1;
+    private static final int OFS_STOK = 4;
+    private static final int OFS_STOK_MINIMUM = 8;
+    private static final int OFS_HARGA = 16;
+    private static final int OFS_KODE = 24;
+    private static final int OFS_NAMA = 58;
+    private static final int OFS_KATEGORI = 300;
+    private static final int MAKS_KODE = 16;
+    private static final int MAKS_NAMA = 120;
+    private static final int MAKS_KATEGORI = 100;
+
+    // Satu segmen dipetakan sekaligus; file tumbuh per segmen
+    static final int SLOT_PER_SEGMEN = 1 << 16;
+    private static final long UKURAN_SEGMEN = (long) SLOT_PER_SEGMEN * UKURAN_RECORD;
+    private static final int JUMLAH_KUNCI = 256;
+
+    private final FileChannel channel;
+    private final ConcurrentHashMap<String, Integer> indeks = new ConcurrentHashMap<>();
+    private final Object[] kunci = new Object[JUMLAH_KUNCI];
+    private final Object kunciAlokasi = new Object();
+    private volatile MappedByteBuffer[] segmen;
+    private int[] slotBebas = new int[64];
+    private int jumlahSlotBebas;
+
+    public RepositoryProdukMappedFile(Path file) throws IOException {
+        for (int i = 0; i < JUMLAH_KUNCI; i++) {
+            kunci[i] = new Object();
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            bukaHeader();
+            int jumlahSegmen = (int) Math.max(0, (channel.size() - UKURAN_HEADER + UKURAN_SEGMEN - 1) / UKURAN_SEGMEN);
+            segmen = new MappedByteBuffer[0];
+            for (int i = 0; i < jumlahSegmen; i++) {
+                petakanSegmenBaru();
+            }
+            bangunIndeks();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean simpan(Produk produk) {
+        if (produk == null || produk.getKode() == null || produk.getStok() < 0
+                || !muat(produk.getKode(), MAKS_KODE) || !muat(produk.getNama(), MAKS_NAMA)
+                || !muat(produk.getKategori(), MAKS_KATEGORI)) {
+            return false;
+        }
+
+        String kode = produk.getKode();
+        synchronized (kunci(kode)) {
+            Integer slot = indeks.get(kode);
+            int target = slot != null ? slot : alokasiSlot();
+            tulisRecord(target, produk);
+            indeks.put(kode, target);
+        }
+        return true;
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        if (kode == null) {
+            return Optional.empty();
+        }
+        synchronized (kunci(kode)) {
+            Integer slot = indeks.get(kode);
+            return slot == null ? Optional.empty() : Optional.of(bacaRecord(slot));
+        }
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        if (nama == null) {
+            return new ArrayList<>();
+        }
+        String kunciNama = nama.toLowerCase(Locale.ROOT);
+        return pindai(p -> p.getNama() != null && p.getNama().toLowerCase(Locale.ROOT).contains(kunciNama));
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        if (kategori == null) {
+            return new ArrayList<>();
+        }
+        return pindai(p -> kategori.equals(p.getKategori()));
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return pindai(Produk::isStokMenipis);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return pindai(Produk::isStokHabis);
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        if (kode == null) {
+            return false;
+        }
+        synchronized (kunci(kode)) {
+            Integer slot = indeks.remove(kode);
+            if (slot == null) {
+                return false;
+            }
+            buffer(slot).put(offset(slot) + OFS_TERPAKAI, (byte) 0);
+            bebaskanSlot(slot);
+            return true;
+        }
+    }
+
+    // Ditulis langsung di offset stok, tanpa serialisasi ulang record
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        if (kode == null || stokBaru < 0) {
+            return false;
+        }
+        synchronized (kunci(kode)) {
+            Integer slot = indeks.get(kode);
+            if (slot == null) {
+                return false;
+            }
+            buffer(slot).putInt(offset(slot) + OFS_STOK, stokBaru);
+            return true;
+        }
+    }
+
+    @Override
+    public HasilOperasi kurangiStokJikaCukup(String kode, int jumlah) {
+        if (jumlah <= 0) {
+            throw new IllegalArgumentException("Jumlah harus positif");
+        }
+        return ubahStokDiTempat(kode, -jumlah);
+    }
+
+    @Override
+    public HasilOperasi tambahStok(String kode, int jumlah) {
+        if (jumlah <= 0) {
+            throw new IllegalArgumentException("Jumlah harus positif");
+        }
+        return ubahStokDiTempat(kode, jumlah);
+    }
+
+    @Override
+    public Map<String, HasilOperasi[]> terapkanMutasi(Map<String, int[]> deltaPerKode) {
+        Map<String, HasilOperasi[]> hasil = new HashMap<>(deltaPerKode.size() * 2);
+        for (Map.Entry<String, int[]> entry : deltaPerKode.entrySet()) {
+            String kode = entry.getKey();
+            HasilOperasi[] hasilKode = new HasilOperasi[entry.getValue().length];
+            Arrays.fill(hasilKode, HasilOperasi.TIDAK_DITEMUKAN);
+            hasil.put(kode, hasilKode);
+            if (kode == null) {
+                continue;
+            }
+
+            synchronized (kunci(kode)) {
+                Integer slot = indeks.get(kode);
+                if (slot == null) {
+                    continue;
+                }
+                MappedByteBuffer buffer = buffer(slot);
+                int ofs = offset(slot);
+                if (buffer.get(ofs + OFS_AKTIF) == 0) {
+                    Arrays.fill(hasilKode, HasilOperasi.TIDAK_AKTIF);
+                    continue;
+                }
+                int stokAkhir = PenerapMutasi.terapkan(buffer.getInt(ofs + OFS_STOK), entry.getValue(), hasilKode);
+                buffer.putInt(ofs + OFS_STOK, stokAkhir);
+            }
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean ubahStatusAktif(String kode, boolean aktif) {
+        if (kode == null) {
+            return false;
+        }
+        synchronized (kunci(kode)) {
+            Integer slot = indeks.get(kode);
+            if (slot == null) {
+                return false;
+            }
+            buffer(slot).put(offset(slot) + OFS_AKTIF, (byte) (aktif ? 1 : 0));
+            return true;
+        }
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        return pindai(p -> true);
+    }
+
+    public int jumlahProduk() {
+        return indeks.size();
+    }
+
+    // Paksa semua segmen ditulis ke disk
+    public void flush() {
+        for (MappedByteBuffer buffer : segmen) {
+            buffer.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    private HasilOperasi ubahStokDiTempat(String kode, int delta) {
+        if (kode == null) {
+            return HasilOperasi.TIDAK_DITEMUKAN;
+        }
+        synchronized (kunci(kode)) {
+            Integer slot = indeks.get(kode);
+            if (slot == null) {
+                return HasilOperasi.TIDAK_DITEMUKAN;
+            }
+            MappedByteBuffer buffer = buffer(slot);
+            int ofs = offset(slot);
+            if (buffer.get(ofs + OFS_AKTIF) == 0) {
+                return HasilOperasi.TIDAK_AKTIF;
+            }
+            int stok = buffer.getInt(ofs + OFS_STOK);
+            long stokBaru = stok + (long) delta;
+            if (stokBaru < 0) {
+                return HasilOperasi.STOK_TIDAK_CUKUP;
+            }
+            if (stokBaru > Integer.MAX_VALUE) {
+                return HasilOperasi.JUMLAH_TIDAK_VALID;
+            }
+            buffer.putInt(ofs + OFS_STOK, (int) stokBaru);
+            return HasilOperasi.BERHASIL;
+        }
+    }
+
+    private List<Produk> pindai(Predicate<Produk> filter) {
+        List<Produk> hasil = new ArrayList<>();
+        for (String kode : indeks.keySet()) {
+            cariByKode(kode).filter(filter).ifPresent(hasil::add);
+        }
+        return hasil;
+    }
+
+    private void bukaHeader() throws IOException {
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, UKURAN_HEADER);
+        if (header.getInt(0) == 0) {
+            header.putInt(0, MAGIC);
+            header.putInt(4, VERSI);
+            header.putInt(8, UKURAN_RECORD);
+            header.force();
+        } else if (header.getInt(0) != MAGIC || header.getInt(4) != VERSI
+                || header.getInt(8) != UKURAN_RECORD) {
+            throw new IOException("Format file repository produk tidak dikenali");
+        }
+    }
+
+    // Pindai flag terpakai di setiap slot; biayanya O(jumlah slot) tanpa deserialisasi penuh
+    private void bangunIndeks() {
+        int totalSlot = segmen.length * SLOT_PER_SEGMEN;
+        for (int slot = totalSlot - 1; slot >= 0; slot--) {
+            MappedByteBuffer buffer = buffer(slot);
+            int ofs = offset(slot);
+            if (buffer.get(ofs + OFS_TERPAKAI) != 0) {
+                indeks.put(bacaTeks(buffer, ofs + OFS_KODE), slot);
+            } else {
+                bebaskanSlot(slot);
+            }
+        }
+    }
+
+    private int alokasiSlot() {
+        synchronized (kunciAlokasi) {
+            if (jumlahSlotBebas == 0) {
+                int slotAwal = segmen.length * SLOT_PER_SEGMEN;
+                petakanSegmenBaru();
+                for (int slot = slotAwal + SLOT_PER_SEGMEN - 1; slot >= slotAwal; slot--) {
+                    bebaskanSlot(slot);
+                }
+            }
+            return slotBebas[--jumlahSlotBebas];
+        }
+    }
+
+    private void bebaskanSlot(int slot) {
+        synchronized (kunciAlokasi) {
+            if (jumlahSlotBebas == slotBebas.length) {
+                slotBebas = Arrays.copyOf(slotBebas, slotBebas.length * 2);
+            }
+            slotBebas[jumlahSlotBebas++] = slot;
+        }
+    }
+
+    private void petakanSegmenBaru() {
+        MappedByteBuffer[] lama = segmen;
+        try {
+            MappedByteBuffer baru = channel.map(FileChannel.MapMode.READ_WRITE,
+                    UKURAN_HEADER + lama.length * UKURAN_SEGMEN, UKURAN_SEGMEN);
+            MappedByteBuffer[] hasil = Arrays.copyOf(lama, lama.length + 1);
+            hasil[lama.length] = baru;
+            segmen = hasil;
+        } catch (IOException e) {
+            throw new IllegalStateException("Gagal memperbesar file repository produk", e);
+        }
+    }
+
+    private void tulisRecord(int slot, Produk produk) {
+        MappedByteBuffer buffer = buffer(slot);
+        int ofs = offset(slot);
+        buffer.put(ofs + OFS_AKTIF, (byte) (produk.isAktif() ? 1 : 0));
+        buffer.putInt(ofs + OFS_STOK, produk.getStok());
+        buffer.putInt(ofs + OFS_STOK_MINIMUM, produk.getStokMinimum());
+        buffer.putLong(ofs + OFS_HARGA, produk.getHargaSen());
+        tulisTeks(buffer, ofs + OFS_KODE, produk.getKode());
+        tulisTeks(buffer, ofs + OFS_NAMA, produk.getNama());
+        tulisTeks(buffer, ofs + OFS_KATEGORI, produk.getKategori());
+        // Flag terpakai ditulis terakhir agar record setengah jadi tidak terbaca saat startup
+        buffer.put(ofs + OFS_TERPAKAI, (byte) 1);
+    }
+
+    private Produk bacaRecord(int slot) {
+        MappedByteBuffer buffer = buffer(slot);
+        int ofs = offset(slot);
+        Produk produk = new Produk(bacaTeks(buffer, ofs + OFS_KODE), bacaTeks(buffer, ofs + OFS_NAMA),
+                bacaTeks(buffer, ofs + OFS_KATEGORI), 0,
+                buffer.getInt(ofs + OFS_STOK), buffer.getInt(ofs + OFS_STOK_MINIMUM));
+        produk.setHargaSen(buffer.getLong(ofs + OFS_HARGA));
+        produk.setAktif(buffer.get(ofs + OFS_AKTIF) != 0);
+        return produk;
+    }
+
+    // Teks disimpan sebagai panjang (short, -1 untuk null) diikuti char UTF-16
+    private static void tulisTeks(MappedByteBuffer buffer, int ofs, String teks) {
+        if (teks == null) {
+            buffer.putShort(ofs, (short) -1);
+            return;
+        }
+        buffer.putShort(ofs, (short) teks.length());
+        for (int i = 0; i < teks.length(); i++) {
+            buffer.putChar(ofs + 2 + i * 2, teks.charAt(i));
+        }
+    }
+
+    private static String bacaTeks(MappedByteBuffer buffer, int ofs) {
+        int panjang = buffer.getShort(ofs);
+        if (panjang < 0) {
+            return null;
+        }
+        char[] karakter = new char[panjang];
+        for (int i = 0; i < panjang; i++) {
+            karakter[i] = buffer.getChar(ofs + 2 + i * 2);
+        }
+        return new String(karakter);
+    }
+
+    private static boolean muat(String teks, int maks) {
+        return teks == null || teks.length() <= maks;
+    }
+
+    private MappedByteBuffer buffer(int slot) {
+        return segmen[slot / SLOT_PER_SEGMEN];
+    }
+
+    private static int offset(int slot) {
+        return (slot % SLOT_PER_SEGMEN) * UKURAN_RECORD;
+    }
+
+    private Object kunci(String kode) {
+        int h = kode.hashCode();
+        return kunci[(h ^ (h >>> 16)) & (JUMLAH_KUNCI - 1)];
+    }
+}
@@ -0,0 +1,337 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.HasilOperasi;
+import com.praktikum.whitebox.model.Produk;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * RepositoryProduk yang membagi katalog ke beberapa node shard dengan consistent
+ * hashing atas kode (CincinKonsisten). Operasi satu kode diteruskan ke satu shard.
+ * Pencarian (cariSemua, cariByKategori, cariByNama, stok menipis/habis) dan agregat
+ * nilai/stok dikirim ke semua shard bersamaan lalu hasilnya digabung; halaman kursor
+ * meminta satu halaman dari setiap shard lalu mengambil batas kode terkecil dari
+ * gabungannya. Aliran (aliranSemua dan sejenisnya) membaca shard satu per satu dengan
+ * halaman kursor berukuran HALAMAN_ALIRAN, jadi memorinya satu halaman, bukan satu
+ * shard. terapkanMutasi mengirim satu permintaan per shard yang terkena.
+ *
+ * Urutan transport menentukan posisi shard di cincin, jadi katalog yang sama harus
+ * selalu dibuka dengan urutan yang sama. Tidak ada rebalancing otomatis, replikasi,
+ * atau pendengar status lintas node, dan hasil scatter-gather bukan snapshot atomik
+ * lintas shard: perubahan yang berjalan bersamaan bisa terlihat di satu shard dan
+ * belum di shard lain.
+ */
+public final class RepositoryProdukPartisi implements RepositoryProduk, AutoCloseable {
+    private static final Comparator<Produk> URUT_KODE = Comparator.comparing(Produk::getKode);
+    // Jumlah produk per permintaan saat mengalirkan isi shard
+    static final int HALAMAN_ALIRAN = 1000;
+
+    private final List<TransportShard> daftarShard;
+    private final CincinKonsisten cincin;
+    // Permintaan ke shard-shard dijalankan bersamaan; virtual thread karena hampir semua
+    // waktunya menunggu jawaban node
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public RepositoryProdukPartisi(List<? extends TransportShard> daftarShard) {
+        this.daftarShard = List.copyOf(daftarShard);
+        this.cincin = new CincinKonsisten(this.daftarShard.size());
+    }
+
+    public int getJumlahShard() {
+        return daftarShard.size();
+    }
+
+    // Nomor shard pemilik kode, sesuai urutan transport di konstruktor
+    public int shardUntuk(String kode) {
+        return cincin.shard(kode);
+    }
+
+    // Transport ikut ditutup; repository di balik TransportShardLokal tidak
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        for (TransportShard shard : daftarShard) {
+            shard.close();
+        }
+    }
+
+    // ======================================================
+    // ================ Operasi Satu Kode ===================
+    // ======================================================
+
+    @Override
+    public boolean simpan(Produk produk) {
+        if (produk == null || produk.getKode() == null) {
+            return false;
+        }
+        return kirim(produk.getKode(), PermintaanShard.simpan(produk));
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        if (kode == null) {
+            return Optional.empty();
+        }
+        return kirim(kode, PermintaanShard.cariByKode(kode));
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        return kode != null && kirim(kode, PermintaanShard.hapus(kode));
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        return kode != null && kirim(kode, PermintaanShard.updateStok(kode, stokBaru));
+    }
+
+    @Override
+    public HasilOperasi kurangiStokJikaCukup(String kode, int jumlah) {
+        if (jumlah <= 0) {
+            throw new IllegalArgumentException("Jumlah harus positif");
+        }
+        if (kode == null) {
+            return HasilOperasi.TIDAK_DITEMUKAN;
+        }
+        return kirim(kode, PermintaanShard.kurangiStokJikaCukup(kode, jumlah));
+    }
+
+    @Override
+    public HasilOperasi tambahStok(String kode, int jumlah) {
+        if (jumlah <= 0) {
+            throw new IllegalArgumentException("Jumlah harus positif");
+        }
+        if (kode == null) {
+            return HasilOperasi.TIDAK_DITEMUKAN;
+        }
+        return kirim(kode, PermintaanShard.tambahStok(kode, jumlah));
+    }
+
+    @Override
+    public boolean ubahStatusAktif(String kode, boolean aktif) {
+        return kode != null && kirim(kode, PermintaanShard.ubahStatusAktif(kode, aktif));
+    }
+
+    // Delta dikelompokkan per shard; setiap shard menerapkan kelompoknya dalam satu permintaan
+    @Override
+    public Map<String, HasilOperasi[]> terapkanMutasi(Map<String, int[]> deltaPerKode) {
+        Map<Integer, Map<String, int[]>> perShard = new HashMap<>();
+        for (Map.Entry<String, int[]> entry : deltaPerKode.entrySet()) {
+            perShard.computeIfAbsent(cincin.shard(entry.getKey()), i -> new HashMap<>())
+                    .put(entry.getKey(), entry.getValue());
+        }
+
+        List<Future<Map<String, HasilOperasi[]>>> jawaban = new ArrayList<>(perShard.size());
+        for (Map.Entry<Integer, Map<String, int[]>> entry : perShard.entrySet()) {
+            TransportShard shard = daftarShard.get(entry.getKey());
+            PermintaanShard<Map<String, HasilOperasi[]>> permintaan = PermintaanShard.terapkanMutasi(entry.getValue());
+            jawaban.add(executor.submit(() -> shard.kirim(permintaan)));
+        }
+        Map<String, HasilOperasi[]> hasil = new HashMap<>(deltaPerKode.size() * 2);
+        for (Future<Map<String, HasilOperasi[]>> future : jawaban) {
+            hasil.putAll(tunggu(future));
+        }
+        return hasil;
+    }
+
+    // ======================================================
+    // ================ Scatter-Gather ======================
+    // ======================================================
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        return gabung(sebar(PermintaanShard.cariByNama(nama)));
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        return gabung(sebar(PermintaanShard.cariByKategori(kategori)));
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return gabung(sebar(PermintaanShard.cariProdukStokMenipis()));
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return gabung(sebar(PermintaanShard.cariProdukStokHabis()));
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        return gabung(sebar(PermintaanShard.cariSemua()));
+    }
+
+    @Override
+    public List<Produk> cariSemua(String setelahKode, int batas) {
+        return gabungHalaman(sebar(PermintaanShard.cariSemua(setelahKode, batas)), batas);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori, String setelahKode, int batas) {
+        return gabungHalaman(sebar(PermintaanShard.cariByKategori(kategori, setelahKode, batas)), batas);
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama, String setelahKode, int batas) {
+        return gabungHalaman(sebar(PermintaanShard.cariByNama(nama, setelahKode, batas)), batas);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis(String setelahKode, int batas) {
+        return gabungHalaman(sebar(PermintaanShard.cariProdukStokMenipis(setelahKode, batas)), batas);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis(String setelahKode, int batas) {
+        return gabungHalaman(sebar(PermintaanShard.cariProdukStokHabis(setelahKode, batas)), batas);
+    }
+
+    // Halaman shard berikutnya baru diminta setelah halaman sebelumnya habis dikonsumsi
+    @Override
+    public Stream<Produk> aliranSemua() {
+        return aliranPerShard(setelah -> PermintaanShard.cariSemua(setelah, HALAMAN_ALIRAN));
+    }
+
+    @Override
+    public Stream<Produk> aliranByKategori(String kategori) {
+        if (kategori == null) {
+            return Stream.empty();
+        }
+        return aliranPerShard(setelah -> PermintaanShard.cariByKategori(kategori, setelah, HALAMAN_ALIRAN));
+    }
+
+    @Override
+    public Stream<Produk> aliranByNama(String nama) {
+        if (nama == null) {
+            return Stream.empty();
+        }
+        return aliranPerShard(setelah -> PermintaanShard.cariByNama(nama, setelah, HALAMAN_ALIRAN));
+    }
+
+    @Override
+    public Stream<Produk> aliranProdukStokMenipis() {
+        return aliranPerShard(setelah -> PermintaanShard.cariProdukStokMenipis(setelah, HALAMAN_ALIRAN));
+    }
+
+    @Override
+    public Stream<Produk> aliranProdukStokHabis() {
+        return aliranPerShard(setelah -> PermintaanShard.cariProdukStokHabis(setelah, HALAMAN_ALIRAN));
+    }
+
+    // ======================================================
+    // ================ Agregat =============================
+    // ======================================================
+
+    @Override
+    public double hitungTotalNilaiAktif() {
+        double total = 0;
+        for (double nilai : sebar(PermintaanShard.hitungTotalNilaiAktif())) {
+            total += nilai;
+        }
+        return total;
+    }
+
+    @Override
+    public long hitungTotalNilaiAktifSen() {
+        long total = 0;
+        for (long nilai : sebar(PermintaanShard.hitungTotalNilaiAktifSen())) {
+            total = Math.addExact(total, nilai);
+        }
+        return total;
+    }
+
+    @Override
+    public long hitungTotalStokAktif() {
+        long total = 0;
+        for (long stok : sebar(PermintaanShard.hitungTotalStokAktif())) {
+            total += stok;
+        }
+        return total;
+    }
+
+    // ======================================================
+    // ================ Pendukung ===========================
+    // ======================================================
+
+    private <T> T kirim(String kode, PermintaanShard<T> permintaan) {
+        return daftarShard.get(cincin.shard(kode)).kirim(permintaan);
+    }
+
+    // Permintaan yang sama ke semua shard; shard terakhir dilayani thread pemanggil
+    private <T> List<T> sebar(PermintaanShard<T> permintaan) {
+        int n = daftarShard.size();
+        List<Future<T>> jawaban = new ArrayList<>(n - 1);
+        for (int i = 0; i < n - 1; i++) {
+            TransportShard shard = daftarShard.get(i);
+            jawaban.add(executor.submit(() -> shard.kirim(permintaan)));
+        }
+        T terakhir = daftarShard.get(n - 1).kirim(permintaan);
+
+        List<T> hasil = new ArrayList<>(n);
+        for (Future<T> future : jawaban) {
+            hasil.add(tunggu(future));
+        }
+        hasil.add(terakhir);
+        return hasil;
+    }
+
+    // Galat dari shard dilempar ulang apa adanya, sama seperti permintaan satu kode
+    private static <T> T tunggu(Future<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException galat) {
+                throw galat;
+            }
+            throw new IllegalStateException("Permintaan ke shard gagal", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Menunggu jawaban shard diinterupsi", e);
+        }
+    }
+
+    // halaman membuat permintaan halaman sesudah kode kursor (null = dari awal). Halaman yang
+    // lebih pendek dari HALAMAN_ALIRAN berarti shard itu sudah habis.
+    private Stream<Produk> aliranPerShard(Function<String, PermintaanShard<List<Produk>>> halaman) {
+        return daftarShard.stream().flatMap(shard -> Stream.iterate(
+                        shard.kirim(halaman.apply(null)),
+                        daftar -> !daftar.isEmpty(),
+                        daftar -> daftar.size() < HALAMAN_ALIRAN
+                                ? List.of()
+                                : shard.kirim(halaman.apply(daftar.get(daftar.size() - 1).getKode())))
+                .flatMap(List::stream));
+    }
+
+    private static List<Produk> gabung(List<List<Produk>> perShard) {
+        int jumlah = 0;
+        for (List<Produk> daftar : perShard) {
+            jumlah += daftar.size();
+        }
+        List<Produk> hasil = new ArrayList<>(jumlah);
+        for (List<Produk> daftar : perShard) {
+            hasil.addAll(daftar);
+        }
+        return hasil;
+    }
+
+    // Setiap halaman shard sudah urut kode dan memuat batas kode terkecilnya, jadi batas
+    // kode terkecil gabungannya adalah halaman global
+    private static List<Produk> gabungHalaman(List<List<Produk>> perShard, int batas) {
+        List<Produk> hasil = gabung(perShard);
+        hasil.sort(URUT_KODE);
+        return hasil.size() <= batas ? hasil : new ArrayList<>(hasil.subList(0, batas));
+    }
+}
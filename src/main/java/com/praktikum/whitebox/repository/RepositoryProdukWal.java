@@ -0,0 +1,533 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.HasilOperasi;
+import com.praktikum.whitebox.model.PerubahanStatusStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukSnapshot;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Dekorator RepositoryProduk yang membuat setiap perubahan tahan crash lewat
+ * write-ahead log dengan group commit, snapshot berkala, dan replay saat start.
+ *
+ * Perubahan diterapkan ke repository di memori lalu dicatat sebagai nilai akhir
+ * (bukan delta) di bawah kunci per kode, sehingga urutan per kode di log selalu
+ * sama dengan urutan penerapannya dan replay bersifat idempoten. Pemanggil baru
+ * mendapat hasil setelah record-nya di-fsync. Repository delegate harus kosong
+ * saat dibungkus karena isinya dibangun dari snapshot dan log.
+ */
+public class RepositoryProdukWal implements RepositoryProduk, AutoCloseable {
+    private static final int MAGIC_SNAPSHOT = 0x57425353; // "WBSS"
+    private static final int JUMLAH_KUNCI = 256;
+
+    private static final byte JENIS_SIMPAN = 1;
+    private static final byte JENIS_STOK = 2;
+    private static final byte JENIS_HAPUS = 3;
+    private static final byte JENIS_AKTIF = 4;
+
+    private final RepositoryProduk delegate;
+    private final Path folder;
+    private final Object[] kunci = new Object[JUMLAH_KUNCI];
+    private final Object kunciSnapshot = new Object();
+    private final WriteAheadLog log;
+    private final ScheduledExecutorService penjadwal;
+    private final AtomicLong jumlahSnapshotGagal = new AtomicLong();
+    private volatile Exception galatSnapshotTerakhir;
+
+    public RepositoryProdukWal(RepositoryProduk delegate, Path folder) throws IOException {
+        this(delegate, folder, null);
+    }
+
+    // intervalSnapshot null berarti snapshot hanya dibuat saat snapshot() dipanggil
+    public RepositoryProdukWal(RepositoryProduk delegate, Path folder, Duration intervalSnapshot)
+            throws IOException {
+        this.delegate = delegate;
+        this.folder = Files.createDirectories(folder);
+        for (int i = 0; i < JUMLAH_KUNCI; i++) {
+            kunci[i] = new Object();
+        }
+
+        long segmenTerakhir = pulihkan();
+        // Segmen lama tidak pernah ditambah lagi karena ekornya mungkin terpotong
+        this.log = new WriteAheadLog(this.folder, segmenTerakhir + 1);
+
+        if (intervalSnapshot != null) {
+            penjadwal = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "wal-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long milidetik = intervalSnapshot.toMillis();
+            penjadwal.scheduleWithFixedDelay(this::snapshotBerkala, milidetik, milidetik, TimeUnit.MILLISECONDS);
+        } else {
+            penjadwal = null;
+        }
+    }
+
+    // ======================================================
+    // ================ Operasi Tulis =======================
+    // ======================================================
+
+    @Override
+    public boolean simpan(Produk produk) {
+        if (produk == null || produk.getKode() == null) {
+            return false;
+        }
+        Produk salinan = new Produk(produk);
+        long lsn;
+        synchronized (kunci(salinan.getKode())) {
+            if (!delegate.simpan(salinan)) {
+                return false;
+            }
+            lsn = log.tambah(out -> {
+                out.writeByte(JENIS_SIMPAN);
+                KodekProduk.tulis(out, salinan);
+            });
+        }
+        log.tungguDurable(lsn);
+        return true;
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        if (kode == null) {
+            return false;
+        }
+        long lsn;
+        synchronized (kunci(kode)) {
+            if (!delegate.hapus(kode)) {
+                return false;
+            }
+            lsn = log.tambah(out -> {
+                out.writeByte(JENIS_HAPUS);
+                out.writeUTF(kode);
+            });
+        }
+        log.tungguDurable(lsn);
+        return true;
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        if (kode == null) {
+            return false;
+        }
+        long lsn;
+        synchronized (kunci(kode)) {
+            if (!delegate.updateStok(kode, stokBaru)) {
+                return false;
+            }
+            lsn = catatStok(kode, stokBaru);
+        }
+        log.tungguDurable(lsn);
+        return true;
+    }
+
+    @Override
+    public HasilOperasi kurangiStokJikaCukup(String kode, int jumlah) {
+        if (kode == null) {
+            return delegate.kurangiStokJikaCukup(kode, jumlah);
+        }
+        long lsn;
+        synchronized (kunci(kode)) {
+            HasilOperasi hasil = delegate.kurangiStokJikaCukup(kode, jumlah);
+            if (!hasil.isBerhasil()) {
+                return hasil;
+            }
+            lsn = catatStokTerkini(kode);
+        }
+        log.tungguDurable(lsn);
+        return HasilOperasi.BERHASIL;
+    }
+
+    @Override
+    public HasilOperasi tambahStok(String kode, int jumlah) {
+        if (kode == null) {
+            return delegate.tambahStok(kode, jumlah);
+        }
+        long lsn;
+        synchronized (kunci(kode)) {
+            HasilOperasi hasil = delegate.tambahStok(kode, jumlah);
+            if (!hasil.isBerhasil()) {
+                return hasil;
+            }
+            lsn = catatStokTerkini(kode);
+        }
+        log.tungguDurable(lsn);
+        return HasilOperasi.BERHASIL;
+    }
+
+    // Setiap kode dicatat begitu selesai diterapkan; fsync ditunggu sekali di akhir batch
+    @Override
+    public Map<String, HasilOperasi[]> terapkanMutasi(Map<String, int[]> deltaPerKode) {
+        Map<String, HasilOperasi[]> hasil = new HashMap<>(deltaPerKode.size() * 2);
+        long lsn = 0;
+        for (Map.Entry<String, int[]> entry : deltaPerKode.entrySet()) {
+            String kode = entry.getKey();
+            if (kode == null) {
+                HasilOperasi[] hasilKode = new HasilOperasi[entry.getValue().length];
+                Arrays.fill(hasilKode, HasilOperasi.TIDAK_DITEMUKAN);
+                hasil.put(null, hasilKode);
+                continue;
+            }
+            synchronized (kunci(kode)) {
+                HasilOperasi[] hasilKode = delegate.terapkanMutasi(Map.of(kode, entry.getValue())).get(kode);
+                hasil.put(kode, hasilKode);
+                for (HasilOperasi h : hasilKode) {
+                    if (h.isBerhasil()) {
+                        lsn = catatStokTerkini(kode);
+                        break;
+                    }
+                }
+            }
+        }
+        log.tungguDurable(lsn);
+        return hasil;
+    }
+
+    @Override
+    public boolean ubahStatusAktif(String kode, boolean aktif) {
+        if (kode == null) {
+            return false;
+        }
+        long lsn;
+        synchronized (kunci(kode)) {
+            if (!delegate.ubahStatusAktif(kode, aktif)) {
+                return false;
+            }
+            lsn = log.tambah(out -> {
+                out.writeByte(JENIS_AKTIF);
+                out.writeUTF(kode);
+                out.writeBoolean(aktif);
+            });
+        }
+        log.tungguDurable(lsn);
+        return true;
+    }
+
+    // ======================================================
+    // ================ Operasi Baca ========================
+    // ======================================================
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        return delegate.cariByKode(kode);
+    }
+
+    @Override
+    public Optional<ProdukSnapshot> lihatByKode(String kode) {
+        return delegate.lihatByKode(kode);
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        return delegate.cariByNama(nama);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        return delegate.cariByKategori(kategori);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return delegate.cariProdukStokMenipis();
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return delegate.cariProdukStokHabis();
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        return delegate.cariSemua();
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama, int lewati, int batas) {
+        return delegate.cariByNama(nama, lewati, batas);
+    }
+
+    @Override
+    public List<Produk> cariByAwalanNama(String awalan, int lewati, int batas) {
+        return delegate.cariByAwalanNama(awalan, lewati, batas);
+    }
+
+    @Override
+    public List<Produk> cariSemua(String setelahKode, int batas) {
+        return delegate.cariSemua(setelahKode, batas);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori, String setelahKode, int batas) {
+        return delegate.cariByKategori(kategori, setelahKode, batas);
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama, String setelahKode, int batas) {
+        return delegate.cariByNama(nama, setelahKode, batas);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis(String setelahKode, int batas) {
+        return delegate.cariProdukStokMenipis(setelahKode, batas);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis(String setelahKode, int batas) {
+        return delegate.cariProdukStokHabis(setelahKode, batas);
+    }
+
+    @Override
+    public Stream<Produk> aliranSemua() {
+        return delegate.aliranSemua();
+    }
+
+    @Override
+    public Stream<Produk> aliranByKategori(String kategori) {
+        return delegate.aliranByKategori(kategori);
+    }
+
+    @Override
+    public Stream<Produk> aliranByNama(String nama) {
+        return delegate.aliranByNama(nama);
+    }
+
+    @Override
+    public Stream<Produk> aliranProdukStokMenipis() {
+        return delegate.aliranProdukStokMenipis();
+    }
+
+    @Override
+    public Stream<Produk> aliranProdukStokHabis() {
+        return delegate.aliranProdukStokHabis();
+    }
+
+    @Override
+    public Spliterator<Produk> pindaiSemua() {
+        return delegate.pindaiSemua();
+    }
+
+    @Override
+    public boolean tambahPendengarStatus(Consumer<PerubahanStatusStok> pendengar) {
+        return delegate.tambahPendengarStatus(pendengar);
+    }
+
+    @Override
+    public void hapusPendengarStatus(Consumer<PerubahanStatusStok> pendengar) {
+        delegate.hapusPendengarStatus(pendengar);
+    }
+
+    @Override
+    public double hitungTotalNilaiAktif() {
+        return delegate.hitungTotalNilaiAktif();
+    }
+
+    @Override
+    public long hitungTotalNilaiAktifSen() {
+        return delegate.hitungTotalNilaiAktifSen();
+    }
+
+    @Override
+    public long hitungTotalStokAktif() {
+        return delegate.hitungTotalStokAktif();
+    }
+
+    // ======================================================
+    // ================ Snapshot & Pemulihan ================
+    // ======================================================
+
+    /**
+     * Tulis snapshot ringkas lalu buang segmen log dan snapshot yang sudah tercakup.
+     * Log dirotasi lebih dulu; snapshot diambil setelahnya tanpa menghentikan penulis,
+     * sehingga bisa memuat sebagian perubahan dari segmen baru. Itu aman karena
+     * record log berisi nilai akhir dan diputar ulang dengan urutan per kode yang sama.
+     */
+    public void snapshot() throws IOException {
+        synchronized (kunciSnapshot) {
+            long segmenAwal = log.rotasi();
+            Path sementara = folder.resolve(namaSnapshot(segmenAwal) + ".tmp");
+            List<Produk> semua = delegate.cariSemua();
+            try (OutputStream file = Files.newOutputStream(sementara);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+                out.writeInt(MAGIC_SNAPSHOT);
+                out.writeInt(semua.size());
+                for (Produk produk : semua) {
+                    KodekProduk.tulis(out, produk);
+                }
+            }
+            try (FileChannel channel = FileChannel.open(sementara, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(sementara, folder.resolve(namaSnapshot(segmenAwal)), StandardCopyOption.ATOMIC_MOVE);
+            // Rename baru durable setelah entri direktori di-fsync; tanpa itu crash bisa
+            // menghilangkan snapshot padahal segmen yang dicakupnya sudah dihapus
+            fsyncFolder();
+            bersihkanSebelum(segmenAwal);
+            galatSnapshotTerakhir = null;
+        }
+    }
+
+    public long jumlahFsync() {
+        return log.jumlahFsync();
+    }
+
+    // Jumlah snapshot berkala yang gagal sejak repository dibuka
+    public long jumlahSnapshotGagal() {
+        return jumlahSnapshotGagal.get();
+    }
+
+    // Galat snapshot berkala terakhir; kosong lagi setelah ada snapshot yang berhasil
+    public Optional<Exception> galatSnapshotTerakhir() {
+        return Optional.ofNullable(galatSnapshotTerakhir);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (penjadwal != null) {
+            penjadwal.shutdownNow();
+        }
+        log.close();
+    }
+
+    static String namaSnapshot(long segmenAwal) {
+        return String.format("snapshot-%016d.dat", segmenAwal);
+    }
+
+    // Muat snapshot terbaru lalu putar ulang segmen setelahnya; mengembalikan nomor segmen terakhir
+    private long pulihkan() throws IOException {
+        long snapshotTerbaru = -1;
+        List<Long> daftarSegmen = new ArrayList<>();
+        try (Stream<Path> isi = Files.list(folder)) {
+            for (Path path : (Iterable<Path>) isi::iterator) {
+                String nama = path.getFileName().toString();
+                if (nama.startsWith("snapshot-") && nama.endsWith(".dat")) {
+                    snapshotTerbaru = Math.max(snapshotTerbaru, nomorDari(nama, "snapshot-"));
+                } else if (nama.startsWith("wal-") && nama.endsWith(".log")) {
+                    daftarSegmen.add(nomorDari(nama, "wal-"));
+                }
+            }
+        }
+
+        if (snapshotTerbaru >= 0) {
+            muatSnapshot(folder.resolve(namaSnapshot(snapshotTerbaru)));
+        }
+        daftarSegmen.sort(null);
+        long segmenTerakhir = Math.max(0, snapshotTerbaru);
+        for (long nomor : daftarSegmen) {
+            segmenTerakhir = Math.max(segmenTerakhir, nomor);
+            if (nomor >= snapshotTerbaru) {
+                WriteAheadLog.putarUlang(folder.resolve(WriteAheadLog.namaSegmen(nomor)), in -> {
+                    switch (in.readByte()) {
+                        case JENIS_SIMPAN -> delegate.simpan(KodekProduk.baca(in));
+                        case JENIS_STOK -> delegate.updateStok(in.readUTF(), in.readInt());
+                        case JENIS_HAPUS -> delegate.hapus(in.readUTF());
+                        case JENIS_AKTIF -> delegate.ubahStatusAktif(in.readUTF(), in.readBoolean());
+                        default -> throw new IOException("Jenis record log tidak dikenali");
+                    }
+                });
+            }
+        }
+        return segmenTerakhir;
+    }
+
+    private void muatSnapshot(Path snapshot) throws IOException {
+        try (InputStream file = Files.newInputStream(snapshot);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file))) {
+            if (in.readInt() != MAGIC_SNAPSHOT) {
+                throw new IOException("Format snapshot tidak dikenali: " + snapshot);
+            }
+            int jumlah = in.readInt();
+            for (int i = 0; i < jumlah; i++) {
+                delegate.simpan(KodekProduk.baca(in));
+            }
+        }
+    }
+
+    private void fsyncFolder() throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(folder, StandardOpenOption.READ);
+        } catch (IOException e) {
+            // Sebagian platform (Windows) tidak bisa membuka direktori sebagai channel
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
+    private void bersihkanSebelum(long segmenAwal) throws IOException {
+        try (Stream<Path> isi = Files.list(folder)) {
+            for (Path path : (Iterable<Path>) isi::iterator) {
+                String nama = path.getFileName().toString();
+                boolean segmenLama = nama.startsWith("wal-") && nama.endsWith(".log")
+                        && nomorDari(nama, "wal-") < segmenAwal;
+                boolean snapshotLama = nama.startsWith("snapshot-") && nama.endsWith(".dat")
+                        && nomorDari(nama, "snapshot-") < segmenAwal;
+                if (segmenLama || snapshotLama) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    private void snapshotBerkala() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            // Snapshot berikutnya akan dicoba lagi; log tetap lengkap selama snapshot gagal
+            galatSnapshotTerakhir = e;
+            jumlahSnapshotGagal.incrementAndGet();
+        }
+    }
+
+    private long catatStok(String kode, int stok) {
+        return log.tambah(out -> {
+            out.writeByte(JENIS_STOK);
+            out.writeUTF(kode);
+            out.writeInt(stok);
+        });
+    }
+
+    // Dipanggil di bawah kunci kode sehingga stok yang dibaca adalah hasil operasi barusan
+    private long catatStokTerkini(String kode) {
+        return catatStok(kode, delegate.cariByKode(kode).orElseThrow().getStok());
+    }
+
+    private static long nomorDari(String nama, String awalan) {
+        return Long.parseLong(nama.substring(awalan.length(), nama.indexOf('.')));
+    }
+
+    private Object kunci(String kode) {
+        int h = kode.hashCode();
+        return kunci[(h ^ (h >>> 16)) & (JUMLAH_KUNCI - 1)];
+    }
+}
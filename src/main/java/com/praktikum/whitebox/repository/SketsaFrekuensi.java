@@ -0,0 +1,64 @@
+package com.praktikum.whitebox.repository;
+
+/**
+ * Count-min sketch kecil untuk memperkirakan frekuensi akses kode produk.
+ * Setiap kode dipetakan ke satu counter di masing-masing dari empat baris dan
+ * frekuensinya adalah nilai minimum keempat counter. Counter jenuh di 15 dan
+ * semua counter dibagi dua setelah sejumlah penambahan (aging), sehingga kode
+ * yang dulu populer tetapi sekarang sepi perlahan kehilangan prioritasnya.
+ * Tidak thread-safe; pemanggil menjaga akses dengan kunci sendiri.
+ */
+final class SketsaFrekuensi {
+    private static final int JUMLAH_BARIS = 4;
+    private static final int MAKS_COUNTER = 15;
+    private static final int[] BENIH = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+    private final byte[][] baris;
+    private final int mask;
+    private final int batasSampel;
+    private int jumlahTambah;
+
+    SketsaFrekuensi(int kapasitas) {
+        // Empat counter per entri di setiap baris agar tabrakan hash tetap jarang
+        int lebar = Integer.highestOneBit(Math.max(16, kapasitas - 1) << 1) * 4;
+        this.baris = new byte[JUMLAH_BARIS][lebar];
+        this.mask = lebar - 1;
+        this.batasSampel = Math.max(16, kapasitas) * 10;
+    }
+
+    void tambah(String kode) {
+        int hash = kode.hashCode();
+        for (int i = 0; i < JUMLAH_BARIS; i++) {
+            int indeks = indeks(hash, i);
+            if (baris[i][indeks] < MAKS_COUNTER) {
+                baris[i][indeks]++;
+            }
+        }
+        if (++jumlahTambah >= batasSampel) {
+            paruh();
+        }
+    }
+
+    int frekuensi(String kode) {
+        int hash = kode.hashCode();
+        int minimum = MAKS_COUNTER;
+        for (int i = 0; i < JUMLAH_BARIS; i++) {
+            minimum = Math.min(minimum, baris[i][indeks(hash, i)]);
+        }
+        return minimum;
+    }
+
+    private int indeks(int hash, int nomorBaris) {
+        int h = hash * BENIH[nomorBaris];
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void paruh() {
+        for (byte[] counter : baris) {
+            for (int i = 0; i < counter.length; i++) {
+                counter[i] = (byte) (counter[i] >>> 1);
+            }
+        }
+        jumlahTambah /= 2;
+    }
+}
@@ -0,0 +1,18 @@
+package com.praktikum.whitebox.repository;
+
+/**
+ * Saluran RepositoryProdukPartisi ke satu node shard. Implementasi bawaan:
+ * TransportShardLokal (repository di JVM yang sama) dan TransportShardSoket
+ * (NodeShard lewat TCP). Transport lain cukup mengirim PermintaanShard dan
+ * mengembalikan jawabannya.
+ */
+public interface TransportShard extends AutoCloseable {
+
+    // Jalankan permintaan di node dan tunggu jawabannya. Galat I/O dilempar sebagai
+    // UncheckedIOException; IllegalArgumentException dari repository di node dilempar ulang
+    // apa adanya agar pemanggil melihat perilaku yang sama seperti repository lokal.
+    <T> T kirim(PermintaanShard<T> permintaan);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,20 @@
+package com.praktikum.whitebox.repository;
+
+// Transport ke repository di JVM yang sama, tanpa serialisasi. Untuk pengujian dan untuk
+// membagi katalog ke beberapa repository dalam satu proses. close() tidak menutup repository.
+public final class TransportShardLokal implements TransportShard {
+    private final RepositoryProduk node;
+
+    public TransportShardLokal(RepositoryProduk node) {
+        this.node = node;
+    }
+
+    @Override
+    public <T> T kirim(PermintaanShard<T> permintaan) {
+        return permintaan.jalankan(node);
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,117 @@
+package com.praktikum.whitebox.repository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Transport ke NodeShard lewat TCP. Setiap permintaan memakai satu koneksi secara
+ * eksklusif; koneksi dipinjam dari kolam koneksi menganggur, dan permintaan bersamaan
+ * membuka koneksi baru seperlunya. Paling banyak MAKS_MENGANGGUR koneksi disimpan.
+ *
+ * Koneksi yang gagal di tengah permintaan dibuang dan galatnya dilempar sebagai
+ * UncheckedIOException. Permintaan tidak diulang otomatis: operasi tulis seperti
+ * kurangiStokJikaCukup tidak idempoten, dan node mungkin sudah menjalankannya.
+ */
+public final class TransportShardSoket implements TransportShard {
+    private static final int MAKS_MENGANGGUR = 16;
+
+    private final InetSocketAddress alamat;
+    private final ConcurrentLinkedDeque<Koneksi> menganggur = new ConcurrentLinkedDeque<>();
+    private volatile boolean ditutup;
+
+    public TransportShardSoket(InetSocketAddress alamat) {
+        this.alamat = alamat;
+    }
+
+    @Override
+    public <T> T kirim(PermintaanShard<T> permintaan) {
+        if (ditutup) {
+            throw new IllegalStateException("Transport shard " + alamat + " sudah ditutup");
+        }
+        Koneksi koneksi = menganggur.pollFirst();
+        try {
+            if (koneksi == null) {
+                koneksi = new Koneksi(alamat);
+            }
+            permintaan.tulis(koneksi.keluar);
+            koneksi.keluar.flush();
+
+            byte status = koneksi.masuk.readByte();
+            if (status == NodeShard.STATUS_OK) {
+                T hasil = permintaan.bacaJawaban(koneksi.masuk);
+                kembalikan(koneksi);
+                return hasil;
+            }
+            String pesan = KodekProduk.bacaTeks(koneksi.masuk);
+            kembalikan(koneksi);
+            if (status == NodeShard.STATUS_GALAT_ARGUMEN) {
+                throw new IllegalArgumentException(pesan);
+            }
+            throw new IllegalStateException("Shard " + alamat + " gagal menjalankan " + permintaan + ": " + pesan);
+        } catch (IOException e) {
+            if (koneksi != null) {
+                koneksi.tutup();
+            }
+            throw new UncheckedIOException("Permintaan " + permintaan + " ke shard " + alamat + " gagal", e);
+        }
+    }
+
+    private void kembalikan(Koneksi koneksi) {
+        if (menganggur.size() >= MAKS_MENGANGGUR) {
+            koneksi.tutup();
+            return;
+        }
+        menganggur.offerFirst(koneksi);
+        // close() yang berjalan bersamaan mungkin sudah selesai menguras kolam
+        if (ditutup) {
+            tutupMenganggur();
+        }
+    }
+
+    @Override
+    public void close() {
+        ditutup = true;
+        tutupMenganggur();
+    }
+
+    private void tutupMenganggur() {
+        Koneksi koneksi;
+        while ((koneksi = menganggur.pollFirst()) != null) {
+            koneksi.tutup();
+        }
+    }
+
+    private static final class Koneksi {
+        private final Socket soket;
+        private final DataInputStream masuk;
+        private final DataOutputStream keluar;
+
+        private Koneksi(InetSocketAddress alamat) throws IOException {
+            soket = new Socket();
+            try {
+                soket.setTcpNoDelay(true);
+                soket.connect(alamat);
+                masuk = new DataInputStream(new BufferedInputStream(soket.getInputStream()));
+                keluar = new DataOutputStream(new BufferedOutputStream(soket.getOutputStream()));
+            } catch (IOException e) {
+                soket.close();
+                throw e;
+            }
+        }
+
+        private void tutup() {
+            try {
+                soket.close();
+            } catch (IOException e) {
+                // Koneksi dibuang; galat saat menutup tidak mengubah apa pun
+            }
+        }
+    }
+}
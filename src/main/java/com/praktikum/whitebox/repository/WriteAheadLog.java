@@ -0,0 +1,325 @@
+package com.praktikum.whitebox.repository;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Log append-only dengan group commit. Penulis menambahkan record ke buffer di
+ * memori lalu menunggu sampai LSN-nya durable; satu thread pengirim menulis
+ * semua record yang terkumpul sekaligus dan memanggil fsync sekali per batch.
+ * Format record: panjang (int), CRC32 payload (int), payload.
+ * Sinkronisasi memakai ReentrantLock, bukan synchronized, supaya virtual thread
+ * yang menunggu fsync tidak mengunci carrier thread-nya.
+ */
+final class WriteAheadLog implements AutoCloseable {
+    @FunctionalInterface
+    interface PenulisRecord {
+        void tulis(DataOutput out) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface PembacaRecord {
+        void baca(DataInput in) throws IOException;
+    }
+
+    private final Path folder;
+    private final ReentrantLock kunci = new ReentrantLock();
+    private final Condition berubah = kunci.newCondition();
+    private final CRC32 crc = new CRC32();
+    private final Thread pengirim;
+
+    // Dilindungi kunci
+    private BufferLog bufferAktif = new BufferLog();
+    private BufferLog bufferKirim = new BufferLog();
+    private final DataOutputStream keluaran = new DataOutputStream(new KeluaranBuffer());
+    private long lsnTerakhir;
+    private long lsnDurable;
+    private long rotasiDiminta;
+    private long rotasiSelesai;
+    private long nomorSegmen;
+    private long jumlahFsync;
+    private boolean ditutup;
+    private IOException galat;
+
+    // Hanya diakses thread pengirim setelah konstruksi
+    private FileChannel channel;
+
+    WriteAheadLog(Path folder, long nomorSegmenAwal) throws IOException {
+        this.folder = folder;
+        this.nomorSegmen = nomorSegmenAwal;
+        this.channel = bukaSegmen(nomorSegmenAwal);
+        this.pengirim = new Thread(this::jalankanPengirim, "wal-pengirim");
+        this.pengirim.setDaemon(true);
+        this.pengirim.start();
+    }
+
+    static String namaSegmen(long nomor) {
+        return String.format("wal-%016d.log", nomor);
+    }
+
+    // Tambahkan satu record dan kembalikan LSN-nya; belum tentu durable
+    long tambah(PenulisRecord penulis) {
+        kunci.lock();
+        try {
+            periksaTerbuka();
+            int awal = bufferAktif.size();
+            try {
+                keluaran.writeLong(0); // tempat panjang dan CRC
+                penulis.tulis(keluaran);
+            } catch (IOException | RuntimeException e) {
+                bufferAktif.batalkan(awal);
+                throw e instanceof IOException io ? new UncheckedIOException(io) : (RuntimeException) e;
+            }
+            bufferAktif.tutupRecord(awal, crc);
+            lsnTerakhir++;
+            berubah.signalAll();
+            return lsnTerakhir;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    // Blok sampai semua record hingga lsn sudah di-fsync
+    void tungguDurable(long lsn) {
+        kunci.lock();
+        try {
+            while (lsnDurable < lsn) {
+                periksaTerbuka();
+                tunggu();
+            }
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    // Mulai segmen baru; record berikutnya ditulis ke segmen yang dikembalikan
+    long rotasi() {
+        kunci.lock();
+        try {
+            periksaTerbuka();
+            long target = ++rotasiDiminta;
+            berubah.signalAll();
+            while (rotasiSelesai < target) {
+                periksaTerbuka();
+                tunggu();
+            }
+            return nomorSegmen;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    long jumlahFsync() {
+        kunci.lock();
+        try {
+            return jumlahFsync;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        kunci.lock();
+        try {
+            if (ditutup) {
+                return;
+            }
+            ditutup = true;
+            berubah.signalAll();
+        } finally {
+            kunci.unlock();
+        }
+        try {
+            pengirim.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        kunci.lock();
+        try {
+            if (galat != null) {
+                throw galat;
+            }
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    // Putar ulang record satu segmen; berhenti diam-diam di ekor yang terpotong atau rusak
+    static void putarUlang(Path segmen, PembacaRecord pembaca) throws IOException {
+        try (InputStream file = Files.newInputStream(segmen);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file))) {
+            CRC32 crc = new CRC32();
+            while (true) {
+                byte[] payload;
+                try {
+                    int panjang = in.readInt();
+                    int crcRecord = in.readInt();
+                    if (panjang < 0 || panjang > (1 << 24)) {
+                        return;
+                    }
+                    payload = new byte[panjang];
+                    in.readFully(payload);
+                    crc.reset();
+                    crc.update(payload);
+                    if ((int) crc.getValue() != crcRecord) {
+                        return;
+                    }
+                } catch (EOFException e) {
+                    return;
+                }
+                pembaca.baca(new DataInputStream(new ByteArrayInputStream(payload)));
+            }
+        }
+    }
+
+    private void jalankanPengirim() {
+        try {
+            while (true) {
+                BufferLog kirim;
+                long target;
+                boolean rotasi;
+                kunci.lock();
+                try {
+                    while (bufferAktif.size() == 0 && rotasiSelesai == rotasiDiminta && !ditutup) {
+                        berubah.await();
+                    }
+                    if (bufferAktif.size() == 0 && rotasiSelesai == rotasiDiminta && ditutup) {
+                        break;
+                    }
+                    kirim = bufferAktif;
+                    bufferAktif = bufferKirim;
+                    bufferKirim = kirim;
+                    target = lsnTerakhir;
+                    rotasi = rotasiSelesai < rotasiDiminta;
+                } finally {
+                    kunci.unlock();
+                }
+
+                boolean adaData = kirim.size() > 0;
+                if (adaData) {
+                    ByteBuffer data = kirim.sebagaiByteBuffer();
+                    while (data.hasRemaining()) {
+                        channel.write(data);
+                    }
+                    channel.force(false);
+                    kirim.reset();
+                }
+                long segmenBaru = -1;
+                if (rotasi) {
+                    channel.close();
+                    kunci.lock();
+                    try {
+                        segmenBaru = nomorSegmen + 1;
+                    } finally {
+                        kunci.unlock();
+                    }
+                    channel = bukaSegmen(segmenBaru);
+                }
+
+                kunci.lock();
+                try {
+                    lsnDurable = target;
+                    if (adaData) {
+                        jumlahFsync++;
+                    }
+                    if (rotasi) {
+                        nomorSegmen = segmenBaru;
+                        rotasiSelesai = rotasiDiminta;
+                    }
+                    berubah.signalAll();
+                } finally {
+                    kunci.unlock();
+                }
+            }
+            channel.close();
+        } catch (IOException e) {
+            kunci.lock();
+            try {
+                galat = e;
+                ditutup = true;
+                berubah.signalAll();
+            } finally {
+                kunci.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private FileChannel bukaSegmen(long nomor) throws IOException {
+        return FileChannel.open(folder.resolve(namaSegmen(nomor)), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void periksaTerbuka() {
+        if (galat != null) {
+            throw new UncheckedIOException("Write-ahead log gagal ditulis", galat);
+        }
+        if (ditutup) {
+            throw new IllegalStateException("Write-ahead log sudah ditutup");
+        }
+    }
+
+    private void tunggu() {
+        try {
+            berubah.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Menunggu write-ahead log diinterupsi", e);
+        }
+    }
+
+    // Meneruskan tulisan DataOutputStream ke buffer yang sedang aktif
+    private final class KeluaranBuffer extends OutputStream {
+        @Override
+        public void write(int b) {
+            bufferAktif.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bufferAktif.write(b, off, len);
+        }
+    }
+
+    private static final class BufferLog extends ByteArrayOutputStream {
+        BufferLog() {
+            super(1 << 16);
+        }
+
+        // Isi panjang dan CRC di 8 byte awal record yang sudah ditulis
+        void tutupRecord(int awal, CRC32 crc) {
+            int panjang = count - awal - 8;
+            crc.reset();
+            crc.update(buf, awal + 8, panjang);
+            ByteBuffer.wrap(buf, awal, 8).putInt(panjang).putInt((int) crc.getValue());
+        }
+
+        void batalkan(int awal) {
+            count = awal;
+        }
+
+        ByteBuffer sebagaiByteBuffer() {
+            return ByteBuffer.wrap(buf, 0, count);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.praktikum.whitebox.server;
+
+import com.praktikum.whitebox.model.HasilOperasi;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukSnapshot;
+
+import java.util.List;
+
+// Penyusun JSON minimal untuk respons server; hanya menulis, tidak mengurai
+final class Json {
+    private Json() {}
+
+    static String produk(ProdukSnapshot produk) {
+        StringBuilder sb = new StringBuilder(160);
+        tulisProduk(sb, produk);
+        return sb.toString();
+    }
+
+    static String daftar(List<Produk> daftar) {
+        StringBuilder sb = new StringBuilder(32 + daftar.size() * 160);
+        sb.append("{\"jumlah\":").append(daftar.size()).append(",\"produk\":[");
+        for (int i = 0; i < daftar.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            tulisProduk(sb, ProdukSnapshot.dari(daftar.get(i)));
+        }
+        return sb.append("]}").toString();
+    }
+
+    static String berhasil(boolean berhasil) {
+        return berhasil ? "{\"berhasil\":true}" : "{\"berhasil\":false}";
+    }
+
+    static String hasil(HasilOperasi hasil) {
+        return "{\"berhasil\":" + hasil.isBerhasil() + ",\"hasil\":\"" + hasil.name() + "\"}";
+    }
+
+    static String galat(String pesan) {
+        StringBuilder sb = new StringBuilder("{\"galat\":");
+        teks(sb, pesan);
+        return sb.append('}').toString();
+    }
+
+    private static void tulisProduk(StringBuilder sb, ProdukSnapshot produk) {
+        sb.append("{\"kode\":");
+        teks(sb, produk.kode());
+        sb.append(",\"nama\":");
+        teks(sb, produk.nama());
+        sb.append(",\"kategori\":");
+        teks(sb, produk.kategori());
+        sb.append(",\"hargaSen\":").append(produk.hargaSen())
+                .append(",\"stok\":").append(produk.stok())
+                .append(",\"stokMinimum\":").append(produk.stokMinimum())
+                .append(",\"aktif\":").append(produk.aktif())
+                .append('}');
+    }
+
+    static void teks(StringBuilder sb, String nilai) {
+        if (nilai == null) {
+            sb.append("null");
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < nilai.length(); i++) {
+            char c = nilai.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+}
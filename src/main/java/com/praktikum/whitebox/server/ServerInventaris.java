@@ -0,0 +1,265 @@
+package com.praktikum.whitebox.server;
+
+import com.praktikum.whitebox.model.HasilOperasi;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukSnapshot;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Front-end HTTP untuk ServiceInventaris di atas com.sun.net.httpserver. Setiap
+ * permintaan dijalankan di virtual thread sendiri, sehingga panggilan repository
+ * yang memblokir (disk, WAL, jaringan) hanya melepas carrier thread dan jumlah
+ * permintaan bersamaan tidak dibatasi ukuran pool thread.
+ *
+ * Endpoint, semua respons JSON:
+ *   GET    /produk/{kode}                        produk, 404 bila tidak ada
+ *   GET    /produk?setelah=&batas=               halaman kursor semua produk
+ *   GET    /produk?kategori=&setelah=&batas=     halaman kursor per kategori
+ *   GET    /produk?nama=&lewati=&batas=          pencarian nama
+ *   POST   /produk?kode=&nama=&kategori=&harga=&stok=&stokMinimum=
+ *   DELETE /produk/{kode}
+ *   PUT    /produk/{kode}/stok?nilai=
+ *   POST   /produk/{kode}/keluar?jumlah=         juga masuk, aktif, nonaktif
+ *   GET    /inventaris/nilai                     total nilai (sen) dan stok aktif
+ *   GET    /inventaris/menipis?setelah=&batas=   juga habis
+ * Hasil operasi tulis dikirim sebagai {"berhasil":..,"hasil":"<HasilOperasi>"}: 200 bila
+ * berhasil, 404 untuk TIDAK_DITEMUKAN, 400 untuk input tidak valid, 409 untuk penolakan
+ * lain. Aktif/nonaktif hanya tahu berhasil atau tidak, ditolak berarti 409.
+ */
+public final class ServerInventaris implements AutoCloseable {
+    private static final int BATAS_BAWAAN = 50;
+    private static final int BATAS_MAKSIMUM = 1000;
+    private static final int ANTRIAN_KONEKSI = 4096;
+
+    private final ServiceInventaris service;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public ServerInventaris(ServiceInventaris service, InetSocketAddress alamat) throws IOException {
+        this(service, alamat, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    // Executor lain (misalnya pool platform thread untuk pembanding) menjadi milik server
+    // dan ikut dimatikan saat close()
+    public ServerInventaris(ServiceInventaris service, InetSocketAddress alamat,
+                            ExecutorService executor) throws IOException {
+        this.service = service;
+        this.executor = executor;
+        this.server = HttpServer.create(alamat, ANTRIAN_KONEKSI);
+        server.createContext("/produk", this::tanganiProduk);
+        server.createContext("/inventaris", this::tanganiInventaris);
+        server.setExecutor(executor);
+    }
+
+    public void mulai() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    // ======================================================
+    // ================ /produk =============================
+    // ======================================================
+
+    private void tanganiProduk(HttpExchange exchange) throws IOException {
+        tangani(exchange, () -> {
+            String[] bagian = bagianPath(exchange, "/produk");
+            Map<String, String> parameter = parameter(exchange);
+            String metode = exchange.getRequestMethod();
+
+            if (bagian.length == 0) {
+                return switch (metode) {
+                    case "GET" -> Respons.ok(Json.daftar(cariDaftar(parameter)));
+                    case "POST" -> Respons.dari(service.tambahProdukDenganHasil(produkDari(parameter)));
+                    default -> Respons.METODE_TIDAK_DIDUKUNG;
+                };
+            }
+
+            String kode = bagian[0];
+            if (bagian.length == 1) {
+                return switch (metode) {
+                    case "GET" -> {
+                        Optional<ProdukSnapshot> produk = service.lihatProdukByKode(kode);
+                        yield produk.isPresent() ? Respons.ok(Json.produk(produk.get())) : Respons.TIDAK_DITEMUKAN;
+                    }
+                    case "DELETE" -> Respons.dari(service.hapusProdukDenganHasil(kode));
+                    default -> Respons.METODE_TIDAK_DIDUKUNG;
+                };
+            }
+            if (bagian.length > 2) {
+                return Respons.TIDAK_DITEMUKAN;
+            }
+
+            String aksi = metode + " " + bagian[1];
+            return switch (aksi) {
+                case "PUT stok" -> Respons.dari(service.updateStokDenganHasil(kode, angka(parameter, "nilai")));
+                case "POST keluar" -> Respons.dari(service.keluarStokDenganHasil(kode, angka(parameter, "jumlah")));
+                case "POST masuk" -> Respons.dari(service.masukStokDenganHasil(kode, angka(parameter, "jumlah")));
+                case "POST aktif" -> Respons.dari(service.aktifkanProduk(kode));
+                case "POST nonaktif" -> Respons.dari(service.nonaktifkanProduk(kode));
+                default -> Respons.TIDAK_DITEMUKAN;
+            };
+        });
+    }
+
+    private List<Produk> cariDaftar(Map<String, String> parameter) {
+        int batas = batas(parameter);
+        String setelah = parameter.get("setelah");
+        if (parameter.containsKey("nama")) {
+            return service.cariProdukByNama(parameter.get("nama"), angka(parameter, "lewati", 0), batas);
+        }
+        if (parameter.containsKey("kategori")) {
+            return service.cariProdukByKategori(parameter.get("kategori"), setelah, batas);
+        }
+        return service.getHalamanProduk(setelah, batas);
+    }
+
+    private static Produk produkDari(Map<String, String> parameter) {
+        return new Produk(parameter.get("kode"), parameter.get("nama"), parameter.get("kategori"),
+                Double.parseDouble(wajib(parameter, "harga")), angka(parameter, "stok"),
+                angka(parameter, "stokMinimum"));
+    }
+
+    // ======================================================
+    // ================ /inventaris =========================
+    // ======================================================
+
+    private void tanganiInventaris(HttpExchange exchange) throws IOException {
+        tangani(exchange, () -> {
+            String[] bagian = bagianPath(exchange, "/inventaris");
+            if (!exchange.getRequestMethod().equals("GET")) {
+                return Respons.METODE_TIDAK_DIDUKUNG;
+            }
+            if (bagian.length != 1) {
+                return Respons.TIDAK_DITEMUKAN;
+            }
+
+            Map<String, String> parameter = parameter(exchange);
+            return switch (bagian[0]) {
+                case "nilai" -> Respons.ok("{\"nilaiSen\":" + service.hitungTotalNilaiInventarisSen()
+                        + ",\"stok\":" + service.hitungTotalStokAktif() + "}");
+                case "menipis" -> Respons.ok(Json.daftar(
+                        service.getProdukStokMenipis(parameter.get("setelah"), batas(parameter))));
+                case "habis" -> Respons.ok(Json.daftar(
+                        service.getProdukStokHabis(parameter.get("setelah"), batas(parameter))));
+                default -> Respons.TIDAK_DITEMUKAN;
+            };
+        });
+    }
+
+    // ======================================================
+    // ================ Pendukung ===========================
+    // ======================================================
+
+    private record Respons(int status, String isi) {
+        static final Respons TIDAK_DITEMUKAN = new Respons(404, Json.galat("Tidak ditemukan"));
+        static final Respons METODE_TIDAK_DIDUKUNG = new Respons(405, Json.galat("Metode tidak didukung"));
+
+        static Respons ok(String isi) {
+            return new Respons(200, isi);
+        }
+
+        static Respons dari(boolean berhasil) {
+            return new Respons(berhasil ? 200 : 409, Json.berhasil(berhasil));
+        }
+
+        static Respons dari(HasilOperasi hasil) {
+            int status = switch (hasil) {
+                case BERHASIL -> 200;
+                case TIDAK_DITEMUKAN -> 404;
+                case KODE_TIDAK_VALID, JUMLAH_TIDAK_VALID, DATA_TIDAK_VALID, LOKASI_TIDAK_VALID -> 400;
+                default -> 409;
+            };
+            return new Respons(status, Json.hasil(hasil));
+        }
+    }
+
+    @FunctionalInterface
+    private interface Penangan {
+        Respons jalankan();
+    }
+
+    // Parameter yang salah menjadi 400; galat lain 500 tanpa menjatuhkan server
+    private static void tangani(HttpExchange exchange, Penangan penangan) throws IOException {
+        Respons respons;
+        try {
+            respons = penangan.jalankan();
+        } catch (IllegalArgumentException e) {
+            respons = new Respons(400, Json.galat(e.getMessage() == null ? "Parameter tidak valid" : e.getMessage()));
+        } catch (RuntimeException e) {
+            respons = new Respons(500, Json.galat("Galat internal"));
+        }
+
+        byte[] isi = respons.isi().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(respons.status(), isi.length);
+        try (OutputStream keluaran = exchange.getResponseBody()) {
+            keluaran.write(isi);
+        }
+    }
+
+    // Segmen path sesudah awalan konteks, tanpa segmen kosong
+    private static String[] bagianPath(HttpExchange exchange, String awalan) {
+        String sisa = exchange.getRequestURI().getPath().substring(awalan.length());
+        return sisa.chars().allMatch(c -> c == '/') ? new String[0] : sisa.replaceAll("^/+|/+$", "").split("/+");
+    }
+
+    private static Map<String, String> parameter(HttpExchange exchange) {
+        Map<String, String> hasil = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return hasil;
+        }
+        for (String pasangan : query.split("&")) {
+            int sama = pasangan.indexOf('=');
+            String kunci = sama < 0 ? pasangan : pasangan.substring(0, sama);
+            String nilai = sama < 0 ? "" : pasangan.substring(sama + 1);
+            hasil.put(URLDecoder.decode(kunci, StandardCharsets.UTF_8), URLDecoder.decode(nilai, StandardCharsets.UTF_8));
+        }
+        return hasil;
+    }
+
+    private static String wajib(Map<String, String> parameter, String nama) {
+        String nilai = parameter.get(nama);
+        if (nilai == null) {
+            throw new IllegalArgumentException("Parameter " + nama + " wajib diisi");
+        }
+        return nilai;
+    }
+
+    // NumberFormatException turunan IllegalArgumentException, jadi ikut dijawab 400
+    private static int angka(Map<String, String> parameter, String nama) {
+        return Integer.parseInt(wajib(parameter, nama));
+    }
+
+    private static int angka(Map<String, String> parameter, String nama, int bawaan) {
+        String nilai = parameter.get(nama);
+        return nilai == null ? bawaan : Integer.parseInt(nilai);
+    }
+
+    private static int batas(Map<String, String> parameter) {
+        return Math.min(angka(parameter, "batas", BATAS_BAWAAN), BATAS_MAKSIMUM);
+    }
+}
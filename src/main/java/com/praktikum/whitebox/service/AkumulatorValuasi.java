@@ -0,0 +1,93 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.StatusStok;
+import com.praktikum.whitebox.model.Uang;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Penampung valuasi milik satu tugas fork-join; tidak dibagi antar thread sampai digabung
+final class AkumulatorValuasi {
+    private static final int PRODUK = 0;
+    private static final int NILAI_AKTIF = 1;
+    private static final int UNIT_AKTIF = 2;
+    private static final int NILAI_NONAKTIF = 3;
+    private static final int UNIT_NONAKTIF = 4;
+    private static final int JUMLAH_MENIPIS = 5;
+    private static final int NILAI_MENIPIS = 6;
+    private static final int UNIT_MENIPIS = 7;
+    private static final int JUMLAH_HABIS = 8;
+    private static final int JUMLAH_KOLOM = 9;
+
+    // Kategori -> kolom di atas; array primitif agar tidak ada boxing per produk
+    private final Map<String, long[]> perKategori = new HashMap<>();
+
+    void tambah(Produk produk) {
+        long[] kolom = perKategori.get(produk.getKategori());
+        if (kolom == null) {
+            kolom = new long[JUMLAH_KOLOM];
+            perKategori.put(produk.getKategori(), kolom);
+        }
+
+        int stok = produk.getStok();
+        long nilai = Uang.kali(produk.getHargaSen(), stok);
+        kolom[PRODUK]++;
+        if (!produk.isAktif()) {
+            kolom[NILAI_NONAKTIF] = Math.addExact(kolom[NILAI_NONAKTIF], nilai);
+            kolom[UNIT_NONAKTIF] += stok;
+            return;
+        }
+
+        kolom[NILAI_AKTIF] = Math.addExact(kolom[NILAI_AKTIF], nilai);
+        kolom[UNIT_AKTIF] += stok;
+        StatusStok status = StatusStok.dari(produk);
+        if (status == StatusStok.MENIPIS) {
+            kolom[JUMLAH_MENIPIS]++;
+            kolom[NILAI_MENIPIS] = Math.addExact(kolom[NILAI_MENIPIS], nilai);
+            kolom[UNIT_MENIPIS] += stok;
+        } else if (status == StatusStok.HABIS) {
+            kolom[JUMLAH_HABIS]++;
+        }
+    }
+
+    // Gabungkan hasil tugas lain ke akumulator ini
+    void gabung(AkumulatorValuasi lain) {
+        for (Map.Entry<String, long[]> entry : lain.perKategori.entrySet()) {
+            long[] kolom = perKategori.get(entry.getKey());
+            if (kolom == null) {
+                perKategori.put(entry.getKey(), entry.getValue());
+            } else {
+                tambahKolom(kolom, entry.getValue());
+            }
+        }
+    }
+
+    LaporanValuasi keLaporan() {
+        Map<String, LaporanValuasi.Ringkasan> hasil =
+                new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+        long[] total = new long[JUMLAH_KOLOM];
+        for (Map.Entry<String, long[]> entry : perKategori.entrySet()) {
+            hasil.put(entry.getKey(), keRingkasan(entry.getValue()));
+            tambahKolom(total, entry.getValue());
+        }
+        return new LaporanValuasi(Collections.unmodifiableMap(hasil), keRingkasan(total));
+    }
+
+    private static void tambahKolom(long[] tujuan, long[] sumber) {
+        for (int i = 0; i < JUMLAH_KOLOM; i++) {
+            tujuan[i] = Math.addExact(tujuan[i], sumber[i]);
+        }
+    }
+
+    private static LaporanValuasi.Ringkasan keRingkasan(long[] kolom) {
+        return new LaporanValuasi.Ringkasan(kolom[PRODUK],
+                kolom[NILAI_AKTIF], kolom[UNIT_AKTIF],
+                kolom[NILAI_NONAKTIF], kolom[UNIT_NONAKTIF],
+                kolom[JUMLAH_MENIPIS], kolom[NILAI_MENIPIS], kolom[UNIT_MENIPIS],
+                kolom[JUMLAH_HABIS]);
+    }
+}
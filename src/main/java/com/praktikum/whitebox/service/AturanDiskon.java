@@ -0,0 +1,206 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.TipePelanggan;
+import com.praktikum.whitebox.model.Uang;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Aturan diskon yang sudah "dikompilasi" menjadi tabel. Ambang kuantitas
+ * disimpan terurut dan dicari dengan binary search tanpa cabang; diskon tipe
+ * pelanggan dibaca dari array berdasarkan ordinal enum. Objek ini immutable
+ * sehingga aman dipakai bersama oleh banyak thread.
+ *
+ * Format Properties:
+ *   kuantitas.&lt;ambang&gt;=&lt;diskon&gt;   contoh: kuantitas.10=0.10
+ *   pelanggan.&lt;TIPE&gt;=&lt;diskon&gt;     contoh: pelanggan.PREMIUM=0.10
+ *   maksimum=&lt;diskon&gt;               contoh: maksimum=0.30
+ */
+public final class AturanDiskon {
+    private static final String AWALAN_KUANTITAS = "kuantitas.";
+    private static final String AWALAN_PELANGGAN = "pelanggan.";
+    private static final String KUNCI_MAKSIMUM = "maksimum";
+
+    // ambang[i] adalah kuantitas minimum untuk diskonKuantitas[i + 1]; diskonKuantitas[0] = 0
+    private final int[] ambang;
+    private final double[] diskonKuantitas;
+    private final double[] diskonPelanggan;
+    private final double maksimum;
+    // Tabel yang sama dalam basis poin untuk perhitungan uang titik tetap
+    private final int[] bpsKuantitas;
+    private final int[] bpsPelanggan;
+    private final int maksimumBps;
+
+    private AturanDiskon(TreeMap<Integer, Double> tingkatKuantitas,
+                         Map<TipePelanggan, Double> tambahanPelanggan, double maksimum) {
+        this.ambang = new int[tingkatKuantitas.size()];
+        this.diskonKuantitas = new double[tingkatKuantitas.size() + 1];
+        int i = 0;
+        for (Map.Entry<Integer, Double> tingkat : tingkatKuantitas.entrySet()) {
+            ambang[i] = tingkat.getKey();
+            diskonKuantitas[++i] = tingkat.getValue();
+        }
+
+        this.diskonPelanggan = new double[TipePelanggan.values().length];
+        tambahanPelanggan.forEach((tipe, diskon) -> diskonPelanggan[tipe.ordinal()] = diskon);
+        this.maksimum = maksimum;
+
+        this.bpsKuantitas = new int[diskonKuantitas.length];
+        for (int j = 0; j < bpsKuantitas.length; j++) {
+            bpsKuantitas[j] = keBps(diskonKuantitas[j]);
+        }
+        this.bpsPelanggan = new int[diskonPelanggan.length];
+        for (int j = 0; j < bpsPelanggan.length; j++) {
+            bpsPelanggan[j] = keBps(diskonPelanggan[j]);
+        }
+        this.maksimumBps = keBps(maksimum);
+    }
+
+    // Aturan yang selama ini tertulis di KalkulatorDiskon
+    public static AturanDiskon bawaan() {
+        TreeMap<Integer, Double> kuantitas = new TreeMap<>();
+        kuantitas.put(5, 0.05);
+        kuantitas.put(10, 0.10);
+        kuantitas.put(50, 0.15);
+        kuantitas.put(100, 0.20);
+
+        Map<TipePelanggan, Double> pelanggan = new EnumMap<>(TipePelanggan.class);
+        pelanggan.put(TipePelanggan.PREMIUM, 0.10);
+        pelanggan.put(TipePelanggan.REGULER, 0.05);
+        pelanggan.put(TipePelanggan.BARU, 0.02);
+        return new AturanDiskon(kuantitas, pelanggan, 0.30);
+    }
+
+    public static AturanDiskon dariProperties(Properties properties) {
+        TreeMap<Integer, Double> kuantitas = new TreeMap<>();
+        Map<TipePelanggan, Double> pelanggan = new EnumMap<>(TipePelanggan.class);
+        double maksimum = 1.0;
+
+        for (String kunci : properties.stringPropertyNames()) {
+            double diskon = bacaDiskon(kunci, properties.getProperty(kunci));
+            if (kunci.startsWith(AWALAN_KUANTITAS)) {
+                kuantitas.put(bacaAmbang(kunci), diskon);
+            } else if (kunci.startsWith(AWALAN_PELANGGAN)) {
+                String nama = kunci.substring(AWALAN_PELANGGAN.length());
+                TipePelanggan tipe = TipePelanggan.dari(nama);
+                if (tipe == null) {
+                    throw new IllegalArgumentException("Tipe pelanggan tidak dikenal: " + nama);
+                }
+                pelanggan.put(tipe, diskon);
+            } else if (kunci.equals(KUNCI_MAKSIMUM)) {
+                maksimum = diskon;
+            } else {
+                throw new IllegalArgumentException("Kunci aturan diskon tidak dikenal: " + kunci);
+            }
+        }
+        return new AturanDiskon(kuantitas, pelanggan, maksimum);
+    }
+
+    public static AturanDiskon muat(InputStream masukan) throws IOException {
+        Properties properties = new Properties();
+        properties.load(masukan);
+        return dariProperties(properties);
+    }
+
+    // Persentase diskon (0..maksimum) untuk satu baris pesanan; tipe null berarti tanpa tambahan
+    public double persentase(int kuantitas, TipePelanggan tipe) {
+        double diskon = diskonKuantitas[indeksTingkat(kuantitas)];
+        if (tipe != null) {
+            diskon += diskonPelanggan[tipe.ordinal()];
+        }
+        return Math.min(diskon, maksimum);
+    }
+
+    // Sama seperti persentase() tetapi dalam basis poin (10.000 = 100%), tanpa double
+    public int persentaseBps(int kuantitas, TipePelanggan tipe) {
+        int bps = bpsKuantitas[indeksTingkat(kuantitas)];
+        if (tipe != null) {
+            bps += bpsPelanggan[tipe.ordinal()];
+        }
+        return Math.min(bps, maksimumBps);
+    }
+
+    // Jumlah ambang yang <= kuantitas, dicari dengan binary search berbasis cmov
+    int indeksTingkat(int kuantitas) {
+        int n = ambang.length;
+        if (n == 0) {
+            return 0;
+        }
+        int basis = 0;
+        while (n > 1) {
+            int setengah = n >>> 1;
+            basis = ambang[basis + setengah] <= kuantitas ? basis + setengah : basis;
+            n -= setengah;
+        }
+        return basis + (ambang[basis] <= kuantitas ? 1 : 0);
+    }
+
+    // Persentase akhir untuk setiap tingkat bagi satu tipe pelanggan, dipakai perhitungan massal.
+    // Dihitung dengan operasi yang sama seperti persentase() sehingga hasilnya identik.
+    double[] persentasePerTingkat(TipePelanggan tipe) {
+        double[] hasil = new double[diskonKuantitas.length];
+        for (int i = 0; i < hasil.length; i++) {
+            double diskon = diskonKuantitas[i];
+            if (tipe != null) {
+                diskon += diskonPelanggan[tipe.ordinal()];
+            }
+            hasil[i] = Math.min(diskon, maksimum);
+        }
+        return hasil;
+    }
+
+    // Array internal, tidak boleh diubah pemanggil
+    int[] ambang() {
+        return ambang;
+    }
+
+    public double getMaksimum() {
+        return maksimum;
+    }
+
+    @Override
+    public String toString() {
+        return "AturanDiskon{ambang=" + Arrays.toString(ambang)
+                + ", diskonKuantitas=" + Arrays.toString(diskonKuantitas)
+                + ", diskonPelanggan=" + Arrays.toString(diskonPelanggan)
+                + ", maksimum=" + maksimum + '}';
+    }
+
+    // Diskon dari konfigurasi yang lebih halus dari 1 bps dibulatkan ke bps terdekat
+    private static int keBps(double diskon) {
+        return BigDecimal.valueOf(diskon).multiply(BigDecimal.valueOf(Uang.BPS_PENUH))
+                .setScale(0, RoundingMode.HALF_EVEN).intValueExact();
+    }
+
+    private static int bacaAmbang(String kunci) {
+        try {
+            int ambang = Integer.parseInt(kunci.substring(AWALAN_KUANTITAS.length()).trim());
+            if (ambang <= 0) {
+                throw new IllegalArgumentException("Ambang kuantitas harus positif: " + kunci);
+            }
+            return ambang;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Ambang kuantitas tidak valid: " + kunci, e);
+        }
+    }
+
+    private static double bacaDiskon(String kunci, String nilai) {
+        try {
+            double diskon = Double.parseDouble(nilai.trim());
+            if (!(diskon >= 0 && diskon <= 1)) {
+                throw new IllegalArgumentException("Diskon harus di antara 0 dan 1: " + kunci);
+            }
+            return diskon;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Diskon tidak valid untuk " + kunci + ": " + nilai, e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.HasilOperasi;
+
+// Hasil reservasiStok(): reservasi hanya terisi bila hasilnya BERHASIL
+public record HasilReservasi(HasilOperasi hasil, Reservasi reservasi) {
+    private static final HasilReservasi[] DITOLAK = new HasilReservasi[HasilOperasi.values().length];
+
+    static {
+        for (HasilOperasi hasil : HasilOperasi.values()) {
+            DITOLAK[hasil.ordinal()] = new HasilReservasi(hasil, null);
+        }
+    }
+
+    // Penolakan memakai instance bersama, tanpa alokasi
+    static HasilReservasi ditolak(HasilOperasi alasan) {
+        return DITOLAK[alasan.ordinal()];
+    }
+
+    public boolean isBerhasil() {
+        return hasil.isBerhasil();
+    }
+}
@@ -0,0 +1,98 @@
+package com.praktikum.whitebox.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram latensi log-linear (gaya HDR) dalam nanodetik. Setiap pangkat dua dibagi
+ * 16 bucket sama lebar, jadi galat relatif persentil paling besar 1/16 (6,25%) pada
+ * rentang 0 ns sampai sekitar 36 menit; nilai di atasnya masuk bucket terakhir.
+ *
+ * catat() bebas kunci dan tidak mengalokasi: satu increment atomik pada bucket, satu
+ * LongAdder untuk total, dan CAS maksimum hanya bila nilai baru melampaui maksimum.
+ * ringkas() membaca bucket tanpa menghentikan pencatat, jadi hasilnya bisa sedikit
+ * tertinggal dari pencatatan yang sedang berjalan.
+ */
+public final class HistogramLatensi {
+    private static final int BIT_SUB_BUCKET = 4;
+    private static final int SUB_BUCKET = 1 << BIT_SUB_BUCKET;
+    // Eksponen (floor log2) terbesar yang masih punya bucket sendiri
+    private static final int EKSPONEN_MAKS = 40;
+    static final int JUMLAH_BUCKET = (EKSPONEN_MAKS - BIT_SUB_BUCKET + 2) * SUB_BUCKET;
+    private static final long NILAI_MAKS = (1L << (EKSPONEN_MAKS + 1)) - 1;
+
+    private final AtomicLongArray bucket = new AtomicLongArray(JUMLAH_BUCKET);
+    private final LongAdder totalNano = new LongAdder();
+    private final AtomicLong maksNano = new AtomicLong();
+
+    /** Ringkasan histogram; semua nilai dalam nanodetik, persentil = batas atas bucket. */
+    public record Ringkasan(long jumlah, long rataRataNano, long p50Nano, long p90Nano,
+                            long p99Nano, long p999Nano, long maksNano) {
+    }
+
+    public void catat(long nano) {
+        long nilai = Math.max(0, nano);
+        bucket.getAndIncrement(indeks(nilai));
+        totalNano.add(nilai);
+        long maks = maksNano.get();
+        while (nilai > maks && !maksNano.compareAndSet(maks, nilai)) {
+            maks = maksNano.get();
+        }
+    }
+
+    public Ringkasan ringkas() {
+        long[] jumlahPerBucket = new long[JUMLAH_BUCKET];
+        long jumlah = 0;
+        for (int i = 0; i < JUMLAH_BUCKET; i++) {
+            jumlahPerBucket[i] = bucket.get(i);
+            jumlah += jumlahPerBucket[i];
+        }
+        if (jumlah == 0) {
+            return new Ringkasan(0, 0, 0, 0, 0, 0, 0);
+        }
+
+        long maks = maksNano.get();
+        return new Ringkasan(jumlah, totalNano.sum() / jumlah,
+                persentil(jumlahPerBucket, jumlah, 0.50, maks),
+                persentil(jumlahPerBucket, jumlah, 0.90, maks),
+                persentil(jumlahPerBucket, jumlah, 0.99, maks),
+                persentil(jumlahPerBucket, jumlah, 0.999, maks),
+                maks);
+    }
+
+    // Batas atas bucket yang memuat peringkat ke-ceil(p * jumlah), tidak melebihi maksimum
+    private static long persentil(long[] jumlahPerBucket, long jumlah, double p, long maks) {
+        long peringkat = Math.max(1, (long) Math.ceil(p * jumlah));
+        long kumulatif = 0;
+        for (int i = 0; i < jumlahPerBucket.length; i++) {
+            kumulatif += jumlahPerBucket[i];
+            if (kumulatif >= peringkat) {
+                return Math.min(batasAtas(i), maks);
+            }
+        }
+        return maks;
+    }
+
+    // Nilai di bawah 16 punya bucket sendiri; di atasnya 4 bit teratas sesudah bit
+    // tertinggi memilih sub-bucket di dalam pangkat duanya
+    static int indeks(long nilai) {
+        long v = Math.min(nilai, NILAI_MAKS);
+        if (v < SUB_BUCKET) {
+            return (int) v;
+        }
+        int eksponen = 63 - Long.numberOfLeadingZeros(v);
+        int geser = eksponen - BIT_SUB_BUCKET;
+        return (geser + 1) * SUB_BUCKET + (int) ((v >>> geser) & (SUB_BUCKET - 1));
+    }
+
+    // Nilai terbesar yang masuk bucket ke-i
+    static long batasAtas(int i) {
+        if (i < SUB_BUCKET) {
+            return i;
+        }
+        int geser = i / SUB_BUCKET - 1;
+        long mantisa = SUB_BUCKET + (i & (SUB_BUCKET - 1));
+        return ((mantisa + 1) << geser) - 1;
+    }
+}
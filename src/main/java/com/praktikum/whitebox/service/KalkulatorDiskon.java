@@ -1,37 +1,36 @@
 package com.praktikum.whitebox.service;
 
+import com.praktikum.whitebox.model.TipePelanggan;
+import com.praktikum.whitebox.model.Uang;
+
+import java.math.RoundingMode;
+
 public class KalkulatorDiskon {
+    private static final PenghitungDiskonMassal PENGHITUNG_MASSAL = PenghitungDiskonMassal.pilih();
+
+    private final AturanDiskon aturan;
+
+    public KalkulatorDiskon() {
+        this(AturanDiskon.bawaan());
+    }
+
+    public KalkulatorDiskon(AturanDiskon aturan) {
+        this.aturan = aturan;
+    }
+
     public double hitungDiskon(double harga, int kuantitas, String
             tipePelanggan) {
+        return hitungDiskon(harga, kuantitas, TipePelanggan.dari(tipePelanggan));
+    }
+
+    // Tipe pelanggan sudah di-resolve; cocok untuk banyak baris dalam satu permintaan
+    public double hitungDiskon(double harga, int kuantitas, TipePelanggan tipePelanggan) {
         if (harga <= 0 || kuantitas <= 0) {
             throw new IllegalArgumentException("Harga dan kuantitas harus positif");
         }
 
-        double diskon = 0.0;
-
-        // Diskon berdasarkan kuantitas
-        if (kuantitas >= 100) {
-            diskon += 0.20; // 20%
-        } else if (kuantitas >= 50) {
-            diskon += 0.15; // 15%
-        } else if (kuantitas >= 10) {
-            diskon += 0.10; // 10%
-        } else if (kuantitas >= 5) {
-            diskon += 0.05; // 5%
-        }
-
-        // Diskon berdasarkan tipe pelanggan
-        if ("PREMIUM".equalsIgnoreCase(tipePelanggan)) {
-            diskon += 0.10; // 10% tambahan
-        } else if ("REGULER".equalsIgnoreCase(tipePelanggan)) {
-            diskon += 0.05; // 5% tambahan
-        } else if ("BARU".equalsIgnoreCase(tipePelanggan)) {
-            diskon += 0.02; // 2% tambahan
-        }
-
-        // Maksimal diskon 30%
-        diskon = Math.min(diskon, 0.30);
-
+        // Diskon kuantitas + tipe pelanggan, maksimal sesuai aturan (bawaan 30%)
+        double diskon = aturan.persentase(kuantitas, tipePelanggan);
         return harga * kuantitas * diskon;
     }
 
@@ -42,6 +41,55 @@ public class KalkulatorDiskon {
         return totalSebelumDiskon - diskon;
     }
 
+    public double hitungHargaSetelahDiskon(double harga, int kuantitas,
+                                           TipePelanggan tipePelanggan) {
+        double totalSebelumDiskon = harga * kuantitas;
+        double diskon = hitungDiskon(harga, kuantitas, tipePelanggan);
+        return totalSebelumDiskon - diskon;
+    }
+
+    // Versi uang titik tetap: harga dalam sen, diskon dalam basis poin, pembulatan eksplisit
+    public long hitungDiskonSen(long hargaSen, int kuantitas, TipePelanggan tipePelanggan,
+                                RoundingMode pembulatan) {
+        if (hargaSen <= 0 || kuantitas <= 0) {
+            throw new IllegalArgumentException("Harga dan kuantitas harus positif");
+        }
+        return Uang.kaliBps(Uang.kali(hargaSen, kuantitas),
+                aturan.persentaseBps(kuantitas, tipePelanggan), pembulatan);
+    }
+
+    public long hitungHargaSetelahDiskonSen(long hargaSen, int kuantitas, TipePelanggan tipePelanggan,
+                                            RoundingMode pembulatan) {
+        if (hargaSen <= 0 || kuantitas <= 0) {
+            throw new IllegalArgumentException("Harga dan kuantitas harus positif");
+        }
+        long total = Uang.kali(hargaSen, kuantitas);
+        return total - Uang.kaliBps(total, aturan.persentaseBps(kuantitas, tipePelanggan), pembulatan);
+    }
+
+    // Hitung diskon dan harga bersih untuk seluruh baris keranjang atau daftar harga sekaligus.
+    // Hasil per baris identik dengan hitungDiskon/hitungHargaSetelahDiskon untuk baris yang sama.
+    public void hitungMassal(double[] harga, int[] kuantitas, TipePelanggan tipePelanggan,
+                             double[] diskon, double[] hargaBersih) {
+        int panjang = harga.length;
+        if (kuantitas.length != panjang || diskon.length < panjang || hargaBersih.length < panjang) {
+            throw new IllegalArgumentException("Panjang array harga, kuantitas, dan hasil tidak sesuai");
+        }
+        for (int i = 0; i < panjang; i++) {
+            if (harga[i] <= 0 || kuantitas[i] <= 0) {
+                throw new IllegalArgumentException("Harga dan kuantitas harus positif (baris " + i + ")");
+            }
+        }
+
+        PENGHITUNG_MASSAL.hitung(harga, kuantitas, panjang, aturan.ambang(),
+                aturan.persentasePerTingkat(tipePelanggan), diskon, hargaBersih);
+    }
+
+    // Nama implementasi yang dipakai hitungMassal, untuk log dan diagnosis
+    public static String getJalurMassal() {
+        return PENGHITUNG_MASSAL.getClass().getSimpleName();
+    }
+
     public String getKategoriDiskon(double persentaseDiskon) {
         if (persentaseDiskon <= 0) {
             return "TANPA_DISKON";
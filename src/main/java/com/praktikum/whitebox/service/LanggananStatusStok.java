@@ -0,0 +1,72 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.PerubahanStatusStok;
+
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Langganan perubahan status stok dari ServiceInventaris. Perubahan ditampung
+ * di antrian berkapasitas tetap; operasi stok tidak pernah menunggu pelanggan
+ * yang lambat. Bila antrian penuh, perubahan dibuang dan dihitung di
+ * getJumlahTerbuang() sebagai sinyal agar pelanggan menyinkronkan ulang lewat
+ * getProdukStokMenipis()/getProdukStokHabis().
+ */
+public final class LanggananStatusStok implements AutoCloseable {
+    private final ArrayBlockingQueue<PerubahanStatusStok> antrian;
+    private final LongAdder jumlahTerbuang = new LongAdder();
+    private final Consumer<LanggananStatusStok> saatDitutup;
+    private volatile boolean ditutup;
+
+    LanggananStatusStok(int kapasitas, Consumer<LanggananStatusStok> saatDitutup) {
+        if (kapasitas <= 0) {
+            throw new IllegalArgumentException("Kapasitas antrian harus positif");
+        }
+        this.antrian = new ArrayBlockingQueue<>(kapasitas);
+        this.saatDitutup = saatDitutup;
+    }
+
+    // Dipanggil dari thread yang mengubah stok; tidak pernah menunggu
+    void kirim(PerubahanStatusStok perubahan) {
+        if (ditutup || !antrian.offer(perubahan)) {
+            jumlahTerbuang.increment();
+        }
+    }
+
+    // Perubahan berikutnya, atau null bila antrian kosong
+    public PerubahanStatusStok ambil() {
+        return antrian.poll();
+    }
+
+    public PerubahanStatusStok ambil(long batasWaktu, TimeUnit satuan) throws InterruptedException {
+        return antrian.poll(batasWaktu, satuan);
+    }
+
+    // Pindahkan paling banyak maksimum perubahan ke tujuan; mengembalikan jumlah yang dipindah
+    public int kuras(Collection<? super PerubahanStatusStok> tujuan, int maksimum) {
+        return antrian.drainTo(tujuan, maksimum);
+    }
+
+    public int getJumlahTertunda() {
+        return antrian.size();
+    }
+
+    public long getJumlahTerbuang() {
+        return jumlahTerbuang.sum();
+    }
+
+    public boolean isDitutup() {
+        return ditutup;
+    }
+
+    @Override
+    public void close() {
+        if (!ditutup) {
+            ditutup = true;
+            saatDitutup.accept(this);
+        }
+    }
+}
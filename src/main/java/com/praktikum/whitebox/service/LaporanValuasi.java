@@ -0,0 +1,25 @@
+package com.praktikum.whitebox.service;
+
+import java.util.Map;
+
+/**
+ * Hasil valuasi inventaris dari satu kali pindai katalog: nilai dan unit per
+ * kategori, dipisah antara produk aktif dan nonaktif, beserta eksposur stok
+ * menipis. Nilai uang dalam sen sehingga hasilnya sama persis berapa pun
+ * jumlah thread dan urutan penggabungannya. Kategori null disimpan dengan
+ * kunci null.
+ */
+public record LaporanValuasi(Map<String, Ringkasan> perKategori, Ringkasan total) {
+
+    // Hitungan menipis dan habis hanya untuk produk aktif; nilai menipis = harga x stok tersisa
+    public record Ringkasan(long jumlahProduk,
+                            long nilaiAktifSen, long unitAktif,
+                            long nilaiNonaktifSen, long unitNonaktif,
+                            long jumlahMenipis, long nilaiMenipisSen, long unitMenipis,
+                            long jumlahHabis) {
+    }
+
+    public Ringkasan kategori(String kategori) {
+        return perKategori.get(kategori);
+    }
+}
@@ -0,0 +1,113 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.HasilOperasi;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrik operasi tulis ServiceInventaris: jumlah per hasil (berhasil atau alasan
+ * penolakan) dan dua histogram latensi per operasi. Latensi total diukur dari awal
+ * validasi sampai hasil dikembalikan; latensi repository hanya panggilan repository
+ * di dalam kunci. Selisih keduanya adalah biaya service sendiri ditambah waktu
+ * menunggu kunci, sehingga operasi lambat bisa ditelusuri ke service atau repository.
+ *
+ * Jumlah per hasil dicatat untuk setiap operasi. Latensi hanya diukur untuk sampel
+ * acak 1 dari sampelLatensi operasi (bawaan 64) karena System.nanoTime() bisa puluhan
+ * nanodetik per panggilan di mesin virtual, sebanding dengan operasinya sendiri.
+ * Pencatatan bebas kunci dan tanpa alokasi; data dibaca dengan snapshot().
+ */
+public final class MetrikInventaris {
+    private static final OperasiInventaris[] OPERASI = OperasiInventaris.values();
+    private static final HasilOperasi[] HASIL = HasilOperasi.values();
+    private static final int SAMPEL_BAWAAN = 64;
+    // Penanda operasi yang tidak masuk sampel latensi
+    static final long TANPA_WAKTU = Long.MIN_VALUE;
+
+    private final int maskSampel;
+
+    private final LongAdder[][] jumlahHasil = new LongAdder[OPERASI.length][HASIL.length];
+    private final HistogramLatensi[] latensi = new HistogramLatensi[OPERASI.length];
+    private final HistogramLatensi[] latensiRepository = new HistogramLatensi[OPERASI.length];
+
+    /**
+     * Metrik satu operasi. jumlahPerHasil hanya memuat hasil yang pernah terjadi;
+     * jumlah pada ringkasan latensi adalah jumlah sampel. latensiRepository tidak
+     * mencakup operasi yang ditolak sebelum repository dipanggil.
+     */
+    public record MetrikOperasi(long jumlah, Map<HasilOperasi, Long> jumlahPerHasil,
+                                HistogramLatensi.Ringkasan latensi,
+                                HistogramLatensi.Ringkasan latensiRepository) {
+
+        public long jumlah(HasilOperasi hasil) {
+            return jumlahPerHasil.getOrDefault(hasil, 0L);
+        }
+
+        public long jumlahDitolak() {
+            return jumlah - jumlah(HasilOperasi.BERHASIL);
+        }
+    }
+
+    public MetrikInventaris() {
+        this(SAMPEL_BAWAAN);
+    }
+
+    // sampelLatensi harus pangkat dua; 1 berarti latensi setiap operasi diukur
+    public MetrikInventaris(int sampelLatensi) {
+        if (sampelLatensi <= 0 || Integer.bitCount(sampelLatensi) != 1) {
+            throw new IllegalArgumentException("Sampel latensi harus pangkat dua positif");
+        }
+        this.maskSampel = sampelLatensi - 1;
+        for (int i = 0; i < OPERASI.length; i++) {
+            for (int j = 0; j < HASIL.length; j++) {
+                jumlahHasil[i][j] = new LongAdder();
+            }
+            latensi[i] = new HistogramLatensi();
+            latensiRepository[i] = new HistogramLatensi();
+        }
+    }
+
+    // Waktu mulai bila operasi ini masuk sampel, selain itu TANPA_WAKTU
+    long mulai() {
+        return (ThreadLocalRandom.current().nextInt() & maskSampel) == 0 ? System.nanoTime() : TANPA_WAKTU;
+    }
+
+    void catat(OperasiInventaris operasi, HasilOperasi hasil, long awal) {
+        jumlahHasil[operasi.ordinal()][hasil.ordinal()].increment();
+        if (awal != TANPA_WAKTU) {
+            latensi[operasi.ordinal()].catat(System.nanoTime() - awal);
+        }
+    }
+
+    void catatRepository(OperasiInventaris operasi, long awal) {
+        if (awal != TANPA_WAKTU) {
+            latensiRepository[operasi.ordinal()].catat(System.nanoTime() - awal);
+        }
+    }
+
+    public MetrikOperasi snapshot(OperasiInventaris operasi) {
+        int i = operasi.ordinal();
+        Map<HasilOperasi, Long> perHasil = new EnumMap<>(HasilOperasi.class);
+        long jumlah = 0;
+        for (HasilOperasi hasil : HASIL) {
+            long n = jumlahHasil[i][hasil.ordinal()].sum();
+            if (n > 0) {
+                perHasil.put(hasil, n);
+                jumlah += n;
+            }
+        }
+        return new MetrikOperasi(jumlah, Collections.unmodifiableMap(perHasil),
+                latensi[i].ringkas(), latensiRepository[i].ringkas());
+    }
+
+    public Map<OperasiInventaris, MetrikOperasi> snapshot() {
+        Map<OperasiInventaris, MetrikOperasi> hasil = new EnumMap<>(OperasiInventaris.class);
+        for (OperasiInventaris operasi : OPERASI) {
+            hasil.put(operasi, snapshot(operasi));
+        }
+        return Collections.unmodifiableMap(hasil);
+    }
+}
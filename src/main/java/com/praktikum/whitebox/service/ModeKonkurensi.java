@@ -0,0 +1,12 @@
+package com.praktikum.whitebox.service;
+
+// Cara ServiceInventaris menserialkan operasi tulis saat dipakai banyak thread
+public enum ModeKonkurensi {
+    // Tanpa kunci di service; pemanggil atau repository yang menjamin atomisitas
+    TANPA_KUNCI,
+    // Satu kunci untuk semua operasi tulis, setara synchronized di luar service
+    KUNCI_GLOBAL,
+    // Kunci per kode lewat array kunci ber-stripe: kode berbeda berjalan paralel,
+    // operasi pada kode yang sama tetap berurutan
+    KUNCI_PER_KODE
+}
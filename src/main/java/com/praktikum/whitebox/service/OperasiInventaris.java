@@ -0,0 +1,15 @@
+package com.praktikum.whitebox.service;
+
+// Operasi tulis ServiceInventaris yang dicatat di MetrikInventaris
+public enum OperasiInventaris {
+    TAMBAH_PRODUK,
+    HAPUS_PRODUK,
+    UPDATE_STOK,
+    KELUAR_STOK,
+    MASUK_STOK,
+    RESERVASI_STOK,
+    KOMIT_RESERVASI,
+    MASUK_STOK_LOKASI,
+    KELUAR_STOK_LOKASI,
+    TRANSFER_STOK
+}
@@ -0,0 +1,27 @@
+package com.praktikum.whitebox.service;
+
+/**
+ * Inti perhitungan diskon untuk banyak baris sekaligus. Implementasi Vector API
+ * dimuat lewat refleksi agar kelas ini tetap bisa dipakai ketika modul
+ * jdk.incubator.vector tidak tersedia; saat itu implementasi skalar dipakai.
+ */
+interface PenghitungDiskonMassal {
+    String KELAS_VEKTOR = "com.praktikum.whitebox.service.PenghitungDiskonVektor";
+
+    // Isi diskon dan harga bersih untuk indeks [0, panjang); input sudah divalidasi
+    void hitung(double[] harga, int[] kuantitas, int panjang, int[] ambang, double[] persentaseTingkat,
+                double[] diskon, double[] hargaBersih);
+
+    // Set -Dwhitebox.diskon.vektor=false untuk memaksa jalur skalar
+    static PenghitungDiskonMassal pilih() {
+        if (Boolean.parseBoolean(System.getProperty("whitebox.diskon.vektor", "true"))) {
+            try {
+                return (PenghitungDiskonMassal) Class.forName(KELAS_VEKTOR)
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Modul incubator tidak di-load; lanjut ke jalur skalar
+            }
+        }
+        return new PenghitungDiskonSkalar();
+    }
+}
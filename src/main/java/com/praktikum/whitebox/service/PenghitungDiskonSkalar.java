@@ -0,0 +1,26 @@
+package com.praktikum.whitebox.service;
+
+// Jalur skalar: satu baris per iterasi, operasi sama persis dengan hitungDiskon per baris
+final class PenghitungDiskonSkalar implements PenghitungDiskonMassal {
+
+    @Override
+    public void hitung(double[] harga, int[] kuantitas, int panjang, int[] ambang, double[] persentaseTingkat,
+                       double[] diskon, double[] hargaBersih) {
+        hitungRentang(harga, kuantitas, 0, panjang, ambang, persentaseTingkat, diskon, hargaBersih);
+    }
+
+    // Dipakai juga oleh jalur vektor untuk sisa baris yang tidak mengisi satu vektor penuh
+    static void hitungRentang(double[] harga, int[] kuantitas, int dari, int sampai, int[] ambang,
+                              double[] persentaseTingkat, double[] diskon, double[] hargaBersih) {
+        for (int i = dari; i < sampai; i++) {
+            int tingkat = 0;
+            for (int batas : ambang) {
+                tingkat += kuantitas[i] >= batas ? 1 : 0;
+            }
+            double total = harga[i] * kuantitas[i];
+            double nilaiDiskon = total * persentaseTingkat[tingkat];
+            diskon[i] = nilaiDiskon;
+            hargaBersih[i] = total - nilaiDiskon;
+        }
+    }
+}
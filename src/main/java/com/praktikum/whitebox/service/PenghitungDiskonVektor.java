@@ -0,0 +1,46 @@
+package com.praktikum.whitebox.service;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Jalur Vector API: beberapa baris per instruksi. Tingkat kuantitas dipilih
+ * dengan compare + blend terhadap setiap ambang (ambang terurut naik, jadi
+ * blend terakhir yang cocok adalah tingkat tertinggi). Perkalian dan
+ * pengurangan dilakukan per lane tanpa FMA sehingga hasilnya identik dengan
+ * jalur skalar. Hanya dimuat lewat refleksi oleh PenghitungDiskonMassal.
+ */
+final class PenghitungDiskonVektor implements PenghitungDiskonMassal {
+    private static final VectorSpecies<Double> SPESIES_DOUBLE = DoubleVector.SPECIES_PREFERRED;
+    // Jumlah lane int disamakan dengan jumlah lane double
+    private static final VectorSpecies<Integer> SPESIES_INT =
+            IntVector.SPECIES_PREFERRED.withShape(VectorShape.forBitSize(SPESIES_DOUBLE.vectorBitSize() / 2));
+
+    @Override
+    public void hitung(double[] harga, int[] kuantitas, int panjang, int[] ambang, double[] persentaseTingkat,
+                       double[] diskon, double[] hargaBersih) {
+        int batasVektor = SPESIES_DOUBLE.loopBound(panjang);
+        int i = 0;
+        for (; i < batasVektor; i += SPESIES_DOUBLE.length()) {
+            DoubleVector q = (DoubleVector) IntVector.fromArray(SPESIES_INT, kuantitas, i)
+                    .convertShape(VectorOperators.I2D, SPESIES_DOUBLE, 0);
+
+            DoubleVector persentase = DoubleVector.broadcast(SPESIES_DOUBLE, persentaseTingkat[0]);
+            for (int t = 0; t < ambang.length; t++) {
+                VectorMask<Double> cocok = q.compare(VectorOperators.GE, ambang[t]);
+                persentase = persentase.blend(persentaseTingkat[t + 1], cocok);
+            }
+
+            DoubleVector total = DoubleVector.fromArray(SPESIES_DOUBLE, harga, i).mul(q);
+            DoubleVector nilaiDiskon = total.mul(persentase);
+            nilaiDiskon.intoArray(diskon, i);
+            total.sub(nilaiDiskon).intoArray(hargaBersih, i);
+        }
+        PenghitungDiskonSkalar.hitungRentang(harga, kuantitas, i, panjang, ambang, persentaseTingkat,
+                diskon, hargaBersih);
+    }
+}
@@ -0,0 +1,55 @@
+package com.praktikum.whitebox.service;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Tahanan stok satu produk dari ServiceInventaris.reservasiStok(). Selama aktif,
+ * jumlahnya mengurangi stok tersedia tanpa mengubah stok di repository. Reservasi
+ * berakhir tepat sekali: dikomit (stok benar-benar dikurangi), dilepas, atau
+ * kedaluwarsa sesudah TTL-nya lewat.
+ */
+public final class Reservasi {
+    static final int AKTIF = 0;
+    static final int DIKOMIT = 1;
+    static final int DILEPAS = 2;
+    static final int KEDALUWARSA = 3;
+
+    private static final AtomicIntegerFieldUpdater<Reservasi> STATUS =
+            AtomicIntegerFieldUpdater.newUpdater(Reservasi.class, "status");
+
+    private final long id;
+    private final String kode;
+    private final int jumlah;
+    private final long kedaluwarsaMilis;
+    private volatile int status = AKTIF;
+    // Tautan antrian masuk atau slot RodaWaktu; hanya diubah pemasuk sebelum CAS dan pemutar roda
+    Reservasi berikutnya;
+
+    Reservasi(long id, String kode, int jumlah, long kedaluwarsaMilis) {
+        this.id = id;
+        this.kode = kode;
+        this.jumlah = jumlah;
+        this.kedaluwarsaMilis = kedaluwarsaMilis;
+    }
+
+    public long getId() { return id; }
+    public String getKode() { return kode; }
+    public int getJumlah() { return jumlah; }
+    // Waktu jam service (milidetik monotonik), bukan waktu kalender
+    public long getKedaluwarsaMilis() { return kedaluwarsaMilis; }
+
+    public boolean isAktif() {
+        return status == AKTIF;
+    }
+
+    // Hanya transisi pertama dari AKTIF yang berhasil
+    boolean akhiri(int statusAkhir) {
+        return STATUS.compareAndSet(this, AKTIF, statusAkhir);
+    }
+
+    @Override
+    public String toString() {
+        return "Reservasi{id=" + id + ", kode='" + kode + "', jumlah=" + jumlah
+                + ", kedaluwarsaMilis=" + kedaluwarsaMilis + ", status=" + status + "}";
+    }
+}
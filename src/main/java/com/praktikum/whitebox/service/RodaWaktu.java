@@ -0,0 +1,101 @@
+package com.praktikum.whitebox.service;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Roda waktu ber-hash untuk kedaluwarsa reservasi. Waktu dibagi per tick selebar
+ * resolusi; reservasi disimpan di slot (tick kedaluwarsa mod jumlah slot), jadi
+ * memutar roda satu tick hanya menyentuh satu slot, bukan semua reservasi.
+ * Reservasi yang kedaluwarsanya lebih dari satu putaran lagi dilewati dan tetap di
+ * slotnya sampai putaran yang tepat.
+ *
+ * tambah() bebas kunci: reservasi baru didorong ke antrian masuk (stack CAS). Roda
+ * hanya diputar satu thread sekaligus lewat tryLock; thread lain yang datang saat
+ * roda sedang diputar tidak menunggu. Pembatalan malas: reservasi yang sudah dikomit
+ * atau dilepas dibuang saat slotnya dikunjungi. Kedaluwarsa tidak pernah lebih awal
+ * dari waktunya, paling lambat satu tick sesudahnya.
+ */
+final class RodaWaktu {
+    private final long resolusiMilis;
+    private final Reservasi[] slot;
+    private final int mask;
+    private final AtomicReference<Reservasi> antrianMasuk = new AtomicReference<>();
+    private final ReentrantLock kunciPutar = new ReentrantLock();
+    // Ditulis hanya pemegang kunciPutar; volatile agar pemeriksaan cepat di putar() aman
+    private volatile long tickTerproses;
+
+    // jumlahSlot harus pangkat dua
+    RodaWaktu(long resolusiMilis, int jumlahSlot, long sekarangMilis) {
+        if (resolusiMilis <= 0 || jumlahSlot <= 0 || Integer.bitCount(jumlahSlot) != 1) {
+            throw new IllegalArgumentException("Resolusi harus positif dan jumlah slot pangkat dua");
+        }
+        this.resolusiMilis = resolusiMilis;
+        this.slot = new Reservasi[jumlahSlot];
+        this.mask = jumlahSlot - 1;
+        this.tickTerproses = Math.floorDiv(sekarangMilis, resolusiMilis);
+    }
+
+    void tambah(Reservasi reservasi) {
+        Reservasi kepala;
+        do {
+            kepala = antrianMasuk.get();
+            reservasi.berikutnya = kepala;
+        } while (!antrianMasuk.compareAndSet(kepala, reservasi));
+    }
+
+    // Putar roda sampai sekarang; saatKedaluwarsa dipanggil untuk setiap reservasi aktif
+    // yang waktunya sudah lewat, dari thread pemutar
+    void putar(long sekarangMilis, Consumer<Reservasi> saatKedaluwarsa) {
+        long tickSekarang = Math.floorDiv(sekarangMilis, resolusiMilis);
+        if (tickSekarang <= tickTerproses && antrianMasuk.get() == null) {
+            return;
+        }
+        if (!kunciPutar.tryLock()) {
+            return;
+        }
+        try {
+            Reservasi baru = antrianMasuk.getAndSet(null);
+            while (baru != null) {
+                Reservasi lanjut = baru.berikutnya;
+                tempatkan(baru, tickSekarang, saatKedaluwarsa);
+                baru = lanjut;
+            }
+
+            // Lompatan lebih dari satu putaran cukup mengunjungi setiap slot sekali
+            long terakhir = Math.min(tickSekarang, tickTerproses + slot.length);
+            for (long tick = tickTerproses + 1; tick <= terakhir; tick++) {
+                int i = (int) (tick & mask);
+                Reservasi isi = slot[i];
+                slot[i] = null;
+                while (isi != null) {
+                    Reservasi lanjut = isi.berikutnya;
+                    tempatkan(isi, tickSekarang, saatKedaluwarsa);
+                    isi = lanjut;
+                }
+            }
+            if (tickSekarang > tickTerproses) {
+                tickTerproses = tickSekarang;
+            }
+        } finally {
+            kunciPutar.unlock();
+        }
+    }
+
+    private void tempatkan(Reservasi reservasi, long tickSekarang, Consumer<Reservasi> saatKedaluwarsa) {
+        reservasi.berikutnya = null;
+        if (!reservasi.isAktif()) {
+            return;
+        }
+        // Dibulatkan ke atas agar tidak pernah kedaluwarsa sebelum waktunya
+        long tickKedaluwarsa = Math.floorDiv(reservasi.getKedaluwarsaMilis() + resolusiMilis - 1, resolusiMilis);
+        if (tickKedaluwarsa <= tickSekarang) {
+            saatKedaluwarsa.accept(reservasi);
+            return;
+        }
+        int i = (int) (tickKedaluwarsa & mask);
+        reservasi.berikutnya = slot[i];
+        slot[i] = reservasi;
+    }
+}
@@ -1,50 +1,220 @@
 package com.praktikum.whitebox.service;
 
+import com.praktikum.whitebox.model.HasilOperasi;
+import com.praktikum.whitebox.model.MutasiStok;
+import com.praktikum.whitebox.model.PerubahanStatusStok;
 import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukSnapshot;
+import com.praktikum.whitebox.model.RingkasanStokLokasi;
+import com.praktikum.whitebox.model.StatusStok;
+import com.praktikum.whitebox.model.Uang;
 import com.praktikum.whitebox.repository.RepositoryProduk;
 import com.praktikum.whitebox.util.ValidationUtils;
 
+import java.io.Serial;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+/**
+ * Layanan inventaris di atas RepositoryProduk. Operasi tulis (tambah, hapus,
+ * ubah stok, aktif/nonaktif, batch) diserialkan sesuai ModeKonkurensi; dengan
+ * KUNCI_PER_KODE operasi pada kode yang sama linearizable, termasuk cek lalu
+ * tulis seperti hapusProduk, sedangkan kode berbeda tidak saling menunggu.
+ * Operasi baca tidak mengambil kunci. Penulisan yang langsung ke repository
+ * tanpa lewat service tidak ikut diserialkan.
+ *
+ * tambahProduk, hapusProduk, updateStok, keluarStok, dan masukStok punya varian
+ * DenganHasil yang mengembalikan HasilOperasi (konstanta enum, tanpa alokasi)
+ * berisi alasan penolakan; lewat isBolehDiulang() pemanggil tahu apakah mencoba
+ * lagi ada gunanya.
+ *
+ * Reservasi (reservasiStok) menahan stok dengan TTL tanpa menulis ke repository;
+ * stok baru dikurangi saat dikomit. Stok tersedia = stok - tahanan aktif, dan
+ * keluarStok maupun baris keluar prosesBatch tidak mengambil stok yang sedang ditahan.
+ * Reservasi kedaluwarsa lewat RodaWaktu yang diputar sambil lalu oleh panggilan
+ * reservasi dan keluarStok, tanpa thread latar. Seperti operasi tulis lain, pemeriksaan
+ * tahanan hanya linearizable terhadap reservasiStok dengan mode berkunci.
+ *
+ * Service yang dibuat dengan daftar lokasi (gudang, toko) juga mencatat stok per
+ * lokasi lewat masukStokLokasi, keluarStokLokasi, dan transferStok. Produk.stok tetap
+ * satu-satunya buku stok dan sama dengan jumlah stok semua lokasi, jadi stok menipis,
+ * pendengar status, valuasi, dan reservasi ikut melihat stok lokasi. Produk yang belum
+ * pernah disentuh operasi lokasi dianggap menyimpan seluruh stoknya di lokasi pertama.
+ * Operasi tanpa lokasi (masukStok, keluarStok, updateStok, prosesBatch, komitReservasi)
+ * menambah ke lokasi pertama dan mengurangi berurutan mulai lokasi pertama. Operasi
+ * lokasi diserialkan ModeKonkurensi bersama operasi tulis lain dan ikut menulis entri
+ * produk di repository, sehingga gudang berbeda untuk produk yang sama tidak bisa
+ * menulis paralel; itu harga dari satu buku stok. Dengan TANPA_KUNCI, operasi
+ * bersamaan untuk kode yang sama bisa membuat jumlah stok lokasi berbeda dari
+ * Produk.stok sampai operasi tanpa lokasi berikutnya menyamakannya.
+ */
 public class ServiceInventaris {
+    // Di bawah jumlah ini bagian katalog dipindai langsung, tidak dipecah lagi
+    private static final int AMBANG_PECAH_VALUASI = 4096;
+    private static final int JUMLAH_STRIPE = 256;
+    // 4096 slot x 100 ms: satu putaran roda sekitar 7 menit
+    private static final long RESOLUSI_RESERVASI_MILIS = 100;
+    private static final int SLOT_RESERVASI = 4096;
+
     private final RepositoryProduk repositoryProduk;
+    private final ForkJoinPool poolValuasi;
+    // null untuk TANPA_KUNCI, satu kunci untuk KUNCI_GLOBAL. ReentrantLock, bukan
+    // synchronized, agar virtual thread yang menunggu tidak menahan carrier thread.
+    private final ReentrantLock[] kunciStripe;
+    private final MetrikInventaris metrik;
+
+    // Jam monotonik dalam milidetik; bisa diganti untuk pengujian
+    private final LongSupplier jamMilis;
+    private final RodaWaktu rodaReservasi;
+    // Jumlah unit yang ditahan reservasi aktif per kode; kode tanpa tahanan tidak ada di map
+    private final ConcurrentHashMap<String, Integer> tertahanPerKode = new ConcurrentHashMap<>();
+    private final AtomicLong idReservasiTerakhir = new AtomicLong();
+    private final LongAdder jumlahReservasiAktif = new LongAdder();
+    private final Consumer<Reservasi> saatReservasiKedaluwarsa = this::reservasiKedaluwarsa;
+
+    private final StokMultiLokasi stokLokasi;
+
+    private final List<LanggananStatusStok> daftarLangganan = new CopyOnWriteArrayList<>();
+    private final Consumer<PerubahanStatusStok> penerusStatus = this::teruskanStatus;
+    // Dijaga oleh monitor this; pendengar hanya dipasang selama ada pelanggan
+    private boolean pendengarTerpasang;
+    // true bila ada pelanggan tetapi repository tidak bisa mengumumkan perubahan status,
+    // sehingga service membandingkan status sebelum dan sesudah operasi tulisnya sendiri
+    private volatile boolean pantauStatusSendiri;
 
     public ServiceInventaris(RepositoryProduk repositoryProduk) {
+        this(repositoryProduk, ForkJoinPool.commonPool());
+    }
+
+    public ServiceInventaris(RepositoryProduk repositoryProduk, ForkJoinPool poolValuasi) {
+        this(repositoryProduk, poolValuasi, ModeKonkurensi.TANPA_KUNCI);
+    }
+
+    public ServiceInventaris(RepositoryProduk repositoryProduk, ModeKonkurensi modeKonkurensi) {
+        this(repositoryProduk, ForkJoinPool.commonPool(), modeKonkurensi);
+    }
+
+    public ServiceInventaris(RepositoryProduk repositoryProduk, ForkJoinPool poolValuasi,
+                             ModeKonkurensi modeKonkurensi) {
+        this(repositoryProduk, poolValuasi, modeKonkurensi, new MetrikInventaris());
+    }
+
+    public ServiceInventaris(RepositoryProduk repositoryProduk, ForkJoinPool poolValuasi,
+                             ModeKonkurensi modeKonkurensi, MetrikInventaris metrik) {
+        this(repositoryProduk, poolValuasi, modeKonkurensi, metrik, () -> System.nanoTime() / 1_000_000);
+    }
+
+    // daftarLokasi tidak boleh berisi null atau nama ganda
+    public ServiceInventaris(RepositoryProduk repositoryProduk, ModeKonkurensi modeKonkurensi,
+                             List<String> daftarLokasi) {
+        this(repositoryProduk, ForkJoinPool.commonPool(), modeKonkurensi, new MetrikInventaris(),
+                () -> System.nanoTime() / 1_000_000, daftarLokasi);
+    }
+
+    ServiceInventaris(RepositoryProduk repositoryProduk, ForkJoinPool poolValuasi,
+                      ModeKonkurensi modeKonkurensi, MetrikInventaris metrik, LongSupplier jamMilis) {
+        this(repositoryProduk, poolValuasi, modeKonkurensi, metrik, jamMilis, List.of());
+    }
+
+    ServiceInventaris(RepositoryProduk repositoryProduk, ForkJoinPool poolValuasi, ModeKonkurensi modeKonkurensi,
+                      MetrikInventaris metrik, LongSupplier jamMilis, List<String> daftarLokasi) {
         this.repositoryProduk = repositoryProduk;
+        this.stokLokasi = new StokMultiLokasi(daftarLokasi);
+        this.metrik = metrik;
+        this.poolValuasi = poolValuasi;
+        this.jamMilis = jamMilis;
+        this.rodaReservasi = new RodaWaktu(RESOLUSI_RESERVASI_MILIS, SLOT_RESERVASI, jamMilis.getAsLong());
+        this.kunciStripe = switch (modeKonkurensi) {
+            case TANPA_KUNCI -> null;
+            case KUNCI_GLOBAL -> buatKunci(1);
+            case KUNCI_PER_KODE -> buatKunci(JUMLAH_STRIPE);
+        };
     }
 
     public boolean tambahProduk(Produk produk) {
+        return tambahProdukDenganHasil(produk).isBerhasil();
+    }
+
+    public HasilOperasi tambahProdukDenganHasil(Produk produk) {
+        long awal = metrik.mulai();
+        HasilOperasi hasil = prosesTambahProduk(produk);
+        metrik.catat(OperasiInventaris.TAMBAH_PRODUK, hasil, awal);
+        return hasil;
+    }
+
+    private HasilOperasi prosesTambahProduk(Produk produk) {
+        if (produk == null || !ValidationUtils.isValidKodeProduk(produk.getKode())) {
+            return HasilOperasi.KODE_TIDAK_VALID;
+        }
         if (!ValidationUtils.isValidProduk(produk)) {
-            return false;
+            return HasilOperasi.DATA_TIDAK_VALID;
         }
 
-        // Cek apakah produk dengan kode yang sama sudah ada
-        Optional<Produk> produkExist =
-                repositoryProduk.cariByKode(produk.getKode());
-        if (produkExist.isPresent()) {
-            return false;
-        }
+        return tulisTerukur(OperasiInventaris.TAMBAH_PRODUK, produk.getKode(), () -> {
+            // Cek apakah produk dengan kode yang sama sudah ada
+            Optional<Produk> produkExist =
+                    repositoryProduk.cariByKode(produk.getKode());
+            if (produkExist.isPresent()) {
+                return HasilOperasi.DUPLIKAT;
+            }
 
-        return repositoryProduk.simpan(produk);
+            return repositoryProduk.simpan(produk) ? HasilOperasi.BERHASIL : HasilOperasi.DATA_TIDAK_VALID;
+        });
     }
 
     public boolean hapusProduk(String kode) {
+        return hapusProdukDenganHasil(kode).isBerhasil();
+    }
+
+    public HasilOperasi hapusProdukDenganHasil(String kode) {
+        long awal = metrik.mulai();
+        HasilOperasi hasil = prosesHapusProduk(kode);
+        metrik.catat(OperasiInventaris.HAPUS_PRODUK, hasil, awal);
+        return hasil;
+    }
+
+    private HasilOperasi prosesHapusProduk(String kode) {
         if (!ValidationUtils.isValidKodeProduk(kode)) {
-            return false;
+            return HasilOperasi.KODE_TIDAK_VALID;
         }
 
-        Optional<Produk> produk = repositoryProduk.cariByKode(kode);
-        if (!produk.isPresent()) {
-            return false;
-        }
+        return tulisTerukur(OperasiInventaris.HAPUS_PRODUK, kode, () -> {
+            Optional<Produk> produk = repositoryProduk.cariByKode(kode);
+            if (!produk.isPresent()) {
+                return HasilOperasi.TIDAK_DITEMUKAN;
+            }
 
-        // Tidak bisa hapus produk yang masih ada stoknya
-        if (produk.get().getStok() > 0) {
-            return false;
-        }
+            // Tidak bisa hapus produk yang masih ada stoknya (juga mencakup stok semua lokasi)
+            if (produk.get().getStok() > 0) {
+                return HasilOperasi.MASIH_ADA_STOK;
+            }
 
-        return repositoryProduk.hapus(kode);
+            if (!repositoryProduk.hapus(kode)) {
+                return HasilOperasi.TIDAK_DITEMUKAN;
+            }
+            stokLokasi.hapus(kode);
+            return HasilOperasi.BERHASIL;
+        });
     }
 
     public Optional<Produk> cariProdukByKode(String kode) {
@@ -54,81 +224,863 @@ public class ServiceInventaris {
         return repositoryProduk.cariByKode(kode);
     }
 
+    // Untuk jalur baca saja: snapshot immutable yang bisa dibagi antar thread tanpa disalin
+    public Optional<ProdukSnapshot> lihatProdukByKode(String kode) {
+        if (!ValidationUtils.isValidKodeProduk(kode)) {
+            return Optional.empty();
+        }
+        return repositoryProduk.lihatByKode(kode);
+    }
+
     public List<Produk> cariProdukByNama(String nama) {
         return repositoryProduk.cariByNama(nama);
     }
 
+    // Untuk pencarian saat mengetik: hasil dibatasi dan bisa dipaging, urut kode
+    public List<Produk> cariProdukByNama(String nama, int lewati, int batas) {
+        if (nama == null || nama.isBlank() || lewati < 0 || batas <= 0) {
+            return new ArrayList<>();
+        }
+        return repositoryProduk.cariByNama(nama, lewati, batas);
+    }
+
+    // Cocok bila setiap kata yang diketik menjadi awalan salah satu kata di nama produk
+    public List<Produk> cariProdukByAwalanNama(String awalan, int lewati, int batas) {
+        if (awalan == null || awalan.isBlank() || lewati < 0 || batas <= 0) {
+            return new ArrayList<>();
+        }
+        return repositoryProduk.cariByAwalanNama(awalan, lewati, batas);
+    }
+
     public List<Produk> cariProdukByKategori(String kategori) {
         return repositoryProduk.cariByKategori(kategori);
     }
 
-    public boolean updateStok(String kode, int stokBaru) {
-        if (!ValidationUtils.isValidKodeProduk(kode) || stokBaru < 0) {
-            return false;
+    // Paging kursor urut kode: halaman berikutnya dimulai sesudah kode produk terakhir
+    // (null = dari awal). Tidak bergeser bila ada produk yang ditambah atau dihapus di antaranya.
+    public List<Produk> cariProdukByKategori(String kategori, String setelahKode, int batas) {
+        if (kategori == null || batas <= 0) {
+            return new ArrayList<>();
         }
+        return repositoryProduk.cariByKategori(kategori, setelahKode, batas);
+    }
 
-        Optional<Produk> produk = repositoryProduk.cariByKode(kode);
-        if (!produk.isPresent()) {
-            return false;
+    public List<Produk> getHalamanProduk(String setelahKode, int batas) {
+        if (batas <= 0) {
+            return new ArrayList<>();
         }
+        return repositoryProduk.cariSemua(setelahKode, batas);
+    }
 
-        return repositoryProduk.updateStok(kode, stokBaru);
+    // Kirim seluruh katalog satu per satu ke tujuan tanpa membangun daftar penuh.
+    // Mengembalikan jumlah produk yang diekspor.
+    public long eksporProduk(Consumer<? super Produk> tujuan) {
+        long[] jumlah = new long[1];
+        try (Stream<Produk> aliran = repositoryProduk.aliranSemua()) {
+            aliran.forEach(produk -> {
+                tujuan.accept(produk);
+                jumlah[0]++;
+            });
+        }
+        return jumlah[0];
     }
 
-    public boolean keluarStok(String kode, int jumlah) {
-        if (!ValidationUtils.isValidKodeProduk(kode) || jumlah <= 0) {
-            return false;
+    // Nilai (harga x stok) produk aktif dalam satu kategori, dalam sen, dengan memori tetap
+    public long hitungNilaiKategoriSen(String kategori) {
+        try (Stream<Produk> aliran = repositoryProduk.aliranByKategori(kategori)) {
+            return aliran.filter(Produk::isAktif)
+                    .mapToLong(p -> Uang.kali(p.getHargaSen(), p.getStok()))
+                    .reduce(0, Math::addExact);
         }
+    }
 
-        Optional<Produk> produkOpt = repositoryProduk.cariByKode(kode);
-        if (!produkOpt.isPresent() || !produkOpt.get().isAktif()) {
-            return false;
+    public boolean updateStok(String kode, int stokBaru) {
+        return updateStokDenganHasil(kode, stokBaru).isBerhasil();
+    }
+
+    public HasilOperasi updateStokDenganHasil(String kode, int stokBaru) {
+        long awal = metrik.mulai();
+        HasilOperasi hasil = prosesUpdateStok(kode, stokBaru);
+        metrik.catat(OperasiInventaris.UPDATE_STOK, hasil, awal);
+        return hasil;
+    }
+
+    private HasilOperasi prosesUpdateStok(String kode, int stokBaru) {
+        if (!ValidationUtils.isValidKodeProduk(kode)) {
+            return HasilOperasi.KODE_TIDAK_VALID;
+        }
+        if (stokBaru < 0) {
+            return HasilOperasi.JUMLAH_TIDAK_VALID;
         }
 
-        Produk produk = produkOpt.get();
-        if (produk.getStok() < jumlah) {
-            return false;
+        return tulisTerukur(OperasiInventaris.UPDATE_STOK, kode, () -> {
+            Optional<Produk> produk = repositoryProduk.cariByKode(kode);
+            if (!produk.isPresent()) {
+                return HasilOperasi.TIDAK_DITEMUKAN;
+            }
+
+            return samakanStokLokasi(kode, repositoryProduk.updateStok(kode, stokBaru)
+                    ? HasilOperasi.BERHASIL : HasilOperasi.TIDAK_DITEMUKAN);
+        });
+    }
+
+    public boolean keluarStok(String kode, int jumlah) {
+        return keluarStokDenganHasil(kode, jumlah).isBerhasil();
+    }
+
+    public HasilOperasi keluarStokDenganHasil(String kode, int jumlah) {
+        long awal = metrik.mulai();
+        HasilOperasi hasil = prosesKeluarStok(kode, jumlah);
+        metrik.catat(OperasiInventaris.KELUAR_STOK, hasil, awal);
+        return hasil;
+    }
+
+    private HasilOperasi prosesKeluarStok(String kode, int jumlah) {
+        if (!ValidationUtils.isValidKodeProduk(kode)) {
+            return HasilOperasi.KODE_TIDAK_VALID;
+        }
+        if (jumlah <= 0) {
+            return HasilOperasi.JUMLAH_TIDAK_VALID;
         }
 
-        int stokBaru = produk.getStok() - jumlah;
-        return repositoryProduk.updateStok(kode, stokBaru);
+        // Cek aktif, cek stok, dan pengurangan dilakukan atomik oleh repository
+        return tulisTerukur(OperasiInventaris.KELUAR_STOK, kode,
+                () -> samakanStokLokasi(kode, kurangiStokDiLuarTahanan(kode, jumlah)));
+    }
+
+    // Kode tanpa reservasi aktif cukup satu lookup map sebelum ke repository
+    private HasilOperasi kurangiStokDiLuarTahanan(String kode, int jumlah) {
+        if (tertahanPerKode.containsKey(kode)) {
+            putarRodaReservasi();
+            Integer ditahan = tertahanPerKode.get(kode);
+            if (ditahan != null) {
+                HasilOperasi tersedia = periksaStokTersedia(kode, ditahan, jumlah);
+                if (!tersedia.isBerhasil()) {
+                    return tersedia;
+                }
+            }
+        }
+        return repositoryProduk.kurangiStokJikaCukup(kode, jumlah);
     }
 
     public boolean masukStok(String kode, int jumlah) {
-        if (!ValidationUtils.isValidKodeProduk(kode) || jumlah <= 0) {
-            return false;
+        return masukStokDenganHasil(kode, jumlah).isBerhasil();
+    }
+
+    public HasilOperasi masukStokDenganHasil(String kode, int jumlah) {
+        long awal = metrik.mulai();
+        HasilOperasi hasil = prosesMasukStok(kode, jumlah);
+        metrik.catat(OperasiInventaris.MASUK_STOK, hasil, awal);
+        return hasil;
+    }
+
+    private HasilOperasi prosesMasukStok(String kode, int jumlah) {
+        if (!ValidationUtils.isValidKodeProduk(kode)) {
+            return HasilOperasi.KODE_TIDAK_VALID;
+        }
+        if (jumlah <= 0) {
+            return HasilOperasi.JUMLAH_TIDAK_VALID;
         }
 
-        Optional<Produk> produk = repositoryProduk.cariByKode(kode);
-        if (!produk.isPresent() || !produk.get().isAktif()) {
-            return false;
+        return tulisTerukur(OperasiInventaris.MASUK_STOK, kode,
+                () -> samakanStokLokasi(kode, repositoryProduk.tambahStok(kode, jumlah)));
+    }
+
+    // ======================================================
+    // ================ Stok per Lokasi =====================
+    // ======================================================
+
+    public HasilOperasi masukStokLokasi(String kode, String lokasi, int jumlah) {
+        long awal = metrik.mulai();
+        HasilOperasi hasil = prosesMasukStokLokasi(kode, lokasi, jumlah);
+        metrik.catat(OperasiInventaris.MASUK_STOK_LOKASI, hasil, awal);
+        return hasil;
+    }
+
+    private HasilOperasi prosesMasukStokLokasi(String kode, String lokasi, int jumlah) {
+        int indeks = stokLokasi.indeks(lokasi);
+        HasilOperasi valid = periksaOperasiLokasi(kode, jumlah, indeks);
+        if (!valid.isBerhasil()) {
+            return valid;
+        }
+
+        return tulisTerukur(OperasiInventaris.MASUK_STOK_LOKASI, kode, () -> {
+            HasilOperasi siap = siapkanSelLokasi(kode);
+            if (!siap.isBerhasil()) {
+                return siap;
+            }
+            // Cek aktif dan luapan dilakukan repository; jumlah semua lokasi sama dengan
+            // Produk.stok yang baru lolos cek itu, jadi sel lokasinya juga tidak meluap
+            HasilOperasi hasil = repositoryProduk.tambahStok(kode, jumlah);
+            if (hasil.isBerhasil()) {
+                stokLokasi.tambah(kode, indeks, jumlah);
+            }
+            return hasil;
+        });
+    }
+
+    public HasilOperasi keluarStokLokasi(String kode, String lokasi, int jumlah) {
+        long awal = metrik.mulai();
+        HasilOperasi hasil = prosesKeluarStokLokasi(kode, lokasi, jumlah);
+        metrik.catat(OperasiInventaris.KELUAR_STOK_LOKASI, hasil, awal);
+        return hasil;
+    }
+
+    private HasilOperasi prosesKeluarStokLokasi(String kode, String lokasi, int jumlah) {
+        int indeks = stokLokasi.indeks(lokasi);
+        HasilOperasi valid = periksaOperasiLokasi(kode, jumlah, indeks);
+        if (!valid.isBerhasil()) {
+            return valid;
+        }
+
+        return tulisTerukur(OperasiInventaris.KELUAR_STOK_LOKASI, kode, () -> {
+            HasilOperasi siap = siapkanSelLokasi(kode);
+            if (!siap.isBerhasil()) {
+                return siap;
+            }
+            if (!stokLokasi.kurangi(kode, indeks, jumlah)) {
+                return HasilOperasi.STOK_TIDAK_CUKUP;
+            }
+            // Produk.stok ikut berkurang dengan cek tahanan reservasi yang sama seperti keluarStok
+            HasilOperasi hasil = kurangiStokDiLuarTahanan(kode, jumlah);
+            if (!hasil.isBerhasil()) {
+                stokLokasi.tambah(kode, indeks, jumlah);
+            }
+            return hasil;
+        });
+    }
+
+    // Pindahkan stok antar lokasi secara atomik: total produk tidak pernah terbaca berubah
+    public HasilOperasi transferStok(String kode, String dariLokasi, String keLokasi, int jumlah) {
+        long awal = metrik.mulai();
+        HasilOperasi hasil = prosesTransferStok(kode, dariLokasi, keLokasi, jumlah);
+        metrik.catat(OperasiInventaris.TRANSFER_STOK, hasil, awal);
+        return hasil;
+    }
+
+    private HasilOperasi prosesTransferStok(String kode, String dariLokasi, String keLokasi, int jumlah) {
+        int dari = stokLokasi.indeks(dariLokasi);
+        int ke = stokLokasi.indeks(keLokasi);
+        // Lokasi asal dan tujuan yang sama diperlakukan seperti lokasi tidak terdaftar
+        HasilOperasi valid = periksaOperasiLokasi(kode, jumlah, dari == ke ? -1 : Math.min(dari, ke));
+        if (!valid.isBerhasil()) {
+            return valid;
+        }
+
+        return tulisTerukur(OperasiInventaris.TRANSFER_STOK, kode, () -> {
+            HasilOperasi siap = siapkanSelLokasi(kode);
+            return siap.isBerhasil() ? stokLokasi.pindahkan(kode, dari, ke, jumlah) : siap;
+        });
+    }
+
+    // indeks -1 berarti lokasi tidak terdaftar
+    private HasilOperasi periksaOperasiLokasi(String kode, int jumlah, int indeks) {
+        if (!ValidationUtils.isValidKodeProduk(kode)) {
+            return HasilOperasi.KODE_TIDAK_VALID;
+        }
+        if (jumlah <= 0) {
+            return HasilOperasi.JUMLAH_TIDAK_VALID;
+        }
+        return indeks < 0 ? HasilOperasi.LOKASI_TIDAK_VALID : HasilOperasi.BERHASIL;
+    }
+
+    // Dipanggil di dalam kunci kode: produk harus ada dan aktif, dan sel lokasinya dibuat
+    // dengan stok produk sekarang di lokasi pertama bila belum ada
+    private HasilOperasi siapkanSelLokasi(String kode) {
+        Optional<ProdukSnapshot> produk = repositoryProduk.lihatByKode(kode);
+        if (produk.isEmpty()) {
+            return HasilOperasi.TIDAK_DITEMUKAN;
+        }
+        if (!produk.get().aktif()) {
+            return HasilOperasi.TIDAK_AKTIF;
+        }
+        stokLokasi.siapkan(kode, produk.get().stok());
+        return HasilOperasi.BERHASIL;
+    }
+
+    // Dipanggil di dalam kunci kode setelah operasi tanpa lokasi: bila berhasil dan produk
+    // sudah punya sel lokasi, jumlah selnya disamakan dengan Produk.stok yang baru
+    private HasilOperasi samakanStokLokasi(String kode, HasilOperasi hasil) {
+        if (hasil.isBerhasil() && stokLokasi.ada(kode)) {
+            repositoryProduk.lihatByKode(kode).ifPresent(produk -> stokLokasi.aturTotal(kode, produk.stok()));
+        }
+        return hasil;
+    }
+
+    // 0 untuk lokasi tidak terdaftar atau produk yang tidak ada
+    public int getStokLokasi(String kode, String lokasi) {
+        int indeks = stokLokasi.indeks(lokasi);
+        if (kode == null || indeks < 0) {
+            return 0;
+        }
+        if (indeks == 0 && !stokLokasi.ada(kode)) {
+            return repositoryProduk.lihatByKode(kode).map(ProdukSnapshot::stok).orElse(0);
+        }
+        return stokLokasi.stok(kode, indeks);
+    }
+
+    // Stok semua lokasi dan totalnya dalam satu pembacaan konsisten terhadap transfer.
+    // Status menipis dihitung dari total terhadap stokMinimum produk.
+    public Optional<RingkasanStokLokasi> getRingkasanStokLokasi(String kode) {
+        if (!ValidationUtils.isValidKodeProduk(kode)) {
+            return Optional.empty();
         }
+        Optional<ProdukSnapshot> produk = repositoryProduk.lihatByKode(kode);
+        if (produk.isEmpty()) {
+            return Optional.empty();
+        }
+
+        int[] stok = stokLokasi.perLokasi(kode, produk.get().stok());
+        Map<String, Integer> perLokasi = new LinkedHashMap<>();
+        long total = 0;
+        for (int i = 0; i < stok.length; i++) {
+            perLokasi.put(stokLokasi.getDaftarLokasi().get(i), stok[i]);
+            total += stok[i];
+        }
+        return Optional.of(new RingkasanStokLokasi(kode, Collections.unmodifiableMap(perLokasi), total,
+                produk.get().stokMinimum()));
+    }
 
-        int stokBaru = produk.get().getStok() + jumlah;
-        return repositoryProduk.updateStok(kode, stokBaru);
+    public List<String> getDaftarLokasi() {
+        return stokLokasi.getDaftarLokasi();
+    }
+
+    // ======================================================
+    // ================ Reservasi ===========================
+    // ======================================================
+
+    // Tahan stok selama ttl, misalnya untuk keranjang belanja. Berhasil bila produk ada,
+    // aktif, dan stok dikurangi tahanan lain masih cukup. Stok di repository tidak berubah.
+    public HasilReservasi reservasiStok(String kode, int jumlah, Duration ttl) {
+        long awal = metrik.mulai();
+        HasilReservasi hasil = prosesReservasiStok(kode, jumlah, ttl);
+        metrik.catat(OperasiInventaris.RESERVASI_STOK, hasil.hasil(), awal);
+        return hasil;
+    }
+
+    private HasilReservasi prosesReservasiStok(String kode, int jumlah, Duration ttl) {
+        if (!ValidationUtils.isValidKodeProduk(kode)) {
+            return HasilReservasi.ditolak(HasilOperasi.KODE_TIDAK_VALID);
+        }
+        if (jumlah <= 0 || ttl == null || ttl.isNegative() || ttl.isZero()) {
+            return HasilReservasi.ditolak(HasilOperasi.JUMLAH_TIDAK_VALID);
+        }
+
+        putarRodaReservasi();
+        HasilOperasi hasil = tulisTerukur(OperasiInventaris.RESERVASI_STOK, kode, () -> {
+            HasilOperasi[] hasilTahan = new HasilOperasi[1];
+            // Reservasi lain untuk kode yang sama menunggu di compute ini
+            tertahanPerKode.compute(kode, (k, ditahan) -> {
+                int sudahDitahan = ditahan == null ? 0 : ditahan;
+                hasilTahan[0] = periksaStokTersedia(k, sudahDitahan, jumlah);
+                if (!hasilTahan[0].isBerhasil()) {
+                    return ditahan;
+                }
+                return sudahDitahan + jumlah;
+            });
+            return hasilTahan[0];
+        });
+        if (!hasil.isBerhasil()) {
+            return HasilReservasi.ditolak(hasil);
+        }
+
+        Reservasi reservasi = new Reservasi(idReservasiTerakhir.incrementAndGet(), kode, jumlah,
+                jamMilis.getAsLong() + ttl.toMillis());
+        jumlahReservasiAktif.increment();
+        rodaReservasi.tambah(reservasi);
+        return new HasilReservasi(hasil, reservasi);
+    }
+
+    // Kurangi stok sebanyak reservasi lalu lepas tahanannya. Reservasi yang sudah berakhir
+    // atau lewat TTL ditolak dengan RESERVASI_BERAKHIR. Bila repository menolak (misalnya
+    // produk dinonaktifkan atau stok diubah manual), reservasi tetap berakhir dan alasannya
+    // dikembalikan.
+    public HasilOperasi komitReservasi(Reservasi reservasi) {
+        long awal = metrik.mulai();
+        HasilOperasi hasil = prosesKomitReservasi(reservasi);
+        metrik.catat(OperasiInventaris.KOMIT_RESERVASI, hasil, awal);
+        return hasil;
+    }
+
+    private HasilOperasi prosesKomitReservasi(Reservasi reservasi) {
+        if (jamMilis.getAsLong() >= reservasi.getKedaluwarsaMilis()) {
+            reservasiKedaluwarsa(reservasi);
+            return HasilOperasi.RESERVASI_BERAKHIR;
+        }
+        if (!reservasi.akhiri(Reservasi.DIKOMIT)) {
+            return HasilOperasi.RESERVASI_BERAKHIR;
+        }
+
+        // Stok dikurangi dulu baru tahanan dilepas, agar stok tersedia tidak sempat lebih besar
+        return tulisTerukur(OperasiInventaris.KOMIT_RESERVASI, reservasi.getKode(), () -> {
+            HasilOperasi hasil = samakanStokLokasi(reservasi.getKode(),
+                    repositoryProduk.kurangiStokJikaCukup(reservasi.getKode(), reservasi.getJumlah()));
+            lepasTahanan(reservasi);
+            return hasil;
+        });
+    }
+
+    // Batalkan reservasi tanpa mengubah stok
+    public HasilOperasi lepasReservasi(Reservasi reservasi) {
+        if (!reservasi.akhiri(Reservasi.DILEPAS)) {
+            return HasilOperasi.RESERVASI_BERAKHIR;
+        }
+        lepasTahanan(reservasi);
+        return HasilOperasi.BERHASIL;
+    }
+
+    // Stok yang masih bisa dijual: stok dikurangi tahanan aktif, 0 untuk produk yang
+    // tidak ada atau nonaktif
+    public int getStokTersedia(String kode) {
+        if (!ValidationUtils.isValidKodeProduk(kode)) {
+            return 0;
+        }
+        putarRodaReservasi();
+        Optional<ProdukSnapshot> produk = repositoryProduk.lihatByKode(kode);
+        if (produk.isEmpty() || !produk.get().aktif()) {
+            return 0;
+        }
+        return Math.max(0, produk.get().stok() - tertahanPerKode.getOrDefault(kode, 0));
+    }
+
+    public long getJumlahReservasiAktif() {
+        putarRodaReservasi();
+        return jumlahReservasiAktif.sum();
+    }
+
+    // Lepas tahanan reservasi yang TTL-nya lewat. Dipanggil otomatis oleh operasi reservasi;
+    // bisa juga dipanggil berkala bila service jarang menerima reservasi.
+    public void prosesReservasiKedaluwarsa() {
+        putarRodaReservasi();
+    }
+
+    private void putarRodaReservasi() {
+        rodaReservasi.putar(jamMilis.getAsLong(), saatReservasiKedaluwarsa);
+    }
+
+    private void reservasiKedaluwarsa(Reservasi reservasi) {
+        if (reservasi.akhiri(Reservasi.KEDALUWARSA)) {
+            lepasTahanan(reservasi);
+        }
+    }
+
+    private void lepasTahanan(Reservasi reservasi) {
+        tertahanPerKode.computeIfPresent(reservasi.getKode(),
+                (kode, ditahan) -> ditahan == reservasi.getJumlah() ? null : ditahan - reservasi.getJumlah());
+        jumlahReservasiAktif.decrement();
+    }
+
+    // BERHASIL bila produk ada, aktif, dan stok dikurangi tahanan masih cukup untuk jumlah
+    private HasilOperasi periksaStokTersedia(String kode, int ditahan, int jumlah) {
+        Optional<ProdukSnapshot> produk = repositoryProduk.lihatByKode(kode);
+        if (produk.isEmpty()) {
+            return HasilOperasi.TIDAK_DITEMUKAN;
+        }
+        if (!produk.get().aktif()) {
+            return HasilOperasi.TIDAK_AKTIF;
+        }
+        return produk.get().stok() - ditahan >= jumlah ? HasilOperasi.BERHASIL : HasilOperasi.STOK_TIDAK_CUKUP;
+    }
+
+    // Proses banyak mutasi stok sekaligus. Kode divalidasi sekali per kode unik,
+    // mutasi dikelompokkan per produk, dan repository menerapkan semuanya dalam satu
+    // panggilan. Hasil dikembalikan per baris sesuai urutan input.
+    public HasilOperasi[] prosesBatch(List<MutasiStok> daftarMutasi) {
+        HasilOperasi[] hasil = new HasilOperasi[daftarMutasi.size()];
+        Map<String, KelompokMutasi> kelompokPerKode = new LinkedHashMap<>();
+
+        for (int i = 0; i < hasil.length; i++) {
+            MutasiStok mutasi = daftarMutasi.get(i);
+            if (mutasi == null || mutasi.getJenis() == null || mutasi.getJumlah() <= 0) {
+                hasil[i] = HasilOperasi.JUMLAH_TIDAK_VALID;
+                continue;
+            }
+
+            KelompokMutasi kelompok = kelompokPerKode.computeIfAbsent(mutasi.getKode(),
+                    kode -> new KelompokMutasi(ValidationUtils.isValidKodeProduk(kode)));
+            if (!kelompok.kodeValid) {
+                hasil[i] = HasilOperasi.KODE_TIDAK_VALID;
+                continue;
+            }
+            kelompok.tambah(i, mutasi.getDelta());
+        }
+
+        Map<String, int[]> deltaPerKode = new HashMap<>(kelompokPerKode.size() * 2);
+        for (Map.Entry<String, KelompokMutasi> entry : kelompokPerKode.entrySet()) {
+            if (entry.getValue().jumlah > 0) {
+                deltaPerKode.put(entry.getKey(), entry.getValue().delta());
+            }
+        }
+        if (deltaPerKode.isEmpty()) {
+            return hasil;
+        }
+
+        Map<String, HasilOperasi[]> hasilRepository = terapkanMutasiTerkunci(deltaPerKode);
+        for (Map.Entry<String, int[]> entry : deltaPerKode.entrySet()) {
+            KelompokMutasi kelompok = kelompokPerKode.get(entry.getKey());
+            HasilOperasi[] hasilKode = hasilRepository.get(entry.getKey());
+            for (int j = 0; j < kelompok.jumlah; j++) {
+                hasil[kelompok.baris[j]] = hasilKode != null
+                        ? hasilKode[j] : HasilOperasi.TIDAK_DITEMUKAN;
+            }
+        }
+        return hasil;
+    }
+
+    // Berlangganan perubahan status stok (aman -> menipis -> habis, atau kembali ke aman)
+    // sebagai pengganti polling getProdukStokMenipis/getProdukStokHabis. Perubahan berasal
+    // dari updateStok, keluarStok, masukStok, dan penulisan stok lain di repository.
+    // Repository tanpa dukungan pendengar (misalnya RepositoryProdukMappedFile) tetap bisa
+    // dilanggani: service sendiri mengumumkan perubahan dari operasi tulisnya, tetapi
+    // penulisan langsung ke repository tidak terlihat dan dengan TANPA_KUNCI operasi
+    // bersamaan untuk kode yang sama bisa melewatkan atau menggandakan perubahan.
+    public synchronized LanggananStatusStok berlangganan(int kapasitasAntrian) {
+        LanggananStatusStok langganan = new LanggananStatusStok(kapasitasAntrian, this::berhentiBerlangganan);
+        if (!pendengarTerpasang && !pantauStatusSendiri) {
+            if (repositoryProduk.tambahPendengarStatus(penerusStatus)) {
+                pendengarTerpasang = true;
+            } else {
+                pantauStatusSendiri = true;
+            }
+        }
+        daftarLangganan.add(langganan);
+        return langganan;
+    }
+
+    private synchronized void berhentiBerlangganan(LanggananStatusStok langganan) {
+        daftarLangganan.remove(langganan);
+        if (daftarLangganan.isEmpty()) {
+            if (pendengarTerpasang) {
+                repositoryProduk.hapusPendengarStatus(penerusStatus);
+                pendengarTerpasang = false;
+            }
+            pantauStatusSendiri = false;
+        }
+    }
+
+    private void teruskanStatus(PerubahanStatusStok perubahan) {
+        for (LanggananStatusStok langganan : daftarLangganan) {
+            langganan.kirim(perubahan);
+        }
     }
 
     public List<Produk> getProdukStokMenipis() {
         return repositoryProduk.cariProdukStokMenipis();
     }
 
+    public List<Produk> getProdukStokMenipis(String setelahKode, int batas) {
+        if (batas <= 0) {
+            return new ArrayList<>();
+        }
+        return repositoryProduk.cariProdukStokMenipis(setelahKode, batas);
+    }
+
     public List<Produk> getProdukStokHabis() {
         return repositoryProduk.cariProdukStokHabis();
     }
 
+    public List<Produk> getProdukStokHabis(String setelahKode, int batas) {
+        if (batas <= 0) {
+            return new ArrayList<>();
+        }
+        return repositoryProduk.cariProdukStokHabis(setelahKode, batas);
+    }
+
+    public boolean aktifkanProduk(String kode) {
+        if (!ValidationUtils.isValidKodeProduk(kode)) {
+            return false;
+        }
+        return tulis(kode, () -> repositoryProduk.ubahStatusAktif(kode, true));
+    }
+
+    public boolean nonaktifkanProduk(String kode) {
+        if (!ValidationUtils.isValidKodeProduk(kode)) {
+            return false;
+        }
+        return tulis(kode, () -> repositoryProduk.ubahStatusAktif(kode, false));
+    }
+
+    // Total dijaga oleh repository, tidak lagi memindai seluruh katalog di sini
     public double hitungTotalNilaiInventaris() {
-        List<Produk> semuaProduk = repositoryProduk.cariSemua();
-        return semuaProduk.stream()
-                .filter(Produk::isAktif)
-                .mapToDouble(p -> p.getHarga() * p.getStok())
-                .sum();
+        return repositoryProduk.hitungTotalNilaiAktif();
     }
 
+    // Nilai inventaris eksak dalam sen, untuk rekonsiliasi dengan buku besar
+    public long hitungTotalNilaiInventarisSen() {
+        return repositoryProduk.hitungTotalNilaiAktifSen();
+    }
+
+    /**
+     * Total stok produk aktif, dibatasi ke Integer.MAX_VALUE bila melewati int.
+     *
+     * @deprecated hasil bisa jenuh pada katalog besar atau terpartisi; pakai hitungTotalStokAktif()
+     */
+    @Deprecated
     public int hitungTotalStok() {
-        List<Produk> semuaProduk = repositoryProduk.cariSemua();
-        return semuaProduk.stream()
-                .filter(Produk::isAktif)
-                .mapToInt(Produk::getStok)
-                .sum();
+        return (int) Math.min(repositoryProduk.hitungTotalStokAktif(), Integer.MAX_VALUE);
+    }
+
+    public long hitungTotalStokAktif() {
+        return repositoryProduk.hitungTotalStokAktif();
+    }
+
+    // Laporan valuasi akhir bulan dalam satu kali pindai. Katalog dipecah ke pool fork-join;
+    // setiap tugas mengisi akumulatornya sendiri dan hasilnya digabung saat join.
+    public LaporanValuasi hitungLaporanValuasi() {
+        return poolValuasi.invoke(new TugasValuasi(repositoryProduk.pindaiSemua())).keLaporan();
+    }
+
+    // Metrik operasi tulis dan reservasi sejak service dibuat
+    public MetrikInventaris getMetrik() {
+        return metrik;
+    }
+
+    // Jalankan operasi tulis satu kode di bawah kunci stripe-nya, sesuai mode konkurensi
+    private boolean tulis(String kode, BooleanSupplier operasi) {
+        if (kunciStripe == null) {
+            return operasi.getAsBoolean();
+        }
+        ReentrantLock kunci = kunciStripe[indeksStripe(kode)];
+        kunci.lock();
+        try {
+            return operasi.getAsBoolean();
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    // Seperti tulis(), ditambah pencatatan lama panggilan repository (tanpa waktu tunggu kunci).
+    // Sampel diambil terpisah dari sampel latensi total, dengan peluang yang sama.
+    private HasilOperasi tulisTerukur(OperasiInventaris operasi, String kode, Supplier<HasilOperasi> aksi) {
+        ReentrantLock kunci = kunciStripe == null ? null : kunciStripe[indeksStripe(kode)];
+        if (kunci != null) {
+            kunci.lock();
+        }
+        try {
+            StatusStok statusLama = pantauStatusSendiri ? statusSaatIni(kode) : null;
+            long awal = metrik.mulai();
+            HasilOperasi hasil = aksi.get();
+            metrik.catatRepository(operasi, awal);
+            if (statusLama != null && hasil.isBerhasil()) {
+                umumkanJikaBerubah(kode, statusLama);
+            }
+            return hasil;
+        } finally {
+            if (kunci != null) {
+                kunci.unlock();
+            }
+        }
+    }
+
+    // Batch menyentuh banyak kode: semua stripe yang terlibat dikunci berurutan indeks
+    // agar dua batch yang tumpang tindih tidak saling menunggu (deadlock)
+    private Map<String, HasilOperasi[]> terapkanMutasiTerkunci(Map<String, int[]> deltaPerKode) {
+        if (kunciStripe == null) {
+            return terapkanMutasiTerpantau(deltaPerKode);
+        }
+
+        boolean[] dipakai = new boolean[kunciStripe.length];
+        for (String kode : deltaPerKode.keySet()) {
+            dipakai[indeksStripe(kode)] = true;
+        }
+        int terkunci = 0;
+        try {
+            for (; terkunci < dipakai.length; terkunci++) {
+                if (dipakai[terkunci]) {
+                    kunciStripe[terkunci].lock();
+                }
+            }
+            return terapkanMutasiTerpantau(deltaPerKode);
+        } finally {
+            for (int i = terkunci - 1; i >= 0; i--) {
+                if (dipakai[i]) {
+                    kunciStripe[i].unlock();
+                }
+            }
+        }
+    }
+
+    private Map<String, HasilOperasi[]> samakanStokLokasi(Map<String, HasilOperasi[]> hasil) {
+        for (Map.Entry<String, HasilOperasi[]> entry : hasil.entrySet()) {
+            for (HasilOperasi hasilBaris : entry.getValue()) {
+                if (hasilBaris.isBerhasil()) {
+                    samakanStokLokasi(entry.getKey(), hasilBaris);
+                    break;
+                }
+            }
+        }
+        return hasil;
+    }
+
+    // Sama seperti keluarStok: baris keluar yang akan memakai stok tertahan reservasi ditolak
+    // STOK_TIDAK_CUKUP sebelum sampai ke repository. Kode tanpa reservasi aktif diteruskan apa adanya.
+    private Map<String, HasilOperasi[]> terapkanMutasiTerpantau(Map<String, int[]> deltaPerKode) {
+        if (!pantauStatusSendiri) {
+            return samakanStokLokasi(terapkanMutasiDiLuarTahanan(deltaPerKode));
+        }
+        Map<String, StatusStok> statusLama = new HashMap<>(deltaPerKode.size() * 2);
+        for (String kode : deltaPerKode.keySet()) {
+            StatusStok status = statusSaatIni(kode);
+            if (status != null) {
+                statusLama.put(kode, status);
+            }
+        }
+        Map<String, HasilOperasi[]> hasil = samakanStokLokasi(terapkanMutasiDiLuarTahanan(deltaPerKode));
+        for (Map.Entry<String, StatusStok> entry : statusLama.entrySet()) {
+            umumkanJikaBerubah(entry.getKey(), entry.getValue());
+        }
+        return hasil;
+    }
+
+    private StatusStok statusSaatIni(String kode) {
+        return repositoryProduk.lihatByKode(kode).map(ProdukSnapshot::status).orElse(null);
+    }
+
+    // Pengganti pendengar repository: bandingkan status setelah operasi dengan status sebelumnya
+    private void umumkanJikaBerubah(String kode, StatusStok statusLama) {
+        Optional<ProdukSnapshot> baru = repositoryProduk.lihatByKode(kode);
+        if (baru.isPresent() && baru.get().status() != null && baru.get().status() != statusLama) {
+            teruskanStatus(new PerubahanStatusStok(kode, statusLama, baru.get().status(),
+                    baru.get().stok(), baru.get().stokMinimum()));
+        }
+    }
+
+    private Map<String, HasilOperasi[]> terapkanMutasiDiLuarTahanan(Map<String, int[]> deltaPerKode) {
+        if (tertahanPerKode.isEmpty()) {
+            return repositoryProduk.terapkanMutasi(deltaPerKode);
+        }
+        putarRodaReservasi();
+
+        Map<String, HasilOperasi[]> ditolak = new HashMap<>();
+        Map<String, int[]> diteruskan = new HashMap<>(deltaPerKode);
+        for (Map.Entry<String, int[]> entry : deltaPerKode.entrySet()) {
+            Integer ditahan = tertahanPerKode.get(entry.getKey());
+            HasilOperasi[] hasilKode = ditahan == null ? null : tolakBarisTertahan(entry.getKey(), ditahan, entry.getValue());
+            if (hasilKode == null) {
+                continue;
+            }
+            ditolak.put(entry.getKey(), hasilKode);
+            int[] sisa = new int[entry.getValue().length];
+            int jumlahSisa = 0;
+            for (int j = 0; j < hasilKode.length; j++) {
+                if (hasilKode[j] == null) {
+                    sisa[jumlahSisa++] = entry.getValue()[j];
+                }
+            }
+            if (jumlahSisa == 0) {
+                diteruskan.remove(entry.getKey());
+            } else {
+                diteruskan.put(entry.getKey(), Arrays.copyOf(sisa, jumlahSisa));
+            }
+        }
+        if (ditolak.isEmpty()) {
+            return repositoryProduk.terapkanMutasi(deltaPerKode);
+        }
+
+        Map<String, HasilOperasi[]> hasil = new HashMap<>(diteruskan.isEmpty()
+                ? Map.of() : repositoryProduk.terapkanMutasi(diteruskan));
+        for (Map.Entry<String, HasilOperasi[]> entry : ditolak.entrySet()) {
+            HasilOperasi[] hasilKode = entry.getValue();
+            HasilOperasi[] dariRepository = hasil.get(entry.getKey());
+            int k = 0;
+            for (int j = 0; j < hasilKode.length; j++) {
+                if (hasilKode[j] == null) {
+                    hasilKode[j] = dariRepository != null ? dariRepository[k++] : HasilOperasi.TIDAK_DITEMUKAN;
+                }
+            }
+            hasil.put(entry.getKey(), hasilKode);
+        }
+        return hasil;
+    }
+
+    // Telusuri delta satu kode berurutan dari stok sekarang. Hasil null berarti tidak ada baris
+    // yang menyentuh tahanan; selain itu baris yang ditolak berisi STOK_TIDAK_CUKUP dan sisanya null.
+    // Produk yang tidak ada atau nonaktif dibiarkan ditolak repository.
+    private HasilOperasi[] tolakBarisTertahan(String kode, int ditahan, int[] delta) {
+        Optional<ProdukSnapshot> produk = repositoryProduk.lihatByKode(kode);
+        if (produk.isEmpty() || !produk.get().aktif()) {
+            return null;
+        }
+        HasilOperasi[] hasilKode = new HasilOperasi[delta.length];
+        boolean adaDitolak = false;
+        long stok = produk.get().stok();
+        for (int j = 0; j < delta.length; j++) {
+            long stokBaru = stok + delta[j];
+            if (delta[j] < 0 && stokBaru < ditahan) {
+                hasilKode[j] = HasilOperasi.STOK_TIDAK_CUKUP;
+                adaDitolak = true;
+            } else if (stokBaru <= Integer.MAX_VALUE) {
+                stok = stokBaru;
+            }
+        }
+        return adaDitolak ? hasilKode : null;
+    }
+
+    private int indeksStripe(String kode) {
+        int h = kode.hashCode();
+        return (h ^ (h >>> 16)) & (kunciStripe.length - 1);
+    }
+
+    private static ReentrantLock[] buatKunci(int jumlah) {
+        ReentrantLock[] kunci = new ReentrantLock[jumlah];
+        for (int i = 0; i < jumlah; i++) {
+            kunci[i] = new ReentrantLock();
+        }
+        return kunci;
+    }
+
+    // ForkJoinTask bersifat Serializable, tetapi tugas ini tidak pernah diserialkan,
+    // jadi spliterator katalognya dibuat transient
+    private static final class TugasValuasi extends RecursiveTask<AkumulatorValuasi> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient Spliterator<Produk> bagian;
+
+        private TugasValuasi(Spliterator<Produk> bagian) {
+            this.bagian = bagian;
+        }
+
+        @Override
+        protected AkumulatorValuasi compute() {
+            Spliterator<Produk> kiri;
+            if (bagian.estimateSize() > AMBANG_PECAH_VALUASI && (kiri = bagian.trySplit()) != null) {
+                TugasValuasi tugasKiri = new TugasValuasi(kiri);
+                tugasKiri.fork();
+                AkumulatorValuasi hasil = new TugasValuasi(bagian).compute();
+                hasil.gabung(tugasKiri.join());
+                return hasil;
+            }
+
+            AkumulatorValuasi akumulator = new AkumulatorValuasi();
+            bagian.forEachRemaining(akumulator::tambah);
+            return akumulator;
+        }
+    }
+
+    // Baris-baris batch milik satu kode produk
+    private static final class KelompokMutasi {
+        private final boolean kodeValid;
+        private int[] baris = new int[4];
+        private int[] delta = new int[4];
+        private int jumlah;
+
+        private KelompokMutasi(boolean kodeValid) {
+            this.kodeValid = kodeValid;
+        }
+
+        private void tambah(int indeksBaris, int nilaiDelta) {
+            if (jumlah == baris.length) {
+                baris = Arrays.copyOf(baris, jumlah * 2);
+                delta = Arrays.copyOf(delta, jumlah * 2);
+            }
+            baris[jumlah] = indeksBaris;
+            delta[jumlah] = nilaiDelta;
+            jumlah++;
+        }
+
+        private int[] delta() {
+            return jumlah == delta.length ? delta : Arrays.copyOf(delta, jumlah);
+        }
     }
 }
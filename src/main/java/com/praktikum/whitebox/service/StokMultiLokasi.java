@@ -0,0 +1,228 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.HasilOperasi;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Penyimpanan stok per lokasi untuk ServiceInventaris. Setiap produk punya sel
+ * penghitung per lokasi yang dipisah 64 byte, jadi sel gudang berbeda tidak berebut
+ * cache line yang sama. Biayanya 64 byte per lokasi per produk yang punya stok lokasi.
+ *
+ * Kelas ini sendiri tidak menyentuh repository, tetapi ServiceInventaris menjaga
+ * Produk.stok tetap sama dengan jumlah semua sel: setiap masuk/keluar lokasi juga
+ * menulis entri produk di repository di bawah kunci kode. Jadi update di gudang
+ * berbeda untuk produk yang sama tetap diserialkan pada produk itu; yang dihindari
+ * di sini hanya false sharing antar sel, bukan kontensi per produk. Itu harga dari
+ * satu buku stok (stok menipis, valuasi, dan reservasi melihat stok lokasi).
+ *
+ * Masuk dan keluar di satu lokasi memegang kunci baca StampedLock milik produk itu
+ * (bersama, jadi lokasi berbeda tidak saling menunggu) lalu satu CAS pada selnya.
+ * Transfer memegang kunci tulisnya, sehingga cek stok asal dan cek luapan tujuan
+ * berlaku sampai kedua sel ditulis. Pembacaan total/semua lokasi memakai optimistic
+ * read, sehingga pembaca tidak pernah melihat transfer setengah jalan.
+ * Seperti LongAdder.sum(), perubahan satu lokasi yang bersamaan dengan pembacaan
+ * bisa sudah atau belum ikut terhitung.
+ */
+final class StokMultiLokasi {
+    // 16 int = 64 byte, satu cache line per lokasi
+    private static final int JARAK_SEL = 16;
+
+    private final List<String> daftarLokasi;
+    private final Map<String, Integer> indeksLokasi = new HashMap<>();
+    private final ConcurrentHashMap<String, SelStok> selPerKode = new ConcurrentHashMap<>();
+
+    private static final class SelStok {
+        private final AtomicIntegerArray stok;
+        private final StampedLock kunciTransfer = new StampedLock();
+
+        private SelStok(int jumlahLokasi) {
+            stok = new AtomicIntegerArray((jumlahLokasi - 1) * JARAK_SEL + 1);
+        }
+    }
+
+    StokMultiLokasi(List<String> daftarLokasi) {
+        this.daftarLokasi = List.copyOf(daftarLokasi);
+        for (int i = 0; i < this.daftarLokasi.size(); i++) {
+            if (indeksLokasi.put(this.daftarLokasi.get(i), i) != null) {
+                throw new IllegalArgumentException("Lokasi ganda: " + this.daftarLokasi.get(i));
+            }
+        }
+    }
+
+    List<String> getDaftarLokasi() {
+        return daftarLokasi;
+    }
+
+    // -1 bila lokasi tidak terdaftar
+    int indeks(String lokasi) {
+        Integer indeks = lokasi == null ? null : indeksLokasi.get(lokasi);
+        return indeks == null ? -1 : indeks;
+    }
+
+    boolean ada(String kode) {
+        return selPerKode.containsKey(kode);
+    }
+
+    // Buat sel kode bila belum ada, dengan stokAwal di lokasi pertama
+    void siapkan(String kode, int stokAwal) {
+        selPerKode.computeIfAbsent(kode, k -> {
+            SelStok sel = new SelStok(daftarLokasi.size());
+            sel.stok.set(0, stokAwal);
+            return sel;
+        });
+    }
+
+    // Samakan jumlah semua lokasi dengan totalBaru: kenaikan masuk ke lokasi pertama,
+    // penurunan diambil berurutan mulai lokasi pertama. Kode tanpa sel dibiarkan.
+    void aturTotal(String kode, int totalBaru) {
+        SelStok sel = selPerKode.get(kode);
+        if (sel == null) {
+            return;
+        }
+        long stamp = sel.kunciTransfer.writeLock();
+        try {
+            long selisih = totalBaru;
+            for (int i = 0; i < daftarLokasi.size(); i++) {
+                selisih -= sel.stok.get(i * JARAK_SEL);
+            }
+            if (selisih >= 0) {
+                // Stok lokasi pertama tidak lebih dari totalBaru, jadi tidak meluap
+                sel.stok.addAndGet(0, (int) selisih);
+                return;
+            }
+            for (int i = 0; i < daftarLokasi.size() && selisih < 0; i++) {
+                int posisi = i * JARAK_SEL;
+                int stok = sel.stok.get(posisi);
+                int ambil = (int) Math.min(stok, -selisih);
+                sel.stok.set(posisi, stok - ambil);
+                selisih += ambil;
+            }
+        } finally {
+            sel.kunciTransfer.unlockWrite(stamp);
+        }
+    }
+
+    // false bila stok di lokasi itu akan melewati Integer.MAX_VALUE
+    boolean tambah(String kode, int lokasi, int jumlah) {
+        SelStok sel = selPerKode.computeIfAbsent(kode, k -> new SelStok(daftarLokasi.size()));
+        int posisi = lokasi * JARAK_SEL;
+        long stamp = sel.kunciTransfer.readLock();
+        try {
+            int lama;
+            do {
+                lama = sel.stok.get(posisi);
+                if (lama > Integer.MAX_VALUE - jumlah) {
+                    return false;
+                }
+            } while (!sel.stok.compareAndSet(posisi, lama, lama + jumlah));
+            return true;
+        } finally {
+            sel.kunciTransfer.unlockRead(stamp);
+        }
+    }
+
+    // false bila stok di lokasi itu kurang dari jumlah
+    boolean kurangi(String kode, int lokasi, int jumlah) {
+        SelStok sel = selPerKode.get(kode);
+        if (sel == null) {
+            return false;
+        }
+        long stamp = sel.kunciTransfer.readLock();
+        try {
+            int posisi = lokasi * JARAK_SEL;
+            int lama;
+            do {
+                lama = sel.stok.get(posisi);
+                if (lama < jumlah) {
+                    return false;
+                }
+            } while (!sel.stok.compareAndSet(posisi, lama, lama - jumlah));
+            return true;
+        } finally {
+            sel.kunciTransfer.unlockRead(stamp);
+        }
+    }
+
+    // STOK_TIDAK_CUKUP bila stok asal kurang, JUMLAH_TIDAK_VALID bila stok tujuan akan
+    // melewati Integer.MAX_VALUE. Kedua sel tidak berubah bila ditolak.
+    HasilOperasi pindahkan(String kode, int dari, int ke, int jumlah) {
+        SelStok sel = selPerKode.get(kode);
+        if (sel == null) {
+            return HasilOperasi.STOK_TIDAK_CUKUP;
+        }
+        long stamp = sel.kunciTransfer.writeLock();
+        try {
+            int stokAsal = sel.stok.get(dari * JARAK_SEL);
+            int stokTujuan = sel.stok.get(ke * JARAK_SEL);
+            if (stokAsal < jumlah) {
+                return HasilOperasi.STOK_TIDAK_CUKUP;
+            }
+            if (stokTujuan > Integer.MAX_VALUE - jumlah) {
+                return HasilOperasi.JUMLAH_TIDAK_VALID;
+            }
+            sel.stok.set(dari * JARAK_SEL, stokAsal - jumlah);
+            sel.stok.set(ke * JARAK_SEL, stokTujuan + jumlah);
+            return HasilOperasi.BERHASIL;
+        } finally {
+            sel.kunciTransfer.unlockWrite(stamp);
+        }
+    }
+
+    int stok(String kode, int lokasi) {
+        SelStok sel = selPerKode.get(kode);
+        return sel == null ? 0 : sel.stok.get(lokasi * JARAK_SEL);
+    }
+
+    long total(String kode) {
+        long total = 0;
+        for (int stok : perLokasi(kode)) {
+            total += stok;
+        }
+        return total;
+    }
+
+    // Stok semua lokasi sesuai urutan daftar lokasi; semua nol untuk produk tanpa sel
+    int[] perLokasi(String kode) {
+        return perLokasi(kode, 0);
+    }
+
+    // Seperti perLokasi(kode), tetapi produk tanpa sel terbaca stokTanpaSel di lokasi pertama
+    int[] perLokasi(String kode, int stokTanpaSel) {
+        int[] hasil = new int[daftarLokasi.size()];
+        SelStok sel = selPerKode.get(kode);
+        if (sel == null) {
+            if (hasil.length > 0) {
+                hasil[0] = stokTanpaSel;
+            }
+            return hasil;
+        }
+
+        long stamp = sel.kunciTransfer.tryOptimisticRead();
+        baca(sel, hasil);
+        if (!sel.kunciTransfer.validate(stamp)) {
+            stamp = sel.kunciTransfer.readLock();
+            try {
+                baca(sel, hasil);
+            } finally {
+                sel.kunciTransfer.unlockRead(stamp);
+            }
+        }
+        return hasil;
+    }
+
+    private static void baca(SelStok sel, int[] hasil) {
+        for (int i = 0; i < hasil.length; i++) {
+            hasil[i] = sel.stok.get(i * JARAK_SEL);
+        }
+    }
+
+    void hapus(String kode) {
+        selPerKode.remove(kode);
+    }
+}
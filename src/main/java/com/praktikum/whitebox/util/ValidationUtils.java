@@ -4,21 +4,36 @@ import com.praktikum.whitebox.model.Kategori;
 import com.praktikum.whitebox.model.Produk;
 
 public class ValidationUtils {
+    // Validasi kode produk (3-10 karakter alfanumerik setelah trim).
+    // Batas trim dan karakter dicek langsung tanpa regex dan tanpa membuat String baru
     public static boolean isValidKodeProduk(String kode) {
-        if (kode == null || kode.trim().isEmpty()) {
+        if (kode == null) {
             return false;
         }
-        String kodeBersih = kode.trim();
-        return kodeBersih.matches("^[A-Za-z0-9]{3,10}$");
+        int awal = awalTrim(kode);
+        int akhir = akhirTrim(kode, awal);
+        int panjang = akhir - awal;
+        if (panjang < 3 || panjang > 10) {
+            return false;
+        }
+
+        for (int i = awal; i < akhir; i++) {
+            char c = kode.charAt(i);
+            if (!((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9'))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     // Validasi nama (3-100 karakter, boleh huruf, angka, spasi)
     public static boolean isValidNama(String nama) {
-        if (nama == null || nama.trim().isEmpty()) {
+        if (nama == null) {
             return false;
         }
-        String namaBersih = nama.trim();
-        return namaBersih.length() >= 3 && namaBersih.length() <= 100;
+        int awal = awalTrim(nama);
+        int panjang = akhirTrim(nama, awal) - awal;
+        return panjang >= 3 && panjang <= 100;
     }
 
     // Validasi harga (harus positif)
@@ -71,4 +86,23 @@ public class ValidationUtils {
     public static boolean isValidKuantitas(int kuantitas) {
         return kuantitas > 0;
     }
-}
\ No newline at end of file
+
+    // Indeks karakter pertama yang tidak dibuang oleh String.trim()
+    private static int awalTrim(String teks) {
+        int awal = 0;
+        int panjang = teks.length();
+        while (awal < panjang && teks.charAt(awal) <= ' ') {
+            awal++;
+        }
+        return awal;
+    }
+
+    // Indeks setelah karakter terakhir yang tidak dibuang oleh String.trim()
+    private static int akhirTrim(String teks, int awal) {
+        int akhir = teks.length();
+        while (akhir > awal && teks.charAt(akhir - 1) <= ' ') {
+            akhir--;
+        }
+        return akhir;
+    }
+}
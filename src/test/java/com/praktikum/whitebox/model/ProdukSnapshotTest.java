@@ -0,0 +1,73 @@
+package com.praktikum.whitebox.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test ProdukSnapshot - Tampilan Produk Immutable")
+public class ProdukSnapshotTest {
+
+    // ======================================================
+    // ================ Konversi ============================
+    // ======================================================
+
+    @Test
+    @DisplayName("dari() dan keProduk() menyalin semua field bolak-balik")
+    void testKonversiBolakBalik() {
+        Produk produk = new Produk("PROD001", "Laptop", "Elektronik", 19.99, 7, 3);
+        produk.setAktif(false);
+
+        ProdukSnapshot snapshot = ProdukSnapshot.dari(produk);
+        assertEquals(new ProdukSnapshot("PROD001", "Laptop", "Elektronik", 1999, 7, 3, false), snapshot);
+        assertEquals(produk.toString(), snapshot.keProduk().toString());
+        assertEquals(1999, snapshot.hargaSen());
+        assertEquals(produk.getHargaSen(), snapshot.hargaSen());
+    }
+
+    @Test
+    @DisplayName("Mengubah Produk asal atau salinannya tidak mengubah snapshot")
+    void testTidakIkutBerubah() {
+        Produk produk = new Produk("PROD001", "Laptop", "Elektronik", 1000, 7, 3);
+        ProdukSnapshot snapshot = ProdukSnapshot.dari(produk);
+
+        produk.setStok(1);
+        snapshot.keProduk().setNama("Lain");
+
+        assertEquals(7, snapshot.stok());
+        assertEquals("Laptop", snapshot.nama());
+    }
+
+    @Test
+    @DisplayName("denganStok dan denganAktif menghasilkan snapshot baru")
+    void testWither() {
+        ProdukSnapshot snapshot = new ProdukSnapshot("PROD001", "Laptop", "Elektronik", 100_000, 7, 3, true);
+
+        ProdukSnapshot stokBaru = snapshot.denganStok(2);
+        ProdukSnapshot nonaktif = snapshot.denganAktif(false);
+
+        assertEquals(2, stokBaru.stok());
+        assertFalse(nonaktif.aktif());
+        assertEquals(7, snapshot.stok());
+        assertTrue(snapshot.aktif());
+    }
+
+    // ======================================================
+    // ================ Status Stok =========================
+    // ======================================================
+
+    @ParameterizedTest
+    @DisplayName("Status stok sama dengan aturan di Produk")
+    @CsvSource({"0, 5, HABIS", "3, 5, MENIPIS", "5, 5, MENIPIS", "6, 5, AMAN", "0, 0, HABIS", "1, 0, AMAN"})
+    void testStatusStok(int stok, int stokMinimum, StatusStok harapan) {
+        Produk produk = new Produk("PROD001", "Laptop", "Elektronik", 1000, stok, stokMinimum);
+        ProdukSnapshot snapshot = ProdukSnapshot.dari(produk);
+
+        assertEquals(harapan, snapshot.status());
+        assertEquals(produk.isStokHabis(), snapshot.isStokHabis());
+        assertEquals(produk.isStokMenipis(), snapshot.isStokMenipis());
+        assertEquals(produk.isStokAman(), snapshot.isStokAman());
+    }
+}
@@ -218,4 +218,76 @@ public class ProdukTest {
         assertTrue(s.contains("Laptop"));
         assertTrue(s.contains("Elektronik"));
     }
+
+    // ======================================================
+    // ================ Konstruktor Salinan & StatusStok ====
+    // ======================================================
+
+    @Test
+    @DisplayName("Konstruktor salinan menyalin semua field secara terpisah")
+    void testKonstruktorSalinan() {
+        produk.setAktif(false);
+        Produk salinan = new Produk(produk);
+
+        assertEquals(produk.toString(), salinan.toString());
+        salinan.setStok(1);
+        assertEquals(10, produk.getStok());
+    }
+
+    @ParameterizedTest
+    @DisplayName("StatusStok.dari() sesuai dengan isStokHabis/isStokMenipis/isStokAman")
+    @CsvSource({
+            "0, 5, HABIS",
+            "3, 5, MENIPIS",
+            "5, 5, MENIPIS",
+            "6, 5, AMAN"
+    })
+    void testStatusStokDari(int stok, int stokMinimum, StatusStok expected) {
+        produk.setStok(stok);
+        produk.setStokMinimum(stokMinimum);
+        assertEquals(expected, StatusStok.dari(produk));
+    }
+
+    @Test
+    @DisplayName("StatusStok.dari() null untuk stok negatif")
+    void testStatusStokNegatif() {
+        assertNull(StatusStok.dari(-1, 5));
+    }
+
+    @Test
+    @DisplayName("Harga dalam sen dibaca dan ditulis tanpa galat")
+    void testHargaSen() {
+        produk.setHarga(19.99);
+        assertEquals(1999, produk.getHargaSen());
+        assertEquals(5997, produk.hitungTotalHargaSen(3));
+        assertThrows(IllegalArgumentException.class, () -> produk.hitungTotalHargaSen(0));
+
+        produk.setHargaSen(1_500_000_001L);
+        assertEquals(15000000.01, produk.getHarga());
+        assertEquals(1_500_000_001L, new Produk(produk).getHargaSen());
+
+        // Pecahan di bawah sen dibulatkan HALF_EVEN
+        produk.setHarga(0.125);
+        assertEquals(12, produk.getHargaSen());
+    }
+
+    @Test
+    @DisplayName("Harga disimpan sebagai sen: nilai besar tetap eksak dan harga rusak ditolak saat ditulis")
+    void testHargaDisimpanSebagaiSen() {
+        // 2^53 + 1 sen tidak bisa diwakili double, tetapi tetap utuh di Produk
+        long senBesar = (1L << 53) + 1;
+        produk.setHargaSen(senBesar);
+        assertEquals(senBesar, produk.getHargaSen());
+        assertEquals(senBesar, new Produk(produk).getHargaSen());
+        assertEquals(senBesar, ProdukSnapshot.dari(produk).keProduk().getHargaSen());
+
+        produk.setHarga(0.1);
+        assertEquals(0.3, produk.hitungTotalHarga(3));
+
+        assertThrows(IllegalArgumentException.class, () -> produk.setHarga(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> produk.setHarga(Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Produk("P1", "Rusak", "ATK", 1e300, 1, 1));
+        assertEquals(10, produk.getHargaSen());
+    }
 }
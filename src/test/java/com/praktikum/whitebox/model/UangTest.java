@@ -0,0 +1,123 @@
+package com.praktikum.whitebox.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Uang - Aritmetika Titik Tetap dalam Sen")
+public class UangTest {
+
+    // ======================================================
+    // ================ Konversi ============================
+    // ======================================================
+
+    @ParameterizedTest
+    @DisplayName("Harga yang tepat di sen dikonversi tanpa pembulatan")
+    @CsvSource({"19.99, 1999", "0.01, 1", "0.1, 10", "15000000, 1500000000", "-2.5, -250",
+            "0, 0", "123456789.12, 12345678912"})
+    void testDariDoubleTepatSen(double nilai, long harapan) {
+        for (RoundingMode mode : new RoundingMode[]{RoundingMode.HALF_EVEN, RoundingMode.DOWN,
+                RoundingMode.UP, RoundingMode.UNNECESSARY}) {
+            assertEquals(harapan, Uang.dariDouble(nilai, mode));
+        }
+        assertEquals(30, Uang.dariDouble(0.1 + 0.2, RoundingMode.UNNECESSARY));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Pecahan di bawah sen dibulatkan sesuai mode")
+    @CsvSource({"1.005, HALF_UP, 101", "1.005, HALF_EVEN, 100", "1.015, HALF_EVEN, 102",
+            "1.239, DOWN, 123", "1.231, UP, 124", "-1.239, FLOOR, -124", "-1.239, CEILING, -123"})
+    void testDariDoubleDibulatkan(double nilai, RoundingMode mode, long harapan) {
+        assertEquals(harapan, Uang.dariDouble(nilai, mode));
+        assertThrows(ArithmeticException.class, () -> Uang.dariDouble(nilai, RoundingMode.UNNECESSARY));
+    }
+
+    @Test
+    @DisplayName("Nilai tidak berhingga atau terlalu besar ditolak")
+    void testDariDoubleTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> Uang.dariDouble(Double.NaN, RoundingMode.HALF_EVEN));
+        assertThrows(IllegalArgumentException.class,
+                () -> Uang.dariDouble(Double.POSITIVE_INFINITY, RoundingMode.HALF_EVEN));
+        assertThrows(ArithmeticException.class, () -> Uang.dariDouble(1e300, RoundingMode.HALF_EVEN));
+        assertFalse(Uang.isDapatDikonversi(Double.NaN));
+        assertFalse(Uang.isDapatDikonversi(1e300));
+        assertTrue(Uang.isDapatDikonversi(15000000));
+    }
+
+    @Test
+    @DisplayName("Konversi ke double, BigDecimal, dan teks")
+    void testKonversiKeluar() {
+        assertEquals(19.99, Uang.keDouble(1999));
+        assertEquals(new BigDecimal("19.99"), Uang.keBigDecimal(1999));
+        assertEquals("-0.05", Uang.format(-5));
+        assertEquals(1999, Uang.dariBigDecimal(new BigDecimal("19.985"), RoundingMode.HALF_UP));
+        assertEquals(1998, Uang.dariBigDecimal(new BigDecimal("19.985"), RoundingMode.HALF_EVEN));
+    }
+
+    // ======================================================
+    // ================ Aritmetika ==========================
+    // ======================================================
+
+    @ParameterizedTest
+    @DisplayName("Pembagian bulat sama dengan BigDecimal untuk setiap mode")
+    @EnumSource(RoundingMode.class)
+    void testBagiSamaDenganBigDecimal(RoundingMode mode) {
+        for (long pembilang = -250; pembilang <= 250; pembilang++) {
+            for (long penyebut : new long[]{1, 2, 3, 4, 10, 100, 10_000}) {
+                if (mode == RoundingMode.UNNECESSARY && pembilang % penyebut != 0) {
+                    long p = pembilang;
+                    assertThrows(ArithmeticException.class, () -> Uang.bagi(p, penyebut, mode));
+                } else {
+                    long acuan = BigDecimal.valueOf(pembilang).divide(BigDecimal.valueOf(penyebut), 0, mode)
+                            .longValueExact();
+                    assertEquals(acuan, Uang.bagi(pembilang, penyebut, mode), pembilang + "/" + penyebut + " " + mode);
+                }
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> Uang.bagi(1, 0, mode));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Perkalian basis poin sama dengan BigDecimal, termasuk nilai tepat setengah")
+    @EnumSource(value = RoundingMode.class, names = "UNNECESSARY", mode = EnumSource.Mode.EXCLUDE)
+    void testKaliBpsSamaDenganBigDecimal(RoundingMode mode) {
+        for (long sen = -300; sen <= 300; sen++) {
+            for (int bps : new int[]{0, 1, 50, 500, 1500, 5000, 9999}) {
+                long acuan = BigDecimal.valueOf(sen).multiply(BigDecimal.valueOf(bps, 4))
+                        .setScale(0, mode).longValueExact();
+                assertEquals(acuan, Uang.kaliBps(sen, bps, mode), sen + " x " + bps + " " + mode);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Perkalian dengan kuantitas dan basis poin")
+    void testKaliDanKaliBps() {
+        assertEquals(5997, Uang.kali(1999, 3));
+        assertEquals(1500, Uang.kaliBps(10_000, 1500, RoundingMode.HALF_EVEN));
+        // 1999 x 15% = 299,85 sen
+        assertEquals(300, Uang.kaliBps(1999, 1500, RoundingMode.HALF_EVEN));
+        assertEquals(299, Uang.kaliBps(1999, 1500, RoundingMode.DOWN));
+        assertThrows(ArithmeticException.class, () -> Uang.kali(Long.MAX_VALUE / 2, 3));
+    }
+
+    @Test
+    @DisplayName("Total sen eksak walau total double menyimpang")
+    void testTanpaDriftPembulatan() {
+        double totalDouble = 0;
+        long totalSen = 0;
+        for (int i = 0; i < 1_000_000; i++) {
+            totalDouble += 0.10;
+            totalSen += Uang.dariDouble(0.10, RoundingMode.UNNECESSARY);
+        }
+        assertNotEquals(100000.0, totalDouble);
+        assertEquals(new BigDecimal("100000.00"), Uang.keBigDecimal(totalSen));
+    }
+}
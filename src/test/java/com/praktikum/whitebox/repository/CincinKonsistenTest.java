@@ -0,0 +1,64 @@
+package com.praktikum.whitebox.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test CincinKonsisten - Consistent Hashing Kode ke Shard")
+public class CincinKonsistenTest {
+    private static final int JUMLAH_KODE = 100_000;
+
+    private static String kode(int i) {
+        return String.format("P%07d", i);
+    }
+
+    @Test
+    @DisplayName("Pemetaan deterministik dan selalu dalam rentang shard")
+    void testDeterministik() {
+        CincinKonsisten cincin = new CincinKonsisten(5);
+        CincinKonsisten lagi = new CincinKonsisten(5);
+
+        for (int i = 0; i < 1000; i++) {
+            int shard = cincin.shard(kode(i));
+            assertTrue(shard >= 0 && shard < 5);
+            assertEquals(shard, lagi.shard(kode(i)));
+        }
+        assertEquals(0, new CincinKonsisten(1).shard("APA-SAJA"));
+        assertThrows(IllegalArgumentException.class, () -> new CincinKonsisten(0));
+    }
+
+    @Test
+    @DisplayName("Kode berurutan tersebar hampir merata")
+    void testSebaranMerata() {
+        int[] jumlah = new int[8];
+        CincinKonsisten cincin = new CincinKonsisten(jumlah.length);
+        for (int i = 0; i < JUMLAH_KODE; i++) {
+            jumlah[cincin.shard(kode(i))]++;
+        }
+
+        double rataRata = (double) JUMLAH_KODE / jumlah.length;
+        for (int n : jumlah) {
+            assertTrue(Math.abs(n - rataRata) < rataRata * 0.25, "beban shard " + n);
+        }
+    }
+
+    @Test
+    @DisplayName("Menambah shard hanya memindahkan kode ke shard baru, sekitar 1/(N+1)")
+    void testTambahShard() {
+        CincinKonsisten lama = new CincinKonsisten(4);
+        CincinKonsisten baru = new CincinKonsisten(5);
+
+        int pindah = 0;
+        for (int i = 0; i < JUMLAH_KODE; i++) {
+            int sebelum = lama.shard(kode(i));
+            int sesudah = baru.shard(kode(i));
+            if (sebelum != sesudah) {
+                assertEquals(4, sesudah);
+                pindah++;
+            }
+        }
+        double fraksi = (double) pindah / JUMLAH_KODE;
+        assertTrue(fraksi > 0.15 && fraksi < 0.25, "fraksi pindah " + fraksi);
+    }
+}
@@ -0,0 +1,193 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.HasilOperasi;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Test RepositoryProdukCache - Cache Read-Through W-TinyLFU")
+public class RepositoryProdukCacheTest {
+    private RepositoryProdukInMemory delegate;
+    private RepositoryProdukCache cache;
+
+    @BeforeEach
+    void setUp() {
+        delegate = spy(new RepositoryProdukInMemory());
+        delegate.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        delegate.simpan(new Produk("PROD002", "Mouse Wireless", "Elektronik", 500000, 3, 5));
+        cache = new RepositoryProdukCache(delegate, 100);
+    }
+
+    private static String kode(int i) {
+        return String.format("K%05d", i);
+    }
+
+    // ======================================================
+    // ================ Read-Through ========================
+    // ======================================================
+
+    @Test
+    @DisplayName("Baca kedua dilayani cache tanpa memanggil delegate")
+    void testHitDanMiss() {
+        assertEquals(10, cache.cariByKode("PROD001").get().getStok());
+        assertEquals(10, cache.cariByKode("PROD001").get().getStok());
+        assertTrue(cache.cariByKode("XXX999").isEmpty());
+        assertTrue(cache.cariByKode(null).isEmpty());
+
+        verify(delegate, times(1)).cariByKode("PROD001");
+        RepositoryProdukCache.StatistikCache statistik = cache.statistik();
+        assertEquals(1, statistik.hit());
+        assertEquals(2, statistik.miss());
+        assertEquals(1, statistik.ukuran());
+        assertEquals(1.0 / 3, statistik.rasioHit(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Produk yang dikembalikan adalah salinan")
+    void testHasilAdalahSalinan() {
+        cache.cariByKode("PROD001").get().setStok(999);
+        cache.cariByKode("PROD001").get().setAktif(false);
+
+        Produk produk = cache.cariByKode("PROD001").get();
+        assertEquals(10, produk.getStok());
+        assertTrue(produk.isAktif());
+    }
+
+    @Test
+    @DisplayName("lihatByKode melayani hit dengan snapshot yang sama tanpa salinan")
+    void testLihatByKodeTanpaSalinan() {
+        ProdukSnapshot pertama = cache.lihatByKode("PROD001").get();
+        ProdukSnapshot kedua = cache.lihatByKode("PROD001").get();
+
+        assertSame(pertama, kedua);
+        assertEquals(10, kedua.stok());
+        assertEquals(10, cache.cariByKode("PROD001").get().getStok());
+        verify(delegate, times(1)).lihatByKode("PROD001");
+        verify(delegate, never()).cariByKode("PROD001");
+        assertEquals(2, cache.statistik().hit());
+
+        // Penulisan membuang snapshot lama; snapshot yang sudah dipegang pembaca tidak berubah
+        assertTrue(cache.updateStok("PROD001", 4));
+        assertEquals(4, cache.lihatByKode("PROD001").get().stok());
+        assertEquals(10, pertama.stok());
+        assertTrue(cache.lihatByKode("XXX999").isEmpty());
+        assertTrue(cache.lihatByKode(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Kapasitas harus positif")
+    void testKapasitasTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryProdukCache(delegate, 0));
+        assertEquals(0, new RepositoryProdukCache(delegate, 1).statistik().ukuran());
+    }
+
+    // ======================================================
+    // ================ Invalidasi Write-Through ============
+    // ======================================================
+
+    @Test
+    @DisplayName("Setiap jenis penulisan diteruskan lalu membuang entri cache")
+    void testInvalidasiSetiapPenulisan() {
+        cache.cariByKode("PROD001");
+        assertTrue(cache.updateStok("PROD001", 20));
+        assertEquals(20, cache.cariByKode("PROD001").get().getStok());
+
+        assertEquals(HasilOperasi.BERHASIL, cache.kurangiStokJikaCukup("PROD001", 5));
+        assertEquals(15, cache.cariByKode("PROD001").get().getStok());
+
+        assertEquals(HasilOperasi.BERHASIL, cache.tambahStok("PROD001", 1));
+        assertEquals(16, cache.cariByKode("PROD001").get().getStok());
+
+        cache.terapkanMutasi(Map.of("PROD001", new int[]{-6}));
+        assertEquals(10, cache.cariByKode("PROD001").get().getStok());
+
+        assertTrue(cache.ubahStatusAktif("PROD001", false));
+        assertFalse(cache.cariByKode("PROD001").get().isAktif());
+
+        assertTrue(cache.simpan(new Produk("PROD001", "Laptop Kantor", "Elektronik", 9000000, 4, 1)));
+        assertEquals("Laptop Kantor", cache.cariByKode("PROD001").get().getNama());
+
+        assertTrue(cache.hapus("PROD001"));
+        assertTrue(cache.cariByKode("PROD001").isEmpty());
+        assertEquals(0, cache.statistik().hit());
+    }
+
+    @Test
+    @DisplayName("Hasil baca yang mendahului penulisan bersamaan tidak masuk cache")
+    void testBacaLamaTidakDiCache() {
+        RepositoryProduk lambat = mock(RepositoryProduk.class);
+        RepositoryProdukCache cacheLambat = new RepositoryProdukCache(lambat, 10);
+        Produk lama = new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5);
+        Produk baru = new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 3, 5);
+        // Penulisan terjadi saat cache masih menunggu hasil baca dari delegate
+        when(lambat.cariByKode("PROD001")).thenAnswer(invocation -> {
+            cacheLambat.updateStok("PROD001", 3);
+            return Optional.of(lama);
+        }).thenReturn(Optional.of(baru));
+
+        assertEquals(10, cacheLambat.cariByKode("PROD001").get().getStok());
+        assertEquals(3, cacheLambat.cariByKode("PROD001").get().getStok());
+        verify(lambat, times(2)).cariByKode("PROD001");
+    }
+
+    @Test
+    @DisplayName("Query selain cariByKode dan agregat diteruskan ke delegate")
+    void testQueryDiteruskan() {
+        assertEquals(2, cache.cariSemua().size());
+        assertEquals(2, cache.cariByKategori("Elektronik").size());
+        assertEquals(1, cache.cariByNama("mouse").size());
+        assertEquals(1, cache.cariProdukStokMenipis().size());
+        assertTrue(cache.cariProdukStokHabis().isEmpty());
+        assertEquals(13, cache.hitungTotalStokAktif());
+        assertEquals(15000000.0 * 10 + 500000.0 * 3, cache.hitungTotalNilaiAktif());
+    }
+
+    // ======================================================
+    // ================ Eviksi ==============================
+    // ======================================================
+
+    @Test
+    @DisplayName("Ukuran cache tidak melewati kapasitas")
+    void testUkuranTerbatas() {
+        for (int i = 0; i < 1000; i++) {
+            delegate.simpan(new Produk(kode(i), "Barang", "ATK", 100, 1, 0));
+            cache.cariByKode(kode(i));
+        }
+
+        RepositoryProdukCache.StatistikCache statistik = cache.statistik();
+        assertTrue(statistik.ukuran() <= cache.getKapasitas());
+        assertEquals(1000 - statistik.ukuran(), statistik.eviksi());
+    }
+
+    @Test
+    @DisplayName("SKU yang sering diakses bertahan saat katalog dipindai sekali lewat")
+    void testSkuPanasBertahanDariScan() {
+        for (int i = 0; i < 2000; i++) {
+            delegate.simpan(new Produk(kode(i), "Barang", "ATK", 100, 1, 0));
+        }
+        // 50 SKU panas diakses berulang sampai masuk protected
+        for (int putaran = 0; putaran < 5; putaran++) {
+            for (int i = 0; i < 50; i++) {
+                cache.cariByKode(kode(i));
+            }
+        }
+        // Scan sekali lewat atas SKU dingin sebanyak sepuluh kali kapasitas
+        for (int i = 1000; i < 2000; i++) {
+            cache.cariByKode(kode(i));
+        }
+
+        long missSebelum = cache.statistik().miss();
+        for (int i = 0; i < 50; i++) {
+            cache.cariByKode(kode(i));
+        }
+        assertEquals(missSebelum, cache.statistik().miss());
+    }
+}
@@ -0,0 +1,553 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.HasilOperasi;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test RepositoryProdukInMemory - Indeks Sekunder dan Thread Safety")
+public class RepositoryProdukInMemoryTest {
+    private RepositoryProdukInMemory repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new RepositoryProdukInMemory();
+        repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        repository.simpan(new Produk("PROD002", "Mouse Wireless", "Elektronik", 500000, 3, 5));
+        repository.simpan(new Produk("PROD003", "Buku Tulis", "ATK", 5000, 0, 10));
+    }
+
+    // ======================================================
+    // ================ simpan() & cariByKode() =============
+    // ======================================================
+
+    @Test
+    @DisplayName("Simpan dan cari by kode mengembalikan salinan")
+    void testSimpanDanCariByKode() {
+        Optional<Produk> hasil = repository.cariByKode("PROD001");
+        assertTrue(hasil.isPresent());
+        assertEquals("Laptop Gaming", hasil.get().getNama());
+
+        // Mengubah salinan tidak boleh merusak data di repository
+        hasil.get().setStok(0);
+        assertEquals(10, repository.cariByKode("PROD001").get().getStok());
+        assertTrue(repository.cariProdukStokHabis().stream().noneMatch(p -> p.getKode().equals("PROD001")));
+    }
+
+    @Test
+    @DisplayName("lihatByKode mengembalikan snapshot tersimpan tanpa salinan")
+    void testLihatByKode() {
+        ProdukSnapshot snapshot = repository.lihatByKode("PROD002").get();
+        assertSame(snapshot, repository.lihatByKode("PROD002").get());
+        assertEquals(ProdukSnapshot.dari(repository.cariByKode("PROD002").get()), snapshot);
+
+        // Penulisan mengganti entri, snapshot lama tetap utuh
+        repository.kurangiStokJikaCukup("PROD002", 1);
+        assertEquals(2, repository.lihatByKode("PROD002").get().stok());
+        assertEquals(3, snapshot.stok());
+        assertTrue(repository.lihatByKode(null).isEmpty());
+        assertTrue(repository.lihatByKode("XXX999").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Simpan gagal - produk null, kode null, atau stok negatif")
+    void testSimpanInvalid() {
+        assertFalse(repository.simpan(null));
+        assertFalse(repository.simpan(new Produk(null, "Tanpa Kode", "ATK", 1000, 1, 1)));
+        assertFalse(repository.simpan(new Produk("NEG01", "Stok Negatif", "ATK", 1000, -1, 1)));
+        assertEquals(3, repository.jumlahProduk());
+    }
+
+    @Test
+    @DisplayName("Simpan ulang kode yang sama memindahkan indeks kategori dan status")
+    void testSimpanUlangMemperbaruiIndeks() {
+        repository.simpan(new Produk("PROD002", "Mouse Wireless", "Aksesoris", 500000, 50, 5));
+
+        assertEquals(1, repository.cariByKategori("Elektronik").size());
+        assertEquals(1, repository.cariByKategori("Aksesoris").size());
+        assertTrue(repository.cariProdukStokMenipis().isEmpty());
+        assertEquals(2, repository.cariProdukStokAman().size());
+    }
+
+    @Test
+    @DisplayName("Cari by kode null atau tidak ada")
+    void testCariByKodeTidakAda() {
+        assertTrue(repository.cariByKode(null).isEmpty());
+        assertTrue(repository.cariByKode("XXX999").isEmpty());
+    }
+
+    // ======================================================
+    // ================ Query Indeks ========================
+    // ======================================================
+
+    @Test
+    @DisplayName("Cari by kategori memakai indeks kategori")
+    void testCariByKategori() {
+        assertEquals(2, repository.cariByKategori("Elektronik").size());
+        assertEquals(1, repository.cariByKategori("ATK").size());
+        assertTrue(repository.cariByKategori("Makanan").isEmpty());
+        assertTrue(repository.cariByKategori(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Cari by nama tidak peka huruf besar kecil")
+    void testCariByNama() {
+        List<Produk> hasil = repository.cariByNama("mouse");
+        assertEquals(1, hasil.size());
+        assertEquals("PROD002", hasil.get(0).getKode());
+        assertTrue(repository.cariByNama(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Indeks nama - substring dan awalan sama dengan pindai penuh, dengan paging")
+    void testIndeksNamaSamaDenganPindai() {
+        String[] kata = {"Laptop", "Mouse", "Kabel", "USB-C", "Gaming", "Pro", "Mini", "Ergonomis", "Ñandú"};
+        Random random = new Random(5);
+        RepositoryProdukInMemory repo = new RepositoryProdukInMemory();
+        for (int i = 0; i < 2000; i++) {
+            repo.simpan(new Produk(String.format("N%05d", i), namaAcak(kata, random), "ATK", 1000, 1, 1));
+        }
+        // Ganti nama dan hapus sebagian agar indeks diuji secara inkremental
+        for (int i = 0; i < 2000; i += 3) {
+            repo.simpan(new Produk(String.format("N%05d", i), namaAcak(kata, random), "ATK", 1000, 1, 1));
+        }
+        for (int i = 0; i < 2000; i += 7) {
+            repo.hapus(String.format("N%05d", i));
+        }
+
+        List<Produk> semua = repo.cariSemua();
+        semua.sort(Comparator.comparing(Produk::getKode));
+        for (String query : new String[]{"a", "US", "usb-c", "top mo", "ming", "ergonomis pro", "ñan", "xyz", ""}) {
+            String kecil = query.toLowerCase(Locale.ROOT);
+            List<String> harapan = semua.stream()
+                    .filter(p -> p.getNama().toLowerCase(Locale.ROOT).contains(kecil))
+                    .map(Produk::getKode).toList();
+            assertEquals(harapan, kodeDari(repo.cariByNama(query)), query);
+            assertEquals(harapan.subList(Math.min(5, harapan.size()), Math.min(15, harapan.size())),
+                    kodeDari(repo.cariByNama(query, 5, 10)), query);
+            assertEquals(harapan, semuaHalaman(setelah -> repo.cariByNama(query, setelah, 7)), query);
+            assertEquals(harapan, repo.aliranByNama(query).map(Produk::getKode).toList(), query);
+        }
+
+        for (String awalan : new String[]{"lap", "GAM PRO", "c", "usb c", "ñ", "top"}) {
+            Set<String> harapan = new TreeSet<>(kodeDari(
+                    repo.cariSemua().stream().filter(p -> semuaAwalan(awalan, p.getNama())).toList()));
+            List<String> hasil = kodeDari(repo.cariByAwalanNama(awalan, 0, Integer.MAX_VALUE));
+            assertEquals(harapan, new TreeSet<>(hasil), awalan);
+            assertEquals(harapan.size(), hasil.size(), awalan);
+            assertEquals(hasil.subList(0, Math.min(3, hasil.size())),
+                    kodeDari(repo.cariByAwalanNama(awalan, 0, 3)), awalan);
+            assertEquals(hasil.subList(Math.min(3, hasil.size()), Math.min(6, hasil.size())),
+                    kodeDari(repo.cariByAwalanNama(awalan, 3, 3)), awalan);
+        }
+        assertTrue(repo.cariByAwalanNama(null, 0, 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> repo.cariByNama("a", -1, 10));
+    }
+
+    private static String namaAcak(String[] kata, Random random) {
+        StringBuilder nama = new StringBuilder();
+        for (int j = 0, n = 1 + random.nextInt(3); j < n; j++) {
+            nama.append(j == 0 ? "" : " ").append(kata[random.nextInt(kata.length)]);
+        }
+        return nama.append(' ').append(random.nextInt(100)).toString();
+    }
+
+    private static boolean semuaAwalan(String awalan, String nama) {
+        List<String> kataNama = List.of(nama.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+"));
+        for (String kata : awalan.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+            if (kataNama.stream().noneMatch(k -> k.startsWith(kata))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> kodeDari(List<Produk> daftar) {
+        return daftar.stream().map(Produk::getKode).toList();
+    }
+
+    // Ikuti kursor sampai halaman kosong
+    private static List<String> semuaHalaman(Function<String, List<Produk>> halaman) {
+        List<String> hasil = new ArrayList<>();
+        String setelah = null;
+        for (List<Produk> isi = halaman.apply(null); !isi.isEmpty(); isi = halaman.apply(setelah)) {
+            setelah = isi.get(isi.size() - 1).getKode();
+            hasil.addAll(kodeDari(isi));
+        }
+        return hasil;
+    }
+
+    @Test
+    @DisplayName("Cari produk stok menipis, habis, dan aman")
+    void testCariByStatusStok() {
+        assertEquals("PROD002", repository.cariProdukStokMenipis().get(0).getKode());
+        assertEquals("PROD003", repository.cariProdukStokHabis().get(0).getKode());
+        assertEquals("PROD001", repository.cariProdukStokAman().get(0).getKode());
+    }
+
+    @Test
+    @DisplayName("Paging kursor dan aliran - urut kode, lengkap, dan tidak terganggu hapus di tengah jalan")
+    void testPagingKursorDanAliran() {
+        for (int i = 0; i < 500; i++) {
+            repository.simpan(new Produk(String.format("K%04d", (i * 37) % 500), "Barang " + i,
+                    i % 3 == 0 ? "ATK" : "Elektronik", 1000, i % 7, 3));
+        }
+        List<Produk> semua = repository.cariSemua();
+        semua.sort(Comparator.comparing(Produk::getKode));
+
+        assertEquals(kodeDari(semua), semuaHalaman(setelah -> repository.cariSemua(setelah, 64)));
+        assertEquals(kodeDari(semua), repository.aliranSemua().map(Produk::getKode).toList());
+        List<String> atk = semua.stream().filter(p -> p.getKategori().equals("ATK")).map(Produk::getKode).toList();
+        assertEquals(atk, semuaHalaman(setelah -> repository.cariByKategori("ATK", setelah, 10)));
+        assertEquals(atk, repository.aliranByKategori("ATK").map(Produk::getKode).toList());
+        List<String> menipis = semua.stream().filter(Produk::isStokMenipis).map(Produk::getKode).toList();
+        assertEquals(menipis, semuaHalaman(setelah -> repository.cariProdukStokMenipis(setelah, 10)));
+        assertEquals(menipis, repository.aliranProdukStokMenipis().map(Produk::getKode).toList());
+        List<String> habis = semua.stream().filter(Produk::isStokHabis).map(Produk::getKode).toList();
+        assertEquals(habis, semuaHalaman(setelah -> repository.cariProdukStokHabis(setelah, 10)));
+        assertEquals(habis, repository.aliranProdukStokHabis().map(Produk::getKode).toList());
+        assertTrue(repository.cariByKategori("Tidak Ada", null, 10).isEmpty());
+        assertEquals(0, repository.aliranByKategori(null).count());
+
+        // Kursor memakai kode, bukan posisi: menghapus produk di halaman sebelumnya tidak menggeser halaman berikutnya
+        List<Produk> halaman1 = repository.cariSemua(null, 10);
+        repository.hapus(halaman1.get(0).getKode());
+        assertEquals(kodeDari(semua).subList(10, 20),
+                kodeDari(repository.cariSemua(halaman1.get(9).getKode(), 10)));
+
+        // Produk dari aliran adalah salinan
+        repository.aliranSemua().forEach(p -> p.setStok(999));
+        assertEquals(0, repository.cariByKode("PROD003").get().getStok());
+    }
+
+    // ======================================================
+    // ================ updateStok() & hapus() ==============
+    // ======================================================
+
+    @Test
+    @DisplayName("Update stok memindahkan produk antar indeks status")
+    void testUpdateStokMemperbaruiIndeksStatus() {
+        assertTrue(repository.updateStok("PROD001", 0));
+        assertTrue(repository.updateStok("PROD003", 4));
+
+        assertEquals(1, repository.cariProdukStokHabis().size());
+        assertEquals("PROD001", repository.cariProdukStokHabis().get(0).getKode());
+        assertEquals(2, repository.cariProdukStokMenipis().size());
+        assertTrue(repository.cariProdukStokAman().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Update stok gagal - kode null, tidak ada, atau stok negatif")
+    void testUpdateStokGagal() {
+        assertFalse(repository.updateStok(null, 5));
+        assertFalse(repository.updateStok("XXX999", 5));
+        assertFalse(repository.updateStok("PROD001", -1));
+    }
+
+    @Test
+    @DisplayName("Hapus membersihkan semua indeks")
+    void testHapus() {
+        assertTrue(repository.hapus("PROD003"));
+        assertFalse(repository.hapus("PROD003"));
+        assertFalse(repository.hapus(null));
+
+        assertTrue(repository.cariByKategori("ATK").isEmpty());
+        assertTrue(repository.cariProdukStokHabis().isEmpty());
+        assertEquals(2, repository.cariSemua().size());
+    }
+
+    // ======================================================
+    // ================ Operasi Stok Atomik =================
+    // ======================================================
+
+    @Test
+    @DisplayName("Kurangi stok jika cukup - berhasil dan memperbarui indeks status")
+    void testKurangiStokJikaCukupBerhasil() {
+        assertEquals(HasilOperasi.BERHASIL, repository.kurangiStokJikaCukup("PROD001", 6));
+        assertEquals(4, repository.cariByKode("PROD001").get().getStok());
+        assertEquals(2, repository.cariProdukStokMenipis().size());
+    }
+
+    @Test
+    @DisplayName("Kurangi stok jika cukup - gagal dengan alasan yang tepat")
+    void testKurangiStokJikaCukupGagal() {
+        Produk nonAktif = new Produk("PROD004", "Printer", "Elektronik", 2000000, 5, 1);
+        nonAktif.setAktif(false);
+        repository.simpan(nonAktif);
+
+        assertEquals(HasilOperasi.STOK_TIDAK_CUKUP, repository.kurangiStokJikaCukup("PROD001", 11));
+        assertEquals(HasilOperasi.TIDAK_DITEMUKAN, repository.kurangiStokJikaCukup("XXX999", 1));
+        assertEquals(HasilOperasi.TIDAK_DITEMUKAN, repository.kurangiStokJikaCukup(null, 1));
+        assertEquals(HasilOperasi.TIDAK_AKTIF, repository.kurangiStokJikaCukup("PROD004", 1));
+        assertEquals(10, repository.cariByKode("PROD001").get().getStok());
+        assertThrows(IllegalArgumentException.class, () -> repository.kurangiStokJikaCukup("PROD001", 0));
+    }
+
+    @Test
+    @DisplayName("Tambah stok - berhasil, gagal, dan jumlah tidak valid")
+    void testTambahStok() {
+        assertEquals(HasilOperasi.BERHASIL, repository.tambahStok("PROD003", 20));
+        assertEquals(20, repository.cariByKode("PROD003").get().getStok());
+        assertTrue(repository.cariProdukStokHabis().isEmpty());
+
+        assertEquals(HasilOperasi.TIDAK_DITEMUKAN, repository.tambahStok("XXX999", 1));
+        assertThrows(IllegalArgumentException.class, () -> repository.tambahStok("PROD003", -1));
+
+        // Stok yang melewati batas int ditolak tanpa mengubah produk maupun total
+        long totalStok = repository.hitungTotalStokAktif();
+        assertEquals(HasilOperasi.JUMLAH_TIDAK_VALID, repository.tambahStok("PROD003", Integer.MAX_VALUE));
+        assertEquals(20, repository.cariByKode("PROD003").get().getStok());
+        assertEquals(totalStok, repository.hitungTotalStokAktif());
+    }
+
+    @Test
+    @DisplayName("Terapkan mutasi batch - delta berurutan per kode dan indeks ikut diperbarui")
+    void testTerapkanMutasi() {
+        Produk nonAktif = new Produk("PROD004", "Printer", "Elektronik", 2000000, 5, 1);
+        nonAktif.setAktif(false);
+        repository.simpan(nonAktif);
+
+        Map<String, HasilOperasi[]> hasil = repository.terapkanMutasi(Map.of(
+                "PROD003", new int[]{5, -3, -10, 20},
+                "PROD004", new int[]{1},
+                "XXX999", new int[]{1, 2}));
+
+        assertArrayEquals(new HasilOperasi[]{HasilOperasi.BERHASIL, HasilOperasi.BERHASIL,
+                HasilOperasi.STOK_TIDAK_CUKUP, HasilOperasi.BERHASIL}, hasil.get("PROD003"));
+        assertArrayEquals(new HasilOperasi[]{HasilOperasi.TIDAK_AKTIF}, hasil.get("PROD004"));
+        assertArrayEquals(new HasilOperasi[]{HasilOperasi.TIDAK_DITEMUKAN, HasilOperasi.TIDAK_DITEMUKAN},
+                hasil.get("XXX999"));
+
+        assertEquals(22, repository.cariByKode("PROD003").get().getStok());
+        assertTrue(repository.cariProdukStokHabis().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Terapkan mutasi batch - tanpa perubahan bersih dan delta melewati batas int")
+    void testTerapkanMutasiTanpaPerubahan() {
+        Map<String, HasilOperasi[]> hasil = repository.terapkanMutasi(Map.of(
+                "PROD001", new int[]{-11, Integer.MAX_VALUE}));
+
+        assertArrayEquals(new HasilOperasi[]{HasilOperasi.STOK_TIDAK_CUKUP, HasilOperasi.JUMLAH_TIDAK_VALID},
+                hasil.get("PROD001"));
+        assertEquals(10, repository.cariByKode("PROD001").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Kurangi stok bersamaan tidak pernah oversell")
+    void testKurangiStokTidakOversell() throws InterruptedException {
+        repository.updateStok("PROD001", 1000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger berhasil = new AtomicInteger();
+
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    if (repository.kurangiStokJikaCukup("PROD001", 1).isBerhasil()) {
+                        berhasil.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(1000, berhasil.get());
+        assertEquals(0, repository.cariByKode("PROD001").get().getStok());
+    }
+
+    // ======================================================
+    // ================ Agregat Berjalan ====================
+    // ======================================================
+
+    @Test
+    @DisplayName("Total berjalan mengikuti simpan, update, mutasi, hapus, dan status aktif")
+    void testAgregatBerjalan() {
+        assertEquals(15000000.0 * 10 + 500000.0 * 3, repository.hitungTotalNilaiAktif());
+        assertEquals(13, repository.hitungTotalStokAktif());
+
+        repository.updateStok("PROD003", 4);
+        repository.kurangiStokJikaCukup("PROD001", 2);
+        repository.tambahStok("PROD002", 7);
+        repository.terapkanMutasi(Map.of("PROD003", new int[]{1, 1}));
+        assertEquals(8 + 10 + 6, repository.hitungTotalStokAktif());
+
+        assertTrue(repository.ubahStatusAktif("PROD001", false));
+        assertTrue(repository.ubahStatusAktif("PROD001", false));
+        assertEquals(16, repository.hitungTotalStokAktif());
+        assertEquals(500000.0 * 10 + 5000.0 * 6, repository.hitungTotalNilaiAktif());
+
+        repository.hapus("PROD002");
+        repository.simpan(new Produk("PROD003", "Buku Tulis", "ATK", 6000, 2, 10));
+        assertEquals(2, repository.hitungTotalStokAktif());
+        assertEquals(12000.0, repository.hitungTotalNilaiAktif());
+        assertEquals(1_200_000, repository.hitungTotalNilaiAktifSen());
+        assertFalse(repository.periksaDrift().adaDrift(0.0));
+    }
+
+    @Test
+    @DisplayName("Total nilai dalam sen tetap eksak untuk harga pecahan")
+    void testAgregatSenEksak() {
+        RepositoryProdukInMemory repo = new RepositoryProdukInMemory();
+        for (int i = 0; i < 1000; i++) {
+            repo.simpan(new Produk("S" + i, "Permen", "Makanan", 0.10, 3, 1));
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            repo.updateStok("S" + i, 1);
+        }
+
+        // 500 x 0,10 x 3 + 500 x 0,10 x 1 = 200,00
+        assertEquals(20_000, repo.hitungTotalNilaiAktifSen());
+        // Harga yang tidak bisa dijadikan sen sudah ditolak saat Produk dibuat
+        assertThrows(IllegalArgumentException.class, () -> new Produk("NAN01", "Harga Rusak", "ATK", Double.NaN, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new Produk("BSR01", "Harga Rusak", "ATK", 1e300, 1, 1));
+    }
+
+    @Test
+    @DisplayName("Nilai harga x stok yang melewati long ditolak tanpa merusak indeks dan total")
+    void testNilaiMelewatiLong() {
+        // 10^12 rupiah = 10^14 sen; x 100.000 unit melewati Long.MAX_VALUE
+        double hargaMahal = 1e12;
+        assertFalse(repository.simpan(new Produk("MHL01", "Satelit", "Antariksa", hargaMahal, 100_000, 1)));
+        assertTrue(repository.cariByKategori("Antariksa").isEmpty());
+        assertTrue(repository.cariByNama("Satelit").isEmpty());
+        assertEquals(3, repository.cariSemua(null, 10).size());
+
+        assertTrue(repository.simpan(new Produk("MHL02", "Satelit", "Antariksa", hargaMahal, 1, 1)));
+        long nilaiSen = repository.hitungTotalNilaiAktifSen();
+        assertFalse(repository.updateStok("MHL02", 100_000));
+        assertEquals(HasilOperasi.JUMLAH_TIDAK_VALID, repository.tambahStok("MHL02", 100_000));
+        assertArrayEquals(new HasilOperasi[] {HasilOperasi.JUMLAH_TIDAK_VALID, HasilOperasi.STOK_TIDAK_CUKUP},
+                repository.terapkanMutasi(Map.of("MHL02", new int[] {100_000, -200_000})).get("MHL02"));
+
+        assertEquals(1, repository.cariByKode("MHL02").get().getStok());
+        assertEquals(List.of("MHL02"), repository.cariProdukStokMenipis().stream()
+                .map(Produk::getKode).filter(k -> k.startsWith("MHL")).toList());
+        assertEquals(nilaiSen, repository.hitungTotalNilaiAktifSen());
+        assertFalse(repository.periksaDrift().adaDrift(1e-6));
+    }
+
+    @Test
+    @DisplayName("Pindai semua memberikan salinan yang tidak mengubah repository")
+    void testPindaiSemuaSalinan() {
+        List<Produk> hasil = new ArrayList<>();
+        repository.pindaiSemua().forEachRemaining(hasil::add);
+        assertEquals(3, hasil.size());
+
+        hasil.forEach(p -> p.setStok(999));
+        assertEquals(13, repository.hitungTotalStokAktif());
+        assertEquals(10, repository.cariByKode("PROD001").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Pindai semua bisa dipecah untuk valuasi paralel, tanpa tumpang tindih")
+    void testPindaiSemuaDipecah() {
+        for (int i = 0; i < 100_000; i++) {
+            repository.simpan(new Produk(String.format("X%06d", i), "Produk " + i, "ATK", 1000, 5, 1));
+        }
+
+        Spliterator<Produk> kanan = repository.pindaiSemua();
+        Spliterator<Produk> kiri = kanan.trySplit();
+        assertNotNull(kiri);
+        List<String> hasil = new ArrayList<>();
+        kiri.forEachRemaining(p -> hasil.add(p.getKode()));
+        kanan.tryAdvance(p -> hasil.add(p.getKode()));
+        kanan.forEachRemaining(p -> hasil.add(p.getKode()));
+
+        assertEquals(repository.jumlahProduk(), hasil.size());
+        assertEquals(repository.jumlahProduk(), new HashSet<>(hasil).size());
+    }
+
+    @Test
+    @DisplayName("Ubah status aktif gagal - kode null atau tidak ada")
+    void testUbahStatusAktifGagal() {
+        assertFalse(repository.ubahStatusAktif(null, true));
+        assertFalse(repository.ubahStatusAktif("XXX999", true));
+    }
+
+    @Test
+    @DisplayName("Hitung ulang agregat melaporkan dan mengoreksi drift")
+    void testHitungUlangAgregat() {
+        // Nilai pecahan menumpuk galat pembulatan double di total berjalan
+        for (int i = 0; i < 1000; i++) {
+            repository.simpan(new Produk("D" + i, "Barang Desimal", "ATK", 0.1 * (i + 1), i % 13, 1));
+            repository.updateStok("D" + i, (i * 7) % 11);
+        }
+
+        RepositoryProdukInMemory.DriftAgregat drift = repository.hitungUlangAgregat();
+        assertEquals(0, drift.selisihStok());
+        assertEquals(0, drift.selisihNilaiSen());
+        assertFalse(drift.adaDrift(1.0));
+
+        RepositoryProdukInMemory.DriftAgregat setelahKoreksi = repository.periksaDrift();
+        assertFalse(setelahKoreksi.adaDrift(1e-6));
+    }
+
+    // ======================================================
+    // ================ Konkurensi ==========================
+    // ======================================================
+
+    @Test
+    @DisplayName("Indeks tetap konsisten saat banyak thread menulis bersamaan")
+    void testIndeksKonsistenSaatKonkuren() throws InterruptedException {
+        int jumlahThread = 8;
+        int jumlahIterasi = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahThread);
+        CountDownLatch mulai = new CountDownLatch(1);
+
+        for (int t = 0; t < jumlahThread; t++) {
+            int idThread = t;
+            executor.submit(() -> {
+                mulai.await();
+                for (int i = 0; i < jumlahIterasi; i++) {
+                    String kode = "K" + (i % 50);
+                    switch ((i + idThread) % 4) {
+                        case 0 -> repository.simpan(new Produk(kode, "Barang " + i, "Kat" + (i % 3), 1000, i % 7, 3));
+                        case 1 -> repository.updateStok(kode, (i + idThread) % 6);
+                        case 2 -> repository.hapus(kode);
+                        default -> repository.cariProdukStokMenipis();
+                    }
+                }
+                return null;
+            });
+        }
+        mulai.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Setelah semua selesai, gabungan indeks status harus sama dengan isi repository
+        List<Produk> semua = repository.cariSemua();
+        int totalStatus = repository.cariProdukStokHabis().size()
+                + repository.cariProdukStokMenipis().size()
+                + repository.cariProdukStokAman().size();
+        assertEquals(semua.size(), totalStatus);
+
+        int totalKategori = 0;
+        for (String kategori : List.of("Elektronik", "ATK", "Kat0", "Kat1", "Kat2")) {
+            totalKategori += repository.cariByKategori(kategori).size();
+        }
+        assertEquals(semua.size(), totalKategori);
+    }
+}
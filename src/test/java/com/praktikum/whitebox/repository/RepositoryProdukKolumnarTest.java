@@ -0,0 +1,312 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.HasilOperasi;
+import com.praktikum.whitebox.model.PerubahanStatusStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukSnapshot;
+import com.praktikum.whitebox.model.StatusStok;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test RepositoryProdukKolumnar - Penyimpanan Kolom untuk Query Analitik")
+public class RepositoryProdukKolumnarTest {
+    private RepositoryProdukKolumnar repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new RepositoryProdukKolumnar(64);
+        repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        repository.simpan(new Produk("PROD002", "Mouse Wireless", "Elektronik", 500000, 3, 5));
+        repository.simpan(new Produk("PROD003", "Buku Tulis", "ATK", 5000, 0, 10));
+    }
+
+    private static List<String> kodeDari(List<Produk> daftar) {
+        return daftar.stream().map(Produk::getKode).sorted().toList();
+    }
+
+    // ======================================================
+    // ================ CRUD dan Query ======================
+    // ======================================================
+
+    @Test
+    @DisplayName("Produk dibaca kembali utuh dari kolom")
+    void testBacaKembali() {
+        Produk produk = new Produk("PROD004", "Pensil", null, 2500.5, 7, 2);
+        produk.setAktif(false);
+        assertTrue(repository.simpan(produk));
+
+        Produk hasil = repository.cariByKode("PROD004").get();
+        assertEquals("Pensil", hasil.getNama());
+        assertNull(hasil.getKategori());
+        assertEquals(2500.5, hasil.getHarga());
+        assertEquals(7, hasil.getStok());
+        assertEquals(2, hasil.getStokMinimum());
+        assertFalse(hasil.isAktif());
+        assertEquals(4, repository.jumlahProduk());
+    }
+
+    @Test
+    @DisplayName("Snapshot dibaca langsung dari kolom sama dengan cariByKode")
+    void testLihatByKode() {
+        Produk produk = new Produk("PROD004", "Pensil", null, 2500.5, 7, 2);
+        produk.setAktif(false);
+        repository.simpan(produk);
+
+        for (String kode : new String[]{"PROD001", "PROD002", "PROD003", "PROD004"}) {
+            assertEquals(ProdukSnapshot.dari(repository.cariByKode(kode).get()), repository.lihatByKode(kode).get());
+        }
+        assertTrue(repository.lihatByKode("XXX999").isEmpty());
+        assertTrue(repository.lihatByKode(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Input tidak valid ditolak")
+    void testInputTidakValid() {
+        assertFalse(repository.simpan(null));
+        assertFalse(repository.simpan(new Produk(null, "Tanpa Kode", "ATK", 1, 1, 1)));
+        assertFalse(repository.simpan(new Produk("NEG01", "Negatif", "ATK", 1, -1, 1)));
+        assertFalse(repository.updateStok("PROD001", -1));
+        assertFalse(repository.updateStok("XXX999", 1));
+        assertFalse(repository.hapus(null));
+        assertTrue(repository.cariByKode(null).isEmpty());
+        assertTrue(repository.cariByNama(null).isEmpty());
+        assertTrue(repository.cariByKategori(null).isEmpty());
+        assertTrue(repository.cariByKategori("Tidak Ada").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Query kategori, nama, dan status stok memindai kolom")
+    void testQuery() {
+        assertEquals(List.of("PROD001", "PROD002"), kodeDari(repository.cariByKategori("Elektronik")));
+        assertEquals(List.of("PROD003"), kodeDari(repository.cariByKategori("ATK")));
+        assertEquals(List.of("PROD002"), kodeDari(repository.cariByNama("MOUSE")));
+        assertEquals(List.of("PROD002"), kodeDari(repository.cariProdukStokMenipis()));
+        assertEquals(List.of("PROD003"), kodeDari(repository.cariProdukStokHabis()));
+        assertEquals(List.of("PROD001"), kodeDari(repository.cariProdukStokAman()));
+        assertEquals(3, repository.cariSemua().size());
+    }
+
+    @Test
+    @DisplayName("Simpan ulang memindahkan produk ke kategori baru")
+    void testSimpanUlangGantiKategori() {
+        repository.simpan(new Produk("PROD002", "Mouse Wireless", "ATK", 500000, 3, 5));
+
+        assertEquals(List.of("PROD001"), kodeDari(repository.cariByKategori("Elektronik")));
+        assertEquals(List.of("PROD002", "PROD003"), kodeDari(repository.cariByKategori("ATK")));
+        assertEquals(3, repository.jumlahProduk());
+    }
+
+    @Test
+    @DisplayName("Slot produk yang dihapus tidak muncul di query dan dipakai ulang")
+    void testHapusDanPakaiUlangSlot() {
+        assertTrue(repository.hapus("PROD003"));
+        assertFalse(repository.hapus("PROD003"));
+
+        assertTrue(repository.cariByKode("PROD003").isEmpty());
+        assertTrue(repository.cariProdukStokHabis().isEmpty());
+        assertTrue(repository.cariByKategori("ATK").isEmpty());
+        assertEquals(2, repository.cariSemua().size());
+
+        repository.simpan(new Produk("PROD005", "Spidol", "ATK", 8000, 0, 1));
+        assertEquals(List.of("PROD005"), kodeDari(repository.cariProdukStokHabis()));
+        assertEquals(3, repository.jumlahProduk());
+    }
+
+    @Test
+    @DisplayName("Kolom membesar melewati kapasitas awal")
+    void testPerbesarKapasitas() {
+        for (int i = 0; i < 1000; i++) {
+            repository.simpan(new Produk(String.format("B%04d", i), "Barang", "Gudang", 10, i, 5));
+        }
+
+        assertEquals(1003, repository.jumlahProduk());
+        assertEquals(999, repository.cariByKode("B0999").get().getStok());
+        assertEquals(1000, repository.cariByKategori("Gudang").size());
+    }
+
+    // ======================================================
+    // ================ Operasi Stok ========================
+    // ======================================================
+
+    @Test
+    @DisplayName("Operasi stok atomik mengikuti aturan repository lain")
+    void testOperasiStok() {
+        assertEquals(HasilOperasi.BERHASIL, repository.kurangiStokJikaCukup("PROD001", 4));
+        assertEquals(HasilOperasi.STOK_TIDAK_CUKUP, repository.kurangiStokJikaCukup("PROD001", 7));
+        assertEquals(HasilOperasi.BERHASIL, repository.tambahStok("PROD003", 2));
+        assertEquals(HasilOperasi.TIDAK_DITEMUKAN, repository.tambahStok("XXX999", 2));
+        assertEquals(HasilOperasi.TIDAK_DITEMUKAN, repository.tambahStok(null, 2));
+        assertThrows(IllegalArgumentException.class, () -> repository.tambahStok("PROD001", 0));
+        assertEquals(HasilOperasi.JUMLAH_TIDAK_VALID, repository.tambahStok("PROD003", Integer.MAX_VALUE));
+        assertEquals(2, repository.cariByKode("PROD003").get().getStok());
+
+        assertTrue(repository.ubahStatusAktif("PROD002", false));
+        assertEquals(HasilOperasi.TIDAK_AKTIF, repository.kurangiStokJikaCukup("PROD002", 1));
+
+        Map<String, HasilOperasi[]> hasil = repository.terapkanMutasi(
+                Map.of("PROD001", new int[]{-2, -10, 3}, "PROD002", new int[]{1}));
+        assertArrayEquals(new HasilOperasi[]{HasilOperasi.BERHASIL, HasilOperasi.STOK_TIDAK_CUKUP,
+                HasilOperasi.BERHASIL}, hasil.get("PROD001"));
+        assertArrayEquals(new HasilOperasi[]{HasilOperasi.TIDAK_AKTIF}, hasil.get("PROD002"));
+
+        assertEquals(7, repository.cariByKode("PROD001").get().getStok());
+        assertEquals(2, repository.cariByKode("PROD003").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Pendengar menerima perpindahan status dari setiap jalur tulis stok")
+    void testPendengarStatus() {
+        List<PerubahanStatusStok> diterima = new ArrayList<>();
+        Consumer<PerubahanStatusStok> pendengar = diterima::add;
+        assertTrue(repository.tambahPendengarStatus(pendengar));
+
+        repository.updateStok("PROD001", 5);                                   // AMAN -> MENIPIS
+        repository.kurangiStokJikaCukup("PROD001", 5);                         // MENIPIS -> HABIS
+        repository.tambahStok("PROD003", 50);                                  // HABIS -> AMAN
+        repository.terapkanMutasi(Map.of("PROD002", new int[]{10}));           // MENIPIS -> AMAN
+        repository.simpan(new Produk("PROD002", "Mouse Wireless", "Elektronik", 500000, 13, 20));
+        repository.simpan(new Produk("PROD009", "Baru", "ATK", 1000, 0, 1));  // produk baru, bukan perubahan
+
+        assertEquals(List.of(StatusStok.MENIPIS, StatusStok.HABIS, StatusStok.AMAN, StatusStok.AMAN,
+                StatusStok.MENIPIS), diterima.stream().map(PerubahanStatusStok::statusBaru).toList());
+        assertEquals(new PerubahanStatusStok("PROD002", StatusStok.AMAN, StatusStok.MENIPIS, 13, 20),
+                diterima.get(4));
+
+        repository.hapusPendengarStatus(pendengar);
+        repository.updateStok("PROD001", 100);
+        assertEquals(5, diterima.size());
+    }
+
+    @Test
+    @DisplayName("Nilai harga x stok yang melewati long ditolak sama seperti RepositoryProdukInMemory")
+    void testNilaiMelewatiLongSamaDenganInMemory() {
+        RepositoryProdukKolumnar kolumnar = new RepositoryProdukKolumnar(64);
+        RepositoryProdukInMemory pembanding = new RepositoryProdukInMemory();
+        // 10^12 rupiah = 10^14 sen; x 100.000 unit melewati Long.MAX_VALUE
+        Produk terlaluMahal = new Produk("MHL01", "Satelit", "Antariksa", 1e12, 100_000, 1);
+        assertFalse(pembanding.simpan(terlaluMahal));
+        assertFalse(kolumnar.simpan(terlaluMahal));
+        assertTrue(kolumnar.cariByKode("MHL01").isEmpty());
+
+        Produk mahal = new Produk("MHL02", "Satelit", "Antariksa", 1e12, 1, 1);
+        assertTrue(pembanding.simpan(mahal));
+        assertTrue(kolumnar.simpan(mahal));
+        assertFalse(pembanding.updateStok("MHL02", 100_000));
+        assertFalse(kolumnar.updateStok("MHL02", 100_000));
+        assertEquals(HasilOperasi.JUMLAH_TIDAK_VALID, pembanding.tambahStok("MHL02", 100_000));
+        assertEquals(HasilOperasi.JUMLAH_TIDAK_VALID, kolumnar.tambahStok("MHL02", 100_000));
+        Map<String, int[]> mutasi = Map.of("MHL02", new int[] {100_000, -200_000});
+        HasilOperasi[] diharapkan = {HasilOperasi.JUMLAH_TIDAK_VALID, HasilOperasi.STOK_TIDAK_CUKUP};
+        assertArrayEquals(diharapkan, pembanding.terapkanMutasi(mutasi).get("MHL02"));
+        assertArrayEquals(diharapkan, kolumnar.terapkanMutasi(mutasi).get("MHL02"));
+
+        assertEquals(1, kolumnar.cariByKode("MHL02").get().getStok());
+        assertEquals(pembanding.hitungTotalNilaiAktifSen(), kolumnar.hitungTotalNilaiAktifSen());
+    }
+
+    // ======================================================
+    // ================ Agregat =============================
+    // ======================================================
+
+    @Test
+    @DisplayName("Agregat hanya menghitung produk aktif")
+    void testAgregatProdukAktif() {
+        assertEquals(13, repository.hitungTotalStokAktif());
+        assertEquals(15000000.0 * 10 + 500000.0 * 3, repository.hitungTotalNilaiAktif());
+
+        repository.ubahStatusAktif("PROD001", false);
+        assertEquals(3, repository.hitungTotalStokAktif());
+        assertEquals(500000.0 * 3, repository.hitungTotalNilaiAktif());
+        assertEquals(50_000_000L * 3, repository.hitungTotalNilaiAktifSen());
+        assertEquals(Map.of("Elektronik", 500000.0 * 3), repository.hitungNilaiPerKategori());
+    }
+
+    @Test
+    @DisplayName("Agregat sama dengan RepositoryProdukInMemory pada blok penuh dan jarang")
+    void testAgregatSamaDenganInMemory() {
+        RepositoryProdukKolumnar kolumnar = new RepositoryProdukKolumnar(64);
+        RepositoryProdukInMemory pembanding = new RepositoryProdukInMemory();
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            Produk produk = new Produk("K" + i, "Barang " + i, "Kat" + (i % 7), 100 + i % 13,
+                    random.nextInt(50), 10);
+            // Dua ratus slot pertama aktif semua agar jalur blok penuh ikut teruji
+            produk.setAktif(i < 200 || random.nextInt(4) != 0);
+            kolumnar.simpan(produk);
+            pembanding.simpan(produk);
+        }
+        for (int i = 0; i < 300; i++) {
+            String kode = "K" + random.nextInt(500);
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    kolumnar.hapus(kode);
+                    pembanding.hapus(kode);
+                }
+                case 1 -> {
+                    boolean aktif = random.nextBoolean();
+                    kolumnar.ubahStatusAktif(kode, aktif);
+                    pembanding.ubahStatusAktif(kode, aktif);
+                }
+                default -> {
+                    int stok = random.nextInt(50);
+                    kolumnar.updateStok(kode, stok);
+                    pembanding.updateStok(kode, stok);
+                }
+            }
+        }
+
+        assertEquals(pembanding.hitungTotalStokAktif(), kolumnar.hitungTotalStokAktif());
+        assertEquals(pembanding.hitungTotalNilaiAktif(), kolumnar.hitungTotalNilaiAktif(), 1e-6);
+        assertEquals(pembanding.hitungTotalNilaiAktifSen(), kolumnar.hitungTotalNilaiAktifSen());
+        assertEquals(kodeDari(pembanding.cariProdukStokMenipis()), kodeDari(kolumnar.cariProdukStokMenipis()));
+        assertEquals(kodeDari(pembanding.cariProdukStokHabis()), kodeDari(kolumnar.cariProdukStokHabis()));
+        assertEquals(kodeDari(pembanding.cariByKategori("Kat3")), kodeDari(kolumnar.cariByKategori("Kat3")));
+
+        Comparator<Produk> urutKode = Comparator.comparing(Produk::getKode);
+        List<Produk> semua = kolumnar.cariSemua().stream().sorted(urutKode).toList();
+        List<Produk> semuaPembanding = pembanding.cariSemua().stream().sorted(urutKode).toList();
+        assertEquals(semuaPembanding, semua);
+        for (int i = 0; i < semua.size(); i++) {
+            assertEquals(semuaPembanding.get(i).isAktif(), semua.get(i).isAktif());
+            assertEquals(semuaPembanding.get(i).getStok(), semua.get(i).getStok());
+        }
+    }
+
+    // ======================================================
+    // ================ Pindai Paralel ======================
+    // ======================================================
+
+    @Test
+    @DisplayName("Spliterator membagi slot tanpa tumpang tindih dan melewati slot kosong")
+    void testPindaiSemuaDipecah() {
+        for (int i = 0; i < 5000; i++) {
+            repository.simpan(new Produk(String.format("X%05d", i), "Produk " + i, "ATK", 1000, 5, 1));
+        }
+        for (int i = 0; i < 5000; i += 4) {
+            repository.hapus(String.format("X%05d", i));
+        }
+
+        Spliterator<Produk> kanan = repository.pindaiSemua();
+        Spliterator<Produk> kiri = kanan.trySplit();
+        assertNotNull(kiri);
+        List<String> hasil = new ArrayList<>();
+        kiri.forEachRemaining(p -> hasil.add(p.getKode()));
+        kanan.tryAdvance(p -> hasil.add(p.getKode()));
+        assertNull(kanan.trySplit());
+        kanan.forEachRemaining(p -> hasil.add(p.getKode()));
+
+        assertEquals(repository.jumlahProduk(), hasil.size());
+        assertEquals(kodeDari(repository.cariSemua()), hasil.stream().sorted().toList());
+    }
+}
@@ -0,0 +1,185 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.HasilOperasi;
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test RepositoryProdukMappedFile - Record Lebar Tetap di File")
+public class RepositoryProdukMappedFileTest {
+    @TempDir
+    Path folder;
+
+    private Path file;
+    private RepositoryProdukMappedFile repository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = folder.resolve("produk.dat");
+        repository = new RepositoryProdukMappedFile(file);
+        repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        repository.simpan(new Produk("PROD002", "Mouse Wireless", "Elektronik", 500000, 3, 5));
+        repository.simpan(new Produk("PROD003", "Buku Tulis", "ATK", 5000, 0, 10));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        repository.close();
+    }
+
+    private RepositoryProdukMappedFile bukaUlang() throws IOException {
+        repository.close();
+        repository = new RepositoryProdukMappedFile(file);
+        return repository;
+    }
+
+    // ======================================================
+    // ================ Persistensi =========================
+    // ======================================================
+
+    @Test
+    @DisplayName("Data bertahan setelah file ditutup dan dibuka ulang")
+    void testDataBertahanSetelahBukaUlang() throws IOException {
+        Produk nonAktif = new Produk("PROD004", "Printer", null, 2000000, 5, 1);
+        nonAktif.setAktif(false);
+        repository.simpan(nonAktif);
+
+        RepositoryProdukMappedFile dibukaUlang = bukaUlang();
+
+        assertEquals(4, dibukaUlang.jumlahProduk());
+        Produk laptop = dibukaUlang.cariByKode("PROD001").get();
+        assertEquals("Laptop Gaming", laptop.getNama());
+        assertEquals("Elektronik", laptop.getKategori());
+        assertEquals(15000000, laptop.getHarga());
+        assertEquals(10, laptop.getStok());
+        assertEquals(5, laptop.getStokMinimum());
+        assertTrue(laptop.isAktif());
+
+        Produk printer = dibukaUlang.cariByKode("PROD004").get();
+        assertNull(printer.getKategori());
+        assertFalse(printer.isAktif());
+    }
+
+    @Test
+    @DisplayName("Update stok ditulis di tempat dan bertahan setelah buka ulang")
+    void testUpdateStokDiTempat() throws IOException {
+        assertTrue(repository.updateStok("PROD001", 42));
+        assertEquals(HasilOperasi.BERHASIL, repository.kurangiStokJikaCukup("PROD001", 2));
+        assertEquals(HasilOperasi.BERHASIL, repository.tambahStok("PROD003", 7));
+        repository.flush();
+
+        RepositoryProdukMappedFile dibukaUlang = bukaUlang();
+        assertEquals(40, dibukaUlang.cariByKode("PROD001").get().getStok());
+        assertEquals(7, dibukaUlang.cariByKode("PROD003").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Slot bekas hapus dipakai ulang dan tidak ikut dimuat saat startup")
+    void testSlotBekasHapusDipakaiUlang() throws IOException {
+        long ukuranAwal = Files.size(file);
+        assertTrue(repository.hapus("PROD002"));
+        assertFalse(repository.hapus("PROD002"));
+        repository.simpan(new Produk("PROD005", "Kabel Data", "Elektronik", 25000, 9, 2));
+
+        assertEquals(ukuranAwal, Files.size(file));
+        RepositoryProdukMappedFile dibukaUlang = bukaUlang();
+        assertTrue(dibukaUlang.cariByKode("PROD002").isEmpty());
+        assertEquals("Kabel Data", dibukaUlang.cariByKode("PROD005").get().getNama());
+        assertEquals(3, dibukaUlang.jumlahProduk());
+    }
+
+    @Test
+    @DisplayName("File tumbuh per segmen saat slot habis")
+    void testFileTumbuhPerSegmen() throws IOException {
+        for (int i = 0; i < RepositoryProdukMappedFile.SLOT_PER_SEGMEN; i++) {
+            repository.simpan(new Produk("S" + i, "Barang", "ATK", 1000, 1, 0));
+        }
+
+        RepositoryProdukMappedFile dibukaUlang = bukaUlang();
+        assertEquals(RepositoryProdukMappedFile.SLOT_PER_SEGMEN + 3, dibukaUlang.jumlahProduk());
+        assertEquals(1, dibukaUlang.cariByKode("S65535").get().getStok());
+    }
+
+    @Test
+    @DisplayName("File dengan format lain ditolak")
+    void testFormatFileTidakDikenali() throws IOException {
+        Path lain = folder.resolve("lain.dat");
+        Files.write(lain, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        assertThrows(IOException.class, () -> new RepositoryProdukMappedFile(lain));
+    }
+
+    // ======================================================
+    // ================ Operasi & Query =====================
+    // ======================================================
+
+    @Test
+    @DisplayName("Simpan gagal - data tidak muat di record atau tidak valid")
+    void testSimpanGagal() {
+        assertFalse(repository.simpan(null));
+        assertFalse(repository.simpan(new Produk(null, "Nama", "ATK", 1, 1, 1)));
+        assertFalse(repository.simpan(new Produk("NEG01", "Nama", "ATK", 1, -1, 1)));
+        assertFalse(repository.simpan(new Produk("K".repeat(17), "Nama", "ATK", 1, 1, 1)));
+        assertFalse(repository.simpan(new Produk("PANJANG1", "N".repeat(121), "ATK", 1, 1, 1)));
+        assertFalse(repository.simpan(new Produk("PANJANG2", "Nama", "K".repeat(101), 1, 1, 1)));
+    }
+
+    @Test
+    @DisplayName("Operasi stok gagal dengan alasan yang tepat")
+    void testOperasiStokGagal() {
+        repository.ubahStatusAktif("PROD002", false);
+
+        assertFalse(repository.updateStok("XXX999", 1));
+        assertFalse(repository.updateStok(null, 1));
+        assertFalse(repository.updateStok("PROD001", -1));
+        assertFalse(repository.ubahStatusAktif("XXX999", true));
+        assertFalse(repository.ubahStatusAktif(null, true));
+        assertEquals(HasilOperasi.STOK_TIDAK_CUKUP, repository.kurangiStokJikaCukup("PROD001", 11));
+        assertEquals(HasilOperasi.TIDAK_AKTIF, repository.kurangiStokJikaCukup("PROD002", 1));
+        assertEquals(HasilOperasi.TIDAK_DITEMUKAN, repository.tambahStok("XXX999", 1));
+        assertEquals(HasilOperasi.TIDAK_DITEMUKAN, repository.tambahStok(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> repository.kurangiStokJikaCukup("PROD001", 0));
+        assertThrows(IllegalArgumentException.class, () -> repository.tambahStok("PROD001", 0));
+        assertEquals(HasilOperasi.JUMLAH_TIDAK_VALID, repository.tambahStok("PROD001", Integer.MAX_VALUE));
+        assertEquals(10, repository.cariByKode("PROD001").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Terapkan mutasi batch ditulis di tempat")
+    void testTerapkanMutasi() {
+        repository.ubahStatusAktif("PROD002", false);
+        Map<String, HasilOperasi[]> hasil = repository.terapkanMutasi(Map.of(
+                "PROD001", new int[]{-4, -10, 3},
+                "PROD002", new int[]{1},
+                "XXX999", new int[]{1}));
+
+        assertArrayEquals(new HasilOperasi[]{HasilOperasi.BERHASIL, HasilOperasi.STOK_TIDAK_CUKUP,
+                HasilOperasi.BERHASIL}, hasil.get("PROD001"));
+        assertArrayEquals(new HasilOperasi[]{HasilOperasi.TIDAK_AKTIF}, hasil.get("PROD002"));
+        assertArrayEquals(new HasilOperasi[]{HasilOperasi.TIDAK_DITEMUKAN}, hasil.get("XXX999"));
+        assertEquals(9, repository.cariByKode("PROD001").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Query nama, kategori, dan status stok")
+    void testQuery() {
+        assertEquals(1, repository.cariByNama("MOUSE").size());
+        assertTrue(repository.cariByNama(null).isEmpty());
+        assertEquals(2, repository.cariByKategori("Elektronik").size());
+        assertTrue(repository.cariByKategori(null).isEmpty());
+        assertEquals("PROD002", repository.cariProdukStokMenipis().get(0).getKode());
+        assertEquals("PROD003", repository.cariProdukStokHabis().get(0).getKode());
+        assertEquals(3, repository.cariSemua().size());
+        assertTrue(repository.cariByKode(null).isEmpty());
+        assertFalse(repository.hapus(null));
+    }
+}
@@ -0,0 +1,314 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.HasilOperasi;
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test RepositoryProdukPartisi - Katalog Terbagi ke Beberapa Shard")
+public class RepositoryProdukPartisiTest {
+    private static final int JUMLAH_SHARD = 4;
+
+    private final List<RepositoryProdukInMemory> node = new ArrayList<>();
+    private final List<NodeShard> server = new ArrayList<>();
+    private RepositoryProdukPartisi repository;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (repository != null) {
+            repository.close();
+        }
+        for (NodeShard nodeShard : server) {
+            nodeShard.close();
+        }
+    }
+
+    private RepositoryProdukPartisi buatPartisi(boolean soket) throws IOException {
+        List<TransportShard> transport = new ArrayList<>();
+        for (int i = 0; i < JUMLAH_SHARD; i++) {
+            RepositoryProdukInMemory repositoryNode = new RepositoryProdukInMemory();
+            node.add(repositoryNode);
+            if (soket) {
+                NodeShard nodeShard = new NodeShard(repositoryNode,
+                        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+                nodeShard.mulai();
+                server.add(nodeShard);
+                transport.add(new TransportShardSoket(nodeShard.getAlamat()));
+            } else {
+                transport.add(new TransportShardLokal(repositoryNode));
+            }
+        }
+        repository = new RepositoryProdukPartisi(transport);
+        return repository;
+    }
+
+    // Katalog yang sama disimpan ke partisi dan ke satu repository pembanding
+    private static void isi(RepositoryProduk... tujuan) {
+        for (int i = 0; i < 200; i++) {
+            Produk produk = new Produk(String.format("P%04d", i), "Barang " + (i % 7 == 0 ? "Laris " : "") + i,
+                    i % 3 == 0 ? "Elektronik" : "ATK", 1000 + i * 10.5, i % 11, 5);
+            produk.setAktif(i % 20 != 0);
+            for (RepositoryProduk repository : tujuan) {
+                repository.simpan(new Produk(produk));
+            }
+        }
+    }
+
+    private static List<String> kode(List<Produk> daftar) {
+        return daftar.stream().map(Produk::getKode).sorted().toList();
+    }
+
+    // ======================================================
+    // ================ Operasi Satu Kode ===================
+    // ======================================================
+
+    @ParameterizedTest(name = "soket = {0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Setiap produk tersimpan hanya di shard pemiliknya")
+    void testRuteSatuShard(boolean soket) throws IOException {
+        RepositoryProdukPartisi partisi = buatPartisi(soket);
+        isi(partisi);
+
+        for (int i = 0; i < 200; i++) {
+            String kode = String.format("P%04d", i);
+            int pemilik = partisi.shardUntuk(kode);
+            for (int s = 0; s < JUMLAH_SHARD; s++) {
+                assertEquals(s == pemilik, node.get(s).cariByKode(kode).isPresent());
+            }
+        }
+        assertTrue(node.stream().allMatch(n -> !n.cariSemua().isEmpty()));
+    }
+
+    @ParameterizedTest(name = "soket = {0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Operasi tulis satu kode sampai ke shard pemiliknya")
+    void testOperasiSatuKode(boolean soket) throws IOException {
+        RepositoryProdukPartisi partisi = buatPartisi(soket);
+        assertTrue(partisi.simpan(new Produk("PROD001", "Laptop", "Elektronik", 15000000, 10, 5)));
+
+        assertEquals(HasilOperasi.BERHASIL, partisi.kurangiStokJikaCukup("PROD001", 4));
+        assertEquals(HasilOperasi.STOK_TIDAK_CUKUP, partisi.kurangiStokJikaCukup("PROD001", 7));
+        assertEquals(HasilOperasi.BERHASIL, partisi.tambahStok("PROD001", 2));
+        assertTrue(partisi.updateStok("PROD001", 9));
+        assertTrue(partisi.ubahStatusAktif("PROD001", false));
+        assertEquals(HasilOperasi.TIDAK_AKTIF, partisi.tambahStok("PROD001", 1));
+
+        Produk produk = partisi.cariByKode("PROD001").get();
+        assertEquals(9, produk.getStok());
+        assertFalse(produk.isAktif());
+        assertEquals("Laptop", partisi.lihatByKode("PROD001").get().nama());
+
+        assertTrue(partisi.hapus("PROD001"));
+        assertFalse(partisi.hapus("PROD001"));
+        assertEquals(HasilOperasi.TIDAK_DITEMUKAN, partisi.kurangiStokJikaCukup("PROD001", 1));
+        assertTrue(partisi.cariByKode("PROD001").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Kode null dan jumlah tidak valid ditolak tanpa menghubungi shard")
+    void testInputTidakValid() throws IOException {
+        RepositoryProdukPartisi partisi = buatPartisi(false);
+
+        assertFalse(partisi.simpan(null));
+        assertFalse(partisi.simpan(new Produk(null, "X", "ATK", 1, 1, 1)));
+        assertTrue(partisi.cariByKode(null).isEmpty());
+        assertFalse(partisi.hapus(null));
+        assertFalse(partisi.updateStok(null, 1));
+        assertEquals(HasilOperasi.TIDAK_DITEMUKAN, partisi.tambahStok(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> partisi.kurangiStokJikaCukup("PROD001", 0));
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryProdukPartisi(List.of()));
+    }
+
+    // ======================================================
+    // ================ Scatter-Gather ======================
+    // ======================================================
+
+    @ParameterizedTest(name = "soket = {0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Pencarian dan agregat gabungan sama dengan satu repository")
+    void testSamaDenganSatuRepository(boolean soket) throws IOException {
+        RepositoryProdukPartisi partisi = buatPartisi(soket);
+        RepositoryProdukInMemory pembanding = new RepositoryProdukInMemory();
+        isi(partisi, pembanding);
+
+        assertEquals(kode(pembanding.cariSemua()), kode(partisi.cariSemua()));
+        assertEquals(kode(pembanding.cariByKategori("ATK")), kode(partisi.cariByKategori("ATK")));
+        assertEquals(kode(pembanding.cariByNama("laris")), kode(partisi.cariByNama("laris")));
+        assertEquals(kode(pembanding.cariProdukStokMenipis()), kode(partisi.cariProdukStokMenipis()));
+        assertEquals(kode(pembanding.cariProdukStokHabis()), kode(partisi.cariProdukStokHabis()));
+        assertEquals(kode(pembanding.cariByAwalanNama("lar", 0, 100)), kode(partisi.cariByAwalanNama("lar", 0, 100)));
+        assertEquals(kode(pembanding.aliranByKategori("Elektronik").toList()),
+                kode(partisi.aliranByKategori("Elektronik").toList()));
+
+        assertEquals(pembanding.hitungTotalNilaiAktifSen(), partisi.hitungTotalNilaiAktifSen());
+        assertEquals(pembanding.hitungTotalStokAktif(), partisi.hitungTotalStokAktif());
+        assertEquals(pembanding.hitungTotalNilaiAktif(), partisi.hitungTotalNilaiAktif(), 1e-3);
+    }
+
+    @Test
+    @DisplayName("Aliran meminta isi shard per halaman, tidak seluruh shard sekaligus")
+    void testAliranBerhalaman() {
+        List<Integer> ukuranJawaban = new ArrayList<>();
+        List<TransportShard> transport = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            RepositoryProdukInMemory repositoryNode = new RepositoryProdukInMemory();
+            transport.add(new TransportShard() {
+                @Override
+                public <T> T kirim(PermintaanShard<T> permintaan) {
+                    T jawaban = permintaan.jalankan(repositoryNode);
+                    if (jawaban instanceof List<?> daftar) {
+                        ukuranJawaban.add(daftar.size());
+                    }
+                    return jawaban;
+                }
+
+                @Override
+                public void close() {
+                }
+            });
+        }
+        repository = new RepositoryProdukPartisi(transport);
+        int jumlah = 5 * RepositoryProdukPartisi.HALAMAN_ALIRAN;
+        for (int i = 0; i < jumlah; i++) {
+            repository.simpan(new Produk(String.format("P%05d", i), "Barang " + i, "ATK", 1000, i % 4, 2));
+        }
+
+        assertEquals(jumlah, repository.aliranSemua().count());
+        assertTrue(ukuranJawaban.stream().allMatch(n -> n <= RepositoryProdukPartisi.HALAMAN_ALIRAN));
+        assertTrue(ukuranJawaban.size() >= 5);
+        assertEquals(jumlah / 4, repository.aliranProdukStokHabis().count());
+        assertEquals(jumlah, repository.aliranByKategori("ATK").map(Produk::getKode).distinct().count());
+
+        // Konsumen yang berhenti lebih awal hanya memicu satu permintaan
+        ukuranJawaban.clear();
+        assertTrue(repository.aliranSemua().findFirst().isPresent());
+        assertEquals(1, ukuranJawaban.size());
+    }
+
+    @ParameterizedTest(name = "soket = {0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Halaman kursor gabungan urut kode dan lengkap")
+    void testHalamanKursor(boolean soket) throws IOException {
+        RepositoryProdukPartisi partisi = buatPartisi(soket);
+        RepositoryProdukInMemory pembanding = new RepositoryProdukInMemory();
+        isi(partisi, pembanding);
+
+        List<Produk> semua = new ArrayList<>();
+        String setelah = null;
+        List<Produk> halaman;
+        while (!(halaman = partisi.cariSemua(setelah, 17)).isEmpty()) {
+            assertTrue(halaman.size() <= 17);
+            semua.addAll(halaman);
+            setelah = halaman.get(halaman.size() - 1).getKode();
+        }
+        assertEquals(kode(pembanding.cariSemua()), semua.stream().map(Produk::getKode).toList());
+
+        assertEquals(pembanding.cariByKategori("Elektronik", "P0050", 10).stream().map(Produk::getKode).toList(),
+                partisi.cariByKategori("Elektronik", "P0050", 10).stream().map(Produk::getKode).toList());
+        assertEquals(pembanding.cariProdukStokMenipis(null, 5).stream().map(Produk::getKode).toList(),
+                partisi.cariProdukStokMenipis(null, 5).stream().map(Produk::getKode).toList());
+        assertEquals(pembanding.cariProdukStokHabis("P0010", 5).stream().map(Produk::getKode).toList(),
+                partisi.cariProdukStokHabis("P0010", 5).stream().map(Produk::getKode).toList());
+        assertEquals(pembanding.cariByNama("laris", null, 3).stream().map(Produk::getKode).toList(),
+                partisi.cariByNama("laris", null, 3).stream().map(Produk::getKode).toList());
+        assertTrue(partisi.cariSemua(null, 0).isEmpty());
+    }
+
+    @ParameterizedTest(name = "soket = {0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("terapkanMutasi lintas shard mengembalikan hasil per kode")
+    void testTerapkanMutasi(boolean soket) throws IOException {
+        RepositoryProdukPartisi partisi = buatPartisi(soket);
+        RepositoryProdukInMemory pembanding = new RepositoryProdukInMemory();
+        isi(partisi, pembanding);
+        Map<String, int[]> mutasi = Map.of(
+                "P0001", new int[] {5, -3},
+                "P0002", new int[] {-100},
+                "P0020", new int[] {1},
+                "P0150", new int[] {-1, -1},
+                "XXX999", new int[] {1});
+
+        Map<String, HasilOperasi[]> hasil = partisi.terapkanMutasi(mutasi);
+        Map<String, HasilOperasi[]> harapan = pembanding.terapkanMutasi(mutasi);
+
+        assertEquals(harapan.keySet(), hasil.keySet());
+        for (String kode : harapan.keySet()) {
+            assertArrayEquals(harapan.get(kode), hasil.get(kode), kode);
+            assertEquals(pembanding.cariByKode(kode).map(Produk::getStok), partisi.cariByKode(kode).map(Produk::getStok));
+        }
+    }
+
+    // ======================================================
+    // ================ Transport Soket =====================
+    // ======================================================
+
+    @Test
+    @DisplayName("IllegalArgumentException dari node dilempar ulang di pemanggil")
+    void testGalatArgumenLewatSoket() throws IOException {
+        RepositoryProdukPartisi partisi = buatPartisi(true);
+
+        IllegalArgumentException galat = assertThrows(IllegalArgumentException.class,
+                () -> partisi.cariSemua(null, -1));
+        assertEquals("lewati dan batas tidak boleh negatif", galat.getMessage());
+        // Koneksi tetap bisa dipakai sesudah galat
+        assertTrue(partisi.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 1, 1)));
+    }
+
+    @Test
+    @DisplayName("Node yang mati membuat permintaan gagal dengan UncheckedIOException")
+    void testNodeMati() throws IOException {
+        RepositoryProdukPartisi partisi = buatPartisi(true);
+        isi(partisi);
+        server.get(partisi.shardUntuk("P0001")).close();
+
+        assertThrows(UncheckedIOException.class, () -> partisi.cariByKode("P0001"));
+        assertThrows(UncheckedIOException.class, partisi::cariSemua);
+    }
+
+    @Test
+    @DisplayName("Permintaan bersamaan lewat soket tidak kehilangan update")
+    void testPermintaanBersamaanLewatSoket() throws Exception {
+        RepositoryProdukPartisi partisi = buatPartisi(true);
+        for (int i = 0; i < 8; i++) {
+            partisi.simpan(new Produk("PROD00" + i, "Barang", "ATK", 1000, 0, 1));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tugas = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                tugas.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        assertEquals(HasilOperasi.BERHASIL, partisi.tambahStok("PROD00" + (i % 8), 1));
+                    }
+                }));
+            }
+            for (Future<?> f : tugas) {
+                f.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1600, partisi.hitungTotalStokAktif());
+        for (Produk produk : partisi.cariSemua()) {
+            assertEquals(200, produk.getStok(), produk.getKode());
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.HasilOperasi;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Test Implementasi Bawaan RepositoryProduk")
+public class RepositoryProdukTest {
+    private RepositoryProduk repository;
+    private Produk produkAktif;
+
+    @BeforeEach
+    void setUp() {
+        // Metode abstrak di-stub, metode default menjalankan implementasi aslinya
+        repository = mock(RepositoryProduk.class, CALLS_REAL_METHODS);
+        produkAktif = new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5);
+    }
+
+    // ======================================================
+    // ================ kurangiStokJikaCukup() ==============
+    // ======================================================
+
+    @Test
+    @DisplayName("Kurangi stok bawaan - berhasil lewat updateStok")
+    void testKurangiStokBawaanBerhasil() {
+        doReturn(Optional.of(produkAktif)).when(repository).cariByKode("PROD001");
+        doReturn(true).when(repository).updateStok("PROD001", 4);
+
+        assertEquals(HasilOperasi.BERHASIL, repository.kurangiStokJikaCukup("PROD001", 6));
+    }
+
+    @Test
+    @DisplayName("Kurangi stok bawaan - semua alasan penolakan")
+    void testKurangiStokBawaanGagal() {
+        Produk nonAktif = new Produk("PROD002", "Mouse", "Elektronik", 500000, 10, 3);
+        nonAktif.setAktif(false);
+        doReturn(Optional.empty()).when(repository).cariByKode("XXX999");
+        doReturn(Optional.of(nonAktif)).when(repository).cariByKode("PROD002");
+        doReturn(Optional.of(produkAktif)).when(repository).cariByKode("PROD001");
+        doReturn(false).when(repository).updateStok("PROD001", 0);
+
+        assertEquals(HasilOperasi.TIDAK_DITEMUKAN, repository.kurangiStokJikaCukup("XXX999", 1));
+        assertEquals(HasilOperasi.TIDAK_AKTIF, repository.kurangiStokJikaCukup("PROD002", 1));
+        assertEquals(HasilOperasi.STOK_TIDAK_CUKUP, repository.kurangiStokJikaCukup("PROD001", 11));
+        assertEquals(HasilOperasi.TIDAK_DITEMUKAN, repository.kurangiStokJikaCukup("PROD001", 10));
+        assertThrows(IllegalArgumentException.class, () -> repository.kurangiStokJikaCukup("PROD001", 0));
+    }
+
+    // ======================================================
+    // ================ tambahStok() ========================
+    // ======================================================
+
+    @Test
+    @DisplayName("Tambah stok bawaan - berhasil dan gagal")
+    void testTambahStokBawaan() {
+        Produk nonAktif = new Produk("PROD002", "Mouse", "Elektronik", 500000, 10, 3);
+        nonAktif.setAktif(false);
+        doReturn(Optional.empty()).when(repository).cariByKode("XXX999");
+        doReturn(Optional.of(nonAktif)).when(repository).cariByKode("PROD002");
+        doReturn(Optional.of(produkAktif)).when(repository).cariByKode("PROD001");
+        doReturn(true).when(repository).updateStok("PROD001", 15);
+
+        assertEquals(HasilOperasi.BERHASIL, repository.tambahStok("PROD001", 5));
+        assertEquals(HasilOperasi.TIDAK_DITEMUKAN, repository.tambahStok("XXX999", 5));
+        assertEquals(HasilOperasi.TIDAK_AKTIF, repository.tambahStok("PROD002", 5));
+        assertThrows(IllegalArgumentException.class, () -> repository.tambahStok("PROD001", 0));
+        assertEquals(HasilOperasi.JUMLAH_TIDAK_VALID, repository.tambahStok("PROD001", Integer.MAX_VALUE));
+        verify(repository).updateStok("PROD001", 15);
+    }
+
+    // ======================================================
+    // ================ terapkanMutasi() ====================
+    // ======================================================
+
+    @Test
+    @DisplayName("Terapkan mutasi bawaan - satu updateStok per kode")
+    void testTerapkanMutasiBawaan() {
+        Produk nonAktif = new Produk("PROD002", "Mouse", "Elektronik", 500000, 10, 3);
+        nonAktif.setAktif(false);
+        doReturn(Optional.of(produkAktif)).when(repository).cariByKode("PROD001");
+        doReturn(Optional.of(nonAktif)).when(repository).cariByKode("PROD002");
+        doReturn(Optional.empty()).when(repository).cariByKode("XXX999");
+        doReturn(true).when(repository).updateStok("PROD001", 12);
+
+        Map<String, HasilOperasi[]> hasil = repository.terapkanMutasi(Map.of(
+                "PROD001", new int[]{5, -20, -3},
+                "PROD002", new int[]{1},
+                "XXX999", new int[]{1}));
+
+        assertArrayEquals(new HasilOperasi[]{HasilOperasi.BERHASIL, HasilOperasi.STOK_TIDAK_CUKUP,
+                HasilOperasi.BERHASIL}, hasil.get("PROD001"));
+        assertArrayEquals(new HasilOperasi[]{HasilOperasi.TIDAK_AKTIF}, hasil.get("PROD002"));
+        assertArrayEquals(new HasilOperasi[]{HasilOperasi.TIDAK_DITEMUKAN}, hasil.get("XXX999"));
+        verify(repository, times(1)).updateStok("PROD001", 12);
+    }
+
+    @Test
+    @DisplayName("Terapkan mutasi bawaan - updateStok gagal menandai semua baris tidak ditemukan")
+    void testTerapkanMutasiBawaanUpdateGagal() {
+        doReturn(Optional.of(produkAktif)).when(repository).cariByKode("PROD001");
+        doReturn(false).when(repository).updateStok("PROD001", 11);
+
+        Map<String, HasilOperasi[]> hasil = repository.terapkanMutasi(Map.of("PROD001", new int[]{1}));
+
+        assertArrayEquals(new HasilOperasi[]{HasilOperasi.TIDAK_DITEMUKAN}, hasil.get("PROD001"));
+    }
+
+    @Test
+    @DisplayName("lihatByKode bawaan mengonversi hasil cariByKode")
+    void testLihatByKodeBawaan() {
+        Produk produk = new Produk("A01", "Barang1", "Elektronik", 1000, 5, 1);
+        doReturn(Optional.of(produk)).when(repository).cariByKode("A01");
+        doReturn(Optional.empty()).when(repository).cariByKode("B01");
+
+        assertEquals(ProdukSnapshot.dari(produk), repository.lihatByKode("A01").get());
+        assertTrue(repository.lihatByKode("B01").isEmpty());
+    }
+
+    // ======================================================
+    // ================ Paging & Pencarian Nama =============
+    // ======================================================
+
+    @Test
+    @DisplayName("Cari nama dan awalan bawaan - urut kode dengan lewati dan batas")
+    void testCariNamaBerhalamanBawaan() {
+        Produk p1 = new Produk("C01", "Mouse Gaming", "Elektronik", 1000, 5, 1);
+        Produk p2 = new Produk("A01", "Mouse-Pad", "Elektronik", 2000, 3, 1);
+        Produk p3 = new Produk("B01", "Keyboard Gaming", "Elektronik", 3000, 10, 1);
+        doReturn(Arrays.asList(p1, p2)).when(repository).cariByNama("mouse");
+        doReturn(Arrays.asList(p1, p2, p3, new Produk())).when(repository).cariSemua();
+
+        assertEquals(List.of("A01", "C01"), kode(repository.cariByNama("mouse", 0, 10)));
+        assertEquals(List.of("C01"), kode(repository.cariByNama("mouse", 1, 1)));
+        assertTrue(repository.cariByNama("mouse", 5, 10).isEmpty());
+
+        assertEquals(List.of("B01", "C01"), kode(repository.cariByAwalanNama("GAM", 0, 10)));
+        assertEquals(List.of("C01"), kode(repository.cariByAwalanNama("gam mou", 0, 10)));
+        assertEquals(List.of("A01"), kode(repository.cariByAwalanNama("pad", 0, 10)));
+        assertTrue(repository.cariByAwalanNama("ouse", 0, 10).isEmpty());
+        assertTrue(repository.cariByAwalanNama(" - ", 0, 10).isEmpty());
+        assertTrue(repository.cariByAwalanNama(null, 0, 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> repository.cariByNama("mouse", -1, 10));
+        assertThrows(IllegalArgumentException.class, () -> repository.cariByAwalanNama("mouse", 0, -1));
+    }
+
+    @Test
+    @DisplayName("Paging kursor dan aliran bawaan urut kode dengan filter yang sama seperti versi daftar")
+    void testPagingKursorDanAliranBawaan() {
+        Produk p1 = new Produk("C01", "Mouse Gaming", "Elektronik", 1000, 5, 1);
+        Produk p2 = new Produk("A01", "Mouse-Pad", "Aksesoris", 2000, 3, 5);
+        Produk p3 = new Produk("B01", "Keyboard", "Elektronik", 3000, 2, 5);
+        Produk p4 = new Produk("D01", "Mousepad XL", "Aksesoris", 4000, 0, 5);
+        doReturn(Arrays.asList(p1, p2, p3, p4)).when(repository).cariSemua();
+
+        assertEquals(List.of("A01", "B01"), kode(repository.cariSemua(null, 2)));
+        assertEquals(List.of("C01", "D01"), kode(repository.cariSemua("B01", 2)));
+        assertTrue(repository.cariSemua("D01", 2).isEmpty());
+        assertTrue(repository.cariSemua(null, 0).isEmpty());
+        assertEquals(List.of("D01"), kode(repository.cariByKategori("Aksesoris", "A01", 10)));
+        assertEquals(List.of("C01", "D01"), kode(repository.cariByNama("MOUSE", "A01", 10)));
+        assertEquals(List.of("A01", "B01"), kode(repository.cariProdukStokMenipis(null, 10)));
+        assertEquals(List.of("D01"), kode(repository.cariProdukStokHabis(null, 10)));
+        assertTrue(repository.cariProdukStokHabis("D01", 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> repository.cariSemua(null, -1));
+
+        assertEquals(4, repository.aliranSemua().count());
+        assertEquals(2, repository.aliranByKategori("Elektronik").count());
+        assertEquals(3, repository.aliranByNama("mouse").count());
+        assertEquals(0, repository.aliranByNama(null).count());
+        assertEquals(0, repository.aliranByKategori(null).count());
+    }
+
+    private static List<String> kode(List<Produk> daftar) {
+        return daftar.stream().map(Produk::getKode).toList();
+    }
+
+    // ======================================================
+    // ================ Agregat & ubahStatusAktif() =========
+    // ======================================================
+
+    @Test
+    @DisplayName("Total nilai dan stok bawaan hanya menghitung produk aktif")
+    void testAgregatBawaan() {
+        Produk p1 = new Produk("A01", "Barang1", "Elektronik", 1000, 5, 1);
+        Produk p2 = new Produk("B01", "Barang2", "Elektronik", 2000, 3, 1);
+        p2.setAktif(false);
+        Produk p3 = new Produk("C01", "Barang3", "Elektronik", 3000, 10, 1);
+        doReturn(Arrays.asList(p1, p2, p3)).when(repository).cariSemua();
+
+        assertEquals((1000 * 5) + (3000 * 10), repository.hitungTotalNilaiAktif());
+        assertEquals(15, repository.hitungTotalStokAktif());
+        assertEquals((100_000L * 5) + (300_000L * 10), repository.hitungTotalNilaiAktifSen());
+    }
+
+    @Test
+    @DisplayName("Ubah status aktif bawaan menyimpan ulang produk")
+    void testUbahStatusAktifBawaan() {
+        doReturn(Optional.of(produkAktif)).when(repository).cariByKode("PROD001");
+        doReturn(Optional.empty()).when(repository).cariByKode("XXX999");
+        doReturn(true).when(repository).simpan(any());
+
+        assertTrue(repository.ubahStatusAktif("PROD001", false));
+        assertFalse(repository.ubahStatusAktif("XXX999", false));
+        verify(repository).simpan(argThat(p -> !p.isAktif()));
+    }
+}
@@ -0,0 +1,249 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.HasilOperasi;
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test RepositoryProdukWal - Write-Ahead Log, Snapshot, dan Replay")
+public class RepositoryProdukWalTest {
+    @TempDir
+    Path folder;
+
+    private RepositoryProdukWal repository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        repository = new RepositoryProdukWal(new RepositoryProdukInMemory(), folder);
+        repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        repository.simpan(new Produk("PROD002", "Mouse Wireless", "Elektronik", 500000, 3, 5));
+        repository.simpan(new Produk("PROD003", "Buku Tulis", "ATK", 5000, 0, 10));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        repository.close();
+    }
+
+    // Tutup lalu bangun ulang dari disk ke repository memori yang baru
+    private RepositoryProdukWal mulaiUlang() throws IOException {
+        repository.close();
+        repository = new RepositoryProdukWal(new RepositoryProdukInMemory(), folder);
+        return repository;
+    }
+
+    private List<String> daftarFile(String awalan) throws IOException {
+        try (Stream<Path> isi = Files.list(folder)) {
+            return isi.map(p -> p.getFileName().toString()).filter(n -> n.startsWith(awalan)).sorted().toList();
+        }
+    }
+
+    // ======================================================
+    // ================ Replay ==============================
+    // ======================================================
+
+    @Test
+    @DisplayName("Semua jenis perubahan diputar ulang setelah restart")
+    void testReplaySemuaPerubahan() throws IOException {
+        assertTrue(repository.updateStok("PROD001", 20));
+        assertEquals(HasilOperasi.BERHASIL, repository.kurangiStokJikaCukup("PROD001", 5));
+        assertEquals(HasilOperasi.BERHASIL, repository.tambahStok("PROD003", 8));
+        repository.terapkanMutasi(Map.of("PROD002", new int[]{4, -1}));
+        assertTrue(repository.ubahStatusAktif("PROD002", false));
+        assertTrue(repository.hapus("PROD003"));
+
+        RepositoryProdukWal dipulihkan = mulaiUlang();
+
+        assertEquals(15, dipulihkan.cariByKode("PROD001").get().getStok());
+        assertEquals(6, dipulihkan.cariByKode("PROD002").get().getStok());
+        assertFalse(dipulihkan.cariByKode("PROD002").get().isAktif());
+        assertTrue(dipulihkan.cariByKode("PROD003").isEmpty());
+        assertEquals(15, dipulihkan.hitungTotalStokAktif());
+        assertEquals(15000000.0 * 15, dipulihkan.hitungTotalNilaiAktif());
+    }
+
+    @Test
+    @DisplayName("Operasi yang ditolak tidak dicatat di log")
+    void testOperasiGagalTidakDicatat() throws IOException {
+        assertFalse(repository.simpan(null));
+        assertFalse(repository.simpan(new Produk("NEG01", "Negatif", "ATK", 1, -1, 0)));
+        assertFalse(repository.updateStok("XXX999", 1));
+        assertFalse(repository.updateStok(null, 1));
+        assertFalse(repository.hapus("XXX999"));
+        assertFalse(repository.hapus(null));
+        assertFalse(repository.ubahStatusAktif("XXX999", false));
+        assertFalse(repository.ubahStatusAktif(null, false));
+        assertEquals(HasilOperasi.STOK_TIDAK_CUKUP, repository.kurangiStokJikaCukup("PROD001", 100));
+        assertEquals(HasilOperasi.TIDAK_DITEMUKAN, repository.tambahStok("XXX999", 1));
+        assertEquals(HasilOperasi.TIDAK_DITEMUKAN, repository.kurangiStokJikaCukup(null, 1));
+        assertEquals(HasilOperasi.TIDAK_DITEMUKAN, repository.tambahStok(null, 1));
+        long fsyncSebelum = repository.jumlahFsync();
+
+        Map<String, HasilOperasi[]> hasil = repository.terapkanMutasi(Map.of("PROD003", new int[]{-1}));
+        assertArrayEquals(new HasilOperasi[]{HasilOperasi.STOK_TIDAK_CUKUP}, hasil.get("PROD003"));
+        assertEquals(fsyncSebelum, repository.jumlahFsync());
+
+        RepositoryProdukWal dipulihkan = mulaiUlang();
+        assertEquals(3, dipulihkan.cariSemua().size());
+        assertEquals(10, dipulihkan.cariByKode("PROD001").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Ekor log yang terpotong diabaikan saat replay")
+    void testEkorLogTerpotong() throws IOException {
+        repository.updateStok("PROD001", 99);
+        repository.close();
+
+        Path segmen = folder.resolve(daftarFile("wal-").get(0));
+        Files.write(segmen, new byte[]{0, 0, 0, 50, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        repository = new RepositoryProdukWal(new RepositoryProdukInMemory(), folder);
+        assertEquals(99, repository.cariByKode("PROD001").get().getStok());
+        assertEquals(3, repository.cariSemua().size());
+    }
+
+    // ======================================================
+    // ================ Snapshot ============================
+    // ======================================================
+
+    @Test
+    @DisplayName("Snapshot memadatkan log dan tetap bisa dipulihkan bersama log setelahnya")
+    void testSnapshotDanLogSetelahnya() throws IOException {
+        for (int i = 0; i < 50; i++) {
+            repository.updateStok("PROD001", i);
+        }
+        repository.snapshot();
+        repository.updateStok("PROD002", 77);
+        repository.hapus("PROD003");
+
+        assertEquals(1, daftarFile("snapshot-").size());
+        assertEquals(1, daftarFile("wal-").size());
+
+        RepositoryProdukWal dipulihkan = mulaiUlang();
+        assertEquals(49, dipulihkan.cariByKode("PROD001").get().getStok());
+        assertEquals(77, dipulihkan.cariByKode("PROD002").get().getStok());
+        assertTrue(dipulihkan.cariByKode("PROD003").isEmpty());
+
+        // Snapshot kedua menggantikan snapshot pertama
+        dipulihkan.snapshot();
+        assertEquals(1, daftarFile("snapshot-").size());
+        assertEquals(2, mulaiUlang().cariSemua().size());
+    }
+
+    @Test
+    @DisplayName("Snapshot berkala dibuat oleh penjadwal")
+    void testSnapshotBerkala() throws Exception {
+        repository.close();
+        repository = new RepositoryProdukWal(new RepositoryProdukInMemory(), folder, Duration.ofMillis(20));
+        repository.updateStok("PROD002", 12);
+
+        long batas = System.currentTimeMillis() + 5000;
+        while (daftarFile("snapshot-").isEmpty() && System.currentTimeMillis() < batas) {
+            Thread.sleep(10);
+        }
+        assertFalse(daftarFile("snapshot-").isEmpty());
+        assertEquals(12, mulaiUlang().cariByKode("PROD002").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Snapshot berkala yang gagal dicatat dan dibersihkan setelah berhasil")
+    void testSnapshotBerkalaGagalDicatat() throws Exception {
+        repository.close();
+        AtomicBoolean gagal = new AtomicBoolean(true);
+        RepositoryProdukInMemory delegate = new RepositoryProdukInMemory() {
+            @Override
+            public List<Produk> cariSemua() {
+                if (gagal.get()) {
+                    throw new IllegalStateException("Delegate gagal");
+                }
+                return super.cariSemua();
+            }
+        };
+        repository = new RepositoryProdukWal(delegate, folder, Duration.ofMillis(20));
+
+        long batas = System.currentTimeMillis() + 5000;
+        while (repository.jumlahSnapshotGagal() == 0 && System.currentTimeMillis() < batas) {
+            Thread.sleep(10);
+        }
+        assertTrue(repository.jumlahSnapshotGagal() > 0);
+        assertInstanceOf(IllegalStateException.class, repository.galatSnapshotTerakhir().orElseThrow());
+
+        gagal.set(false);
+        while (repository.galatSnapshotTerakhir().isPresent() && System.currentTimeMillis() < batas) {
+            Thread.sleep(10);
+        }
+        assertTrue(repository.galatSnapshotTerakhir().isEmpty());
+        assertFalse(daftarFile("snapshot-").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Snapshot dengan format lain ditolak saat start")
+    void testSnapshotRusak() throws IOException {
+        repository.close();
+        Files.write(folder.resolve(RepositoryProdukWal.namaSnapshot(99)), new byte[]{1, 2, 3, 4});
+        assertThrows(IOException.class,
+                () -> new RepositoryProdukWal(new RepositoryProdukInMemory(), folder));
+        repository = new RepositoryProdukWal(new RepositoryProdukInMemory(), folder.resolve("baru"));
+    }
+
+    // ======================================================
+    // ================ Group Commit ========================
+    // ======================================================
+
+    @Test
+    @DisplayName("Penulis bersamaan berbagi fsync dan semua perubahan durable")
+    void testGroupCommit() throws Exception {
+        int jumlahThread = 16;
+        int perThread = 200;
+        for (int t = 0; t < jumlahThread; t++) {
+            repository.simpan(new Produk("T" + t, "Barang Thread", "ATK", 1000, 0, 1));
+        }
+        long fsyncSebelum = repository.jumlahFsync();
+
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahThread);
+        for (int t = 0; t < jumlahThread; t++) {
+            String kode = "T" + t;
+            executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    repository.tambahStok(kode, 1);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+        long fsync = repository.jumlahFsync() - fsyncSebelum;
+        assertTrue(fsync < (long) jumlahThread * perThread, "fsync: " + fsync);
+
+        RepositoryProdukWal dipulihkan = mulaiUlang();
+        for (int t = 0; t < jumlahThread; t++) {
+            assertEquals(perThread, dipulihkan.cariByKode("T" + t).get().getStok());
+        }
+    }
+
+    @Test
+    @DisplayName("Menulis setelah ditutup ditolak")
+    void testTulisSetelahDitutup() throws IOException {
+        repository.close();
+        assertThrows(IllegalStateException.class, () -> repository.updateStok("PROD001", 1));
+        repository.close();
+    }
+}
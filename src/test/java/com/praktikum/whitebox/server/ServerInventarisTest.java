@@ -0,0 +1,208 @@
+package com.praktikum.whitebox.server;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProdukInMemory;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test ServerInventaris - Front-end HTTP")
+public class ServerInventarisTest {
+
+    private RepositoryProdukInMemory repository;
+    private ServerInventaris server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        repository = new RepositoryProdukInMemory();
+        repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        repository.simpan(new Produk("PROD002", "Mouse \"Wireless\"", "Elektronik", 500000, 3, 5));
+        repository.simpan(new Produk("PROD003", "Buku Tulis", "Alat Tulis", 5000.5, 0, 10));
+
+        server = new ServerInventaris(new ServiceInventaris(repository),
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.mulai();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    private HttpResponse<String> kirim(String metode, String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + path))
+                .method(metode, HttpRequest.BodyPublishers.noBody())
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    // ======================================================
+    // ================ Baca ================================
+    // ======================================================
+
+    @Test
+    @DisplayName("GET /produk/{kode} mengembalikan JSON produk atau 404")
+    void testLihatProduk() throws Exception {
+        HttpResponse<String> respons = kirim("GET", "/produk/PROD002");
+
+        assertEquals(200, respons.statusCode());
+        assertEquals("application/json; charset=utf-8", respons.headers().firstValue("Content-Type").orElseThrow());
+        assertEquals("{\"kode\":\"PROD002\",\"nama\":\"Mouse \\\"Wireless\\\"\",\"kategori\":\"Elektronik\","
+                + "\"hargaSen\":50000000,\"stok\":3,\"stokMinimum\":5,\"aktif\":true}", respons.body());
+
+        assertEquals(404, kirim("GET", "/produk/TIDAKADA").statusCode());
+    }
+
+    @Test
+    @DisplayName("GET /produk mendukung halaman kursor, kategori, dan pencarian nama")
+    void testDaftarProduk() throws Exception {
+        String halaman = kirim("GET", "/produk?setelah=PROD001&batas=1").body();
+        assertTrue(halaman.startsWith("{\"jumlah\":1,\"produk\":[{\"kode\":\"PROD002\""), halaman);
+
+        String kategori = kirim("GET", "/produk?kategori=Alat%20Tulis").body();
+        assertTrue(kategori.startsWith("{\"jumlah\":1,\"produk\":[{\"kode\":\"PROD003\""), kategori);
+        assertTrue(kategori.contains("\"hargaSen\":500050"), kategori);
+
+        String nama = kirim("GET", "/produk?nama=laptop").body();
+        assertTrue(nama.startsWith("{\"jumlah\":1,\"produk\":[{\"kode\":\"PROD001\""), nama);
+
+        assertEquals("{\"jumlah\":3,", kirim("GET", "/produk/").body().substring(0, 12));
+    }
+
+    @Test
+    @DisplayName("GET /inventaris memberi nilai total, stok menipis, dan stok habis")
+    void testInventaris() throws Exception {
+        assertEquals("{\"nilaiSen\":" + (1500000000L * 10 + 50000000L * 3) + ",\"stok\":13}",
+                kirim("GET", "/inventaris/nilai").body());
+        assertTrue(kirim("GET", "/inventaris/menipis").body().contains("\"kode\":\"PROD002\""));
+        assertTrue(kirim("GET", "/inventaris/habis").body().contains("\"kode\":\"PROD003\""));
+        assertTrue(kirim("GET", "/inventaris/habis?setelah=PROD003").body().startsWith("{\"jumlah\":0,"));
+        assertTrue(kirim("GET", "/inventaris/habis?batas=0").body().startsWith("{\"jumlah\":0,"));
+        assertEquals(404, kirim("GET", "/inventaris/lain").statusCode());
+        assertEquals(405, kirim("POST", "/inventaris/nilai").statusCode());
+    }
+
+    // ======================================================
+    // ================ Tulis ===============================
+    // ======================================================
+
+    @Test
+    @DisplayName("Mutasi stok dan status diteruskan ke service; penolakan menjadi 409")
+    void testMutasi() throws Exception {
+        HttpResponse<String> keluar = kirim("POST", "/produk/PROD001/keluar?jumlah=4");
+        assertEquals(200, keluar.statusCode());
+        assertEquals("{\"berhasil\":true,\"hasil\":\"BERHASIL\"}", keluar.body());
+        assertEquals(200, kirim("POST", "/produk/PROD001/masuk?jumlah=1").statusCode());
+        assertEquals(7, repository.cariByKode("PROD001").orElseThrow().getStok());
+
+        HttpResponse<String> ditolak = kirim("POST", "/produk/PROD001/keluar?jumlah=100");
+        assertEquals(409, ditolak.statusCode());
+        assertEquals("{\"berhasil\":false,\"hasil\":\"STOK_TIDAK_CUKUP\"}", ditolak.body());
+
+        HttpResponse<String> jumlahNol = kirim("POST", "/produk/PROD001/masuk?jumlah=0");
+        assertEquals(400, jumlahNol.statusCode());
+        assertEquals("{\"berhasil\":false,\"hasil\":\"JUMLAH_TIDAK_VALID\"}", jumlahNol.body());
+
+        HttpResponse<String> tidakAda = kirim("POST", "/produk/PROD404/keluar?jumlah=1");
+        assertEquals(404, tidakAda.statusCode());
+        assertEquals("{\"berhasil\":false,\"hasil\":\"TIDAK_DITEMUKAN\"}", tidakAda.body());
+
+        assertEquals(200, kirim("PUT", "/produk/PROD001/stok?nilai=20").statusCode());
+        assertEquals(20, repository.cariByKode("PROD001").orElseThrow().getStok());
+
+        assertEquals(200, kirim("POST", "/produk/PROD001/nonaktif").statusCode());
+        assertFalse(repository.cariByKode("PROD001").orElseThrow().isAktif());
+        assertEquals(200, kirim("POST", "/produk/PROD001/aktif").statusCode());
+        assertTrue(repository.cariByKode("PROD001").orElseThrow().isAktif());
+    }
+
+    @Test
+    @DisplayName("POST /produk menambah dan DELETE /produk/{kode} menghapus produk")
+    void testTambahDanHapus() throws Exception {
+        HttpResponse<String> tambah = kirim("POST",
+                "/produk?kode=PROD004&nama=Pensil%202B&kategori=Alat%20Tulis&harga=2500&stok=50&stokMinimum=10");
+        assertEquals(200, tambah.statusCode());
+        assertEquals("Pensil 2B", repository.cariByKode("PROD004").orElseThrow().getNama());
+
+        HttpResponse<String> duplikat = kirim("POST",
+                "/produk?kode=PROD004&nama=Lain&kategori=Lain&harga=1&stok=1&stokMinimum=0");
+        assertEquals(409, duplikat.statusCode());
+        assertTrue(duplikat.body().contains("\"hasil\":\"DUPLIKAT\""));
+        assertEquals(400, kirim("POST",
+                "/produk?kode=PROD005&nama=Lain&kategori=Lain&harga=-1&stok=1&stokMinimum=0").statusCode());
+
+        // Produk yang masih berstok tidak boleh dihapus
+        HttpResponse<String> masihAdaStok = kirim("DELETE", "/produk/PROD004");
+        assertEquals(409, masihAdaStok.statusCode());
+        assertTrue(masihAdaStok.body().contains("\"hasil\":\"MASIH_ADA_STOK\""));
+        assertEquals(200, kirim("PUT", "/produk/PROD004/stok?nilai=0").statusCode());
+        assertEquals(200, kirim("DELETE", "/produk/PROD004").statusCode());
+        assertTrue(repository.cariByKode("PROD004").isEmpty());
+    }
+
+    // ======================================================
+    // ================ Galat ===============================
+    // ======================================================
+
+    @Test
+    @DisplayName("Parameter salah menjadi 400, path dan metode asing 404 dan 405")
+    void testGalat() throws Exception {
+        HttpResponse<String> bukanAngka = kirim("POST", "/produk/PROD001/keluar?jumlah=abc");
+        assertEquals(400, bukanAngka.statusCode());
+        assertTrue(bukanAngka.body().startsWith("{\"galat\":"));
+
+        HttpResponse<String> tanpaParameter = kirim("PUT", "/produk/PROD001/stok");
+        assertEquals(400, tanpaParameter.statusCode());
+        assertEquals("{\"galat\":\"Parameter nilai wajib diisi\"}", tanpaParameter.body());
+
+        assertEquals(404, kirim("POST", "/produk/PROD001/lain").statusCode());
+        assertEquals(404, kirim("GET", "/produk/PROD001/stok/lagi").statusCode());
+        assertEquals(405, kirim("PATCH", "/produk/PROD001").statusCode());
+        assertEquals(405, kirim("PUT", "/produk").statusCode());
+        assertEquals(10, repository.cariByKode("PROD001").orElseThrow().getStok());
+    }
+
+    // ======================================================
+    // ================ Konkurensi ==========================
+    // ======================================================
+
+    @Test
+    @DisplayName("Permintaan bersamaan ditangani semua tanpa kehilangan update")
+    void testPermintaanBersamaan() throws Exception {
+        server.close();
+        repository.simpan(new Produk("PROD009", "Stok Banyak", "Umum", 1000, 1000, 0));
+        server = new ServerInventaris(new ServiceInventaris(repository),
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.mulai();
+
+        List<CompletableFuture<HttpResponse<String>>> daftar = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            HttpRequest request = HttpRequest.newBuilder(
+                            URI.create("http://127.0.0.1:" + server.getPort() + "/produk/PROD009/keluar?jumlah=1"))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            daftar.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        for (CompletableFuture<HttpResponse<String>> respons : daftar) {
+            assertEquals(200, respons.get().statusCode());
+        }
+        assertEquals(800, repository.cariByKode("PROD009").orElseThrow().getStok());
+    }
+}
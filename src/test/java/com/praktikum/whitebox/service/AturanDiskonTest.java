@@ -0,0 +1,153 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.TipePelanggan;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test AturanDiskon - Tabel Diskon Terkompilasi")
+public class AturanDiskonTest {
+    private static final String[] TIPE = {"PREMIUM", "premium", "Reguler", "REGULER", "BARU", "baru",
+            "UMUM", "", null};
+
+    // Salinan if/else KalkulatorDiskon sebelum memakai tabel, sebagai acuan hasil
+    private static double hitungDiskonLama(double harga, int kuantitas, String tipePelanggan) {
+        double diskon = 0.0;
+        if (kuantitas >= 100) {
+            diskon += 0.20;
+        } else if (kuantitas >= 50) {
+            diskon += 0.15;
+        } else if (kuantitas >= 10) {
+            diskon += 0.10;
+        } else if (kuantitas >= 5) {
+            diskon += 0.05;
+        }
+        if ("PREMIUM".equalsIgnoreCase(tipePelanggan)) {
+            diskon += 0.10;
+        } else if ("REGULER".equalsIgnoreCase(tipePelanggan)) {
+            diskon += 0.05;
+        } else if ("BARU".equalsIgnoreCase(tipePelanggan)) {
+            diskon += 0.02;
+        }
+        diskon = Math.min(diskon, 0.30);
+        return harga * kuantitas * diskon;
+    }
+
+    private static AturanDiskon muat(String isi) throws IOException {
+        return AturanDiskon.muat(new ByteArrayInputStream(isi.getBytes(StandardCharsets.ISO_8859_1)));
+    }
+
+    // ======================================================
+    // ================ Kesetaraan dengan versi lama ========
+    // ======================================================
+
+    @Test
+    @DisplayName("Hasil identik bit per bit dengan rantai if/else lama")
+    void testSamaDenganVersiLama() {
+        KalkulatorDiskon kalkulator = new KalkulatorDiskon();
+        double[] daftarHarga = {0.01, 1, 999.99, 1000, 15000000, 123456.789};
+        for (double harga : daftarHarga) {
+            for (int kuantitas = 1; kuantitas <= 300; kuantitas++) {
+                for (String tipe : TIPE) {
+                    assertEquals(hitungDiskonLama(harga, kuantitas, tipe),
+                            kalkulator.hitungDiskon(harga, kuantitas, tipe),
+                            () -> "harga/kuantitas/tipe berbeda");
+                }
+            }
+        }
+        assertEquals(hitungDiskonLama(10, Integer.MAX_VALUE, "PREMIUM"),
+                kalkulator.hitungDiskon(10, Integer.MAX_VALUE, "PREMIUM"));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Resolusi tipe pelanggan tidak peka huruf besar/kecil")
+    @CsvSource({"PREMIUM, PREMIUM", "premium, PREMIUM", "ReGuLeR, REGULER", "baru, BARU"})
+    void testTipePelangganDari(String nama, TipePelanggan harapan) {
+        assertEquals(harapan, TipePelanggan.dari(nama));
+    }
+
+    @Test
+    @DisplayName("Tipe pelanggan tidak dikenal tidak mendapat tambahan")
+    void testTipePelangganTidakDikenal() {
+        assertNull(TipePelanggan.dari(null));
+        assertNull(TipePelanggan.dari("UMUM"));
+        assertEquals(0.05, AturanDiskon.bawaan().persentase(5, null));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Persentase basis poin sesuai tabel tanpa galat double")
+    @CsvSource({"1, PREMIUM, 1000", "5, REGULER, 1000", "10, BARU, 1200", "50, REGULER, 2000",
+            "100, PREMIUM, 3000", "100, BARU, 2200", "4, , 0", "50, , 1500"})
+    void testPersentaseBps(int kuantitas, TipePelanggan tipe, int harapan) {
+        assertEquals(harapan, AturanDiskon.bawaan().persentaseBps(kuantitas, tipe));
+    }
+
+    // ======================================================
+    // ================ Binary Search Ambang ================
+    // ======================================================
+
+    @ParameterizedTest
+    @DisplayName("Indeks tingkat tepat di sekitar setiap ambang")
+    @CsvSource({"1, 0", "4, 0", "5, 1", "9, 1", "10, 2", "49, 2", "50, 3", "99, 3", "100, 4",
+            "2147483647, 4", "0, 0", "-5, 0"})
+    void testIndeksTingkat(int kuantitas, int harapan) {
+        assertEquals(harapan, AturanDiskon.bawaan().indeksTingkat(kuantitas));
+    }
+
+    @Test
+    @DisplayName("Binary search benar untuk jumlah ambang ganjil, genap, dan kosong")
+    void testIndeksTingkatBerbagaiUkuran() {
+        for (int jumlahAmbang = 0; jumlahAmbang <= 9; jumlahAmbang++) {
+            Properties properties = new Properties();
+            for (int i = 1; i <= jumlahAmbang; i++) {
+                properties.setProperty("kuantitas." + (i * 10), "0.01");
+            }
+            AturanDiskon aturan = AturanDiskon.dariProperties(properties);
+            for (int kuantitas = 0; kuantitas <= 100; kuantitas++) {
+                assertEquals(Math.min(kuantitas / 10, jumlahAmbang), aturan.indeksTingkat(kuantitas));
+            }
+        }
+    }
+
+    // ======================================================
+    // ================ Konfigurasi =========================
+    // ======================================================
+
+    @Test
+    @DisplayName("Aturan dari konfigurasi mengganti tingkat, tipe, dan batas maksimum")
+    void testMuatDariKonfigurasi() throws IOException {
+        AturanDiskon aturan = muat("""
+                # urutan kunci bebas
+                kuantitas.20 = 0.12
+                kuantitas.3 = 0.03
+                pelanggan.premium = 0.25
+                maksimum = 0.35
+                """);
+
+        assertEquals(0.0, aturan.persentase(2, TipePelanggan.BARU));
+        assertEquals(0.03, aturan.persentase(3, TipePelanggan.REGULER));
+        assertEquals(0.12, aturan.persentase(20, null));
+        assertEquals(0.35, aturan.persentase(20, TipePelanggan.PREMIUM));
+        assertEquals(0.35, aturan.getMaksimum());
+
+        KalkulatorDiskon kalkulator = new KalkulatorDiskon(aturan);
+        assertEquals(1000 * 3 * 0.28, kalkulator.hitungDiskon(1000, 3, "PREMIUM"), 1e-9);
+    }
+
+    @ParameterizedTest
+    @DisplayName("Konfigurasi tidak valid ditolak")
+    @ValueSource(strings = {"kuantitas.abc=0.1", "kuantitas.0=0.1", "kuantitas.5=1.5",
+            "kuantitas.5=-0.1", "kuantitas.5=banyak", "pelanggan.VIP=0.1", "diskon.lain=0.1"})
+    void testKonfigurasiTidakValid(String baris) {
+        assertThrows(IllegalArgumentException.class, () -> muat(baris));
+    }
+}
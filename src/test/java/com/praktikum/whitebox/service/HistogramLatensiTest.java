@@ -0,0 +1,100 @@
+package com.praktikum.whitebox.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test HistogramLatensi - Histogram Log-Linear")
+public class HistogramLatensiTest {
+
+    // ======================================================
+    // ================ Bucket ==============================
+    // ======================================================
+
+    @Test
+    @DisplayName("Bucket berurutan, bersambung, dan galat relatifnya paling besar 1/16")
+    void testBucketBersambung() {
+        long bawah = 0;
+        for (int i = 0; i < HistogramLatensi.JUMLAH_BUCKET; i++) {
+            long atas = HistogramLatensi.batasAtas(i);
+            assertEquals(i, HistogramLatensi.indeks(bawah));
+            assertEquals(i, HistogramLatensi.indeks(atas));
+            assertTrue(atas - bawah <= Math.max(0, bawah / 16), "bucket " + i);
+            bawah = atas + 1;
+        }
+    }
+
+    @Test
+    @DisplayName("Nilai negatif masuk bucket nol, nilai sangat besar masuk bucket terakhir")
+    void testNilaiEkstrem() {
+        assertEquals(HistogramLatensi.JUMLAH_BUCKET - 1, HistogramLatensi.indeks(Long.MAX_VALUE));
+
+        HistogramLatensi histogram = new HistogramLatensi();
+        histogram.catat(-5);
+        histogram.catat(Long.MAX_VALUE);
+
+        HistogramLatensi.Ringkasan ringkasan = histogram.ringkas();
+        assertEquals(2, ringkasan.jumlah());
+        assertEquals(0, ringkasan.p50Nano());
+        assertEquals(Long.MAX_VALUE, ringkasan.maksNano());
+    }
+
+    // ======================================================
+    // ================ Ringkasan ===========================
+    // ======================================================
+
+    @Test
+    @DisplayName("Histogram kosong diringkas menjadi nol semua")
+    void testKosong() {
+        assertEquals(new HistogramLatensi.Ringkasan(0, 0, 0, 0, 0, 0, 0), new HistogramLatensi().ringkas());
+    }
+
+    @Test
+    @DisplayName("Persentil berada dalam 1/16 dari nilai sebenarnya dan tidak melebihi maksimum")
+    void testPersentil() {
+        HistogramLatensi histogram = new HistogramLatensi();
+        for (long nilai = 1; nilai <= 100_000; nilai++) {
+            histogram.catat(nilai * 1000);
+        }
+
+        HistogramLatensi.Ringkasan ringkasan = histogram.ringkas();
+        assertEquals(100_000, ringkasan.jumlah());
+        assertEquals(50_000_500, ringkasan.rataRataNano());
+        assertDekat(50_000_000, ringkasan.p50Nano());
+        assertDekat(90_000_000, ringkasan.p90Nano());
+        assertDekat(99_000_000, ringkasan.p99Nano());
+        assertDekat(99_900_000, ringkasan.p999Nano());
+        assertEquals(100_000_000, ringkasan.maksNano());
+        assertTrue(ringkasan.p999Nano() <= ringkasan.maksNano());
+    }
+
+    private static void assertDekat(long harapan, long aktual) {
+        assertTrue(aktual >= harapan && aktual <= harapan + harapan / 16,
+                "harapan sekitar " + harapan + " tetapi " + aktual);
+    }
+
+    @Test
+    @DisplayName("Pencatatan bersamaan dari banyak thread tidak kehilangan hitungan")
+    void testPencatatanBersamaan() throws InterruptedException {
+        HistogramLatensi histogram = new HistogramLatensi();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.catat(i);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        HistogramLatensi.Ringkasan ringkasan = histogram.ringkas();
+        assertEquals(40_000, ringkasan.jumlah());
+        assertEquals(9_999, ringkasan.maksNano());
+    }
+}
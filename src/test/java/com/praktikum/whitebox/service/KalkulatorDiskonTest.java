@@ -4,6 +4,12 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.NullSource;
+import com.praktikum.whitebox.model.TipePelanggan;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
 import static org.junit.jupiter.api.Assertions.*;
 @DisplayName("Test Kalkulator Diskon - Path Coverage")
 public class KalkulatorDiskonTest {
@@ -110,4 +116,115 @@ public class KalkulatorDiskonTest {
                 "BARU");
         assertTrue(diskon100 > diskon99);
     }
-}
\ No newline at end of file
+
+    // ================ Perhitungan Massal ==================
+    private static final int JUMLAH_BARIS_MASSAL = 1027; // bukan kelipatan lebar vektor
+
+    private static double[] hargaAcak(Random random) {
+        double[] harga = new double[JUMLAH_BARIS_MASSAL];
+        for (int i = 0; i < harga.length; i++) {
+            harga[i] = 0.01 + random.nextDouble() * 1_000_000;
+        }
+        return harga;
+    }
+
+    private static int[] kuantitasAcak(Random random) {
+        int[] kuantitas = new int[JUMLAH_BARIS_MASSAL];
+        for (int i = 0; i < kuantitas.length; i++) {
+            kuantitas[i] = 1 + random.nextInt(150);
+        }
+        return kuantitas;
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test hitung massal - identik dengan perhitungan per baris")
+    @EnumSource(TipePelanggan.class)
+    @NullSource
+    void testHitungMassalSamaDenganPerBaris(TipePelanggan tipe) {
+        Random random = new Random(7);
+        double[] harga = hargaAcak(random);
+        int[] kuantitas = kuantitasAcak(random);
+        double[] diskon = new double[harga.length];
+        double[] hargaBersih = new double[harga.length];
+
+        kalkulatorDiskon.hitungMassal(harga, kuantitas, tipe, diskon, hargaBersih);
+
+        String nama = tipe == null ? "UMUM" : tipe.name();
+        for (int i = 0; i < harga.length; i++) {
+            assertEquals(kalkulatorDiskon.hitungDiskon(harga[i], kuantitas[i], nama), diskon[i]);
+            assertEquals(kalkulatorDiskon.hitungHargaSetelahDiskon(harga[i], kuantitas[i], nama),
+                    hargaBersih[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("Test hitung massal - jalur vektor dan skalar memberi hasil sama")
+    void testJalurVektorSamaDenganSkalar() {
+        assertEquals("PenghitungDiskonVektor", KalkulatorDiskon.getJalurMassal());
+        Random random = new Random(11);
+        double[] harga = hargaAcak(random);
+        int[] kuantitas = kuantitasAcak(random);
+        AturanDiskon aturan = AturanDiskon.bawaan();
+        double[] persentase = aturan.persentasePerTingkat(TipePelanggan.PREMIUM);
+        double[][] hasilVektor = {new double[harga.length], new double[harga.length]};
+        double[][] hasilSkalar = {new double[harga.length], new double[harga.length]};
+
+        new PenghitungDiskonVektor().hitung(harga, kuantitas, harga.length, aturan.ambang(), persentase,
+                hasilVektor[0], hasilVektor[1]);
+        new PenghitungDiskonSkalar().hitung(harga, kuantitas, harga.length, aturan.ambang(), persentase,
+                hasilSkalar[0], hasilSkalar[1]);
+
+        assertArrayEquals(hasilSkalar[0], hasilVektor[0]);
+        assertArrayEquals(hasilSkalar[1], hasilVektor[1]);
+    }
+
+    @Test
+    @DisplayName("Test hitung massal - input tidak valid")
+    void testHitungMassalInputTidakValid() {
+        double[] hasil = new double[2];
+        assertThrows(IllegalArgumentException.class, () -> kalkulatorDiskon.hitungMassal(
+                new double[]{1000, 1000}, new int[]{1}, TipePelanggan.BARU, hasil, hasil));
+        assertThrows(IllegalArgumentException.class, () -> kalkulatorDiskon.hitungMassal(
+                new double[]{1000, 1000}, new int[]{1, 1}, TipePelanggan.BARU, new double[1], hasil));
+        assertThrows(IllegalArgumentException.class, () -> kalkulatorDiskon.hitungMassal(
+                new double[]{1000, 0}, new int[]{1, 1}, TipePelanggan.BARU, hasil, hasil));
+        assertThrows(IllegalArgumentException.class, () -> kalkulatorDiskon.hitungMassal(
+                new double[]{1000, 1000}, new int[]{1, -3}, TipePelanggan.BARU, hasil, hasil));
+
+        kalkulatorDiskon.hitungMassal(new double[0], new int[0], TipePelanggan.BARU, new double[0], new double[0]);
+    }
+
+    // ================ Uang Titik Tetap ====================
+    @Test
+    @DisplayName("Test diskon dalam sen - sama dengan acuan BigDecimal")
+    void testHitungDiskonSenSamaDenganBigDecimal() {
+        Random random = new Random(3);
+        for (int i = 0; i < 10_000; i++) {
+            long hargaSen = 1 + random.nextInt(100_000_000);
+            int kuantitas = 1 + random.nextInt(150);
+            TipePelanggan tipe = TipePelanggan.values()[random.nextInt(TipePelanggan.values().length)];
+            RoundingMode mode = i % 2 == 0 ? RoundingMode.HALF_EVEN : RoundingMode.HALF_UP;
+
+            BigDecimal total = BigDecimal.valueOf(hargaSen).multiply(BigDecimal.valueOf(kuantitas));
+            BigDecimal persen = BigDecimal.valueOf(AturanDiskon.bawaan().persentaseBps(kuantitas, tipe), 4);
+            long acuan = total.multiply(persen).setScale(0, mode).longValueExact();
+
+            assertEquals(acuan, kalkulatorDiskon.hitungDiskonSen(hargaSen, kuantitas, tipe, mode));
+            assertEquals(hargaSen * kuantitas - acuan,
+                    kalkulatorDiskon.hitungHargaSetelahDiskonSen(hargaSen, kuantitas, tipe, mode));
+        }
+    }
+
+    @Test
+    @DisplayName("Test diskon dalam sen - pembulatan eksplisit dan parameter invalid")
+    void testHitungDiskonSenPembulatan() {
+        // 1999 x 5 x (5% + 2%) = 699,65 sen
+        assertEquals(700, kalkulatorDiskon.hitungDiskonSen(1999, 5, TipePelanggan.BARU, RoundingMode.HALF_EVEN));
+        assertEquals(699, kalkulatorDiskon.hitungDiskonSen(1999, 5, TipePelanggan.BARU, RoundingMode.DOWN));
+        assertEquals(0, kalkulatorDiskon.hitungDiskonSen(1999, 1, null, RoundingMode.UNNECESSARY));
+        assertThrows(IllegalArgumentException.class,
+                () -> kalkulatorDiskon.hitungDiskonSen(0, 5, null, RoundingMode.HALF_EVEN));
+        assertThrows(IllegalArgumentException.class,
+                () -> kalkulatorDiskon.hitungDiskonSen(100, 0, null, RoundingMode.HALF_EVEN));
+    }
+}
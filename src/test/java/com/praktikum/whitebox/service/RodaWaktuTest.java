@@ -0,0 +1,157 @@
+package com.praktikum.whitebox.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test RodaWaktu - Kedaluwarsa Reservasi")
+public class RodaWaktuTest {
+
+    private final List<Reservasi> kedaluwarsa = new ArrayList<>();
+
+    private static Reservasi reservasi(long id, long kedaluwarsaMilis) {
+        return new Reservasi(id, "PROD001", 1, kedaluwarsaMilis);
+    }
+
+    private void putar(RodaWaktu roda, long sekarangMilis) {
+        roda.putar(sekarangMilis, r -> {
+            assertTrue(r.akhiri(Reservasi.KEDALUWARSA));
+            kedaluwarsa.add(r);
+        });
+    }
+
+    // ======================================================
+    // ================ Kedaluwarsa =========================
+    // ======================================================
+
+    @Test
+    @DisplayName("Reservasi kedaluwarsa tidak sebelum waktunya dan paling lambat satu tick sesudahnya")
+    void testTidakLebihAwal() {
+        RodaWaktu roda = new RodaWaktu(100, 16, 0);
+        Reservasi r = reservasi(1, 250);
+        roda.tambah(r);
+
+        putar(roda, 249);
+        assertTrue(kedaluwarsa.isEmpty());
+        putar(roda, 299);
+        assertTrue(kedaluwarsa.isEmpty());
+        putar(roda, 300);
+        assertEquals(List.of(r), kedaluwarsa);
+
+        // Tidak diproses dua kali
+        putar(roda, 10_000);
+        assertEquals(1, kedaluwarsa.size());
+    }
+
+    @Test
+    @DisplayName("Reservasi lebih dari satu putaran tetap di slotnya sampai putaran yang tepat")
+    void testBeberapaPutaran() {
+        RodaWaktu roda = new RodaWaktu(10, 8, 0);
+        Reservasi dekat = reservasi(1, 30);
+        Reservasi jauh = reservasi(2, 30 + 8 * 10 * 3);
+        roda.tambah(jauh);
+        roda.tambah(dekat);
+
+        for (long t = 0; t <= 30 + 8 * 10 * 3; t += 10) {
+            putar(roda, t);
+            if (t < 30) {
+                assertTrue(kedaluwarsa.isEmpty());
+            } else if (t < 270) {
+                assertEquals(List.of(dekat), kedaluwarsa, "t=" + t);
+            }
+        }
+        assertEquals(List.of(dekat, jauh), kedaluwarsa);
+    }
+
+    @Test
+    @DisplayName("Lompatan waktu jauh melebihi satu putaran memproses semua yang lewat")
+    void testLompatanJauh() {
+        RodaWaktu roda = new RodaWaktu(10, 8, 0);
+        List<Reservasi> semua = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            Reservasi r = reservasi(i, i * 7L);
+            semua.add(r);
+            roda.tambah(r);
+        }
+        putar(roda, 5);
+        Reservasi belum = reservasi(101, 100_000);
+        roda.tambah(belum);
+
+        putar(roda, 1_000);
+
+        assertEquals(100, kedaluwarsa.size());
+        assertTrue(kedaluwarsa.containsAll(semua));
+        assertTrue(belum.isAktif());
+    }
+
+    @Test
+    @DisplayName("Reservasi yang sudah berakhir dibuang tanpa dilaporkan kedaluwarsa")
+    void testPembatalanMalas() {
+        RodaWaktu roda = new RodaWaktu(10, 8, 0);
+        Reservasi dikomit = reservasi(1, 50);
+        Reservasi aktif = reservasi(2, 50);
+        roda.tambah(dikomit);
+        roda.tambah(aktif);
+        putar(roda, 10);
+        assertTrue(dikomit.akhiri(Reservasi.DIKOMIT));
+
+        putar(roda, 60);
+
+        assertEquals(List.of(aktif), kedaluwarsa);
+    }
+
+    @Test
+    @DisplayName("Konstruktor menolak resolusi atau jumlah slot yang tidak valid")
+    void testKonstruktorTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> new RodaWaktu(0, 8, 0));
+        assertThrows(IllegalArgumentException.class, () -> new RodaWaktu(10, 6, 0));
+    }
+
+    // ======================================================
+    // ================ Konkurensi ==========================
+    // ======================================================
+
+    @Test
+    @DisplayName("Penambahan bersamaan dari banyak thread tidak kehilangan reservasi")
+    void testPenambahanBersamaan() throws InterruptedException {
+        RodaWaktu roda = new RodaWaktu(1, 64, 0);
+        AtomicLong jam = new AtomicLong();
+        AtomicLong jumlahKedaluwarsa = new AtomicLong();
+        CountDownLatch mulai = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            int awal = t * 5_000;
+            executor.submit(() -> {
+                mulai.await();
+                for (int i = 0; i < 5_000; i++) {
+                    roda.tambah(reservasi(awal + i, i % 200));
+                    roda.putar(jam.incrementAndGet() / 100, r -> {
+                        if (r.akhiri(Reservasi.KEDALUWARSA)) {
+                            jumlahKedaluwarsa.incrementAndGet();
+                        }
+                    });
+                }
+                return null;
+            });
+        }
+        mulai.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        roda.putar(1_000_000, r -> {
+            if (r.akhiri(Reservasi.KEDALUWARSA)) {
+                jumlahKedaluwarsa.incrementAndGet();
+            }
+        });
+        assertEquals(20_000, jumlahKedaluwarsa.get());
+    }
+}
@@ -1,15 +1,34 @@
 package com.praktikum.whitebox.service;
 
+import com.praktikum.whitebox.model.HasilOperasi;
+import com.praktikum.whitebox.model.MutasiStok;
+import com.praktikum.whitebox.model.PerubahanStatusStok;
+import com.praktikum.whitebox.model.StatusStok;
 import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukSnapshot;
+import com.praktikum.whitebox.model.RingkasanStokLokasi;
 import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.repository.RepositoryProdukInMemory;
+import com.praktikum.whitebox.repository.RepositoryProdukKolumnar;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -160,25 +179,26 @@ public class ServiceInventarisTest {
     @Test
     @DisplayName("Masuk stok gagal - produk tidak ditemukan")
     void testMasukStokProdukTidakDitemukan() {
-        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.empty());
+        when(mockRepositoryProduk.tambahStok("PROD001", 5)).thenReturn(HasilOperasi.TIDAK_DITEMUKAN);
         assertFalse(serviceInventaris.masukStok("PROD001", 5));
     }
 
     @Test
     @DisplayName("Masuk stok gagal - produk tidak aktif")
     void testMasukStokProdukTidakAktif() {
-        when(mockRepositoryProduk.cariByKode("PROD002")).thenReturn(Optional.of(produkNonAktif));
+        when(mockRepositoryProduk.tambahStok("PROD002", 5)).thenReturn(HasilOperasi.TIDAK_AKTIF);
         assertFalse(serviceInventaris.masukStok("PROD002", 5));
     }
 
     @Test
-    @DisplayName("Masuk stok berhasil")
+    @DisplayName("Masuk stok berhasil - satu operasi atomik tanpa cariByKode")
     void testMasukStokBerhasil() {
-        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkAktif));
-        when(mockRepositoryProduk.updateStok("PROD001", 15)).thenReturn(true);
+        when(mockRepositoryProduk.tambahStok("PROD001", 5)).thenReturn(HasilOperasi.BERHASIL);
 
         assertTrue(serviceInventaris.masukStok("PROD001", 5));
-        verify(mockRepositoryProduk).updateStok("PROD001", 15);
+        verify(mockRepositoryProduk).tambahStok("PROD001", 5);
+        verify(mockRepositoryProduk, never()).cariByKode(any());
+        verify(mockRepositoryProduk, never()).updateStok(any(), anyInt());
     }
 
     // ======================================================
@@ -186,45 +206,34 @@ public class ServiceInventarisTest {
     // ======================================================
 
     @Test
-    @DisplayName("Keluar stok berhasil - stok mencukupi")
+    @DisplayName("Keluar stok berhasil - satu operasi atomik tanpa cariByKode")
     void testKeluarStokBerhasil() {
-        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkAktif));
-        when(mockRepositoryProduk.updateStok("PROD001", 5)).thenReturn(true);
+        when(mockRepositoryProduk.kurangiStokJikaCukup("PROD001", 5)).thenReturn(HasilOperasi.BERHASIL);
 
         assertTrue(serviceInventaris.keluarStok("PROD001", 5));
-        verify(mockRepositoryProduk).updateStok("PROD001", 5);
-    }
-
-    @Test
-    @DisplayName("Keluar stok gagal - update repository false (branch terakhir)")
-    void testKeluarStokUpdateGagal() {
-        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkAktif));
-        when(mockRepositoryProduk.updateStok("PROD001", 5)).thenReturn(false);
-
-        boolean hasil = serviceInventaris.keluarStok("PROD001", 5);
-
-        assertFalse(hasil);
-        verify(mockRepositoryProduk).updateStok("PROD001", 5);
+        verify(mockRepositoryProduk).kurangiStokJikaCukup("PROD001", 5);
+        verify(mockRepositoryProduk, never()).cariByKode(any());
+        verify(mockRepositoryProduk, never()).updateStok(any(), anyInt());
     }
 
     @Test
     @DisplayName("Keluar stok gagal - stok tidak cukup")
     void testKeluarStokTidakCukup() {
-        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkAktif));
+        when(mockRepositoryProduk.kurangiStokJikaCukup("PROD001", 20)).thenReturn(HasilOperasi.STOK_TIDAK_CUKUP);
         assertFalse(serviceInventaris.keluarStok("PROD001", 20));
     }
 
     @Test
     @DisplayName("Keluar stok gagal - produk tidak ditemukan")
     void testKeluarStokTidakDitemukan() {
-        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.empty());
+        when(mockRepositoryProduk.kurangiStokJikaCukup("PROD001", 5)).thenReturn(HasilOperasi.TIDAK_DITEMUKAN);
         assertFalse(serviceInventaris.keluarStok("PROD001", 5));
     }
 
     @Test
     @DisplayName("Keluar stok gagal - produk tidak aktif")
     void testKeluarStokProdukTidakAktif() {
-        when(mockRepositoryProduk.cariByKode("PROD002")).thenReturn(Optional.of(produkNonAktif));
+        when(mockRepositoryProduk.kurangiStokJikaCukup("PROD002", 5)).thenReturn(HasilOperasi.TIDAK_AKTIF);
         assertFalse(serviceInventaris.keluarStok("PROD002", 5));
     }
 
@@ -234,22 +243,159 @@ public class ServiceInventarisTest {
         assertFalse(serviceInventaris.keluarStok("PROD001", 0));
     }
 
+    // ======================================================
+    // ================ prosesBatch() =======================
+    // ======================================================
+
+    @Test
+    @DisplayName("Proses batch - mutasi dikelompokkan per kode dalam satu panggilan repository")
+    @SuppressWarnings("unchecked")
+    void testProsesBatchDikelompokkan() {
+        when(mockRepositoryProduk.terapkanMutasi(anyMap())).thenReturn(Map.of(
+                "PROD001", new HasilOperasi[]{HasilOperasi.BERHASIL, HasilOperasi.STOK_TIDAK_CUKUP},
+                "PROD002", new HasilOperasi[]{HasilOperasi.TIDAK_AKTIF}));
+
+        HasilOperasi[] hasil = serviceInventaris.prosesBatch(List.of(
+                MutasiStok.masuk("PROD001", 5),
+                MutasiStok.keluar("PROD002", 1),
+                MutasiStok.keluar("PROD001", 100)));
+
+        assertArrayEquals(new HasilOperasi[]{
+                HasilOperasi.BERHASIL, HasilOperasi.TIDAK_AKTIF, HasilOperasi.STOK_TIDAK_CUKUP}, hasil);
+
+        ArgumentCaptor<Map<String, int[]>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(mockRepositoryProduk, times(1)).terapkanMutasi(captor.capture());
+        assertArrayEquals(new int[]{5, -100}, captor.getValue().get("PROD001"));
+        assertArrayEquals(new int[]{-1}, captor.getValue().get("PROD002"));
+        verify(mockRepositoryProduk, never()).cariByKode(any());
+    }
+
+    @Test
+    @DisplayName("Proses batch - baris tidak valid ditolak tanpa memanggil repository")
+    void testProsesBatchBarisTidakValid() {
+        HasilOperasi[] hasil = serviceInventaris.prosesBatch(Arrays.asList(
+                MutasiStok.masuk("", 5),
+                MutasiStok.keluar("PROD001", 0),
+                null,
+                new MutasiStok("PROD001", null, 3),
+                MutasiStok.masuk("", 1)));
+
+        assertArrayEquals(new HasilOperasi[]{
+                HasilOperasi.KODE_TIDAK_VALID, HasilOperasi.JUMLAH_TIDAK_VALID,
+                HasilOperasi.JUMLAH_TIDAK_VALID, HasilOperasi.JUMLAH_TIDAK_VALID,
+                HasilOperasi.KODE_TIDAK_VALID}, hasil);
+        verifyNoInteractions(mockRepositoryProduk);
+    }
+
+    @Test
+    @DisplayName("Proses batch - kode yang tidak dikembalikan repository dianggap tidak ditemukan")
+    void testProsesBatchKodeTanpaHasil() {
+        when(mockRepositoryProduk.terapkanMutasi(anyMap())).thenReturn(Collections.emptyMap());
+
+        HasilOperasi[] hasil = serviceInventaris.prosesBatch(List.of(
+                MutasiStok.masuk("PROD009", 1), MutasiStok.masuk("PROD009", 2),
+                MutasiStok.masuk("PROD009", 3), MutasiStok.masuk("PROD009", 4),
+                MutasiStok.masuk("PROD009", 5)));
+
+        for (HasilOperasi h : hasil) {
+            assertEquals(HasilOperasi.TIDAK_DITEMUKAN, h);
+        }
+    }
+
     // ======================================================
     // ================ hitungTotalNilaiInventaris() =========
     // ======================================================
 
     @Test
-    @DisplayName("Hitung total nilai inventaris hanya produk aktif")
+    @DisplayName("Hitung total nilai inventaris dibaca dari total repository tanpa pindai")
     void testHitungTotalNilaiInventaris() {
-        Produk p1 = new Produk("A", "Barang1", "Elektronik", 1000, 5, 1);
-        Produk p2 = new Produk("B", "Barang2", "Elektronik", 2000, 3, 1);
-        p2.setAktif(false);
-        Produk p3 = new Produk("C", "Barang3", "Elektronik", 3000, 10, 1);
-
-        when(mockRepositoryProduk.cariSemua()).thenReturn(Arrays.asList(p1, p2, p3));
+        when(mockRepositoryProduk.hitungTotalNilaiAktif()).thenReturn(35000.0);
 
         double total = serviceInventaris.hitungTotalNilaiInventaris();
-        assertEquals((1000 * 5) + (3000 * 10), total);
+        assertEquals(35000.0, total);
+        verify(mockRepositoryProduk, never()).cariSemua();
+    }
+
+    @Test
+    @DisplayName("Hitung total nilai inventaris dalam sen dibaca dari repository")
+    void testHitungTotalNilaiInventarisSen() {
+        when(mockRepositoryProduk.hitungTotalNilaiAktifSen()).thenReturn(3_500_001L);
+
+        assertEquals(3_500_001L, serviceInventaris.hitungTotalNilaiInventarisSen());
+        verify(mockRepositoryProduk, never()).cariSemua();
+    }
+
+    // ======================================================
+    // ================ hitungLaporanValuasi() ==============
+    // ======================================================
+
+    @Test
+    @DisplayName("Laporan valuasi - nilai per kategori, aktif/nonaktif, dan eksposur menipis")
+    void testHitungLaporanValuasi() {
+        Produk menipis = new Produk("PROD003", "Keyboard", "Elektronik", 250000.50, 2, 5);
+        Produk habis = new Produk("PROD004", "Pulpen", "ATK", 3000, 0, 10);
+        Produk tanpaKategori = new Produk("PROD005", "Lain", null, 1000, 7, 1);
+        when(mockRepositoryProduk.pindaiSemua()).thenReturn(
+                List.of(produkAktif, produkNonAktif, menipis, habis, tanpaKategori).spliterator());
+
+        LaporanValuasi laporan = serviceInventaris.hitungLaporanValuasi();
+
+        LaporanValuasi.Ringkasan elektronik = laporan.kategori("Elektronik");
+        assertEquals(3, elektronik.jumlahProduk());
+        assertEquals(1_500_000_000L * 10 + 25_000_050L * 2, elektronik.nilaiAktifSen());
+        assertEquals(12, elektronik.unitAktif());
+        assertEquals(50_000_000L * 10, elektronik.nilaiNonaktifSen());
+        assertEquals(10, elektronik.unitNonaktif());
+        assertEquals(1, elektronik.jumlahMenipis());
+        assertEquals(25_000_050L * 2, elektronik.nilaiMenipisSen());
+        assertEquals(2, elektronik.unitMenipis());
+        assertEquals(1, laporan.kategori("ATK").jumlahHabis());
+        assertEquals(700_000L, laporan.kategori(null).nilaiAktifSen());
+        assertEquals(Arrays.asList(null, "ATK", "Elektronik"), new ArrayList<>(laporan.perKategori().keySet()));
+
+        assertEquals(5, laporan.total().jumlahProduk());
+        assertEquals(elektronik.nilaiAktifSen() + 700_000L, laporan.total().nilaiAktifSen());
+        assertEquals(19, laporan.total().unitAktif());
+    }
+
+    @Test
+    @DisplayName("Laporan valuasi paralel sama persis dengan pindai berurutan")
+    void testHitungLaporanValuasiParalel() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (RepositoryProduk repository : List.of(new RepositoryProdukInMemory(),
+                    new RepositoryProdukKolumnar())) {
+                Random random = new Random(11);
+                for (int i = 0; i < 50_000; i++) {
+                    Produk produk = new Produk(String.format("P%06d", i), "Produk " + i, "Kategori" + (i % 13),
+                            random.nextInt(1_000_000) / 100.0, random.nextInt(20), 5);
+                    produk.setAktif(i % 7 != 0);
+                    repository.simpan(produk);
+                }
+                for (int i = 0; i < 50_000; i += 3) {
+                    repository.hapus(String.format("P%06d", i));
+                }
+
+                long nilaiAktif = 0;
+                long unitMenipis = 0;
+                for (Produk produk : repository.cariSemua()) {
+                    if (produk.isAktif()) {
+                        nilaiAktif += produk.getHargaSen() * produk.getStok();
+                        unitMenipis += produk.isStokMenipis() ? produk.getStok() : 0;
+                    }
+                }
+
+                LaporanValuasi laporan = new ServiceInventaris(repository, pool).hitungLaporanValuasi();
+                assertEquals(repository.cariSemua().size(), laporan.total().jumlahProduk());
+                assertEquals(nilaiAktif, laporan.total().nilaiAktifSen());
+                assertEquals(repository.hitungTotalNilaiAktifSen(), laporan.total().nilaiAktifSen());
+                assertEquals(repository.hitungTotalStokAktif(), laporan.total().unitAktif());
+                assertEquals(unitMenipis, laporan.total().unitMenipis());
+                assertEquals(13, laporan.perKategori().size());
+            }
+        } finally {
+            pool.shutdown();
+        }
     }
 
     // ======================================================
@@ -257,16 +403,45 @@ public class ServiceInventarisTest {
     // ======================================================
 
     @Test
-    @DisplayName("Hitung total stok semua produk aktif")
+    @DisplayName("Hitung total stok dibaca dari total repository tanpa pindai")
     void testHitungTotalStok() {
-        Produk p1 = new Produk("A", "Barang1", "Elektronik", 1000, 5, 1);
-        Produk p2 = new Produk("B", "Barang2", "Elektronik", 2000, 3, 1);
-        p2.setAktif(false);
-
-        when(mockRepositoryProduk.cariSemua()).thenReturn(Arrays.asList(p1, p2));
+        when(mockRepositoryProduk.hitungTotalStokAktif()).thenReturn(5L);
 
         int totalStok = serviceInventaris.hitungTotalStok();
         assertEquals(5, totalStok);
+        verify(mockRepositoryProduk, never()).cariSemua();
+    }
+
+    @Test
+    @DisplayName("Total stok di atas batas int jenuh di Integer.MAX_VALUE, versi long tetap eksak")
+    void testHitungTotalStokMelewatiInt() {
+        long besar = Integer.MAX_VALUE + 10L;
+        when(mockRepositoryProduk.hitungTotalStokAktif()).thenReturn(besar);
+
+        assertEquals(besar, serviceInventaris.hitungTotalStokAktif());
+        assertEquals(Integer.MAX_VALUE, serviceInventaris.hitungTotalStok());
+    }
+
+    // ======================================================
+    // ================ aktifkan/nonaktifkanProduk() ========
+    // ======================================================
+
+    @Test
+    @DisplayName("Aktifkan dan nonaktifkan produk diteruskan ke repository")
+    void testUbahStatusAktif() {
+        when(mockRepositoryProduk.ubahStatusAktif("PROD001", true)).thenReturn(true);
+        when(mockRepositoryProduk.ubahStatusAktif("PROD001", false)).thenReturn(true);
+
+        assertTrue(serviceInventaris.aktifkanProduk("PROD001"));
+        assertTrue(serviceInventaris.nonaktifkanProduk("PROD001"));
+    }
+
+    @Test
+    @DisplayName("Aktifkan dan nonaktifkan produk gagal - kode tidak valid")
+    void testUbahStatusAktifKodeTidakValid() {
+        assertFalse(serviceInventaris.aktifkanProduk(""));
+        assertFalse(serviceInventaris.nonaktifkanProduk("!!"));
+        verifyNoInteractions(mockRepositoryProduk);
     }
 
     // ======================================================
@@ -288,6 +463,18 @@ public class ServiceInventarisTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    @DisplayName("Lihat produk by kode - snapshot dari repository, kode tidak valid tidak diteruskan")
+    void testLihatProdukByKode() {
+        ProdukSnapshot snapshot = ProdukSnapshot.dari(produkAktif);
+        when(mockRepositoryProduk.lihatByKode("PROD001")).thenReturn(Optional.of(snapshot));
+
+        assertSame(snapshot, serviceInventaris.lihatProdukByKode("PROD001").get());
+        assertTrue(serviceInventaris.lihatProdukByKode("").isEmpty());
+        assertTrue(serviceInventaris.lihatProdukByKode(null).isEmpty());
+        verify(mockRepositoryProduk, times(1)).lihatByKode(any());
+    }
+
     @Test
     @DisplayName("Cari produk by nama")
     void testCariProdukByNama() {
@@ -304,10 +491,293 @@ public class ServiceInventarisTest {
         assertEquals(1, result.size());
     }
 
+    @Test
+    @DisplayName("Paging kursor, ekspor, dan nilai kategori memakai varian aliran repository")
+    void testPagingKursorDanEkspor() {
+        RepositoryProdukInMemory repository = new RepositoryProdukInMemory();
+        ServiceInventaris service = new ServiceInventaris(repository);
+        repository.simpan(new Produk("B01", "Mouse", "Elektronik", 100.25, 4, 5));
+        repository.simpan(new Produk("A01", "Laptop", "Elektronik", 1000, 10, 5));
+        repository.simpan(new Produk("C01", "Pensil", "ATK", 2000, 1, 5));
+        Produk nonaktif = new Produk("D01", "Monitor", "Elektronik", 3000, 2, 1);
+        nonaktif.setAktif(false);
+        repository.simpan(nonaktif);
+
+        assertEquals(List.of("A01", "B01"), service.getHalamanProduk(null, 2).stream().map(Produk::getKode).toList());
+        assertEquals(List.of("C01", "D01"), service.getHalamanProduk("B01", 2).stream().map(Produk::getKode).toList());
+        assertEquals(List.of("D01"), service.cariProdukByKategori("Elektronik", "B01", 5)
+                .stream().map(Produk::getKode).toList());
+        assertEquals(List.of("B01", "C01"), service.getProdukStokMenipis(null, 5)
+                .stream().map(Produk::getKode).toList());
+        assertTrue(service.getHalamanProduk(null, 0).isEmpty());
+        assertTrue(service.cariProdukByKategori(null, null, 5).isEmpty());
+        assertTrue(service.getProdukStokMenipis(null, -1).isEmpty());
+        assertTrue(service.getProdukStokHabis(null, 5).isEmpty());
+
+        List<String> diekspor = new ArrayList<>();
+        assertEquals(4, service.eksporProduk(p -> diekspor.add(p.getKode())));
+        assertEquals(List.of("A01", "B01", "C01", "D01"), diekspor);
+        assertEquals(1000_00L * 10 + 100_25L * 4, service.hitungNilaiKategoriSen("Elektronik"));
+        assertEquals(0, service.hitungNilaiKategoriSen("Tidak Ada"));
+    }
+
+    // ======================================================
+    // ================ Mode Konkurensi =====================
+    // ======================================================
+
+    @Test
+    @DisplayName("Kunci per kode dan global membuat read-modify-write repository tetap tepat")
+    void testModeKunciMenserialkanPerKode() throws Exception {
+        for (ModeKonkurensi mode : new ModeKonkurensi[]{ModeKonkurensi.KUNCI_GLOBAL, ModeKonkurensi.KUNCI_PER_KODE}) {
+            RepositoryProdukInMemory asli = new RepositoryProdukInMemory();
+            String[] kode = {"PROD001", "PROD002", "PROD003", "PROD004"};
+            for (String k : kode) {
+                asli.simpan(new Produk(k, "Barang " + k, "Elektronik", 1000, 0, 1));
+            }
+            ServiceInventaris service = new ServiceInventaris(repositoryTidakAtomik(asli), mode);
+
+            int jumlahThread = 8;
+            int ulangan = 500;
+            ExecutorService executor = Executors.newFixedThreadPool(jumlahThread);
+            AtomicInteger keluarBerhasil = new AtomicInteger();
+            List<Future<?>> hasil = new ArrayList<>();
+            for (int t = 0; t < jumlahThread; t++) {
+                int nomor = t;
+                hasil.add(executor.submit(() -> {
+                    for (int i = 0; i < ulangan; i++) {
+                        assertTrue(service.masukStok(kode[nomor % kode.length], 2));
+                        // Batch dengan urutan kode terbalik di thread ganjil menguji urutan penguncian
+                        List<MutasiStok> batch = nomor % 2 == 0
+                                ? List.of(MutasiStok.keluar(kode[0], 1), MutasiStok.masuk(kode[3], 1))
+                                : List.of(MutasiStok.masuk(kode[3], 1), MutasiStok.keluar(kode[0], 1));
+                        HasilOperasi[] hasilBatch = service.prosesBatch(batch);
+                        if (hasilBatch[nomor % 2 == 0 ? 0 : 1] == HasilOperasi.BERHASIL) {
+                            keluarBerhasil.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : hasil) {
+                f.get(30, TimeUnit.SECONDS);
+            }
+            executor.shutdown();
+
+            int perKode = jumlahThread / kode.length * ulangan * 2;
+            int batch = jumlahThread * ulangan;
+            // Keluar di batch boleh ditolak saat stok PROD001 sementara nol
+            assertEquals(perKode - keluarBerhasil.get(), asli.cariByKode("PROD001").get().getStok(), mode.name());
+            assertEquals(perKode, asli.cariByKode("PROD002").get().getStok(), mode.name());
+            assertEquals(perKode, asli.cariByKode("PROD003").get().getStok(), mode.name());
+            assertEquals(perKode + batch, asli.cariByKode("PROD004").get().getStok(), mode.name());
+        }
+    }
+
+    @Test
+    @DisplayName("Hapus produk dan tambah produk tetap cek-lalu-tulis di bawah kunci per kode")
+    void testModeKunciCekLaluTulis() throws Exception {
+        RepositoryProdukInMemory asli = new RepositoryProdukInMemory();
+        ServiceInventaris service = new ServiceInventaris(repositoryTidakAtomik(asli), ModeKonkurensi.KUNCI_PER_KODE);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Integer>> hasil = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            hasil.add(executor.submit(() -> {
+                int berhasil = 0;
+                for (int i = 0; i < 200; i++) {
+                    if (service.tambahProduk(new Produk("PROD" + String.format("%03d", i), "Barang", "ATK", 1000, 0, 1))) {
+                        berhasil++;
+                    }
+                }
+                return berhasil;
+            }));
+        }
+        int total = 0;
+        for (Future<Integer> f : hasil) {
+            total += f.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Setiap kode hanya berhasil ditambah satu kali meskipun empat thread berebut
+        assertEquals(200, total);
+        assertEquals(200, asli.jumlahProduk());
+        assertTrue(service.hapusProduk("PROD000"));
+        assertFalse(service.hapusProduk("PROD000"));
+    }
+
+    // Hanya meneruskan method abstrak, sehingga kurangi/tambah stok dan batch memakai
+    // implementasi bawaan yang read-modify-write dan tidak atomik
+    private static RepositoryProduk repositoryTidakAtomik(RepositoryProduk asli) {
+        return new RepositoryProduk() {
+            @Override
+            public boolean simpan(Produk produk) {
+                Thread.yield();
+                return asli.simpan(produk);
+            }
+
+            @Override
+            public Optional<Produk> cariByKode(String kode) {
+                Optional<Produk> produk = asli.cariByKode(kode);
+                // Memperlebar jendela antara baca dan tulis
+                Thread.yield();
+                return produk;
+            }
+
+            @Override
+            public List<Produk> cariByNama(String nama) {
+                return asli.cariByNama(nama);
+            }
+
+            @Override
+            public List<Produk> cariByKategori(String kategori) {
+                return asli.cariByKategori(kategori);
+            }
+
+            @Override
+            public List<Produk> cariProdukStokMenipis() {
+                return asli.cariProdukStokMenipis();
+            }
+
+            @Override
+            public List<Produk> cariProdukStokHabis() {
+                return asli.cariProdukStokHabis();
+            }
+
+            @Override
+            public boolean hapus(String kode) {
+                return asli.hapus(kode);
+            }
+
+            @Override
+            public boolean updateStok(String kode, int stokBaru) {
+                return asli.updateStok(kode, stokBaru);
+            }
+
+            @Override
+            public List<Produk> cariSemua() {
+                return asli.cariSemua();
+            }
+        };
+    }
+
+    // ======================================================
+    // ================ berlangganan() ======================
+    // ======================================================
+
+    @Test
+    @DisplayName("Langganan menerima perpindahan status dari updateStok, keluarStok, dan masukStok")
+    void testBerlanggananPerubahanStatus() {
+        RepositoryProdukInMemory repository = new RepositoryProdukInMemory();
+        ServiceInventaris service = new ServiceInventaris(repository);
+        service.tambahProduk(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+
+        try (LanggananStatusStok langganan = service.berlangganan(16)) {
+            assertTrue(service.keluarStok("PROD001", 2));   // 8, tetap aman
+            assertTrue(service.keluarStok("PROD001", 4));   // 4, menipis
+            assertTrue(service.updateStok("PROD001", 0));   // habis
+            assertFalse(service.keluarStok("PROD001", 1));  // gagal, tidak ada perubahan
+            assertTrue(service.masukStok("PROD001", 20));   // aman lagi
+
+            List<PerubahanStatusStok> perubahan = new ArrayList<>();
+            assertEquals(3, langganan.kuras(perubahan, 10));
+            assertEquals(new PerubahanStatusStok("PROD001", StatusStok.AMAN, StatusStok.MENIPIS, 4, 5),
+                    perubahan.get(0));
+            assertEquals(StatusStok.HABIS, perubahan.get(1).statusBaru());
+            assertEquals(StatusStok.AMAN, perubahan.get(2).statusBaru());
+            assertEquals(20, perubahan.get(2).stok());
+            assertNull(langganan.ambil());
+        }
+    }
+
+    @Test
+    @DisplayName("Antrian penuh membuang perubahan tanpa menahan operasi stok")
+    void testBerlanggananAntrianPenuh() {
+        RepositoryProdukInMemory repository = new RepositoryProdukInMemory();
+        ServiceInventaris service = new ServiceInventaris(repository);
+        service.tambahProduk(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+
+        LanggananStatusStok lambat = service.berlangganan(2);
+        LanggananStatusStok cepat = service.berlangganan(100);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(service.updateStok("PROD001", i % 2 == 0 ? 1 : 10));
+        }
+        assertEquals(2, lambat.getJumlahTertunda());
+        assertEquals(8, lambat.getJumlahTerbuang());
+        assertEquals(10, cepat.getJumlahTertunda());
+        assertEquals(0, cepat.getJumlahTerbuang());
+
+        lambat.close();
+        cepat.close();
+        assertTrue(cepat.isDitutup());
+        service.updateStok("PROD001", 0);
+        assertEquals(10, cepat.getJumlahTertunda());
+        assertThrows(IllegalArgumentException.class, () -> service.berlangganan(0));
+    }
+
+    @Test
+    @DisplayName("Repository tanpa pendengar: service sendiri mengumumkan perpindahan status")
+    void testBerlanggananTanpaPendengarRepository() {
+        RepositoryProdukInMemory repository = new RepositoryProdukInMemory() {
+            @Override
+            public boolean tambahPendengarStatus(Consumer<PerubahanStatusStok> pendengar) {
+                return false;
+            }
+        };
+        ServiceInventaris service = new ServiceInventaris(repository, ModeKonkurensi.KUNCI_PER_KODE);
+        service.tambahProduk(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+
+        try (LanggananStatusStok langganan = service.berlangganan(16)) {
+            assertTrue(service.keluarStok("PROD001", 2));   // 8, tetap aman
+            assertTrue(service.keluarStok("PROD001", 4));   // 4, menipis
+            assertTrue(service.updateStok("PROD001", 0));   // habis
+            assertFalse(service.keluarStok("PROD001", 1));  // gagal, tidak ada perubahan
+            assertTrue(service.masukStok("PROD001", 20));   // aman lagi
+            service.prosesBatch(List.of(MutasiStok.keluar("PROD001", 18))); // 2, menipis
+
+            List<PerubahanStatusStok> perubahan = new ArrayList<>();
+            assertEquals(4, langganan.kuras(perubahan, 10));
+            assertEquals(new PerubahanStatusStok("PROD001", StatusStok.AMAN, StatusStok.MENIPIS, 4, 5),
+                    perubahan.get(0));
+            assertEquals(StatusStok.HABIS, perubahan.get(1).statusBaru());
+            assertEquals(StatusStok.AMAN, perubahan.get(2).statusBaru());
+            assertEquals(new PerubahanStatusStok("PROD001", StatusStok.AMAN, StatusStok.MENIPIS, 2, 5),
+                    perubahan.get(3));
+        }
+    }
+
+    @Test
+    @DisplayName("Pendengar dilepas dari repository saat pelanggan terakhir berhenti")
+    void testBerlanggananMelepasPendengar() {
+        when(mockRepositoryProduk.tambahPendengarStatus(any())).thenReturn(true);
+        LanggananStatusStok pertama = serviceInventaris.berlangganan(10);
+        LanggananStatusStok kedua = serviceInventaris.berlangganan(10);
+        verify(mockRepositoryProduk, times(1)).tambahPendengarStatus(any());
+
+        pertama.close();
+        verify(mockRepositoryProduk, never()).hapusPendengarStatus(any());
+        kedua.close();
+        verify(mockRepositoryProduk).hapusPendengarStatus(any());
+    }
+
     // ======================================================
     // ================ getProdukStokHabis() ================
     // ======================================================
 
+    @Test
+    @DisplayName("Cari nama berhalaman diteruskan ke repository, input tidak valid kosong")
+    void testCariProdukByNamaBerhalaman() {
+        when(mockRepositoryProduk.cariByNama("lap", 0, 20)).thenReturn(List.of(produkAktif));
+        when(mockRepositoryProduk.cariByAwalanNama("lap", 20, 20)).thenReturn(List.of(produkAktif));
+
+        assertEquals(List.of(produkAktif), serviceInventaris.cariProdukByNama("lap", 0, 20));
+        assertEquals(List.of(produkAktif), serviceInventaris.cariProdukByAwalanNama("lap", 20, 20));
+        assertTrue(serviceInventaris.cariProdukByNama(null, 0, 20).isEmpty());
+        assertTrue(serviceInventaris.cariProdukByNama(" ", 0, 20).isEmpty());
+        assertTrue(serviceInventaris.cariProdukByNama("lap", -1, 20).isEmpty());
+        assertTrue(serviceInventaris.cariProdukByAwalanNama("lap", 0, 0).isEmpty());
+        assertTrue(serviceInventaris.cariProdukByAwalanNama(null, 0, 20).isEmpty());
+        verify(mockRepositoryProduk, times(1)).cariByNama(anyString(), anyInt(), anyInt());
+    }
+
     @Test
     @DisplayName("Get produk stok habis")
     void testGetProdukStokHabis() {
@@ -333,4 +803,526 @@ public class ServiceInventarisTest {
         assertEquals(1, result.size());
         assertEquals("P09", result.get(0).getKode());
     }
+
+    // ======================================================
+    // ================ Varian DenganHasil ==================
+    // ======================================================
+
+    @Test
+    @DisplayName("Varian DenganHasil mengembalikan alasan penolakan tiap operasi")
+    void testVarianDenganHasil() {
+        RepositoryProdukInMemory repository = new RepositoryProdukInMemory();
+        ServiceInventaris service = new ServiceInventaris(repository);
+        Produk produk = new Produk("PROD001", "Laptop", "Elektronik", 1000, 5, 2);
+
+        assertEquals(HasilOperasi.BERHASIL, service.tambahProdukDenganHasil(produk));
+        assertEquals(HasilOperasi.DUPLIKAT, service.tambahProdukDenganHasil(produk));
+        assertEquals(HasilOperasi.KODE_TIDAK_VALID, service.tambahProdukDenganHasil(null));
+        assertEquals(HasilOperasi.DATA_TIDAK_VALID,
+                service.tambahProdukDenganHasil(new Produk("PROD002", "", "Elektronik", 1000, 5, 2)));
+
+        assertEquals(HasilOperasi.STOK_TIDAK_CUKUP, service.keluarStokDenganHasil("PROD001", 6));
+        assertEquals(HasilOperasi.JUMLAH_TIDAK_VALID, service.keluarStokDenganHasil("PROD001", -1));
+        assertEquals(HasilOperasi.KODE_TIDAK_VALID, service.masukStokDenganHasil("P#1", 1));
+        assertEquals(HasilOperasi.TIDAK_DITEMUKAN, service.masukStokDenganHasil("PROD404", 1));
+        // Stok yang melewati batas int menjadi hasil biasa dan tetap tercatat di metrik
+        assertEquals(HasilOperasi.JUMLAH_TIDAK_VALID, service.masukStokDenganHasil("PROD001", Integer.MAX_VALUE));
+        assertEquals(1, service.getMetrik().snapshot(OperasiInventaris.MASUK_STOK).jumlah(HasilOperasi.JUMLAH_TIDAK_VALID));
+        assertEquals(HasilOperasi.JUMLAH_TIDAK_VALID, service.updateStokDenganHasil("PROD001", -1));
+        assertEquals(HasilOperasi.MASIH_ADA_STOK, service.hapusProdukDenganHasil("PROD001"));
+
+        service.nonaktifkanProduk("PROD001");
+        assertEquals(HasilOperasi.TIDAK_AKTIF, service.keluarStokDenganHasil("PROD001", 1));
+        assertEquals(HasilOperasi.BERHASIL, service.updateStokDenganHasil("PROD001", 0));
+        assertEquals(HasilOperasi.BERHASIL, service.hapusProdukDenganHasil("PROD001"));
+        assertEquals(HasilOperasi.TIDAK_DITEMUKAN, service.hapusProdukDenganHasil("PROD001"));
+        assertEquals(HasilOperasi.TIDAK_DITEMUKAN, service.updateStokDenganHasil("PROD001", 1));
+    }
+
+    @Test
+    @DisplayName("Penolakan DenganHasil tidak memanggil repository ulang untuk input tidak valid")
+    void testVarianDenganHasilTanpaRepository() {
+        assertEquals(HasilOperasi.KODE_TIDAK_VALID, serviceInventaris.keluarStokDenganHasil(null, 1));
+        assertEquals(HasilOperasi.JUMLAH_TIDAK_VALID, serviceInventaris.masukStokDenganHasil("PROD001", 0));
+        assertEquals(HasilOperasi.KODE_TIDAK_VALID, serviceInventaris.hapusProdukDenganHasil(" "));
+        verifyNoInteractions(mockRepositoryProduk);
+    }
+
+    @Test
+    @DisplayName("Hanya penolakan karena keadaan stok yang boleh diulang")
+    void testBolehDiulang() {
+        Set<HasilOperasi> bolehDiulang = EnumSet.noneOf(HasilOperasi.class);
+        for (HasilOperasi hasil : HasilOperasi.values()) {
+            if (hasil.isBolehDiulang()) {
+                bolehDiulang.add(hasil);
+            }
+        }
+        assertEquals(EnumSet.of(HasilOperasi.STOK_TIDAK_CUKUP, HasilOperasi.MASIH_ADA_STOK), bolehDiulang);
+        assertFalse(HasilOperasi.BERHASIL.isBolehDiulang());
+    }
+
+    // ======================================================
+    // ================ Reservasi ===========================
+    // ======================================================
+
+    private ServiceInventaris serviceDenganJam(RepositoryProduk repository, AtomicLong jam) {
+        return new ServiceInventaris(repository, ForkJoinPool.commonPool(), ModeKonkurensi.TANPA_KUNCI,
+                new MetrikInventaris(), jam::get);
+    }
+
+    @Test
+    @DisplayName("Reservasi menahan stok tersedia tanpa mengubah stok repository, komit baru mengurangi")
+    void testReservasiKomit() {
+        RepositoryProdukInMemory repository = new RepositoryProdukInMemory();
+        repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 10, 2));
+        ServiceInventaris service = serviceDenganJam(repository, new AtomicLong());
+
+        HasilReservasi hasil = service.reservasiStok("PROD001", 4, Duration.ofMinutes(15));
+
+        assertTrue(hasil.isBerhasil());
+        Reservasi reservasi = hasil.reservasi();
+        assertEquals("PROD001", reservasi.getKode());
+        assertEquals(4, reservasi.getJumlah());
+        assertEquals(10, repository.cariByKode("PROD001").orElseThrow().getStok());
+        assertEquals(6, service.getStokTersedia("PROD001"));
+        assertEquals(1, service.getJumlahReservasiAktif());
+
+        assertEquals(HasilOperasi.BERHASIL, service.komitReservasi(reservasi));
+        assertEquals(6, repository.cariByKode("PROD001").orElseThrow().getStok());
+        assertEquals(6, service.getStokTersedia("PROD001"));
+        assertEquals(0, service.getJumlahReservasiAktif());
+        assertFalse(reservasi.isAktif());
+
+        // Reservasi hanya bisa berakhir sekali
+        assertEquals(HasilOperasi.RESERVASI_BERAKHIR, service.komitReservasi(reservasi));
+        assertEquals(HasilOperasi.RESERVASI_BERAKHIR, service.lepasReservasi(reservasi));
+        assertEquals(6, repository.cariByKode("PROD001").orElseThrow().getStok());
+    }
+
+    @Test
+    @DisplayName("Reservasi dan keluarStok tidak bisa mengambil stok yang sedang ditahan")
+    void testReservasiMembatasiStokTersedia() {
+        RepositoryProdukInMemory repository = new RepositoryProdukInMemory();
+        repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 10, 2));
+        ServiceInventaris service = serviceDenganJam(repository, new AtomicLong());
+
+        Reservasi pertama = service.reservasiStok("PROD001", 7, Duration.ofMinutes(15)).reservasi();
+        assertEquals(HasilOperasi.STOK_TIDAK_CUKUP,
+                service.reservasiStok("PROD001", 4, Duration.ofMinutes(15)).hasil());
+        assertEquals(HasilOperasi.STOK_TIDAK_CUKUP, service.keluarStokDenganHasil("PROD001", 4));
+        assertTrue(service.keluarStok("PROD001", 3));
+        assertEquals(0, service.getStokTersedia("PROD001"));
+
+        assertEquals(HasilOperasi.BERHASIL, service.lepasReservasi(pertama));
+        assertEquals(7, repository.cariByKode("PROD001").orElseThrow().getStok());
+        assertEquals(7, service.getStokTersedia("PROD001"));
+        assertTrue(service.keluarStok("PROD001", 7));
+    }
+
+    @Test
+    @DisplayName("prosesBatch tidak bisa mengeluarkan stok yang sedang ditahan reservasi")
+    void testReservasiMembatasiBatch() {
+        RepositoryProdukInMemory repository = new RepositoryProdukInMemory();
+        repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 10, 2));
+        repository.simpan(new Produk("PROD002", "Mouse", "Elektronik", 500, 5, 2));
+        ServiceInventaris service = new ServiceInventaris(repository, ModeKonkurensi.KUNCI_PER_KODE);
+
+        Reservasi reservasi = service.reservasiStok("PROD001", 8, Duration.ofMinutes(15)).reservasi();
+        HasilOperasi[] hasil = service.prosesBatch(List.of(
+                MutasiStok.keluar("PROD001", 3),
+                MutasiStok.masuk("PROD001", 5),
+                MutasiStok.keluar("PROD001", 3),
+                MutasiStok.keluar("PROD001", 5),
+                MutasiStok.keluar("PROD002", 5)));
+
+        assertArrayEquals(new HasilOperasi[] {HasilOperasi.STOK_TIDAK_CUKUP, HasilOperasi.BERHASIL,
+                HasilOperasi.BERHASIL, HasilOperasi.STOK_TIDAK_CUKUP, HasilOperasi.BERHASIL}, hasil);
+        assertEquals(12, repository.cariByKode("PROD001").orElseThrow().getStok());
+        assertEquals(0, repository.cariByKode("PROD002").orElseThrow().getStok());
+        assertEquals(4, service.getStokTersedia("PROD001"));
+
+        // Setelah tahanan dilepas, baris yang sama diterima
+        service.lepasReservasi(reservasi);
+        assertArrayEquals(new HasilOperasi[] {HasilOperasi.BERHASIL},
+                service.prosesBatch(List.of(MutasiStok.keluar("PROD001", 12))));
+    }
+
+    @Test
+    @DisplayName("Reservasi kedaluwarsa melepas tahanan dan tidak bisa dikomit")
+    void testReservasiKedaluwarsa() {
+        RepositoryProdukInMemory repository = new RepositoryProdukInMemory();
+        repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 10, 2));
+        AtomicLong jam = new AtomicLong(1_000);
+        ServiceInventaris service = serviceDenganJam(repository, jam);
+
+        Reservasi pendek = service.reservasiStok("PROD001", 5, Duration.ofSeconds(1)).reservasi();
+        Reservasi panjang = service.reservasiStok("PROD001", 3, Duration.ofSeconds(10)).reservasi();
+        assertEquals(2, service.getStokTersedia("PROD001"));
+
+        jam.addAndGet(999);
+        assertEquals(2, service.getStokTersedia("PROD001"));
+        jam.addAndGet(101);
+        assertEquals(7, service.getStokTersedia("PROD001"));
+        assertFalse(pendek.isAktif());
+        assertEquals(HasilOperasi.RESERVASI_BERAKHIR, service.komitReservasi(pendek));
+
+        // Komit tepat saat TTL habis ditolak meski roda belum diputar
+        jam.set(1_000 + 10_000);
+        assertEquals(HasilOperasi.RESERVASI_BERAKHIR, service.komitReservasi(panjang));
+        assertEquals(10, service.getStokTersedia("PROD001"));
+        assertEquals(10, repository.cariByKode("PROD001").orElseThrow().getStok());
+        assertEquals(0, service.getJumlahReservasiAktif());
+    }
+
+    @Test
+    @DisplayName("Reservasi ditolak untuk input tidak valid, produk tidak ada, atau nonaktif")
+    void testReservasiDitolak() {
+        RepositoryProdukInMemory repository = new RepositoryProdukInMemory();
+        repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 10, 2));
+        ServiceInventaris service = serviceDenganJam(repository, new AtomicLong());
+
+        assertEquals(HasilOperasi.KODE_TIDAK_VALID, service.reservasiStok("#", 1, Duration.ofMinutes(1)).hasil());
+        assertEquals(HasilOperasi.JUMLAH_TIDAK_VALID, service.reservasiStok("PROD001", 0, Duration.ofMinutes(1)).hasil());
+        assertEquals(HasilOperasi.JUMLAH_TIDAK_VALID, service.reservasiStok("PROD001", 1, Duration.ZERO).hasil());
+        assertEquals(HasilOperasi.JUMLAH_TIDAK_VALID, service.reservasiStok("PROD001", 1, null).hasil());
+        assertEquals(HasilOperasi.TIDAK_DITEMUKAN, service.reservasiStok("PROD404", 1, Duration.ofMinutes(1)).hasil());
+        assertNull(service.reservasiStok("PROD404", 1, Duration.ofMinutes(1)).reservasi());
+
+        Reservasi reservasi = service.reservasiStok("PROD001", 2, Duration.ofMinutes(1)).reservasi();
+        service.nonaktifkanProduk("PROD001");
+        assertEquals(HasilOperasi.TIDAK_AKTIF, service.reservasiStok("PROD001", 1, Duration.ofMinutes(1)).hasil());
+        assertEquals(0, service.getStokTersedia("PROD001"));
+        assertEquals(0, service.getStokTersedia(null));
+
+        // Komit tetap mengakhiri reservasi walau repository menolak
+        assertEquals(HasilOperasi.TIDAK_AKTIF, service.komitReservasi(reservasi));
+        assertEquals(0, service.getJumlahReservasiAktif());
+        assertEquals(1, service.getMetrik().snapshot(OperasiInventaris.RESERVASI_STOK).jumlah(HasilOperasi.BERHASIL));
+    }
+
+    @Test
+    @DisplayName("Reservasi bersamaan untuk satu kode tidak pernah melebihi stok")
+    void testReservasiBersamaan() throws Exception {
+        RepositoryProdukInMemory repository = new RepositoryProdukInMemory();
+        repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 100, 2));
+        ServiceInventaris service = new ServiceInventaris(repository, ModeKonkurensi.KUNCI_PER_KODE);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> hasil = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            boolean reservasi = i % 2 == 0;
+            hasil.add(executor.submit(() -> reservasi
+                    ? service.reservasiStok("PROD001", 1, Duration.ofMinutes(5)).isBerhasil()
+                    : service.keluarStok("PROD001", 1)));
+        }
+        int berhasil = 0;
+        for (Future<Boolean> h : hasil) {
+            berhasil += h.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        int stok = repository.cariByKode("PROD001").orElseThrow().getStok();
+        assertEquals(100, berhasil);
+        assertEquals(stok, service.getJumlahReservasiAktif());
+        assertEquals(0, service.getStokTersedia("PROD001"));
+    }
+
+    // ======================================================
+    // ================ Stok per Lokasi =====================
+    // ======================================================
+
+    private ServiceInventaris serviceDenganLokasi(RepositoryProduk repository) {
+        return new ServiceInventaris(repository, ModeKonkurensi.KUNCI_PER_KODE, List.of("JKT", "SBY", "MDN"));
+    }
+
+    @Test
+    @DisplayName("Masuk, keluar, dan transfer stok lokasi ikut mengubah stok produk")
+    void testStokLokasi() {
+        RepositoryProdukInMemory repository = new RepositoryProdukInMemory();
+        repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 7, 20));
+        ServiceInventaris service = serviceDenganLokasi(repository);
+
+        // Stok yang sudah ada sebelum operasi lokasi pertama berada di lokasi pertama
+        assertEquals(7, service.getStokLokasi("PROD001", "JKT"));
+        assertEquals(HasilOperasi.BERHASIL, service.masukStokLokasi("PROD001", "JKT", 30));
+        assertEquals(HasilOperasi.BERHASIL, service.keluarStokLokasi("PROD001", "JKT", 5));
+        assertEquals(HasilOperasi.BERHASIL, service.transferStok("PROD001", "JKT", "SBY", 10));
+        assertEquals(HasilOperasi.STOK_TIDAK_CUKUP, service.keluarStokLokasi("PROD001", "MDN", 1));
+        assertEquals(HasilOperasi.STOK_TIDAK_CUKUP, service.transferStok("PROD001", "SBY", "MDN", 11));
+
+        assertEquals(22, service.getStokLokasi("PROD001", "JKT"));
+        assertEquals(10, service.getStokLokasi("PROD001", "SBY"));
+        assertEquals(0, service.getStokLokasi("PROD001", "MDN"));
+        assertEquals(0, service.getStokLokasi("PROD001", "BDG"));
+        assertEquals(32, repository.lihatByKode("PROD001").get().stok());
+        assertEquals(List.of("JKT", "SBY", "MDN"), service.getDaftarLokasi());
+    }
+
+    @Test
+    @DisplayName("Operasi tanpa lokasi menambah ke lokasi pertama dan mengurangi berurutan")
+    void testStokLokasiDariOperasiTanpaLokasi() {
+        RepositoryProdukInMemory repository = new RepositoryProdukInMemory();
+        repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 0, 5));
+        ServiceInventaris service = serviceDenganLokasi(repository);
+        service.masukStokLokasi("PROD001", "JKT", 4);
+        service.masukStokLokasi("PROD001", "SBY", 6);
+        service.masukStokLokasi("PROD001", "MDN", 2);
+
+        assertTrue(service.keluarStok("PROD001", 7));
+        assertEquals(Map.of("JKT", 0, "SBY", 3, "MDN", 2), service.getRingkasanStokLokasi("PROD001").get().stokPerLokasi());
+        assertTrue(service.masukStok("PROD001", 1));
+        assertTrue(service.updateStok("PROD001", 10));
+        assertEquals(Map.of("JKT", 5, "SBY", 3, "MDN", 2), service.getRingkasanStokLokasi("PROD001").get().stokPerLokasi());
+
+        assertArrayEquals(new HasilOperasi[] {HasilOperasi.BERHASIL, HasilOperasi.BERHASIL},
+                service.prosesBatch(List.of(MutasiStok.keluar("PROD001", 7), MutasiStok.masuk("PROD001", 2))));
+        // Batch disamakan dari perubahan bersihnya: -7 + 2 diambil dari lokasi pertama
+        assertEquals(Map.of("JKT", 0, "SBY", 3, "MDN", 2), service.getRingkasanStokLokasi("PROD001").get().stokPerLokasi());
+        assertEquals(5, repository.lihatByKode("PROD001").get().stok());
+    }
+
+    @Test
+    @DisplayName("Stok lokasi terlihat di stok menipis dan total, dan keluar lokasi menghormati reservasi")
+    void testStokLokasiSatuBuku() {
+        RepositoryProdukInMemory repository = new RepositoryProdukInMemory();
+        repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 0, 5));
+        ServiceInventaris service = serviceDenganLokasi(repository);
+
+        service.masukStokLokasi("PROD001", "SBY", 4);
+        assertEquals(List.of("PROD001"), service.getProdukStokMenipis().stream().map(Produk::getKode).toList());
+        assertEquals(4, service.hitungTotalStokAktif());
+
+        Reservasi reservasi = service.reservasiStok("PROD001", 3, Duration.ofMinutes(5)).reservasi();
+        assertEquals(HasilOperasi.STOK_TIDAK_CUKUP, service.keluarStokLokasi("PROD001", "SBY", 2));
+        assertEquals(4, service.getStokLokasi("PROD001", "SBY"));
+        assertEquals(HasilOperasi.BERHASIL, service.keluarStokLokasi("PROD001", "SBY", 1));
+        assertEquals(HasilOperasi.BERHASIL, service.komitReservasi(reservasi));
+        assertEquals(0, service.getStokLokasi("PROD001", "SBY"));
+        assertEquals(0, repository.lihatByKode("PROD001").get().stok());
+        assertEquals(HasilOperasi.BERHASIL, service.hapusProdukDenganHasil("PROD001"));
+    }
+
+    @Test
+    @DisplayName("Operasi lokasi dan tanpa lokasi bersamaan menjaga jumlah lokasi sama dengan stok produk")
+    void testStokLokasiBersamaan() throws Exception {
+        RepositoryProdukInMemory repository = new RepositoryProdukInMemory();
+        repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 100, 5));
+        ServiceInventaris service = serviceDenganLokasi(repository);
+        List<String> lokasi = service.getDaftarLokasi();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tugas = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int jenis = t % 4;
+                tugas.add(executor.submit(() -> {
+                    ThreadLocalRandom acak = ThreadLocalRandom.current();
+                    for (int i = 0; i < 2_000; i++) {
+                        String di = lokasi.get(acak.nextInt(3));
+                        switch (jenis) {
+                            case 0 -> service.masukStokLokasi("PROD001", di, 1 + acak.nextInt(5));
+                            case 1 -> service.keluarStokLokasi("PROD001", di, 1 + acak.nextInt(5));
+                            case 2 -> service.transferStok("PROD001", di, lokasi.get(acak.nextInt(3)), 1 + acak.nextInt(5));
+                            default -> {
+                                if (acak.nextBoolean()) {
+                                    service.keluarStok("PROD001", 1 + acak.nextInt(5));
+                                } else {
+                                    service.masukStok("PROD001", 1 + acak.nextInt(5));
+                                }
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Future<?> f : tugas) {
+                f.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(repository.lihatByKode("PROD001").get().stok(),
+                service.getRingkasanStokLokasi("PROD001").get().total());
+    }
+
+    @Test
+    @DisplayName("Ringkasan lokasi menghitung total dan status menipis dari semua lokasi")
+    void testRingkasanStokLokasi() {
+        RepositoryProdukInMemory repository = new RepositoryProdukInMemory();
+        repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 0, 10));
+        ServiceInventaris service = serviceDenganLokasi(repository);
+
+        RingkasanStokLokasi kosong = service.getRingkasanStokLokasi("PROD001").get();
+        assertEquals(0, kosong.total());
+        assertEquals(StatusStok.HABIS, kosong.status());
+
+        service.masukStokLokasi("PROD001", "JKT", 4);
+        service.masukStokLokasi("PROD001", "MDN", 6);
+        RingkasanStokLokasi menipis = service.getRingkasanStokLokasi("PROD001").get();
+        assertEquals(Map.of("JKT", 4, "SBY", 0, "MDN", 6), menipis.stokPerLokasi());
+        assertEquals(List.of("JKT", "SBY", "MDN"), new ArrayList<>(menipis.stokPerLokasi().keySet()));
+        assertEquals(10, menipis.total());
+        assertTrue(menipis.isStokMenipis());
+
+        service.masukStokLokasi("PROD001", "SBY", 1);
+        RingkasanStokLokasi aman = service.getRingkasanStokLokasi("PROD001").get();
+        assertTrue(aman.isStokAman());
+        assertEquals(1, aman.stok("SBY"));
+
+        assertTrue(service.getRingkasanStokLokasi("PROD999").isEmpty());
+        assertTrue(service.getRingkasanStokLokasi(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Operasi lokasi menolak input tidak valid dan produk nonaktif")
+    void testStokLokasiDitolak() {
+        RepositoryProdukInMemory repository = new RepositoryProdukInMemory();
+        repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 0, 2));
+        repository.simpan(new Produk("PROD002", "Mouse", "Elektronik", 100, 0, 2));
+        ServiceInventaris service = serviceDenganLokasi(repository);
+        service.nonaktifkanProduk("PROD002");
+
+        assertEquals(HasilOperasi.KODE_TIDAK_VALID, service.masukStokLokasi(null, "JKT", 1));
+        assertEquals(HasilOperasi.JUMLAH_TIDAK_VALID, service.masukStokLokasi("PROD001", "JKT", 0));
+        assertEquals(HasilOperasi.LOKASI_TIDAK_VALID, service.masukStokLokasi("PROD001", "BDG", 1));
+        assertEquals(HasilOperasi.LOKASI_TIDAK_VALID, service.keluarStokLokasi("PROD001", null, 1));
+        assertEquals(HasilOperasi.LOKASI_TIDAK_VALID, service.transferStok("PROD001", "JKT", "JKT", 1));
+        assertEquals(HasilOperasi.TIDAK_DITEMUKAN, service.masukStokLokasi("PROD999", "JKT", 1));
+        assertEquals(HasilOperasi.TIDAK_AKTIF, service.masukStokLokasi("PROD002", "JKT", 1));
+
+        assertEquals(HasilOperasi.BERHASIL, service.masukStokLokasi("PROD001", "JKT", Integer.MAX_VALUE));
+        assertEquals(HasilOperasi.JUMLAH_TIDAK_VALID, service.masukStokLokasi("PROD001", "JKT", 1));
+        assertEquals(Integer.MAX_VALUE, service.getStokLokasi("PROD001", "JKT"));
+        // Jumlah semua lokasi adalah Produk.stok, jadi lokasi lain pun tidak bisa menambah lagi
+        assertEquals(HasilOperasi.JUMLAH_TIDAK_VALID, service.masukStokLokasi("PROD001", "SBY", 1));
+        assertEquals(0, service.getStokLokasi("PROD001", "SBY"));
+        assertEquals(Integer.MAX_VALUE, repository.lihatByKode("PROD001").get().stok());
+
+        MetrikInventaris.MetrikOperasi masuk = service.getMetrik().snapshot(OperasiInventaris.MASUK_STOK_LOKASI);
+        assertEquals(1, masuk.jumlah(HasilOperasi.LOKASI_TIDAK_VALID));
+        assertEquals(1, masuk.jumlah(HasilOperasi.BERHASIL));
+        assertEquals(3, masuk.jumlah(HasilOperasi.JUMLAH_TIDAK_VALID));
+    }
+
+    @Test
+    @DisplayName("hapusProduk ditolak selama masih ada stok di lokasi mana pun")
+    void testHapusProdukDenganStokLokasi() {
+        RepositoryProdukInMemory repository = new RepositoryProdukInMemory();
+        repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 0, 2));
+        ServiceInventaris service = serviceDenganLokasi(repository);
+        service.masukStokLokasi("PROD001", "SBY", 3);
+
+        assertEquals(HasilOperasi.MASIH_ADA_STOK, service.hapusProdukDenganHasil("PROD001"));
+
+        service.keluarStokLokasi("PROD001", "SBY", 3);
+        assertEquals(HasilOperasi.BERHASIL, service.hapusProdukDenganHasil("PROD001"));
+
+        // Produk dengan kode sama yang didaftarkan ulang mulai dari nol
+        repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 0, 2));
+        assertEquals(0, service.getRingkasanStokLokasi("PROD001").get().total());
+    }
+
+    @Test
+    @DisplayName("Service tanpa daftar lokasi menolak semua operasi lokasi")
+    void testTanpaLokasi() {
+        RepositoryProdukInMemory repository = new RepositoryProdukInMemory();
+        repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 0, 2));
+        ServiceInventaris service = new ServiceInventaris(repository);
+
+        assertEquals(HasilOperasi.LOKASI_TIDAK_VALID, service.masukStokLokasi("PROD001", "JKT", 1));
+        assertTrue(service.getDaftarLokasi().isEmpty());
+        assertEquals(0, service.getRingkasanStokLokasi("PROD001").get().total());
+        assertThrows(IllegalArgumentException.class,
+                () -> new ServiceInventaris(repository, ModeKonkurensi.TANPA_KUNCI, List.of("JKT", "JKT")));
+    }
+
+    // ======================================================
+    // ================ getMetrik() =========================
+    // ======================================================
+
+    @Test
+    @DisplayName("Metrik mencatat jumlah per hasil dan alasan penolakan tiap operasi")
+    void testMetrikAlasanPenolakan() {
+        RepositoryProdukInMemory repository = new RepositoryProdukInMemory();
+        ServiceInventaris service = new ServiceInventaris(repository, ForkJoinPool.commonPool(),
+                ModeKonkurensi.TANPA_KUNCI, new MetrikInventaris(1));
+        Produk produk = new Produk("PROD001", "Laptop", "Elektronik", 1000, 5, 2);
+
+        assertTrue(service.tambahProduk(produk));
+        assertFalse(service.tambahProduk(produk));
+        assertFalse(service.tambahProduk(new Produk("X", "Laptop", "Elektronik", 1000, 5, 2)));
+        assertFalse(service.tambahProduk(new Produk("PROD002", "Laptop", "Elektronik", -1, 5, 2)));
+        assertTrue(service.keluarStok("PROD001", 2));
+        assertFalse(service.keluarStok("PROD001", 10));
+        assertFalse(service.keluarStok("PROD404", 1));
+        assertFalse(service.keluarStok("PROD001", 0));
+        assertFalse(service.hapusProduk("PROD001"));
+        assertTrue(service.nonaktifkanProduk("PROD001"));
+        assertFalse(service.keluarStok("PROD001", 1));
+        assertFalse(service.masukStok("PROD001", 1));
+        assertFalse(service.updateStok("PROD404", 1));
+        assertTrue(service.updateStok("PROD001", 0));
+        assertTrue(service.hapusProduk("PROD001"));
+
+        MetrikInventaris.MetrikOperasi tambah = service.getMetrik().snapshot(OperasiInventaris.TAMBAH_PRODUK);
+        assertEquals(4, tambah.jumlah());
+        assertEquals(3, tambah.jumlahDitolak());
+        assertEquals(1, tambah.jumlah(HasilOperasi.DUPLIKAT));
+        assertEquals(1, tambah.jumlah(HasilOperasi.KODE_TIDAK_VALID));
+        assertEquals(1, tambah.jumlah(HasilOperasi.DATA_TIDAK_VALID));
+        // Kode tidak valid ditolak sebelum repository dipanggil
+        assertEquals(2, tambah.latensiRepository().jumlah());
+
+        MetrikInventaris.MetrikOperasi keluar = service.getMetrik().snapshot(OperasiInventaris.KELUAR_STOK);
+        assertEquals(Map.of(HasilOperasi.BERHASIL, 1L, HasilOperasi.STOK_TIDAK_CUKUP, 1L,
+                HasilOperasi.TIDAK_DITEMUKAN, 1L, HasilOperasi.JUMLAH_TIDAK_VALID, 1L,
+                HasilOperasi.TIDAK_AKTIF, 1L), keluar.jumlahPerHasil());
+        assertEquals(5, keluar.latensi().jumlah());
+        assertEquals(4, keluar.latensiRepository().jumlah());
+
+        Map<OperasiInventaris, MetrikInventaris.MetrikOperasi> semua = service.getMetrik().snapshot();
+        assertEquals(1, semua.get(OperasiInventaris.MASUK_STOK).jumlah(HasilOperasi.TIDAK_AKTIF));
+        assertEquals(1, semua.get(OperasiInventaris.UPDATE_STOK).jumlah(HasilOperasi.TIDAK_DITEMUKAN));
+        assertEquals(Map.of(HasilOperasi.MASIH_ADA_STOK, 1L, HasilOperasi.BERHASIL, 1L),
+                semua.get(OperasiInventaris.HAPUS_PRODUK).jumlahPerHasil());
+    }
+
+    @Test
+    @DisplayName("Latensi repository terpisah dari latensi total operasi")
+    void testMetrikLatensiRepository() {
+        when(mockRepositoryProduk.kurangiStokJikaCukup("PROD001", 1)).thenAnswer(invocation -> {
+            Thread.sleep(20);
+            return HasilOperasi.BERHASIL;
+        });
+
+        ServiceInventaris service = new ServiceInventaris(mockRepositoryProduk, ForkJoinPool.commonPool(),
+                ModeKonkurensi.KUNCI_PER_KODE, new MetrikInventaris(1));
+        assertTrue(service.keluarStok("PROD001", 1));
+
+        MetrikInventaris.MetrikOperasi keluar = service.getMetrik().snapshot(OperasiInventaris.KELUAR_STOK);
+        HistogramLatensi.Ringkasan repository = keluar.latensiRepository();
+        assertEquals(1, repository.jumlah());
+        assertTrue(repository.maksNano() >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertTrue(keluar.latensi().maksNano() >= repository.maksNano());
+        assertEquals(0, service.getMetrik().snapshot(OperasiInventaris.MASUK_STOK).jumlah());
+    }
+
+    @Test
+    @DisplayName("Latensi disampel, jumlah per hasil tetap dihitung untuk setiap operasi")
+    void testMetrikSampelLatensi() {
+        RepositoryProdukInMemory repository = new RepositoryProdukInMemory();
+        repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 0, 2));
+        ServiceInventaris service = new ServiceInventaris(repository, ForkJoinPool.commonPool(),
+                ModeKonkurensi.TANPA_KUNCI, new MetrikInventaris(1 << 30));
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(service.masukStok("PROD001", 1));
+        }
+
+        MetrikInventaris.MetrikOperasi masuk = service.getMetrik().snapshot(OperasiInventaris.MASUK_STOK);
+        assertEquals(1000, masuk.jumlah(HasilOperasi.BERHASIL));
+        assertTrue(masuk.latensi().jumlah() < 1000);
+        assertThrows(IllegalArgumentException.class, () -> new MetrikInventaris(0));
+        assertThrows(IllegalArgumentException.class, () -> new MetrikInventaris(12));
+    }
 }
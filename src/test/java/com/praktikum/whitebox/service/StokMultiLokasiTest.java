@@ -0,0 +1,178 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.HasilOperasi;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test StokMultiLokasi - Penghitung Stok per Lokasi")
+public class StokMultiLokasiTest {
+
+    // ======================================================
+    // ================ Operasi Dasar =======================
+    // ======================================================
+
+    @Test
+    @DisplayName("Tambah, kurangi, dan pindahkan mengubah sel lokasi yang tepat")
+    void testOperasiDasar() {
+        StokMultiLokasi stok = new StokMultiLokasi(List.of("A", "B", "C"));
+
+        stok.tambah("P1", 0, 10);
+        stok.tambah("P1", 2, 5);
+        assertTrue(stok.kurangi("P1", 0, 4));
+        assertFalse(stok.kurangi("P1", 1, 1));
+        assertEquals(HasilOperasi.BERHASIL, stok.pindahkan("P1", 2, 1, 5));
+        assertEquals(HasilOperasi.STOK_TIDAK_CUKUP, stok.pindahkan("P1", 2, 1, 1));
+
+        assertArrayEquals(new int[] {6, 5, 0}, stok.perLokasi("P1"));
+        assertEquals(11, stok.total("P1"));
+        assertEquals(5, stok.stok("P1", 1));
+    }
+
+    @Test
+    @DisplayName("Kode tanpa sel terbaca nol dan tidak bisa dikurangi")
+    void testKodeTanpaSel() {
+        StokMultiLokasi stok = new StokMultiLokasi(List.of("A", "B"));
+
+        assertArrayEquals(new int[] {0, 0}, stok.perLokasi("P1"));
+        assertEquals(0, stok.stok("P1", 1));
+        assertFalse(stok.kurangi("P1", 0, 1));
+        assertEquals(HasilOperasi.STOK_TIDAK_CUKUP, stok.pindahkan("P1", 0, 1, 1));
+
+        stok.tambah("P1", 1, 3);
+        stok.hapus("P1");
+        assertEquals(0, stok.total("P1"));
+    }
+
+    @Test
+    @DisplayName("Sel baru berisi stok awal di lokasi pertama dan aturTotal menyamakan jumlahnya")
+    void testSiapkanDanAturTotal() {
+        StokMultiLokasi stok = new StokMultiLokasi(List.of("A", "B", "C"));
+
+        assertArrayEquals(new int[] {9, 0, 0}, stok.perLokasi("P1", 9));
+        stok.aturTotal("P1", 5);
+        assertFalse(stok.ada("P1"));
+
+        stok.siapkan("P1", 9);
+        stok.siapkan("P1", 100);
+        assertTrue(stok.ada("P1"));
+        assertEquals(HasilOperasi.BERHASIL, stok.pindahkan("P1", 0, 1, 4));
+        assertTrue(stok.tambah("P1", 2, 3));
+        assertArrayEquals(new int[] {5, 4, 3}, stok.perLokasi("P1", 0));
+
+        stok.aturTotal("P1", 6);
+        assertArrayEquals(new int[] {0, 3, 3}, stok.perLokasi("P1"));
+        stok.aturTotal("P1", 10);
+        assertArrayEquals(new int[] {4, 3, 3}, stok.perLokasi("P1"));
+        stok.aturTotal("P1", 0);
+        assertEquals(0, stok.total("P1"));
+    }
+
+    @Test
+    @DisplayName("Indeks lokasi mengikuti urutan daftar, -1 untuk lokasi asing")
+    void testIndeks() {
+        StokMultiLokasi stok = new StokMultiLokasi(List.of("A", "B"));
+
+        assertEquals(0, stok.indeks("A"));
+        assertEquals(1, stok.indeks("B"));
+        assertEquals(-1, stok.indeks("C"));
+        assertEquals(-1, stok.indeks(null));
+        assertThrows(IllegalArgumentException.class, () -> new StokMultiLokasi(List.of("A", "A")));
+        assertThrows(NullPointerException.class, () -> new StokMultiLokasi(Arrays.asList("A", null)));
+    }
+
+    @Test
+    @DisplayName("Tambah dan transfer yang melewati Integer.MAX_VALUE ditolak tanpa mengubah stok")
+    void testLimpahan() {
+        StokMultiLokasi stok = new StokMultiLokasi(List.of("A", "B"));
+        assertTrue(stok.tambah("P1", 0, Integer.MAX_VALUE));
+        assertTrue(stok.tambah("P1", 1, 1));
+
+        assertFalse(stok.tambah("P1", 0, 1));
+        assertEquals(HasilOperasi.JUMLAH_TIDAK_VALID, stok.pindahkan("P1", 1, 0, 1));
+        assertArrayEquals(new int[] {Integer.MAX_VALUE, 1}, stok.perLokasi("P1"));
+        assertEquals(HasilOperasi.BERHASIL, stok.pindahkan("P1", 0, 1, 1));
+        assertArrayEquals(new int[] {Integer.MAX_VALUE - 1, 2}, stok.perLokasi("P1"));
+    }
+
+    // ======================================================
+    // ================ Konkurensi ==========================
+    // ======================================================
+
+    @Test
+    @DisplayName("Pembaca tidak pernah melihat total berubah selama transfer berjalan")
+    void testTotalTetapSelamaTransfer() throws Exception {
+        StokMultiLokasi stok = new StokMultiLokasi(List.of("A", "B", "C", "D"));
+        for (int i = 0; i < 4; i++) {
+            stok.tambah("P1", i, 1000);
+        }
+
+        AtomicBoolean selesai = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> pemindah = new ArrayList<>();
+            for (int t = 0; t < 3; t++) {
+                pemindah.add(executor.submit(() -> {
+                    ThreadLocalRandom acak = ThreadLocalRandom.current();
+                    for (int i = 0; i < 20_000; i++) {
+                        int dari = acak.nextInt(4);
+                        stok.pindahkan("P1", dari, (dari + 1 + acak.nextInt(3)) % 4, 1 + acak.nextInt(50));
+                    }
+                }));
+            }
+            Future<Integer> pembaca = executor.submit(() -> {
+                int dibaca = 0;
+                while (!selesai.get()) {
+                    assertEquals(4000, stok.total("P1"));
+                    dibaca++;
+                }
+                return dibaca;
+            });
+
+            for (Future<?> f : pemindah) {
+                f.get();
+            }
+            selesai.set(true);
+            assertTrue(pembaca.get() > 0);
+            assertEquals(4000, stok.total("P1"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Tambah dan kurangi bersamaan di lokasi berbeda tidak kehilangan update")
+    void testUpdateBersamaan() throws Exception {
+        StokMultiLokasi stok = new StokMultiLokasi(List.of("A", "B", "C", "D"));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> tugas = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int lokasi = t;
+                tugas.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        stok.tambah("P1", lokasi, 3);
+                        assertTrue(stok.kurangi("P1", lokasi, 1));
+                    }
+                }));
+            }
+            for (Future<?> f : tugas) {
+                f.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertArrayEquals(new int[] {20_000, 20_000, 20_000, 20_000}, stok.perLokasi("P1"));
+    }
+}
@@ -4,6 +4,8 @@ import com.praktikum.whitebox.model.Kategori;
 import com.praktikum.whitebox.model.Produk;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -36,6 +38,15 @@ public class ValidationUtilsTest {
         assertTrue(ValidationUtils.isValidKodeProduk("ABC123"));
     }
 
+    @ParameterizedTest
+    @DisplayName("Kode produk tetap sama hasilnya dengan trim() + regex lama")
+    @ValueSource(strings = {"ABC", "  abc123  ", "\tA1B2C3\n", "AB", " AB ", "ABCDEFGHIJ",
+            "ABCDEFGHIJK", "AB C", "AB-12", "ÄBC", "abc\u0000", "\u0001XYZ\u001F", "12345", "A_B"})
+    void testKodeProdukSamaDenganRegex(String kode) {
+        boolean expected = !kode.trim().isEmpty() && kode.trim().matches("^[A-Za-z0-9]{3,10}$");
+        assertEquals(expected, ValidationUtils.isValidKodeProduk(kode));
+    }
+
     // ========================
     // isValidNama()
     // ========================